@@ -0,0 +1,58 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseDetails;
+
+/**
+ * Benchmarks the parsing of the details of questions and responses from their stored JSON,
+ * which is done for every question and response shown on the results pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedbackDetailsBenchmark {
+    
+    private FeedbackQuestionAttributes mcqQuestion;
+    private FeedbackResponseAttributes mcqResponse;
+    
+    @Setup
+    public void setUp() {
+        SyntheticCourseData data = new SyntheticCourseData(1, 5);
+        mcqQuestion = data.questions.get(1);
+        for (FeedbackResponseAttributes response : data.responses) {
+            if (response.feedbackQuestionId.equals(mcqQuestion.getId())) {
+                mcqResponse = response;
+                break;
+            }
+        }
+    }
+    
+    @Benchmark
+    public FeedbackQuestionDetails parseQuestionDetails() {
+        return mcqQuestion.getQuestionDetails();
+    }
+    
+    @Benchmark
+    public FeedbackResponseDetails parseResponseDetails() {
+        return mcqResponse.getResponseDetails();
+    }
+    
+}
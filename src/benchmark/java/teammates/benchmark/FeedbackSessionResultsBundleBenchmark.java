@@ -0,0 +1,80 @@
+package teammates.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+
+/**
+ * Benchmarks building the results of a session and the orderings of its responses used by the results pages,
+ * for courses of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedbackSessionResultsBundleBenchmark {
+    
+    @Param({"10", "50", "200"})
+    public int numberOfTeams;
+    
+    @Param({"5"})
+    public int studentsPerTeam;
+    
+    private SyntheticCourseData data;
+    private FeedbackSessionResultsBundle bundle;
+    
+    @Setup
+    public void setUpData() {
+        data = new SyntheticCourseData(numberOfTeams, studentsPerTeam);
+    }
+    
+    /**
+     * The orderings sort the responses of the bundle in place, so the responses are shuffled before each
+     * invocation for every invocation to sort the same unsorted responses.
+     */
+    @Setup(Level.Invocation)
+    public void setUpBundle() {
+        bundle = data.createResultsBundle();
+        SyntheticCourseData.shuffle(bundle.responses, numberOfTeams);
+    }
+    
+    @Benchmark
+    public FeedbackSessionResultsBundle createResultsBundle() {
+        return data.createResultsBundle();
+    }
+    
+    @Benchmark
+    public Map<String, Map<String, List<FeedbackResponseAttributes>>> sortResponsesByGiver() {
+        return bundle.getResponsesSortedByGiver();
+    }
+    
+    @Benchmark
+    public Map<String, Map<String, List<FeedbackResponseAttributes>>> sortResponsesByRecipient() {
+        return bundle.getResponsesSortedByRecipient();
+    }
+    
+    @Benchmark
+    public Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> groupResponsesByQuestion() {
+        return bundle.getQuestionResponseMap();
+    }
+    
+}
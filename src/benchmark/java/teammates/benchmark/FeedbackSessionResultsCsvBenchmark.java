@@ -0,0 +1,66 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Benchmarks the generation of the CSV of the results of a session, as downloaded by instructors,
+ * for courses of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FeedbackSessionResultsCsvBenchmark {
+    
+    @Param({"10", "50", "200"})
+    public int numberOfTeams;
+    
+    @Param({"5"})
+    public int studentsPerTeam;
+    
+    @Param({"false", "true"})
+    public boolean isMissingResponsesShown;
+    
+    private SyntheticCourseData data;
+    private FeedbackSessionResultsBundle bundle;
+    
+    @Setup
+    public void setUpData() {
+        data = new SyntheticCourseData(numberOfTeams, studentsPerTeam);
+    }
+    
+    /**
+     * The generation of the CSV sorts the responses of the bundle in place, so a new bundle is used
+     * for every invocation.
+     */
+    @Setup(Level.Invocation)
+    public void setUpBundle() {
+        bundle = data.createResultsBundle();
+        SyntheticCourseData.shuffle(bundle.responses, numberOfTeams);
+    }
+    
+    @Benchmark
+    public String generateResultsCsv() {
+        return FeedbackSessionsLogic.inst().getFeedbackSessionResultsSummaryAsCsv(
+                bundle, null, null, isMissingResponsesShown, true);
+    }
+    
+}
@@ -0,0 +1,72 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Sanitizer;
+
+/**
+ * Benchmarks the sanitization of user-provided text, which is done for every name, team and answer
+ * shown on the results pages and in the downloaded results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SanitizerBenchmark {
+    
+    private static final String PLAIN_SENTENCE = "The team worked well together and met every deadline. ";
+    private static final String SPECIAL_SENTENCE = "<b>Team \"A\"</b> & 'B' said: a < b, c > d / e = f. ";
+    
+    @Param({"16", "1024"})
+    public int length;
+    
+    @Param({"false", "true"})
+    public boolean hasSpecialCharacters;
+    
+    private String text;
+    
+    @Setup
+    public void setUp() {
+        String sentence = hasSpecialCharacters ? SPECIAL_SENTENCE : PLAIN_SENTENCE;
+        StringBuilder textBuilder = new StringBuilder(length + sentence.length());
+        while (textBuilder.length() < length) {
+            textBuilder.append(sentence);
+        }
+        text = textBuilder.substring(0, length);
+    }
+    
+    @Benchmark
+    public String sanitizeForHtml() {
+        return Sanitizer.sanitizeForHtml(text);
+    }
+    
+    @Benchmark
+    public String sanitizeForCsv() {
+        return Sanitizer.sanitizeForCsv(text);
+    }
+    
+    @Benchmark
+    public String sanitizeForJs() {
+        return Sanitizer.sanitizeForJs(text);
+    }
+    
+    @Benchmark
+    public String sanitizeForSearch() {
+        return Sanitizer.sanitizeForSearch(text);
+    }
+    
+}
@@ -0,0 +1,61 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.StringHelper;
+
+/**
+ * Benchmarks the encryption of the registration keys and the signing of values handed to the client,
+ * which are done for every student in the emails and links generated for a course.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StringHelperBenchmark {
+    
+    private static final String KEY = "ahJ0ZWFtbWF0ZXMtYmVuY2htYXJrchQLEgdTdHVkZW50GICAgICAgIAKDA";
+    
+    private String encryptedKey;
+    private String signature;
+    
+    @Setup
+    public void setUp() {
+        encryptedKey = StringHelper.encrypt(KEY);
+        signature = StringHelper.generateSignature(KEY);
+    }
+    
+    @Benchmark
+    public String encrypt() {
+        return StringHelper.encrypt(KEY);
+    }
+    
+    @Benchmark
+    public String decrypt() {
+        return StringHelper.decrypt(encryptedKey);
+    }
+    
+    @Benchmark
+    public String generateSignature() {
+        return StringHelper.generateSignature(KEY);
+    }
+    
+    @Benchmark
+    public boolean isCorrectSignature() {
+        return StringHelper.isCorrectSignature(KEY, signature);
+    }
+    
+}
@@ -0,0 +1,207 @@
+package teammates.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Generates a course with the given number of teams and students per team, with a feedback session
+ * in which every student has answered every question, for the benchmarks to run on without a datastore.<br>
+ * The session has a numerical scale question to the own team members including self, an MCQ question
+ * to the own team members and a text question to nobody in particular.
+ * The same parameters always generate the same data.
+ */
+public class SyntheticCourseData {
+    
+    public static final String COURSE_ID = "benchmark.course";
+    public static final String SESSION_NAME = "Benchmark Session";
+    public static final String INSTRUCTOR_EMAIL = "instructor@benchmark.tmt";
+    
+    private static final int TEAMS_PER_SECTION = 10;
+    private static final String[] MCQ_CHOICES = {"Leader", "Contributor", "Observer", "Absent"};
+    
+    public List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+    public List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+    public FeedbackSessionAttributes session;
+    public List<FeedbackQuestionAttributes> questions = new ArrayList<FeedbackQuestionAttributes>();
+    public List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+    
+    public SyntheticCourseData(int numberOfTeams, int studentsPerTeam) {
+        Random random = new Random(numberOfTeams * 31L + studentsPerTeam);
+        
+        String role = Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER;
+        instructors.add(new InstructorAttributes("benchmark.instructor", COURSE_ID, "Benchmark Instructor",
+                                                 INSTRUCTOR_EMAIL, role, InstructorAttributes.DEFAULT_DISPLAY_NAME,
+                                                 new InstructorPrivileges(role)));
+        for (int team = 0; team < numberOfTeams; team++) {
+            for (int member = 0; member < studentsPerTeam; member++) {
+                String name = "Student" + member + " Of Team" + team;
+                String email = "student" + member + ".team" + team + "@benchmark.tmt";
+                students.add(new StudentAttributes(getSectionName(team), getTeamName(team), name, email,
+                                                   "", COURSE_ID));
+            }
+        }
+        
+        session = new FeedbackSessionAttributes(SESSION_NAME, COURSE_ID, INSTRUCTOR_EMAIL,
+                                                new Text("Please answer all the questions."),
+                                                new Date(0), new Date(0), new Date(0), new Date(0), new Date(0),
+                                                0, 15, FeedbackSessionType.STANDARD,
+                                                true, true, true, true, true);
+        
+        FeedbackQuestionAttributes numScaleQuestion = createQuestion(
+                1, FeedbackQuestionType.NUMSCALE, FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF,
+                "{\"questionText\":\"Rate the contribution of each member.\",\"questionType\":\"NUMSCALE\","
+                + "\"minScale\":1,\"maxScale\":5,\"step\":0.5}");
+        FeedbackQuestionAttributes mcqQuestion = createQuestion(
+                2, FeedbackQuestionType.MCQ, FeedbackParticipantType.OWN_TEAM_MEMBERS,
+                "{\"questionText\":\"What was the role of each member?\",\"questionType\":\"MCQ\","
+                + "\"numOfMcqChoices\":4,\"mcqChoices\":[\"Leader\",\"Contributor\",\"Observer\",\"Absent\"],"
+                + "\"otherEnabled\":false}");
+        FeedbackQuestionAttributes textQuestion = createQuestion(
+                3, FeedbackQuestionType.TEXT, FeedbackParticipantType.NONE,
+                "{\"questionText\":\"What did you learn?\",\"questionType\":\"TEXT\",\"recommendedLength\":0}");
+        
+        for (StudentAttributes giver : students) {
+            for (StudentAttributes recipient : students) {
+                if (!recipient.team.equals(giver.team)) {
+                    continue;
+                }
+                responses.add(createResponse(numScaleQuestion, giver, recipient.email, recipient.section,
+                        "{\"questionType\":\"NUMSCALE\",\"answer\":" + (1 + random.nextInt(9) * 0.5) + "}"));
+                if (!recipient.email.equals(giver.email)) {
+                    responses.add(createResponse(mcqQuestion, giver, recipient.email, recipient.section,
+                            "{\"questionType\":\"MCQ\",\"answer\":\"" + MCQ_CHOICES[random.nextInt(MCQ_CHOICES.length)]
+                            + "\",\"otherFieldContent\":\"\"}"));
+                }
+            }
+            responses.add(createResponse(textQuestion, giver, Const.GENERAL_QUESTION, Const.DEFAULT_SECTION,
+                                         createAnswerText(random)));
+        }
+    }
+    
+    public CourseRoster createRoster() {
+        return new CourseRoster(students, instructors);
+    }
+    
+    /**
+     * Creates the results of the session as seen by the instructor, built the same way the logic builds them.
+     * The bundle modifies the responses and tables it is given, so each call creates them anew.
+     */
+    public FeedbackSessionResultsBundle createResultsBundle() {
+        Map<String, FeedbackQuestionAttributes> questionsById = new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestionAttributes question : questions) {
+            questionsById.put(question.getId(), question);
+        }
+        
+        Map<String, String> emailNameTable = new HashMap<String, String>();
+        Map<String, String> emailLastNameTable = new HashMap<String, String>();
+        Map<String, String> emailTeamNameTable = new HashMap<String, String>();
+        Map<String, Set<String>> sectionTeamNameTable = new HashMap<String, Set<String>>();
+        for (StudentAttributes student : students) {
+            emailNameTable.put(student.email, student.name);
+            emailLastNameTable.put(student.email, student.lastName);
+            emailTeamNameTable.put(student.email, student.team);
+            if (!sectionTeamNameTable.containsKey(student.section)) {
+                sectionTeamNameTable.put(student.section, new HashSet<String>());
+            }
+            sectionTeamNameTable.get(student.section).add(student.team);
+        }
+        emailNameTable.put(Const.GENERAL_QUESTION, Const.USER_IS_NOBODY);
+        emailLastNameTable.put(Const.GENERAL_QUESTION, Const.USER_IS_NOBODY);
+        emailTeamNameTable.put(Const.GENERAL_QUESTION, "");
+        
+        List<FeedbackResponseAttributes> responsesCopy = new ArrayList<FeedbackResponseAttributes>();
+        Map<String, boolean[]> visibilityTable = new HashMap<String, boolean[]>();
+        for (FeedbackResponseAttributes response : responses) {
+            responsesCopy.add(new FeedbackResponseAttributes(response));
+            visibilityTable.put(response.getId(), new boolean[] {true, true});
+        }
+        
+        return new FeedbackSessionResultsBundle(session, responsesCopy, questionsById,
+                                                emailNameTable, emailLastNameTable, emailTeamNameTable,
+                                                sectionTeamNameTable, visibilityTable,
+                                                new FeedbackSessionResponseStatus(), createRoster(),
+                                                new HashMap<String, List<FeedbackResponseCommentAttributes>>());
+    }
+    
+    /**
+     * Shuffles {@code list} in the same way for the same {@code seed},
+     * e.g. to undo the sorting of the responses of a bundle between the invocations of a benchmark.
+     */
+    public static <T> void shuffle(List<T> list, long seed) {
+        Collections.shuffle(list, new Random(seed));
+    }
+    
+    private FeedbackQuestionAttributes createQuestion(int questionNumber, FeedbackQuestionType questionType,
+                                                      FeedbackParticipantType recipientType, String questionMetaData) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.feedbackSessionName = SESSION_NAME;
+        question.courseId = COURSE_ID;
+        question.creatorEmail = INSTRUCTOR_EMAIL;
+        question.questionMetaData = new Text(questionMetaData);
+        question.questionNumber = questionNumber;
+        question.questionType = questionType;
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = recipientType;
+        question.numberOfEntitiesToGiveFeedbackTo = Const.MAX_POSSIBLE_RECIPIENTS;
+        List<FeedbackParticipantType> visibleTo = Arrays.asList(FeedbackParticipantType.INSTRUCTORS);
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>(visibleTo);
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>(visibleTo);
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>(visibleTo);
+        question.setId("question" + questionNumber);
+        questions.add(question);
+        return question;
+    }
+    
+    private FeedbackResponseAttributes createResponse(FeedbackQuestionAttributes question, StudentAttributes giver,
+                                                      String recipient, String recipientSection,
+                                                      String responseMetaData) {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                SESSION_NAME, COURSE_ID, question.getId(), question.questionType,
+                giver.email, giver.section, recipient, recipientSection, new Text(responseMetaData));
+        response.setId(question.getId() + "%" + giver.email + "%" + recipient);
+        return response;
+    }
+    
+    private static String createAnswerText(Random random) {
+        StringBuilder answer = new StringBuilder();
+        int numberOfSentences = 1 + random.nextInt(5);
+        for (int i = 0; i < numberOfSentences; i++) {
+            answer.append("I learnt <b>how to work</b> in a team & that \"deadlines\" matter. ");
+        }
+        return answer.toString().trim();
+    }
+    
+    private static String getTeamName(int team) {
+        return "Team " + team;
+    }
+    
+    private static String getSectionName(int team) {
+        return "Section " + team / TEAMS_PER_SECTION;
+    }
+    
+}
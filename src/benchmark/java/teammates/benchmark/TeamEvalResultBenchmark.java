@@ -0,0 +1,54 @@
+package teammates.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.logic.core.TeamEvalResult;
+
+/**
+ * Benchmarks the calculation of the contribution of each member of a team from the points claimed
+ * by the members, as done for every team when the results of a contribution question are shown.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TeamEvalResultBenchmark {
+    
+    @Param({"4", "8", "20"})
+    public int teamSize;
+    
+    private int[][] claimedPoints;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(teamSize);
+        claimedPoints = new int[teamSize][teamSize];
+        for (int giver = 0; giver < teamSize; giver++) {
+            for (int recipient = 0; recipient < teamSize; recipient++) {
+                claimedPoints[giver][recipient] = random.nextInt(10) == 0 ? TeamEvalResult.NSU
+                                                                          : 70 + random.nextInt(61);
+            }
+        }
+    }
+    
+    @Benchmark
+    public TeamEvalResult calculateTeamEvalResult() {
+        return new TeamEvalResult(claimedPoints);
+    }
+    
+}
@@ -0,0 +1,56 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.CompiledTemplate;
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+
+/**
+ * Benchmarks the population of the template of the emails sent for a feedback session,
+ * which is done once for every student and instructor of the course.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TemplatesBenchmark {
+    
+    private static final CompiledTemplate FEEDBACK_SESSION_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.USER_FEEDBACK_SESSION);
+    
+    private static final String[] VALUES = {
+            "${userName}", "Student Of Team 1",
+            "${courseName}", "Software Engineering",
+            "${courseId}", SyntheticCourseData.COURSE_ID,
+            "${feedbackSessionName}", SyntheticCourseData.SESSION_NAME,
+            "${deadline}", "Sun, 01 Jan 2017, 11:59 PM",
+            "${instructorFragment}", "",
+            "${submitUrl}", "https://teammates.example.com/page/studentFeedbackSubmissionEditPage?key=1234",
+            "${status}", "is now open",
+            "${supportEmail}", "support@teammates.example.com"
+    };
+    
+    @Benchmark
+    public String populateTemplate() {
+        return Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION, VALUES);
+    }
+    
+    @Benchmark
+    public String renderCompiledTemplate() {
+        return FEEDBACK_SESSION_TEMPLATE.render(VALUES);
+    }
+    
+}
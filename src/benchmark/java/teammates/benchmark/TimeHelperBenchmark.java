@@ -0,0 +1,59 @@
+package teammates.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Const;
+import teammates.common.util.TimeHelper;
+
+/**
+ * Benchmarks the formatting of dates, which is done for every session in the session tables
+ * and every entry on the admin log pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TimeHelperBenchmark {
+    
+    // 14 Sep 2016, 15:37:42.123 UTC
+    private Date date = new Date(1473867462123L);
+    
+    @Benchmark
+    public String formatDate() {
+        return TimeHelper.formatDate(date);
+    }
+    
+    @Benchmark
+    public String formatTime12H() {
+        return TimeHelper.formatTime12H(date);
+    }
+    
+    @Benchmark
+    public String formatDateTimeForComments() {
+        return TimeHelper.formatDateTimeForComments(date);
+    }
+    
+    @Benchmark
+    public String formatDateTimeForInstructorHomePage() {
+        return TimeHelper.formatDateTimeForInstructorHomePage(date);
+    }
+    
+    @Benchmark
+    public String formatInAdminTimeZone() {
+        return TimeHelper.format(date, "dd-MM-yyyy HH:mm:ss", Const.SystemParams.ADMIN_TIME_ZONE);
+    }
+    
+}
@@ -0,0 +1,55 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import teammates.client.remoteapi.RemoteApiClient;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.storage.api.FeedbackSessionScheduleDb;
+import teammates.storage.api.FeedbackSessionsDb;
+import teammates.storage.datastore.Datastore;
+
+/**
+ * Script to write the schedule entries of feedback sessions created before the reminder cron jobs
+ * started to look up sessions by their schedule entries.
+ * 
+ * Sessions which no longer need any emails (e.g. the ones which have closed and have sent all their emails)
+ * do not get any entries. Safe to run more than once, as the entries of a session replace its existing ones.
+ */
+public class DataMigrationForFeedbackSessionSchedule extends RemoteApiClient {
+    
+    private static final int SESSIONS_PER_BATCH = 100;
+    
+    private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private static final FeedbackSessionScheduleDb scheduleDb = new FeedbackSessionScheduleDb();
+    
+    private boolean isPreview = true;
+    
+    public static void main(String[] args) throws IOException {
+        DataMigrationForFeedbackSessionSchedule migrator = new DataMigrationForFeedbackSessionSchedule();
+        migrator.doOperationRemotely();
+    }
+    
+    @Override
+    protected void doOperation() {
+        Datastore.initialize();
+        
+        @SuppressWarnings("deprecation")
+        List<FeedbackSessionAttributes> sessions = fsDb.getAllFeedbackSessions();
+        System.out.println("Writing schedule entries for " + sessions.size() + " sessions");
+        
+        if (isPreview) {
+            System.out.println("Preview mode: no entries written");
+            return;
+        }
+        
+        for (int from = 0; from < sessions.size(); from += SESSIONS_PER_BATCH) {
+            List<FeedbackSessionAttributes> batch = new ArrayList<FeedbackSessionAttributes>(
+                    sessions.subList(from, Math.min(from + SESSIONS_PER_BATCH, sessions.size())));
+            scheduleDb.putScheduleEntries(batch);
+            System.out.println("Written schedule entries for " + (from + batch.size()) + " sessions");
+        }
+    }
+    
+}
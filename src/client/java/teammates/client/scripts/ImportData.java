@@ -7,6 +7,9 @@ import java.util.Set;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.util.Utils;
@@ -21,9 +24,12 @@ import com.google.gson.Gson;
  * appID in the test.properties file.Can use DataGenerator.java to generate random data.
  * 
  * Notes:
- * -Edit SOURCE_FILE_NAME before use
+ * -Edit SOURCE_FILE_NAME before use, or give the name of the file as the first argument
  * -Should not have any limit on the size of the databundle. However, the number of entities per request
  * should not be set to too large as it may cause Deadline Exception (especially for evaluations)
+ * -Feedback sessions, questions and responses are imported after the other entities, in that order,
+ * as the responses refer to their questions by question number. Responses can be imported many per request
+ * as the question of each is looked up only once per request.
  * 
  */
 public final class ImportData {
@@ -33,6 +39,7 @@ public final class ImportData {
     
     private static final int MAX_NUMBER_OF_ENTITY_PER_REQUEST = 100;
     private static final int MAX_NUMBER_OF_EVALUATION_PER_REQUEST = 1;
+    private static final int MAX_NUMBER_OF_RESPONSE_PER_REQUEST = 500;
     private static final int WAIT_TIME_BETWEEN_REQUEST = 1000; //ms
     
     private static DataBundle data;
@@ -44,7 +51,8 @@ public final class ImportData {
     }
 
     public static void main(String[] args) throws Exception {
-        jsonString = FileHelper.readFile(TestProperties.TEST_DATA_FOLDER + "/" + SOURCE_FILE_NAME);
+        String sourceFileName = args.length > 0 ? args[0] : SOURCE_FILE_NAME;
+        jsonString = FileHelper.readFile(TestProperties.TEST_DATA_FOLDER + "/" + sourceFileName);
         data = gson.fromJson(jsonString, DataBundle.class);
         
         String status = "";
@@ -54,6 +62,9 @@ public final class ImportData {
             boolean hasInstructors = !data.instructors.isEmpty();
             boolean hasCourses = !data.courses.isEmpty();
             boolean hasStudents = !data.students.isEmpty();
+            boolean hasFeedbackSessions = !data.feedbackSessions.isEmpty();
+            boolean hasFeedbackQuestions = !data.feedbackQuestions.isEmpty();
+            boolean hasFeedbackResponses = !data.feedbackResponses.isEmpty();
             
             if (hasAccounts) {
                 // Accounts
@@ -67,6 +78,15 @@ public final class ImportData {
             } else if (hasStudents) {
                 // Students
                 status = persist(data.students);
+            } else if (hasFeedbackSessions) {
+                // Feedback sessions
+                status = persist(data.feedbackSessions);
+            } else if (hasFeedbackQuestions) {
+                // Feedback questions
+                status = persist(data.feedbackQuestions);
+            } else if (hasFeedbackResponses) {
+                // Feedback responses
+                status = persist(data.feedbackResponses);
             } else {
                 // No more data, break the loop
                 System.out.print("\n Finish!");
@@ -118,12 +138,25 @@ public final class ImportData {
                 type = "StudentData";
                 StudentAttributes studentData = (StudentAttributes) obj;
                 bundle.students.put(key, studentData);
+            } else if (obj instanceof FeedbackSessionAttributes) {
+                type = "FeedbackSessionData";
+                FeedbackSessionAttributes feedbackSessionData = (FeedbackSessionAttributes) obj;
+                bundle.feedbackSessions.put(key, feedbackSessionData);
+            } else if (obj instanceof FeedbackQuestionAttributes) {
+                type = "FeedbackQuestionData";
+                FeedbackQuestionAttributes feedbackQuestionData = (FeedbackQuestionAttributes) obj;
+                bundle.feedbackQuestions.put(key, feedbackQuestionData);
+            } else if (obj instanceof FeedbackResponseAttributes) {
+                type = "FeedbackResponseData";
+                FeedbackResponseAttributes feedbackResponseData = (FeedbackResponseAttributes) obj;
+                bundle.feedbackResponses.put(key, feedbackResponseData);
             }
             count++;
             itr.remove();
             System.out.print(key + "\n");
             if ("EvaluationData".equals(type) && count >= MAX_NUMBER_OF_EVALUATION_PER_REQUEST
-                    || count >= MAX_NUMBER_OF_ENTITY_PER_REQUEST) {
+                    || "FeedbackResponseData".equals(type) && count >= MAX_NUMBER_OF_RESPONSE_PER_REQUEST
+                    || !"FeedbackResponseData".equals(type) && count >= MAX_NUMBER_OF_ENTITY_PER_REQUEST) {
                 break;
             }
         }
@@ -0,0 +1,271 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.TimeHelper;
+import teammates.common.util.Utils;
+import teammates.test.driver.TestProperties;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Usage: This script generates a data bundle of large courses, to be imported with {@link ImportData}
+ * and used by {@link LoadDriver} to evaluate how the app scales with the size of a course.
+ * The result file will be saved in src/test/resources/data/ folder.
+ * 
+ * Notes:
+ * -Edit the constants below to change the size of the courses.
+ *  The defaults generate a course of 2,000 students with 3 sessions of about 18,000 responses each.
+ * -Every session has a question of each type below, answered by the given fraction of the students,
+ *  to the recipients the question type is usually given to:
+ *  text to nobody in particular, MCQ to self, numerical scale to the other team members
+ *  and contribution to all the team members.
+ * -The same constants always generate the same data, except for the times of the sessions,
+ *  which are set relative to the current time: the last session is open and the others are closed and published.
+ * -The students are not registered; {@link LoadDriver} accesses their pages with their registration keys.
+ */
+public final class LargeCourseDataGenerator {
+    
+    // Name of the result file, please do not override existing file
+    public static final String FILE_NAME = "LargeCourseData.json";
+    // Prefix used in the IDs of all entities
+    public static final String PREFIX = "LoadTest.";
+    
+    public static final int NUM_OF_COURSES = 1;
+    public static final int NUM_OF_SECTIONS_PER_COURSE = 20;
+    public static final int NUM_OF_TEAMS_PER_SECTION = 20;
+    public static final int NUM_OF_STUDENTS_PER_TEAM = 5;
+    public static final int NUM_OF_INSTRUCTORS_PER_COURSE = 3;
+    public static final int NUM_OF_SESSIONS_PER_COURSE = 3;
+    
+    // Fraction of the students who answered each question
+    public static final double TEXT_RESPONSE_RATE = 0.6;
+    public static final double MCQ_RESPONSE_RATE = 0.9;
+    public static final double NUMSCALE_RESPONSE_RATE = 0.8;
+    public static final double CONTRIB_RESPONSE_RATE = 0.85;
+    
+    private static final long RANDOM_SEED = 2016;
+    
+    private static final List<String> MCQ_CHOICES = Arrays.asList("Leader", "Contributor", "Observer", "Absent");
+    private static final String[] TEXT_ANSWER_SENTENCES = {
+            "I learnt how to split the work in a team.",
+            "Our team met every week & reviewed each other's code.",
+            "The hardest part was integrating the components at the end.",
+            "Next time I would write the tests earlier.",
+            "Communication within the team could have been better."
+    };
+    
+    private final Random random = new Random(RANDOM_SEED);
+    private final DataBundle data = new DataBundle();
+    
+    private LargeCourseDataGenerator() {
+        // script, not meant to be instantiated elsewhere
+    }
+    
+    public static void main(String[] args) throws IOException {
+        DataBundle data = generateDataBundle();
+        System.out.println("Generated " + data.students.size() + " students, "
+                           + data.feedbackSessions.size() + " sessions and "
+                           + data.feedbackResponses.size() + " responses");
+        DataGenerator.writeDataToFile(Utils.getTeammatesGson().toJson(data),
+                                      TestProperties.TEST_DATA_FOLDER + "/" + FILE_NAME);
+    }
+    
+    /**
+     * Generates the courses with their instructors, students, sessions, questions and responses.
+     * The responses refer to their questions by question number, as in the other data bundles.
+     */
+    public static DataBundle generateDataBundle() {
+        LargeCourseDataGenerator generator = new LargeCourseDataGenerator();
+        for (int courseIndex = 1; courseIndex <= NUM_OF_COURSES; courseIndex++) {
+            generator.generateCourse(courseIndex);
+        }
+        return generator.data;
+    }
+    
+    public static String getCourseId(int courseIndex) {
+        return PREFIX + "course" + courseIndex;
+    }
+    
+    private void generateCourse(int courseIndex) {
+        String courseId = getCourseId(courseIndex);
+        CourseAttributes course = new CourseAttributes(courseId, "Load Test Course " + courseIndex, "UTC");
+        course.createdAt = new Date();
+        data.courses.put(courseId, course);
+        
+        String role = Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER;
+        for (int i = 1; i <= NUM_OF_INSTRUCTORS_PER_COURSE; i++) {
+            String googleId = PREFIX + "instr" + i + ".course" + courseIndex;
+            InstructorAttributes instructor =
+                    new InstructorAttributes(googleId, courseId, "Instructor " + i + " Of Course " + courseIndex,
+                                             "instr" + i + ".course" + courseIndex + "@loadtest.tmt",
+                                             role, InstructorAttributes.DEFAULT_DISPLAY_NAME,
+                                             new InstructorPrivileges(role));
+            data.instructors.put(googleId, instructor);
+        }
+        
+        List<List<StudentAttributes>> teams = new ArrayList<List<StudentAttributes>>();
+        int studentIndex = 1;
+        for (int section = 1; section <= NUM_OF_SECTIONS_PER_COURSE; section++) {
+            for (int team = 1; team <= NUM_OF_TEAMS_PER_SECTION; team++) {
+                List<StudentAttributes> members = new ArrayList<StudentAttributes>();
+                for (int member = 1; member <= NUM_OF_STUDENTS_PER_TEAM; member++) {
+                    StudentAttributes student =
+                            new StudentAttributes("Section " + section, "Team " + section + "." + team,
+                                                  "Student " + studentIndex + " Of Course " + courseIndex,
+                                                  "student" + studentIndex + ".course" + courseIndex + "@loadtest.tmt",
+                                                  "", courseId);
+                    data.students.put(PREFIX + "student" + studentIndex + ".course" + courseIndex, student);
+                    members.add(student);
+                    studentIndex++;
+                }
+                teams.add(members);
+            }
+        }
+        
+        String creatorEmail = data.instructors.get(PREFIX + "instr1.course" + courseIndex).email;
+        for (int i = 1; i <= NUM_OF_SESSIONS_PER_COURSE; i++) {
+            boolean isOpen = i == NUM_OF_SESSIONS_PER_COURSE;
+            generateSession(courseId, "Session " + i, creatorEmail, isOpen, teams);
+        }
+    }
+    
+    private void generateSession(String courseId, String sessionName, String creatorEmail, boolean isOpen,
+                                 List<List<StudentAttributes>> teams) {
+        Date startTime = TimeHelper.getDateOffsetToCurrentTime(isOpen ? -7 : -30);
+        Date endTime = TimeHelper.getDateOffsetToCurrentTime(isOpen ? 7 : -15);
+        Date resultsVisibleTime = isOpen ? Const.TIME_REPRESENTS_LATER : TimeHelper.getDateOffsetToCurrentTime(-14);
+        FeedbackSessionAttributes session =
+                new FeedbackSessionAttributes(sessionName, courseId, creatorEmail,
+                                              new Text("Please answer all the questions."),
+                                              startTime, startTime, endTime, startTime, resultsVisibleTime,
+                                              0, 15, FeedbackSessionType.STANDARD,
+                                              true, !isOpen, false, false, false);
+        data.feedbackSessions.put(getSessionKey(session), session);
+        
+        List<FeedbackParticipantType> toInstructors = Arrays.asList(FeedbackParticipantType.INSTRUCTORS);
+        List<FeedbackParticipantType> toInstructorsAndReceiver =
+                Arrays.asList(FeedbackParticipantType.INSTRUCTORS, FeedbackParticipantType.RECEIVER);
+        
+        FeedbackQuestionAttributes textQuestion = generateQuestion(
+                session, 1, FeedbackQuestionType.TEXT, FeedbackParticipantType.NONE, 1,
+                "{\"questionText\":\"What did you learn from the project?\",\"questionType\":\"TEXT\","
+                + "\"recommendedLength\":0}",
+                toInstructors, toInstructors);
+        FeedbackQuestionAttributes mcqQuestion = generateQuestion(
+                session, 2, FeedbackQuestionType.MCQ, FeedbackParticipantType.SELF, 1,
+                "{\"questionText\":\"What was your role in the team?\",\"questionType\":\"MCQ\","
+                + "\"numOfMcqChoices\":" + MCQ_CHOICES.size() + ","
+                + "\"mcqChoices\":" + Utils.getTeammatesGson().toJson(MCQ_CHOICES) + ","
+                + "\"otherEnabled\":false,\"generateOptionsFor\":\"NONE\"}",
+                toInstructors, toInstructors);
+        FeedbackQuestionAttributes numScaleQuestion = generateQuestion(
+                session, 3, FeedbackQuestionType.NUMSCALE, FeedbackParticipantType.OWN_TEAM_MEMBERS,
+                Const.MAX_POSSIBLE_RECIPIENTS,
+                "{\"questionText\":\"How well did this team member communicate?\",\"questionType\":\"NUMSCALE\","
+                + "\"minScale\":1,\"maxScale\":5,\"step\":0.5}",
+                toInstructorsAndReceiver, toInstructors);
+        FeedbackQuestionAttributes contribQuestion = generateQuestion(
+                session, 4, FeedbackQuestionType.CONTRIB, FeedbackParticipantType.OWN_TEAM_MEMBERS_INCLUDING_SELF,
+                Const.MAX_POSSIBLE_RECIPIENTS,
+                "{\"questionText\":\"How much has each team member including yourself contributed to the project?\","
+                + "\"questionType\":\"CONTRIB\",\"isNotSureAllowed\":true}",
+                toInstructors, toInstructors);
+        
+        for (List<StudentAttributes> team : teams) {
+            for (StudentAttributes giver : team) {
+                if (isAnswered(TEXT_RESPONSE_RATE)) {
+                    generateResponse(textQuestion, giver, Const.GENERAL_QUESTION, Const.DEFAULT_SECTION,
+                                     generateTextAnswer());
+                }
+                if (isAnswered(MCQ_RESPONSE_RATE)) {
+                    String choice = MCQ_CHOICES.get(random.nextInt(MCQ_CHOICES.size()));
+                    generateResponse(mcqQuestion, giver, giver.email, giver.section,
+                                     "{\"questionType\":\"MCQ\",\"answer\":\"" + choice + "\","
+                                     + "\"isOther\":false,\"otherFieldContent\":\"\"}");
+                }
+                boolean isNumScaleAnswered = isAnswered(NUMSCALE_RESPONSE_RATE);
+                boolean isContribAnswered = isAnswered(CONTRIB_RESPONSE_RATE);
+                for (StudentAttributes recipient : team) {
+                    boolean isSelf = recipient.email.equals(giver.email);
+                    if (isNumScaleAnswered && !isSelf) {
+                        generateResponse(numScaleQuestion, giver, recipient.email, recipient.section,
+                                         "{\"questionType\":\"NUMSCALE\",\"answer\":" + (1 + random.nextInt(9) * 0.5) + "}");
+                    }
+                    if (isContribAnswered) {
+                        generateResponse(contribQuestion, giver, recipient.email, recipient.section,
+                                         "{\"questionType\":\"CONTRIB\",\"answer\":" + (70 + random.nextInt(7) * 10) + "}");
+                    }
+                }
+            }
+        }
+    }
+    
+    private FeedbackQuestionAttributes generateQuestion(
+            FeedbackSessionAttributes session, int questionNumber, FeedbackQuestionType questionType,
+            FeedbackParticipantType recipientType, int numberOfEntitiesToGiveFeedbackTo, String questionMetaData,
+            List<FeedbackParticipantType> showResponsesTo, List<FeedbackParticipantType> showGiverNameTo) {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.feedbackSessionName = session.getFeedbackSessionName();
+        question.courseId = session.getCourseId();
+        question.creatorEmail = session.getCreatorEmail();
+        question.questionMetaData = new Text(questionMetaData);
+        question.questionNumber = questionNumber;
+        question.questionType = questionType;
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = recipientType;
+        question.numberOfEntitiesToGiveFeedbackTo = numberOfEntitiesToGiveFeedbackTo;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>(showResponsesTo);
+        question.showGiverNameTo = new ArrayList<FeedbackParticipantType>(showGiverNameTo);
+        question.showRecipientNameTo = new ArrayList<FeedbackParticipantType>(showResponsesTo);
+        data.feedbackQuestions.put(getSessionKey(session) + "%" + questionNumber, question);
+        return question;
+    }
+    
+    private void generateResponse(FeedbackQuestionAttributes question, StudentAttributes giver,
+                                  String recipient, String recipientSection, String responseMetaData) {
+        // the question is referred to by its number, to be replaced by its ID when the response is persisted
+        FeedbackResponseAttributes response =
+                new FeedbackResponseAttributes(question.feedbackSessionName, question.courseId,
+                                               String.valueOf(question.questionNumber), question.questionType,
+                                               giver.email, giver.section, recipient, recipientSection,
+                                               new Text(responseMetaData));
+        data.feedbackResponses.put(question.courseId + "%" + question.feedbackSessionName + "%"
+                                   + question.questionNumber + "%" + giver.email + "%" + recipient, response);
+    }
+    
+    private boolean isAnswered(double responseRate) {
+        return random.nextDouble() < responseRate;
+    }
+    
+    private String generateTextAnswer() {
+        StringBuilder answer = new StringBuilder();
+        int numOfSentences = 1 + random.nextInt(TEXT_ANSWER_SENTENCES.length);
+        for (int i = 0; i < numOfSentences; i++) {
+            answer.append(TEXT_ANSWER_SENTENCES[random.nextInt(TEXT_ANSWER_SENTENCES.length)]).append(' ');
+        }
+        return answer.toString().trim();
+    }
+    
+    private static String getSessionKey(FeedbackSessionAttributes session) {
+        return session.getCourseId() + "%" + session.getFeedbackSessionName();
+    }
+    
+}
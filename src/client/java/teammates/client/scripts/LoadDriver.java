@@ -0,0 +1,317 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Utils;
+import teammates.test.driver.BackDoor;
+import teammates.test.driver.TestProperties;
+import teammates.test.util.FileHelper;
+
+/**
+ * Usage: This script replays the page flows of instructors and students of a large course against the dev server
+ * with the URL in the test.properties file, from several threads at once, and reports the throughput and
+ * the latency of each page.
+ * 
+ * Notes:
+ * -Generate the data with {@link LargeCourseDataGenerator} and import it with {@link ImportData} before use.
+ * -Edit the constants below to change the load. The dev server handles one request at a time,
+ *  so more threads increase the latency rather than the throughput.
+ * -Instructors are logged in through the login page of the dev server and students access their pages
+ *  with their registration keys, hence this script does not work against a staging server.
+ * -Run the script before and after a change on the same data and compare the reports.
+ */
+public final class LoadDriver {
+    
+    // Data source file name (under src/test/resources/data folder) of the data imported
+    private static final String SOURCE_FILE_NAME = LargeCourseDataGenerator.FILE_NAME;
+    
+    private static final int NUM_OF_THREADS = 4;
+    private static final int DURATION_IN_SECONDS = 300;
+    // Fraction of the flows replayed which are student flows; the rest are instructor flows
+    private static final double STUDENT_FLOW_RATIO = 0.9;
+    // Number of students whose flows are replayed, as their registration keys are obtained one at a time
+    private static final int NUM_OF_STUDENTS_SAMPLED = 100;
+    
+    private static final int TIMEOUT_IN_MS = 60000;
+    
+    private static final String DEV_SERVER_LOGIN_URL = "/_ah/login";
+    private static final String DEV_SERVER_LOGIN_COOKIE = "dev_appserver_login";
+    
+    private final Map<String, List<Long>> latenciesByPage = new TreeMap<String, List<Long>>();
+    private final Map<String, Integer> errorsByPage = new TreeMap<String, Integer>();
+    
+    private final List<InstructorAttributes> instructors = new ArrayList<InstructorAttributes>();
+    private final List<String> instructorCookies = new ArrayList<String>();
+    private final List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+    private final List<String> studentKeys = new ArrayList<String>();
+    private FeedbackSessionAttributes openSession;
+    private FeedbackSessionAttributes publishedSession;
+    
+    private LoadDriver() {
+        // script, not meant to be instantiated elsewhere
+    }
+    
+    public static void main(String[] args) throws Exception {
+        if (!TestProperties.isDevServer()) {
+            System.out.println("The load driver can only be run against the dev server.");
+            return;
+        }
+        String jsonString = FileHelper.readFile(TestProperties.TEST_DATA_FOLDER + "/" + SOURCE_FILE_NAME);
+        DataBundle data = Utils.getTeammatesGson().fromJson(jsonString, DataBundle.class);
+        
+        LoadDriver driver = new LoadDriver();
+        driver.prepare(data);
+        driver.run();
+    }
+    
+    /**
+     * Logs in the instructors and obtains the registration keys of the students sampled,
+     * of the first course in {@code data}.
+     */
+    private void prepare(DataBundle data) throws IOException {
+        String courseId = data.courses.values().iterator().next().getId();
+        for (FeedbackSessionAttributes session : data.feedbackSessions.values()) {
+            if (!session.getCourseId().equals(courseId)) {
+                continue;
+            }
+            if (session.isOpened()) {
+                openSession = session;
+            } else if (session.isPublished()) {
+                publishedSession = session;
+            }
+        }
+        
+        for (InstructorAttributes instructor : data.instructors.values()) {
+            if (instructor.courseId.equals(courseId)) {
+                instructors.add(instructor);
+                instructorCookies.add(logInToDevServer(instructor.googleId));
+            }
+        }
+        
+        List<StudentAttributes> studentsInCourse = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : data.students.values()) {
+            if (student.course.equals(courseId)) {
+                studentsInCourse.add(student);
+            }
+        }
+        Collections.shuffle(studentsInCourse, new Random(0));
+        for (StudentAttributes student : studentsInCourse.subList(0,
+                Math.min(NUM_OF_STUDENTS_SAMPLED, studentsInCourse.size()))) {
+            students.add(student);
+            studentKeys.add(BackDoor.getEncryptedKeyForStudent(courseId, student.email));
+        }
+        
+        System.out.println("Replaying the flows of " + instructors.size() + " instructors and " + students.size()
+                           + " students of " + courseId + " for " + DURATION_IN_SECONDS + " s"
+                           + " with " + NUM_OF_THREADS + " threads");
+    }
+    
+    private void run() throws InterruptedException {
+        final long endTime = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(DURATION_IN_SECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_OF_THREADS);
+        for (int i = 0; i < NUM_OF_THREADS; i++) {
+            final Random random = new Random(i);
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    while (System.currentTimeMillis() < endTime) {
+                        if (random.nextDouble() < STUDENT_FLOW_RATIO) {
+                            replayStudentFlow(random.nextInt(students.size()));
+                        } else {
+                            replayInstructorFlow(random.nextInt(instructors.size()));
+                        }
+                    }
+                }
+            });
+        }
+        long startTime = System.currentTimeMillis();
+        executor.shutdown();
+        executor.awaitTermination(DURATION_IN_SECONDS + TIMEOUT_IN_MS / 1000 * 10, TimeUnit.SECONDS);
+        printReport(System.currentTimeMillis() - startTime);
+    }
+    
+    private void replayStudentFlow(int studentIndex) {
+        StudentAttributes student = students.get(studentIndex);
+        String key = studentKeys.get(studentIndex);
+        if (openSession != null) {
+            requestPage("Student: submit feedback", null, Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE,
+                        Const.ParamsNames.COURSE_ID, openSession.getCourseId(),
+                        Const.ParamsNames.FEEDBACK_SESSION_NAME, openSession.getFeedbackSessionName(),
+                        Const.ParamsNames.REGKEY, key,
+                        Const.ParamsNames.STUDENT_EMAIL, student.email);
+        }
+        if (publishedSession != null) {
+            requestPage("Student: view results", null, Const.ActionURIs.STUDENT_FEEDBACK_RESULTS_PAGE,
+                        Const.ParamsNames.COURSE_ID, publishedSession.getCourseId(),
+                        Const.ParamsNames.FEEDBACK_SESSION_NAME, publishedSession.getFeedbackSessionName(),
+                        Const.ParamsNames.REGKEY, key,
+                        Const.ParamsNames.STUDENT_EMAIL, student.email);
+        }
+    }
+    
+    private void replayInstructorFlow(int instructorIndex) {
+        InstructorAttributes instructor = instructors.get(instructorIndex);
+        String cookie = instructorCookies.get(instructorIndex);
+        requestPage("Instructor: home", cookie, Const.ActionURIs.INSTRUCTOR_HOME_PAGE);
+        requestPage("Instructor: course details", cookie, Const.ActionURIs.INSTRUCTOR_COURSE_DETAILS_PAGE,
+                    Const.ParamsNames.COURSE_ID, instructor.courseId);
+        requestPage("Instructor: sessions", cookie, Const.ActionURIs.INSTRUCTOR_FEEDBACKS_PAGE);
+        if (publishedSession != null) {
+            requestPage("Instructor: view results", cookie, Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_PAGE,
+                        Const.ParamsNames.COURSE_ID, publishedSession.getCourseId(),
+                        Const.ParamsNames.FEEDBACK_SESSION_NAME, publishedSession.getFeedbackSessionName());
+            requestPage("Instructor: download results", cookie, Const.ActionURIs.INSTRUCTOR_FEEDBACK_RESULTS_DOWNLOAD,
+                        Const.ParamsNames.COURSE_ID, publishedSession.getCourseId(),
+                        Const.ParamsNames.FEEDBACK_SESSION_NAME, publishedSession.getFeedbackSessionName());
+        }
+    }
+    
+    /**
+     * Requests the page at {@code uri} with the given parameters and records its latency under {@code pageName},
+     * or records an error if the page is not returned successfully.
+     * @param cookie the login cookie of the user, or null if the page is accessed without logging in
+     * @param params an even number of parameter names and values: { "name1", "value1", "name2", "value2", ... }
+     */
+    private void requestPage(String pageName, String cookie, String uri, String... params) {
+        long startTime = System.nanoTime();
+        boolean isSuccessful;
+        try {
+            HttpURLConnection conn = openConnection(uri + "?" + encodeParameters(params));
+            if (cookie != null) {
+                conn.setRequestProperty("Cookie", cookie);
+            }
+            isSuccessful = conn.getResponseCode() == HttpURLConnection.HTTP_OK;
+            readFully(isSuccessful ? conn.getInputStream() : conn.getErrorStream());
+        } catch (IOException e) {
+            isSuccessful = false;
+        }
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        record(pageName, latency, isSuccessful);
+    }
+    
+    private synchronized void record(String pageName, long latency, boolean isSuccessful) {
+        if (!isSuccessful) {
+            Integer errors = errorsByPage.get(pageName);
+            errorsByPage.put(pageName, errors == null ? 1 : errors + 1);
+            return;
+        }
+        if (!latenciesByPage.containsKey(pageName)) {
+            latenciesByPage.put(pageName, new ArrayList<Long>());
+        }
+        latenciesByPage.get(pageName).add(latency);
+    }
+    
+    private synchronized void printReport(long timeTaken) {
+        double seconds = timeTaken / 1000.0;
+        int totalRequests = 0;
+        System.out.println();
+        System.out.println(String.format("%-30s %8s %7s %8s %8s %8s %8s %8s %8s",
+                                         "Page", "Requests", "Errors", "Req/s",
+                                         "Avg(ms)", "P50(ms)", "P95(ms)", "P99(ms)", "Max(ms)"));
+        for (Map.Entry<String, List<Long>> entry : latenciesByPage.entrySet()) {
+            List<Long> latencies = entry.getValue();
+            Collections.sort(latencies);
+            long total = 0;
+            for (long latency : latencies) {
+                total += latency;
+            }
+            Integer errors = errorsByPage.get(entry.getKey());
+            totalRequests += latencies.size();
+            System.out.println(String.format("%-30s %8d %7d %8.2f %8d %8d %8d %8d %8d",
+                                             entry.getKey(), latencies.size(), errors == null ? 0 : errors,
+                                             latencies.size() / seconds, total / latencies.size(),
+                                             getPercentile(latencies, 50), getPercentile(latencies, 95),
+                                             getPercentile(latencies, 99), latencies.get(latencies.size() - 1)));
+        }
+        for (Map.Entry<String, Integer> entry : errorsByPage.entrySet()) {
+            if (!latenciesByPage.containsKey(entry.getKey())) {
+                System.out.println(String.format("%-30s %8d %7d", entry.getKey(), 0, entry.getValue()));
+            }
+        }
+        System.out.println(String.format("Successful requests: %d in %.1f s (%.2f req/s)",
+                                         totalRequests, seconds, totalRequests / seconds));
+    }
+    
+    /**
+     * @return the {@code percentile}-th percentile of the {@code latencies}, which are sorted
+     */
+    private static long getPercentile(List<Long> latencies, int percentile) {
+        int rank = (latencies.size() * percentile + 99) / 100;
+        return latencies.get(Math.max(rank, 1) - 1);
+    }
+    
+    /**
+     * Logs in to the dev server as the user with {@code email} and returns the login cookie of the user.
+     */
+    private static String logInToDevServer(String email) throws IOException {
+        HttpURLConnection conn = openConnection(DEV_SERVER_LOGIN_URL);
+        conn.setRequestMethod("POST");
+        conn.setDoOutput(true);
+        OutputStreamWriter writer = new OutputStreamWriter(conn.getOutputStream(), Const.SystemParams.ENCODING);
+        writer.write(encodeParameters("email", email, "action", "Log In", "continue", "/"));
+        writer.close();
+        conn.getResponseCode();
+        
+        List<String> cookies = conn.getHeaderFields().get("Set-Cookie");
+        if (cookies != null) {
+            for (String cookie : cookies) {
+                if (cookie.startsWith(DEV_SERVER_LOGIN_COOKIE + "=")) {
+                    return cookie.split(";")[0];
+                }
+            }
+        }
+        throw new IOException("Failed to log in to the dev server as " + email);
+    }
+    
+    private static HttpURLConnection openConnection(String uri) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(TestProperties.TEAMMATES_URL + uri).openConnection();
+        conn.setInstanceFollowRedirects(false);
+        conn.setConnectTimeout(TIMEOUT_IN_MS);
+        conn.setReadTimeout(TIMEOUT_IN_MS);
+        return conn;
+    }
+    
+    private static String encodeParameters(String... params) throws UnsupportedEncodingException {
+        StringBuilder paramString = new StringBuilder();
+        for (int i = 0; i < params.length; i += 2) {
+            if (i > 0) {
+                paramString.append('&');
+            }
+            paramString.append(URLEncoder.encode(params[i], Const.SystemParams.ENCODING)).append('=')
+                       .append(URLEncoder.encode(params[i + 1], Const.SystemParams.ENCODING));
+        }
+        return paramString.toString();
+    }
+    
+    private static void readFully(InputStream stream) throws IOException {
+        if (stream == null) {
+            return;
+        }
+        byte[] buffer = new byte[8192];
+        while (stream.read(buffer) != -1) {
+            // the content is discarded; reading it is part of the latency of the page
+        }
+        stream.close();
+    }
+    
+}
@@ -0,0 +1,14 @@
+package teammates.common.datatransfer;
+
+/**
+ * The properties of the activity logs kept in the datastore which the logs can be looked up by.
+ * The values of the properties are matched case-insensitively.
+ */
+public enum ActivityLogSearchKey {
+    /** The Google ID or the email of the user who carried out the action */
+    PERSON,
+    /** The role of the user who carried out the action, e.g. Instructor(M) */
+    ROLE,
+    /** The name of the servlet which carried out the action, e.g. instructorHomePage */
+    SERVLET;
+}
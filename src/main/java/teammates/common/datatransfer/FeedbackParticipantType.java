@@ -1,6 +1,7 @@
 package teammates.common.datatransfer;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -76,6 +77,30 @@ public enum FeedbackParticipantType {
         return this == TEAMS || this == OWN_TEAM;
     }
 
+    /**
+     * Gets the bit representing this participant type in a mask created by {@link #toMask(Collection)}.
+     */
+    public int getMaskBit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Creates a bit mask in which the bit of each of {@code types} is set, so that membership
+     * can be checked with {@code (mask & type.getMaskBit()) != 0}.
+     *
+     * @return 0 if {@code types} is null or empty
+     */
+    public static int toMask(Collection<FeedbackParticipantType> types) {
+        int mask = 0;
+        if (types == null) {
+            return mask;
+        }
+        for (FeedbackParticipantType type : types) {
+            mask |= type.getMaskBit();
+        }
+        return mask;
+    }
+
     /**
      * Formats the participant type as a giver for display to user.
      *
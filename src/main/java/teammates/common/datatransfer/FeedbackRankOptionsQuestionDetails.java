@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import teammates.common.datatransfer.FeedbackRankStatistics.RankHistogram;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.HttpRequestHelper;
@@ -247,15 +248,15 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
         
         StringBuilder fragments = new StringBuilder(100);
         
-        Map<String, List<Integer>> optionRanks = generateOptionRanksMapping(responses);
+        Map<String, RankHistogram> optionRanks = generateRankStatistics(responses).getHistograms();
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : optionRanks.entrySet()) {
+        for (Entry<String, RankHistogram> entry : optionRanks.entrySet()) {
             
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
-            String ranksReceived = getListOfRanksReceivedAsString(ranks);
+            RankHistogram ranks = entry.getValue();
+            double average = ranks.getAverage();
+            String ranksReceived = ranks.getRanksReceivedAsString();
 
             String option = entry.getKey();
             
@@ -281,15 +282,14 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, List<Integer>> optionRanks = generateOptionRanksMapping(responses);
+        Map<String, RankHistogram> optionRanks = generateRankStatistics(responses).getHistograms();
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : optionRanks.entrySet()) {
+        for (Entry<String, RankHistogram> entry : optionRanks.entrySet()) {
             String option = Sanitizer.sanitizeForCsv(entry.getKey());
           
-            List<Integer> ranksAssigned = entry.getValue();
-            double average = computeAverage(ranksAssigned);
+            double average = entry.getValue().getAverage();
             String fragment = option + "," + df.format(average) + Const.EOL;
             fragments.append(fragment);
         }
@@ -298,15 +298,11 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
     }
 
     /**
-     * From the feedback responses, generate a mapping of the option to a list of
-     * ranks received for that option.
-     * The key of the map returned is the option name.
-     * The values of the map are list of ranks received by the key.
+     * From the feedback responses, generate the statistics of the ranks received by each option.
      * @param responses  a list of responses
      */
-    private Map<String, List<Integer>> generateOptionRanksMapping(
-                                            List<FeedbackResponseAttributes> responses) {
-        Map<String, List<Integer>> optionRanks = new HashMap<>();
+    private FeedbackRankStatistics generateRankStatistics(List<FeedbackResponseAttributes> responses) {
+        FeedbackRankStatistics statistics = new FeedbackRankStatistics();
         for (FeedbackResponseAttributes response : responses) {
             FeedbackRankOptionsResponseDetails frd = (FeedbackRankOptionsResponseDetails) response.getResponseDetails();
             
@@ -320,19 +316,9 @@ public class FeedbackRankOptionsQuestionDetails extends FeedbackRankQuestionDeta
                 mapOfOptionToRank.put(options.get(i), rankReceived);
             }
             
-            Map<String, Integer> normalisedRankForOption =
-                    obtainMappingToNormalisedRanksForRanking(mapOfOptionToRank, options);
-
-            for (int i = 0; i < options.size(); i++) {
-                String optionReceivingRanks = options.get(i);
-                int rankReceived = normalisedRankForOption.get(optionReceivingRanks);
-                
-                if (rankReceived != Const.POINTS_NOT_SUBMITTED) {
-                    updateOptionRanksMapping(optionRanks, optionReceivingRanks, rankReceived);
-                }
-            }
+            statistics.addRanking(mapOfOptionToRank);
         }
-        return optionRanks;
+        return statistics;
     }
 
     @Override
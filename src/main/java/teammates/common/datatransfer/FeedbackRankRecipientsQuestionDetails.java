@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import teammates.common.datatransfer.FeedbackRankStatistics.RankHistogram;
 import teammates.common.util.Const;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.Templates;
@@ -176,15 +177,15 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
         
         StringBuilder fragments = new StringBuilder();
         
-        Map<String, List<Integer>> recipientRanks = generateOptionRanksMapping(responses);
+        Map<String, RankHistogram> recipientRanks = generateRankStatistics(responses).getHistograms();
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : recipientRanks.entrySet()) {
+        for (Entry<String, RankHistogram> entry : recipientRanks.entrySet()) {
             
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
-            String ranksReceived = getListOfRanksReceivedAsString(ranks);
+            RankHistogram ranks = entry.getValue();
+            double average = ranks.getAverage();
+            String ranksReceived = ranks.getRanksReceivedAsString();
             
             String participantIdentifier = entry.getKey();
             String name = bundle.getNameForEmail(participantIdentifier);
@@ -215,11 +216,11 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, List<Integer>> recipientRanks = generateOptionRanksMapping(responses);
+        Map<String, RankHistogram> recipientRanks = generateRankStatistics(responses).getHistograms();
 
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, List<Integer>> entry : recipientRanks.entrySet()) {
+        for (Entry<String, RankHistogram> entry : recipientRanks.entrySet()) {
             
             String teamName = bundle.getTeamNameForEmail(entry.getKey());
             String recipientName = bundle.getNameForEmail(entry.getKey());
@@ -227,8 +228,7 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
                             + ","
                             + Sanitizer.sanitizeForCsv(recipientName);
 
-            List<Integer> ranks = entry.getValue();
-            double average = computeAverage(ranks);
+            double average = entry.getValue().getAverage();
             fragments.append(option).append(',').append(df.format(average)).append(Const.EOL);
         }
         
@@ -236,56 +236,31 @@ public class FeedbackRankRecipientsQuestionDetails extends FeedbackRankQuestionD
     }
     
     /**
-     * From the feedback responses, generate a mapping of the option to a list of
-     * ranks received for that option.
-     * The key of the map returned is the recipient's participant identifier.
-     * The values of the map are list of ranks received by the recipient.
+     * From the feedback responses, generate the statistics of the ranks received by each recipient.
+     * The ranks given by each giver are normalised separately.
      * @param responses  a list of responses
      */
-    private Map<String, List<Integer>> generateOptionRanksMapping(List<FeedbackResponseAttributes> responses) {
+    private FeedbackRankStatistics generateRankStatistics(List<FeedbackResponseAttributes> responses) {
         
-        Map<FeedbackResponseAttributes, Integer> normalisedRankOfResponse = getNormalisedRankForEachResponse(responses);
-
-        Map<String, List<Integer>> optionRanks = new HashMap<>();
-        for (FeedbackResponseAttributes response : responses) {
-            updateOptionRanksMapping(optionRanks, response.recipient, normalisedRankOfResponse.get(response));
-        }
-        
-        return optionRanks;
-    }
-
-    /**
-     * Returns a map of response to the normalised rank by resolving ties for each giver's set of responses
-     * @param responses
-     * @see FeedbackRankQuestionDetails#obtainMappingToNormalisedRanksForRanking(Map, List) for how ties are resolved
-     */
-    private Map<FeedbackResponseAttributes, Integer> getNormalisedRankForEachResponse(
-                                                            List<FeedbackResponseAttributes> responses) {
-
-        // collect each giver's responses
-        Map<String, List<FeedbackResponseAttributes>> responsesGivenByPerson = new HashMap<>();
+        // collect the rank each giver gave to each recipient
+        Map<String, Map<String, Integer>> rankOfRecipientByGiver = new HashMap<>();
         for (FeedbackResponseAttributes response : responses) {
-            if (!responsesGivenByPerson.containsKey(response.giver)) {
-                responsesGivenByPerson.put(response.giver, new ArrayList<FeedbackResponseAttributes>());
+            Map<String, Integer> rankOfRecipient = rankOfRecipientByGiver.get(response.giver);
+            if (rankOfRecipient == null) {
+                rankOfRecipient = new HashMap<>();
+                rankOfRecipientByGiver.put(response.giver, rankOfRecipient);
             }
-            
-            responsesGivenByPerson.get(response.giver)
-                                  .add(response);
+
+            FeedbackRankRecipientsResponseDetails frd =
+                    (FeedbackRankRecipientsResponseDetails) response.getResponseDetails();
+            rankOfRecipient.put(response.recipient, frd.answer);
         }
         
-        // resolve ties for each giver's responses
-        Map<FeedbackResponseAttributes, Integer> normalisedRankOfResponse = new HashMap<>();
-        for (Map.Entry<String, List<FeedbackResponseAttributes>> entry : responsesGivenByPerson.entrySet()) {
-            Map<FeedbackResponseAttributes, Integer> rankOfResponse = new HashMap<>();
-            for (FeedbackResponseAttributes res : responses) {
-                FeedbackRankRecipientsResponseDetails frd = (FeedbackRankRecipientsResponseDetails) res.getResponseDetails();
-                rankOfResponse.put(res, frd.answer);
-            }
-            
-            normalisedRankOfResponse.putAll(obtainMappingToNormalisedRanksForRanking(rankOfResponse, entry.getValue()));
+        FeedbackRankStatistics statistics = new FeedbackRankStatistics();
+        for (Map<String, Integer> rankOfRecipient : rankOfRecipientByGiver.values()) {
+            statistics.addRanking(rankOfRecipient);
         }
-        
-        return normalisedRankOfResponse;
+        return statistics;
     }
 
     @Override
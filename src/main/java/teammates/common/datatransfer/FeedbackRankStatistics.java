@@ -0,0 +1,157 @@
+package teammates.common.datatransfer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import teammates.common.util.Const;
+
+/**
+ * Aggregates the rankings given for a rank question into a histogram of the ranks received
+ * by each option or recipient.<br>
+ * Ties are resolved as each ranking is added, so the averages and the lists of ranks received
+ * are read off the histograms without going through the responses again.
+ */
+public class FeedbackRankStatistics {
+    
+    private final Map<String, RankHistogram> histograms = new HashMap<>();
+    
+    /**
+     * Adds the ranking given by one giver.<br>
+     * Tied options or recipients are all given the best of the ranks they occupy,
+     * e.g. the ranks (1,4,1,4) are normalised to (1,3,1,3).
+     * Ranks that are {@link Const#POINTS_NOT_SUBMITTED} are ignored.
+     * @param rankOfKey the rank given to each option or recipient
+     */
+    public void addRanking(Map<String, Integer> rankOfKey) {
+        int[] sortedRanks = new int[rankOfKey.size()];
+        int numRanks = 0;
+        for (int rank : rankOfKey.values()) {
+            if (rank != Const.POINTS_NOT_SUBMITTED) {
+                sortedRanks[numRanks] = rank;
+                numRanks++;
+            }
+        }
+        Arrays.sort(sortedRanks, 0, numRanks);
+        
+        for (Map.Entry<String, Integer> entry : rankOfKey.entrySet()) {
+            int rank = entry.getValue();
+            if (rank == Const.POINTS_NOT_SUBMITTED) {
+                continue;
+            }
+            // the normalised rank is one more than the number of ranks strictly better than it
+            int normalisedRank = 1 + countRanksBetterThan(rank, sortedRanks, numRanks);
+            getOrCreateHistogram(entry.getKey()).add(normalisedRank);
+        }
+    }
+    
+    /**
+     * @return the histograms of the ranks received, keyed by option or recipient.
+     *         Options and recipients which have not received any rank are not included.
+     */
+    public Map<String, RankHistogram> getHistograms() {
+        return histograms;
+    }
+    
+    private RankHistogram getOrCreateHistogram(String key) {
+        RankHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = new RankHistogram();
+            histograms.put(key, histogram);
+        }
+        return histogram;
+    }
+    
+    private static int countRanksBetterThan(int rank, int[] sortedRanks, int numRanks) {
+        int low = 0;
+        int high = numRanks;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedRanks[mid] < rank) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * The number of times each rank is received by one option or recipient.
+     */
+    public static class RankHistogram {
+        
+        private static final int NUM_RANKS_SHOWN_AT_EACH_END = 5;
+        
+        // count of rank r is at index r; index 0 is unused as ranks start from 1
+        private int[] counts = new int[8];
+        private int numRanksReceived;
+        private long sumOfRanksReceived;
+        
+        void add(int rank) {
+            if (rank >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(rank + 1, counts.length * 2));
+            }
+            counts[rank]++;
+            numRanksReceived++;
+            sumOfRanksReceived += rank;
+        }
+        
+        public int getNumRanksReceived() {
+            return numRanksReceived;
+        }
+        
+        public int getCount(int rank) {
+            return rank > 0 && rank < counts.length ? counts[rank] : 0;
+        }
+        
+        public double getAverage() {
+            return (double) sumOfRanksReceived / numRanksReceived;
+        }
+        
+        /**
+         * Returns the ranks received in ascending order for display, e.g. {@code 1 , 1 , 2}.<br>
+         * If more than 10 ranks are received, only the 5 best and the 5 worst are shown.
+         */
+        public String getRanksReceivedAsString() {
+            StringBuilder ranksReceived = new StringBuilder();
+            
+            if (numRanksReceived > 2 * NUM_RANKS_SHOWN_AT_EACH_END) {
+                for (int i = 0; i < NUM_RANKS_SHOWN_AT_EACH_END; i++) {
+                    ranksReceived.append(getRankAt(i)).append(" , ");
+                }
+                
+                ranksReceived.append("...");
+                
+                for (int i = numRanksReceived - NUM_RANKS_SHOWN_AT_EACH_END; i < numRanksReceived; i++) {
+                    ranksReceived.append(" , ").append(getRankAt(i));
+                }
+            } else {
+                for (int i = 0; i < numRanksReceived; i++) {
+                    ranksReceived.append(getRankAt(i));
+                    
+                    if (i != numRanksReceived - 1) {
+                        ranksReceived.append(" , ");
+                    }
+                }
+            }
+            
+            return ranksReceived.toString();
+        }
+        
+        /**
+         * @return the rank at {@code index} of the ranks received sorted in ascending order
+         */
+        private int getRankAt(int index) {
+            int numRanksSeen = 0;
+            for (int rank = 1; rank < counts.length; rank++) {
+                numRanksSeen += counts[rank];
+                if (index < numRanksSeen) {
+                    return rank;
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numRanksReceived);
+        }
+    }
+    
+}
@@ -0,0 +1,13 @@
+package teammates.common.datatransfer;
+
+/**
+ * The events in the life of a feedback session which the hourly reminder cron jobs act upon.
+ */
+public enum FeedbackSessionScheduleEvent {
+    /** The session opens; the opening emails are due. */
+    OPENING,
+    /** The session enters the closing alert period before its end time; the closing emails are due. */
+    CLOSING_SOON,
+    /** The results of the session are published at a custom time; the published emails are due. */
+    PUBLISHED;
+}
@@ -247,6 +247,14 @@ public class InstructorAttributes extends EntityAttributes {
         return gson.toJson(this, InstructorAttributes.class);
     }
  
+    /**
+     * @return the ID of the instructor entity created with the given email in the given course.
+     *         The ID is not changed when the email of the instructor is updated.
+     */
+    public static String makeId(String email, String courseId) {
+        return email + "%" + courseId;
+    }
+    
     @Override
     public String getIdentificationString() {
         return courseId + "/" + email;
@@ -0,0 +1,39 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents one page of the students of a course, ordered by section, then team, then name.
+ * <br> Contains:
+ * <br> * The names of all sections of the course with the names of all their teams, in display order.
+ *        These do not depend on the page or on the filter, so that the sections and teams can be indexed
+ *        in the same way on every page.
+ * <br> * {@link SectionDetailsBundle} objects for the students in the page only.
+ * <br> * The position of the page among the students matching the filter.
+ */
+public class StudentListPageBundle {
+    
+    public Map<String, List<String>> teamNamesInSections = new LinkedHashMap<String, List<String>>();
+    public List<SectionDetailsBundle> sections = new ArrayList<SectionDetailsBundle>();
+    
+    /** Position of the first student of the page among the students matching the filter */
+    public int offset;
+    
+    public int numStudentsInPage;
+    public int numStudentsMatched;
+    
+    public boolean hasNextPage() {
+        return getNextOffset() < numStudentsMatched;
+    }
+    
+    /**
+     * @return the offset to request the page after this one with
+     */
+    public int getNextOffset() {
+        return offset + numStudentsInPage;
+    }
+    
+}
@@ -28,6 +28,7 @@ public class StudentProfileAttributes extends EntityAttributes {
     public String gender; // only accepts "male", "female" or "other"
     public String moreInfo;
     public String pictureKey;
+    public String thumbnailKey;
     public Date modifiedDate;
 
     public StudentProfileAttributes(String googleId, String shortName, String email, String institute,
@@ -40,6 +41,7 @@ public class StudentProfileAttributes extends EntityAttributes {
         this.gender = gender;
         this.moreInfo = moreInfo;
         this.pictureKey = pictureKey;
+        this.thumbnailKey = "";
     }
 
     public StudentProfileAttributes(StudentProfile sp) {
@@ -51,6 +53,7 @@ public class StudentProfileAttributes extends EntityAttributes {
         this.gender = sp.getGender();
         this.moreInfo = sp.getMoreInfo().getValue();
         this.pictureKey = sp.getPictureKey().getKeyString();
+        this.thumbnailKey = sp.getThumbnailKey() == null ? "" : sp.getThumbnailKey().getKeyString();
         this.modifiedDate = sp.getModifiedDate();
     }
 
@@ -64,6 +67,7 @@ public class StudentProfileAttributes extends EntityAttributes {
         this.gender = "other";
         this.moreInfo = "";
         this.pictureKey = "";
+        this.thumbnailKey = "";
         this.modifiedDate = null;
     }
 
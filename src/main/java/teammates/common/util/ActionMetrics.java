@@ -0,0 +1,113 @@
+package teammates.common.util;
+
+import java.util.List;
+
+/**
+ * A snapshot of the metrics recorded by {@link RequestMetrics} for the requests of an action.
+ * All times are in milliseconds.
+ */
+public class ActionMetrics {
+    
+    private String actionName;
+    private long numberOfRequests;
+    private long totalLatency;
+    private long latencyP50;
+    private long latencyP95;
+    private long latencyP99;
+    private long maxLatency;
+    private List<CallMetrics> calls;
+    
+    public ActionMetrics(String actionName, long numberOfRequests, long totalLatency, long latencyP50,
+                         long latencyP95, long latencyP99, long maxLatency, List<CallMetrics> calls) {
+        this.actionName = actionName;
+        this.numberOfRequests = numberOfRequests;
+        this.totalLatency = totalLatency;
+        this.latencyP50 = latencyP50;
+        this.latencyP95 = latencyP95;
+        this.latencyP99 = latencyP99;
+        this.maxLatency = maxLatency;
+        this.calls = calls;
+    }
+    
+    public String getActionName() {
+        return actionName;
+    }
+    
+    public long getNumberOfRequests() {
+        return numberOfRequests;
+    }
+    
+    public long getTotalLatency() {
+        return totalLatency;
+    }
+    
+    public long getAverageLatency() {
+        return numberOfRequests == 0 ? 0 : totalLatency / numberOfRequests;
+    }
+    
+    /**
+     * The percentiles are read from a histogram, so each is the upper bound of the bucket it falls in.
+     */
+    public long getLatencyP50() {
+        return latencyP50;
+    }
+    
+    public long getLatencyP95() {
+        return latencyP95;
+    }
+    
+    public long getLatencyP99() {
+        return latencyP99;
+    }
+    
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+    
+    /**
+     * @return the metrics of each {@link RequestMetrics.Call}, in the order of its declaration
+     */
+    public List<CallMetrics> getCalls() {
+        return calls;
+    }
+    
+    /**
+     * The number of calls of one kind made by the requests of the action.
+     */
+    public static class CallMetrics {
+        
+        private String callName;
+        private long totalCalls;
+        private double averageCallsPerRequest;
+        private long maxCallsPerRequest;
+        
+        public CallMetrics(String callName, long totalCalls, long numberOfRequests, long maxCallsPerRequest) {
+            this.callName = callName;
+            this.totalCalls = totalCalls;
+            this.averageCallsPerRequest = numberOfRequests == 0 ? 0 : (double) totalCalls / numberOfRequests;
+            this.maxCallsPerRequest = maxCallsPerRequest;
+        }
+        
+        public String getCallName() {
+            return callName;
+        }
+        
+        public long getTotalCalls() {
+            return totalCalls;
+        }
+        
+        public double getAverageCallsPerRequest() {
+            return averageCallsPerRequest;
+        }
+        
+        public String getAverageCallsPerRequestForDisplay() {
+            return String.format("%.1f", averageCallsPerRequest);
+        }
+        
+        public long getMaxCallsPerRequest() {
+            return maxCallsPerRequest;
+        }
+        
+    }
+    
+}
@@ -1,9 +1,6 @@
 package teammates.common.util;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Date;
-import java.util.TimeZone;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -27,6 +24,8 @@ public class ActivityLogEntry {
             Const.AutomatedActionNames.AUTOMATED_FEEDBACK_OPENING_REMINDERS,
             Const.AutomatedActionNames.AUTOMATED_FEEDBACK_CLOSING_REMINDERS,
             Const.AutomatedActionNames.AUTOMATED_FEEDBACK_PUBLISHED_REMINDERS,
+            Const.AutomatedActionNames.AUTOMATED_ACTIVITY_LOG_STORAGE,
+            Const.AutomatedActionNames.AUTOMATED_ACTIVITY_LOG_PURGE,
 
     };
     
@@ -44,8 +43,6 @@ public class ActivityLogEntry {
     public static final int POSITION_OF_URL = 9;
     public static final int POSITION_OF_ID = 10;
     public static final int POSITION_OF_TIMETAKEN = 11;
-    
-    private static final int POSITION_OF_TIMETAKEN_IN_OLD_LOGS = 10;
 
     private static final int TIME_TAKEN_WARNING_LOWER_RANGE = 10000;
     private static final int TIME_TAKEN_WARNING_UPPER_RANGE = 20000;
@@ -101,14 +98,34 @@ public class ActivityLogEntry {
      * Used in AdminActivityLogServlet.
      */
     public ActivityLogEntry(AppLogLine appLog) {
-        time = appLog.getTimeUsec() / 1000;
+        this(new ActivityLogLine(appLog.getTimeUsec() / 1000, appLog.getLogMessage()));
+    }
+    
+    /**
+     * Constructor that creates an ActivityLog object from a log message in the format logged by
+     * ControllerServlet and the time it was logged at.
+     */
+    public ActivityLogEntry(long time, String logMessage) {
+        this(new ActivityLogLine(time, logMessage));
+    }
         
-        try {
-            String[] tokens = appLog.getLogMessage().split("\\|\\|\\|", -1);
-            initUsingAppLogMessage(tokens);
-        } catch (ArrayIndexOutOfBoundsException e) {
-            initAsFailure(appLog, e);
-        }
+    /**
+     * Constructor that creates an ActivityLog object from a view of a log line, in either version of the line.
+     * A line which cannot be parsed gives a log of an unknown action with a message describing the problem.
+     */
+    public ActivityLogEntry(ActivityLogLine logLine) {
+        time = logLine.getTime();
+        servletName = logLine.getServletName();
+        action = logLine.getAction();
+        toShow = logLine.isToShow();
+        role = logLine.getRole();
+        name = logLine.getName();
+        googleId = logLine.getGoogleId();
+        email = logLine.getEmail();
+        message = logLine.getMessage();
+        url = logLine.getUrl();
+        id = logLine.getId();
+        timeTaken = logLine.getTimeTaken();
         
         keyStringsToHighlight = null;
         logInfoAsHtml = getLogInfoForTableRowAsHtml();
@@ -218,52 +235,6 @@ public class ActivityLogEntry {
         id = generateLogId(googleId, unregisteredStudent, time);
     }
     
-    private void initUsingAppLogMessage(String[] tokens) {
-        servletName = tokens[POSITION_OF_SERVLETNAME];
-        action = tokens[POSITION_OF_ACTION];
-        toShow = Boolean.parseBoolean(tokens[POSITION_OF_TOSHOW]);
-        role = tokens[POSITION_OF_ROLE];
-        name = tokens[POSITION_OF_NAME];
-        googleId = tokens[POSITION_OF_GOOGLEID];
-        email = tokens[POSITION_OF_EMAIL];
-        message = tokens[POSITION_OF_MESSAGE];
-        url = tokens[POSITION_OF_URL];
-        
-        boolean isLogWithTimeTakenAndId = tokens.length >= (POSITION_OF_ID + 1);
-        if (isLogWithTimeTakenAndId) {
-            boolean isOldLog = !(tokens[POSITION_OF_ID].contains(googleId)
-                                 || tokens[POSITION_OF_ID].contains("%"));
-            //TODO the branch for old logs can be removed after V5.64
-            // this branch is needed to support older style logs when we did not have the log id
-            if (isOldLog) {
-                // TEAMMATESLOG|||SERVLET_NAME|||ACTION|||TO_SHOW|||ROLE|||NAME|||GOOGLE_ID|||EMAIL|||
-                // MESSAGE(IN HTML)|||URL|||TIME_TAKEN
-                timeTaken = Long.parseLong(tokens[POSITION_OF_TIMETAKEN_IN_OLD_LOGS].trim());
-            } else {
-                // TEAMMATESLOG|||SERVLET_NAME|||ACTION|||TO_SHOW|||ROLE|||NAME|||GOOGLE_ID|||EMAIL|||
-                // MESSAGE(IN HTML)|||URL|||ID|||TIME_TAKEN
-                id = tokens[POSITION_OF_ID];
-                timeTaken = tokens.length == 12 ? Long.parseLong(tokens[POSITION_OF_TIMETAKEN].trim())
-                                                : null;
-            }
-        }
-    }
-
-    private void initAsFailure(AppLogLine appLog, Exception e) {
-        servletName = "Unknown";
-        action = "Unknown";
-        role = "Unknown";
-        name = "Unknown";
-        googleId = "Unknown";
-        email = "Unknown";
-        toShow = true;
-        message = "<span class=\"text-danger\">Error. Problem parsing log message from the server.</span><br>"
-                + "System Error: " + e.getMessage() + "<br>" + appLog.getLogMessage();
-        url = "Unknown";
-        id = "Unknown" + "%" + formatTimeForId(new Date(time));
-        timeTaken = null;
-    }
-
     private String changeRoleToAutoIfAutomatedActions(String servletName, String role) {
         for (String name : automatedActions) {
             if (name.toLowerCase().contains(servletName.toLowerCase())) {
@@ -274,10 +245,12 @@ public class ActivityLogEntry {
         return role;
     }
     
-    private String formatTimeForId(Date date) {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMddHHmmssSS");
-        sdf.setTimeZone(TimeZone.getTimeZone(Const.SystemParams.ADMIN_TIME_ZONE));
-        return sdf.format(date.getTime());
+    static String formatTimeForId(Date date) {
+        // the same as SimpleDateFormat's "yyyyMMddHHmmssSS", where "SS" is the milliseconds padded to two digits
+        // (TimeHelper.format takes "SS" as the first two digits of the fraction of the second instead)
+        long milliseconds = (date.getTime() % 1000 + 1000) % 1000;
+        return TimeHelper.format(date, "yyyyMMddHHmmss", Const.SystemParams.ADMIN_TIME_ZONE)
+               + (milliseconds < 10 ? "0" : "") + milliseconds;
     }
 
     public String getIconRoleForShow() {
@@ -325,14 +298,9 @@ public class ActivityLogEntry {
         return "TEAMMATESLOG|||" + servletName + "|||" + action + "|||" + (toShow ? "true" : "false") + "|||"
                 + role + "|||" + name + "|||" + googleId + "|||" + email + "|||" + message + "|||" + url + "|||" + id;
     }
-
+    
     public String getDateInfo() {
-        Calendar appCal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-        SimpleDateFormat sdf = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
-        sdf.setTimeZone(TimeZone.getTimeZone(Const.SystemParams.ADMIN_TIME_ZONE));
-        appCal.setTimeInMillis(time);
-
-        return sdf.format(appCal.getTime());
+        return TimeHelper.format(new Date(time), "dd-MM-yyyy HH:mm:ss", Const.SystemParams.ADMIN_TIME_ZONE);
     }
     
     public String getPersonInfo() {
@@ -366,16 +334,20 @@ public class ActivityLogEntry {
         return "<a href=\"" + getUrlToShow() + "\" class=\"" + style + "\" target=\"_blank\">" + servletName + "</a>";
     }
     
+    /**
+     * Returns the message of the log as HTML, with failures marked up.
+     * The message itself is left unchanged, so that the log message can still be generated from the entry.
+     */
     public String getMessageInfo() {
         
         if (message.toLowerCase().contains(Const.ACTION_RESULT_FAILURE.toLowerCase())) {
-            message = message.replace(Const.ACTION_RESULT_FAILURE, "<span class=\"text-danger\"><strong>"
-                      + Const.ACTION_RESULT_FAILURE + "</strong><br>");
-            message = message + "</span><br>";
+            return message.replace(Const.ACTION_RESULT_FAILURE, "<span class=\"text-danger\"><strong>"
+                                   + Const.ACTION_RESULT_FAILURE + "</strong><br>")
+                   + "</span><br>";
         } else if (message.toLowerCase().contains(Const.ACTION_RESULT_SYSTEM_ERROR_REPORT.toLowerCase())) {
-            message = message.replace(Const.ACTION_RESULT_SYSTEM_ERROR_REPORT, "<span class=\"text-danger\"><strong>"
-                      + Const.ACTION_RESULT_SYSTEM_ERROR_REPORT + "</strong><br>");
-            message = message + "</span><br>";
+            return message.replace(Const.ACTION_RESULT_SYSTEM_ERROR_REPORT, "<span class=\"text-danger\"><strong>"
+                                   + Const.ACTION_RESULT_SYSTEM_ERROR_REPORT + "</strong><br>")
+                   + "</span><br>";
         }
                 
         return message;
@@ -0,0 +1,366 @@
+package teammates.common.util;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * A view of an activity log line which locates the fields of the line only when one of them is first needed,
+ * and extracts a field only when it is asked for, so that logs can be filtered without being fully parsed.
+ * No regular expressions are used to parse the line.<br>
+ * Two versions of the line are understood:
+ * <ul>
+ * <li>Version 1, the line logged by the application:
+ * {@code TEAMMATESLOG|||SERVLET_NAME|||ACTION|||TO_SHOW|||ROLE|||NAME|||GOOGLE_ID|||EMAIL|||MESSAGE|||URL|||ID
+ * |||TIME_TAKEN}, where the ID and the time taken may be missing, and logs from before the log ID have
+ * the time taken in place of the ID.</li>
+ * <li>Version 2, the compact line kept in the datastore: {@code AL2} followed by the servlet name, action, role,
+ * name, Google ID, email, message, URL and ID, each written as its length, a colon and its characters,
+ * then {@code 1} or {@code 0} for whether the log is to be shown, then the time taken if it is known.
+ * An action which is the same as the servlet name is written as {@code =}, an ID which starts with the Google ID
+ * and a {@code %} is written as {@code ~} followed by the rest of the ID, and a missing ID as {@code -}.
+ * As the fields are length-prefixed, they may contain any characters.</li>
+ * </ul>
+ * A line which does not have all its fields is read as a log of an unknown action with a message
+ * describing the problem, as it is by {@link ActivityLogEntry}.
+ */
+public class ActivityLogLine {
+    
+    private static final String V1_SEPARATOR = "|||";
+    private static final String V2_PREFIX = "AL2";
+    
+    private static final char V2_LENGTH_END = ':';
+    private static final char V2_SAME_AS_SERVLET_NAME = '=';
+    private static final char V2_AFTER_GOOGLE_ID = '~';
+    private static final char V2_MISSING = '-';
+    
+    private static final String UNKNOWN = "Unknown";
+    
+    // the fields of the line, in the order they are written in version 2
+    private static final int SERVLET_NAME = 0;
+    private static final int ACTION = 1;
+    private static final int ROLE = 2;
+    private static final int NAME = 3;
+    private static final int GOOGLE_ID = 4;
+    private static final int EMAIL = 5;
+    private static final int MESSAGE = 6;
+    private static final int URL = 7;
+    private static final int ID = 8;
+    private static final int TO_SHOW = 9;
+    private static final int TIME_TAKEN = 10;
+    private static final int NUMBER_OF_FIELDS = 11;
+    
+    /** The field at each position of a version 1 line, after the leading TEAMMATESLOG */
+    private static final int[] V1_FIELDS_BY_POSITION = {
+            -1, SERVLET_NAME, ACTION, TO_SHOW, ROLE, NAME, GOOGLE_ID, EMAIL, MESSAGE, URL, ID, TIME_TAKEN
+    };
+    
+    /** Number of positions a version 1 line has when it has both the ID and the time taken */
+    private static final int V1_POSITIONS_WITH_ID_AND_TIME_TAKEN = V1_FIELDS_BY_POSITION.length;
+    
+    private final long time;
+    private final String line;
+    private final boolean isVersion1;
+    
+    /** The start and end index of each field in the line, with -1 for missing fields; null until first needed */
+    private int[] fieldBounds;
+    private int numberOfV1Positions;
+    private boolean isIdAfterGoogleId;
+    private String problem;
+    
+    /**
+     * @param time the time the log was logged at, in milliseconds since the Unix epoch
+     * @param line the log line in either version
+     */
+    public ActivityLogLine(long time, String line) {
+        this.time = time;
+        this.line = line;
+        this.isVersion1 = !line.startsWith(V2_PREFIX);
+    }
+    
+    public long getTime() {
+        return time;
+    }
+    
+    public String getLine() {
+        return line;
+    }
+    
+    public String getServletName() {
+        return getField(SERVLET_NAME);
+    }
+    
+    public String getAction() {
+        return getField(ACTION);
+    }
+    
+    public boolean isToShow() {
+        findFields();
+        if (problem != null) {
+            return true;
+        }
+        int start = fieldBounds[2 * TO_SHOW];
+        int end = fieldBounds[2 * TO_SHOW + 1];
+        if (isVersion1) {
+            // as Boolean.parseBoolean
+            return end - start == 4 && line.regionMatches(true, start, "true", 0, 4);
+        }
+        return line.charAt(start) == '1';
+    }
+    
+    public String getRole() {
+        return getField(ROLE);
+    }
+    
+    public String getName() {
+        return getField(NAME);
+    }
+    
+    public String getGoogleId() {
+        return getField(GOOGLE_ID);
+    }
+    
+    public String getEmail() {
+        return getField(EMAIL);
+    }
+    
+    public String getMessage() {
+        findFields();
+        if (problem != null) {
+            return "<span class=\"text-danger\">Error. Problem parsing log message from the server.</span><br>"
+                   + "System Error: " + problem + "<br>" + line;
+        }
+        return getField(MESSAGE);
+    }
+    
+    public String getUrl() {
+        return getField(URL);
+    }
+    
+    /**
+     * @return the ID of the log, or null if the log is from before the log ID
+     */
+    public String getId() {
+        findFields();
+        if (problem != null) {
+            return UNKNOWN + "%" + ActivityLogEntry.formatTimeForId(new Date(time));
+        }
+        if (isVersion1) {
+            return isV1LogWithId() ? getField(ID) : null;
+        }
+        String id = getField(ID);
+        return id != null && isIdAfterGoogleId ? getGoogleId() + "%" + id : id;
+    }
+    
+    /**
+     * @return the time taken by the action in milliseconds, or null if it is not known
+     */
+    public Long getTimeTaken() {
+        findFields();
+        if (problem != null) {
+            return null;
+        }
+        if (isVersion1) {
+            if (numberOfV1Positions < V1_POSITIONS_WITH_ID_AND_TIME_TAKEN - 1) {
+                return null;
+            }
+            if (!isV1LogWithId()) {
+                // logs from before the log ID have the time taken in place of the ID
+                return Long.parseLong(getField(ID).trim());
+            }
+            return numberOfV1Positions == V1_POSITIONS_WITH_ID_AND_TIME_TAKEN
+                   ? Long.valueOf(Long.parseLong(getField(TIME_TAKEN).trim()))
+                   : null;
+        }
+        String timeTaken = getField(TIME_TAKEN);
+        return timeTaken == null ? null : Long.valueOf(Long.parseLong(timeTaken));
+    }
+    
+    /**
+     * @return true if the log is of a user of the testing data, as indicated by the email
+     */
+    public boolean isTestingData() {
+        findFields();
+        if (problem != null) {
+            return false;
+        }
+        int end = fieldBounds[2 * EMAIL + 1];
+        return end - fieldBounds[2 * EMAIL] >= 4 && line.startsWith(".tmt", end - 4);
+    }
+    
+    /**
+     * @return the line in version 2, which is the line itself if it is already in version 2
+     */
+    public String toCompactLine() {
+        findFields();
+        if (!isVersion1 && problem == null) {
+            return line;
+        }
+        
+        String googleId = getGoogleId();
+        String id = getId();
+        Long timeTaken = getTimeTaken();
+        
+        StringBuilder compactLine = new StringBuilder(line.length() + 32);
+        compactLine.append(V2_PREFIX);
+        appendV2Field(compactLine, SERVLET_NAME);
+        if (problem == null && isSameField(SERVLET_NAME, ACTION)) {
+            compactLine.append(V2_SAME_AS_SERVLET_NAME);
+        } else {
+            appendV2Field(compactLine, ACTION);
+        }
+        appendV2Field(compactLine, ROLE);
+        appendV2Field(compactLine, NAME);
+        appendV2Field(compactLine, GOOGLE_ID);
+        appendV2Field(compactLine, EMAIL);
+        appendV2Field(compactLine, getMessage());
+        appendV2Field(compactLine, URL);
+        if (id == null) {
+            compactLine.append(V2_MISSING);
+        } else if (id.startsWith(googleId) && id.startsWith("%", googleId.length())) {
+            compactLine.append(V2_AFTER_GOOGLE_ID);
+            appendV2Field(compactLine, id.substring(googleId.length() + 1));
+        } else {
+            appendV2Field(compactLine, id);
+        }
+        compactLine.append(isToShow() ? '1' : '0');
+        if (timeTaken != null) {
+            compactLine.append(timeTaken.longValue());
+        }
+        return compactLine.toString();
+    }
+    
+    private void appendV2Field(StringBuilder compactLine, int field) {
+        if (problem != null) {
+            appendV2Field(compactLine, getField(field));
+            return;
+        }
+        int start = fieldBounds[2 * field];
+        int end = fieldBounds[2 * field + 1];
+        compactLine.append(end - start).append(V2_LENGTH_END).append(line, start, end);
+    }
+    
+    private static void appendV2Field(StringBuilder compactLine, String value) {
+        compactLine.append(value.length()).append(V2_LENGTH_END).append(value);
+    }
+    
+    private boolean isSameField(int field, int otherField) {
+        int start = fieldBounds[2 * field];
+        int length = fieldBounds[2 * field + 1] - start;
+        int otherStart = fieldBounds[2 * otherField];
+        return fieldBounds[2 * otherField + 1] - otherStart == length
+               && line.regionMatches(start, line, otherStart, length);
+    }
+    
+    /**
+     * Logs from before the log ID have the time taken in place of the ID,
+     * which is told apart from an ID as an ID contains the Google ID or a %.
+     */
+    private boolean isV1LogWithId() {
+        if (numberOfV1Positions < V1_POSITIONS_WITH_ID_AND_TIME_TAKEN - 1) {
+            return false;
+        }
+        String id = getField(ID);
+        return id.contains(getGoogleId()) || id.contains("%");
+    }
+    
+    private String getField(int field) {
+        findFields();
+        if (problem != null) {
+            return UNKNOWN;
+        }
+        int start = fieldBounds[2 * field];
+        return start == -1 ? null : line.substring(start, fieldBounds[2 * field + 1]);
+    }
+    
+    private void findFields() {
+        if (fieldBounds != null) {
+            return;
+        }
+        fieldBounds = new int[2 * NUMBER_OF_FIELDS];
+        Arrays.fill(fieldBounds, -1);
+        if (isVersion1) {
+            findV1Fields();
+        } else {
+            findV2Fields();
+        }
+    }
+    
+    private void findV1Fields() {
+        int position = 0;
+        int start = 0;
+        while (true) {
+            int end = line.indexOf(V1_SEPARATOR, start);
+            if (position < V1_FIELDS_BY_POSITION.length && V1_FIELDS_BY_POSITION[position] != -1) {
+                int field = V1_FIELDS_BY_POSITION[position];
+                fieldBounds[2 * field] = start;
+                fieldBounds[2 * field + 1] = end == -1 ? line.length() : end;
+            }
+            position++;
+            if (end == -1) {
+                break;
+            }
+            start = end + V1_SEPARATOR.length();
+        }
+        numberOfV1Positions = position;
+        
+        // all fields up to the URL are needed; the first missing position is reported as the problem
+        int firstOptionalPosition = V1_POSITIONS_WITH_ID_AND_TIME_TAKEN - 2;
+        if (numberOfV1Positions < firstOptionalPosition) {
+            problem = String.valueOf(numberOfV1Positions);
+        }
+    }
+    
+    private void findV2Fields() {
+        try {
+            int index = V2_PREFIX.length();
+            for (int field = SERVLET_NAME; field <= ID; field++) {
+                char marker = line.charAt(index);
+                if (field == ACTION && marker == V2_SAME_AS_SERVLET_NAME) {
+                    fieldBounds[2 * ACTION] = fieldBounds[2 * SERVLET_NAME];
+                    fieldBounds[2 * ACTION + 1] = fieldBounds[2 * SERVLET_NAME + 1];
+                    index++;
+                    continue;
+                }
+                if (field == ID && marker == V2_MISSING) {
+                    index++;
+                    continue;
+                }
+                if (field == ID && marker == V2_AFTER_GOOGLE_ID) {
+                    isIdAfterGoogleId = true;
+                    index++;
+                }
+                
+                int length = 0;
+                char c = line.charAt(index);
+                while (c != V2_LENGTH_END) {
+                    if (c < '0' || c > '9') {
+                        throw new IllegalArgumentException("Invalid field length at " + index);
+                    }
+                    length = length * 10 + c - '0';
+                    index++;
+                    c = line.charAt(index);
+                }
+                index++;
+                if (index + length > line.length()) {
+                    throw new IllegalArgumentException("Field longer than the line at " + index);
+                }
+                fieldBounds[2 * field] = index;
+                fieldBounds[2 * field + 1] = index + length;
+                index += length;
+            }
+            
+            fieldBounds[2 * TO_SHOW] = index;
+            fieldBounds[2 * TO_SHOW + 1] = index + 1;
+            if (line.charAt(index) != '0' && line.charAt(index) != '1') {
+                throw new IllegalArgumentException("Invalid show flag at " + index);
+            }
+            if (index + 1 < line.length()) {
+                fieldBounds[2 * TIME_TAKEN] = index + 1;
+                fieldBounds[2 * TIME_TAKEN + 1] = line.length();
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            problem = "Malformed compact log line: " + e.getMessage();
+        }
+    }
+    
+}
@@ -0,0 +1,139 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template which is parsed once into literal and placeholder segments, so that it can be
+ * populated many times in a single pass.<br>
+ * Placeholders are of the form <code>${name}</code>, the same as those used in
+ * {@link Templates#populateTemplate(String, String...)}. Unlike the chained replacements done there,
+ * values are never scanned for placeholders again, so templates that include fragments with placeholders
+ * of their own should have those fragments inlined with {@link #withFragment(String, CompiledTemplate)}.
+ */
+public final class CompiledTemplate {
+    
+    private static final String PLACEHOLDER_START = "${";
+    private static final char PLACEHOLDER_END = '}';
+    
+    /**
+     * The literal segments of the template. The i-th literal segment is followed by the i-th placeholder,
+     * hence there is always one more literal segment than placeholders.
+     */
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalsLength;
+    
+    private CompiledTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.placeholders = placeholders.toArray(new String[placeholders.size()]);
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+    
+    /**
+     * Parses the {@code template} into its literal and placeholder segments.
+     */
+    public static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<String>();
+        List<String> placeholders = new ArrayList<String>();
+        
+        int literalStart = 0;
+        int placeholderStart = template.indexOf(PLACEHOLDER_START);
+        while (placeholderStart != -1) {
+            int nameStart = placeholderStart + PLACEHOLDER_START.length();
+            int placeholderEnd = template.indexOf(PLACEHOLDER_END, nameStart);
+            if (placeholderEnd == -1) {
+                break;
+            }
+            if (isPlaceholderName(template, nameStart, placeholderEnd)) {
+                literals.add(template.substring(literalStart, placeholderStart));
+                placeholders.add(template.substring(placeholderStart, placeholderEnd + 1));
+                literalStart = placeholderEnd + 1;
+            }
+            placeholderStart = template.indexOf(PLACEHOLDER_START, Math.max(literalStart, nameStart));
+        }
+        literals.add(template.substring(literalStart));
+        
+        return new CompiledTemplate(literals, placeholders);
+    }
+    
+    private static boolean isPlaceholderName(String template, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isLetterOrDigit(template.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Returns a new template in which every occurrence of {@code placeholder} is replaced by the segments of
+     * {@code fragment}. Placeholders in the fragment are populated together with those of this template.
+     */
+    public CompiledTemplate withFragment(String placeholder, CompiledTemplate fragment) {
+        List<String> newLiterals = new ArrayList<String>();
+        List<String> newPlaceholders = new ArrayList<String>();
+        
+        StringBuilder currentLiteral = new StringBuilder(literals[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            if (placeholders[i].equals(placeholder)) {
+                currentLiteral.append(fragment.literals[0]);
+                for (int j = 0; j < fragment.placeholders.length; j++) {
+                    newLiterals.add(currentLiteral.toString());
+                    newPlaceholders.add(fragment.placeholders[j]);
+                    currentLiteral = new StringBuilder(fragment.literals[j + 1]);
+                }
+            } else {
+                newLiterals.add(currentLiteral.toString());
+                newPlaceholders.add(placeholders[i]);
+                currentLiteral = new StringBuilder();
+            }
+            currentLiteral.append(literals[i + 1]);
+        }
+        newLiterals.add(currentLiteral.toString());
+        
+        return new CompiledTemplate(newLiterals, newPlaceholders);
+    }
+    
+    /**
+     * Populates the template by replacing its placeholders with the given values.
+     * Placeholders without a given value are left as they are.
+     * @param values Array of a variable, even number of key-value pairs:
+     *                   { "key1", "val1", "key2", "val2", ... }
+     * @return The populated template
+     */
+    public String render(String... values) {
+        Assumption.assertTrue("The number of values passed in must be even", values.length % 2 == 0);
+        
+        String[] resolvedValues = new String[placeholders.length];
+        int length = literalsLength;
+        for (int i = 0; i < placeholders.length; i++) {
+            resolvedValues[i] = getValue(placeholders[i], values);
+            length += resolvedValues[i].length();
+        }
+        
+        StringBuilder populatedTemplate = new StringBuilder(length);
+        for (int i = 0; i < placeholders.length; i++) {
+            populatedTemplate.append(literals[i]).append(resolvedValues[i]);
+        }
+        populatedTemplate.append(literals[placeholders.length]);
+        return populatedTemplate.toString();
+    }
+    
+    private static String getValue(String placeholder, String... values) {
+        for (int i = 0; i < values.length; i += 2) {
+            if (placeholder.equals(values[i])) {
+                return String.valueOf(values[i + 1]);
+            }
+        }
+        return placeholder;
+    }
+    
+}
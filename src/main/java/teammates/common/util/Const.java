@@ -161,11 +161,53 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_TASK_QUEUE = "feedback-remind-email-queue";
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_TASK_QUEUE =
                 "feedback-remind-email-particular-users-queue";
+        public static final String FEEDBACK_REMIND_EMAIL_SHARD_TASK_QUEUE = "feedback-remind-email-shard-queue";
+        
+        /** Maximum number of students to be reminded by a single task in the feedback remind email shard queue */
+        public static final int FEEDBACK_REMIND_EMAIL_SHARD_SIZE = 100;
+        
         public static final String SEND_EMAIL_TASK_QUEUE = "send-email-queue";
         
+        /** Pull queue holding the activity logs to be written to the datastore in batches */
+        public static final String ACTIVITY_LOG_TASK_QUEUE = "activity-log-queue";
+        
+        /** Number of days the activity logs are kept in the datastore before they are deleted */
+        public static final int ACTIVITY_LOG_RETENTION_DAYS = 90;
+        
+        /** Maximum number of emails to be sent by a single task in the send email task queue */
+        public static final int MAX_EMAILS_PER_SEND_EMAIL_TASK = 50;
+        
+        /** Maximum total length of the URL-encoded emails carried by a single task in the send email task queue,
+         * to stay within the 100KB task size limit */
+        public static final int MAX_CONTENT_LENGTH_PER_SEND_EMAIL_TASK = 80000;
+        
+        /** Maximum total length of the URL-encoded subject and content of an admin email to be carried by each task
+         * in the admin email task queue, to stay within the 100KB task size limit;
+         * larger emails are retrieved from the datastore by the worker instead */
+        public static final int MAX_CONTENT_LENGTH_PER_ADMIN_EMAIL_TASK = 80000;
+        
+        /** Maximum number of group receivers to be processed by a single task in the admin prepare email
+         * task queue before it hands over the rest of the receiver list to a new task */
+        public static final int MAX_RECEIVERS_PER_ADMIN_PREPARE_EMAIL_TASK = 5000;
+        
         public static final String QUEUE_XML_PATH = "src/main/webapp/WEB-INF/queue.xml";
         public static final String DEFAULT_PROFILE_PICTURE_PATH = "/images/profile_picture_default.png";
         
+        /** Minimum validity period of a signed profile picture URL. Signed URLs issued within the same
+         * period share the same expiry time, so that they stay the same and can be cached by browsers */
+        public static final long PROFILE_PICTURE_URL_VALIDITY_MILLIS = 60 * 60 * 1000L;
+        
+        /** Width and height in pixels of the thumbnails shown in place of profile pictures on pages listing
+         * many students, which is the size the pictures are displayed at */
+        public static final int PROFILE_PICTURE_THUMBNAIL_SIZE = 130;
+        
+        /** Time for which browsers may use a cached public image without revalidating it */
+        public static final int PUBLIC_IMAGE_CACHE_MAX_AGE_SECONDS = 30 * 24 * 60 * 60;
+        
+        /** Maximum number of students rendered for a course by each request of the instructor student list;
+         * the rest of the students are requested page by page when the instructor asks for more */
+        public static final int STUDENT_LIST_PAGE_SIZE = 200;
+        
         public static final List<String> PAGES_ACCESSIBLE_WITHOUT_GOOGLE_LOGIN = Arrays.asList(
                 ActionURIs.STUDENT_COURSE_JOIN,
                 ActionURIs.STUDENT_COURSE_JOIN_NEW,
@@ -630,9 +672,10 @@ public final class Const {
         public static final String ADMIN_EMAIL_EMPTY_TRASH_BIN = "emptytrashbin";
         public static final String ADMIN_EMAIL_TRASH_ACTION_REDIRECT = "redirect";
         
-        public static final String ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX = "emaillistindex";
-        public static final String ADMIN_GROUP_RECEIVER_EMAIL_INDEX = "emailindex";
+        public static final String ADMIN_GROUP_RECEIVER_LIST_OFFSET = "receiverlistoffset";
     
+        public static final String ADMIN_METRICS_EXPORT = "export";
+        
         public static final String FEEDBACK_SESSION_NAME = "fsname";
         public static final String FEEDBACK_SESSION_INDEX = "fsindex";
         public static final String FEEDBACK_SESSION_CREATOR = "fscreator";
@@ -794,10 +837,13 @@ public final class Const {
         public static final String SUBMISSION_COURSE = "course";
         public static final String SUBMISSION_FEEDBACK = "feedback";
         public static final String SUBMISSION_REMIND_USERLIST = "usersToRemind";
+        public static final String SUBMISSION_REMIND_SHARD_INDEX = "shardIndex";
+        public static final String SUBMISSION_REMIND_SHARD_COUNT = "shardCount";
         
         public static final String ENROLLMENT_DETAILS = "enrollmentdetails";
         
         public static final String SEARCH_KEY = "searchkey";
+        public static final String STUDENT_LIST_OFFSET = "studentlistoffset";
         public static final String DISPLAY_ARCHIVE = "displayarchive";
         
         //Parameters for checking persistence of data during Eventual Consistency
@@ -810,6 +856,8 @@ public final class Const {
         public static final String PROFILE_PICTURE_HEIGHT = "pictureheight";
         public static final String PROFILE_PICTURE_WIDTH = "picturewidth";
         public static final String PROFILE_PICTURE_ROTATE = "picturerotate";
+        public static final String PROFILE_PICTURE_EXPIRY = "expiry";
+        public static final String PROFILE_PICTURE_SIGNATURE = "signature";
         
         public static final String SEARCH_STUDENTS = "searchstudents";
         public static final String SEARCH_COMMENTS_FOR_STUDENTS = "searchcommentforstudents";
@@ -869,6 +917,8 @@ public final class Const {
                 "/page/instructorCourseStudentDetailsEditSave";
         public static final String INSTRUCTOR_COURSE_STUDENT_DELETE = "/page/instructorCourseStudentDelete";
         public static final String INSTRUCTOR_COURSE_STUDENT_LIST_DOWNLOAD = "/page/instructorCourseStudentListDownload";
+        public static final String INSTRUCTOR_COURSE_STUDENT_PICTURE_MANIFEST =
+                "/page/instructorCourseStudentPictureManifest";
         public static final String INSTRUCTOR_COURSE_ENROLL_PAGE = "/page/instructorCourseEnrollPage";
         public static final String INSTRUCTOR_COURSE_ENROLL_SAVE = "/page/instructorCourseEnrollSave";
         public static final String INSTRUCTOR_COURSE_REMIND = "/page/instructorCourseRemind";
@@ -951,6 +1001,8 @@ public final class Const {
         public static final String STUDENT_PROFILE_PICTURE_EDIT = "/page/studentProfilePictureEdit";
         public static final String STUDENT_PROFILE_CREATEUPLOADFORMURL = "/page/studentProfileCreateFormUrl";
         
+        public static final String PUBLIC_PROFILE_PICTURE = "/public/profilePicture";
+        
         public static final String ADMIN_EMAIL_LOG_PAGE = "/admin/adminEmailLogPage";
         public static final String ADMIN_HOME_PAGE = "/admin/adminHomePage";
         public static final String ADMIN_INSTRUCTORACCOUNT_ADD = "/admin/adminInstructorAccountAdd";
@@ -961,6 +1013,7 @@ public final class Const {
         public static final String ADMIN_ACTIVITY_LOG_PAGE = "/admin/adminActivityLogPage";
         public static final String ADMIN_SESSIONS_PAGE = "/admin/adminSessionsPage";
         public static final String ADMIN_SEARCH_PAGE = "/admin/adminSearchPage";
+        public static final String ADMIN_METRICS_PAGE = "/admin/adminMetricsPage";
         public static final String ADMIN_EMAIL_COMPOSE_PAGE = "/admin/adminEmailComposePage";
         public static final String ADMIN_EMAIL_COMPOSE_SAVE = "/admin/adminEmailComposeSave";
         public static final String ADMIN_EMAIL_COMPOSE_SEND = "/admin/adminEmailComposeSend";
@@ -983,6 +1036,8 @@ public final class Const {
         public static final String AUTOMATED_FEEDBACK_OPENING_REMINDERS = "/feedbackSessionOpeningReminders";
         public static final String AUTOMATED_FEEDBACK_CLOSING_REMINDERS = "/feedbackSessionClosingReminders";
         public static final String AUTOMATED_FEEDBACK_PUBLISHED_REMINDERS = "/feedbackSessionPublishedReminders";
+        public static final String AUTOMATED_ACTIVITY_LOG_STORAGE = "/activityLogStorage";
+        public static final String AUTOMATED_ACTIVITY_LOG_PURGE = "/activityLogPurge";
         
         public static final String BACKDOOR = "/backdoor";
         
@@ -995,6 +1050,7 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_WORKER = "/feedbackRemindEmailWorker";
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_WORKER =
                                     "/feedbackRemindEmailParticularUsersWorker";
+        public static final String FEEDBACK_REMIND_EMAIL_SHARD_WORKER = "/feedbackRemindEmailShardWorker";
         public static final String SEND_EMAIL_WORKER = "/sendEmailWorker";
     }
     
@@ -1010,10 +1066,13 @@ public final class Const {
         public static final String AUTOMATED_FEEDBACK_OPENING_REMINDERS = "feedbackSessionOpeningReminders";
         public static final String AUTOMATED_FEEDBACK_CLOSING_REMINDERS = "feedbackSessionClosingReminders";
         public static final String AUTOMATED_FEEDBACK_PUBLISHED_REMINDERS = "feedbackSessionPublishedReminders";
+        public static final String AUTOMATED_ACTIVITY_LOG_STORAGE = "activityLogStorage";
+        public static final String AUTOMATED_ACTIVITY_LOG_PURGE = "activityLogPurge";
     }
     
     public class PublicActionNames {
         public static final String PUBLIC_IMAGE_SERVE_ACTION = "publicImageServeAction";
+        public static final String PUBLIC_PROFILE_PICTURE_SERVE_ACTION = "publicProfilePictureServeAction";
     }
     
     public class PageNames {
@@ -1087,6 +1146,7 @@ public final class Const {
         public static final String ADMIN_ACCOUNT_DETAILS = "/jsp/adminAccountDetails.jsp";
         public static final String ADMIN_SESSIONS = "/jsp/adminSessions.jsp";
         public static final String ADMIN_EMAIL_LOG = "/jsp/adminEmailLog.jsp";
+        public static final String ADMIN_METRICS = "/jsp/adminMetrics.jsp";
         
         public static final String GOOGLE_ACCOUNT_HINT = "/googleAccountHint.jsp";
         
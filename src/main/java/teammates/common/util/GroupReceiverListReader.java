@@ -0,0 +1,70 @@
+package teammates.common.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a comma-separated group receiver list one email address at a time, without loading the whole
+ * list into memory.<br>
+ * The reader keeps track of the byte offset right after the last address read, so that a new reader
+ * created at that offset continues with the next address. Leading and trailing whitespace around
+ * each address is removed and empty entries are skipped.
+ */
+public final class GroupReceiverListReader implements Closeable {
+    
+    private static final int SEPARATOR = ',';
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final InputStream in;
+    private final ByteArrayOutputStream currentAddress = new ByteArrayOutputStream();
+    private long offset;
+    
+    /**
+     * Creates a reader for the receiver list in {@code in}, which is positioned at the byte {@code offset}
+     * of the list.
+     */
+    public GroupReceiverListReader(InputStream in, long offset) {
+        this.in = new BufferedInputStream(in, BUFFER_SIZE);
+        this.offset = offset;
+    }
+    
+    /**
+     * Returns the next email address in the list, or null if the end of the list has been reached.
+     */
+    public String readNext() throws IOException {
+        while (true) {
+            currentAddress.reset();
+            int b = in.read();
+            while (b != -1 && b != SEPARATOR) {
+                currentAddress.write(b);
+                b = in.read();
+            }
+            if (b == -1 && currentAddress.size() == 0) {
+                return null;
+            }
+            offset += currentAddress.size() + (b == -1 ? 0 : 1);
+            
+            String address = currentAddress.toString(Const.SystemParams.ENCODING).trim();
+            if (!address.isEmpty()) {
+                return address;
+            }
+        }
+    }
+    
+    /**
+     * Returns the byte offset in the list right after the last email address read,
+     * which is where reading should resume from.
+     */
+    public long getOffset() {
+        return offset;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+}
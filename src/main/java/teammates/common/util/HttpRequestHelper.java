@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import com.google.appengine.api.urlfetch.URLFetchServicePb.URLFetchRequest;
 
@@ -118,4 +119,45 @@ public final class HttpRequestHelper {
         return link;
     }
 
+    /**
+     * Sets the cache validator and the caching policy for serving the image with {@code blobKey},
+     * and checks whether the client already has an up-to-date copy of the image.<br>
+     * Images are never changed once written to Google Cloud Storage, hence the key is used as the ETag.
+     * @param maxAgeSeconds the time for which the client may use its copy without revalidating it.
+     *        If zero, the client has to revalidate the copy on every use.
+     * @param isPublic whether the image may be stored by shared caches as well
+     * @return true if the client's copy is up-to-date, in which case a 304 (Not Modified) response
+     *         has been sent and the image should not be served
+     */
+    public static boolean setImageCacheHeadersAndCheckNotModified(HttpServletRequest req, HttpServletResponse resp,
+                                                                  String blobKey, int maxAgeSeconds,
+                                                                  boolean isPublic) {
+        String etag = "\"" + blobKey + "\"";
+        resp.setHeader("ETag", etag);
+        resp.setHeader("Cache-Control", (isPublic ? "public" : "private")
+                                        + (maxAgeSeconds > 0 ? ", max-age=" + maxAgeSeconds : ", no-cache"));
+
+        if (!isMatchingEtag(req.getHeader("If-None-Match"), etag)) {
+            return false;
+        }
+        resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return true;
+    }
+
+    private static boolean isMatchingEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String clientEtag : ifNoneMatch.split(",")) {
+            String trimmedEtag = clientEtag.trim();
+            if (trimmedEtag.startsWith("W/")) {
+                trimmedEtag = trimmedEtag.substring(2);
+            }
+            if ("*".equals(trimmedEtag) || etag.equals(trimmedEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
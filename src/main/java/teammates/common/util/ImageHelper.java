@@ -0,0 +1,81 @@
+package teammates.common.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import com.google.appengine.api.images.Image;
+import com.google.appengine.api.images.ImagesService;
+import com.google.appengine.api.images.ImagesServiceFactory;
+import com.google.appengine.api.images.ImagesServiceFailureException;
+import com.google.appengine.api.images.OutputSettings;
+import com.google.appengine.api.utils.SystemProperty;
+
+/**
+ * Holds functions for operations related to images.
+ */
+public final class ImageHelper {
+
+    private ImageHelper() {
+        // utility class
+    }
+
+    /**
+     * Creates a PNG thumbnail of the image in {@code imageData}, scaled to fit in a square of
+     * {@link Const.SystemParams#PROFILE_PICTURE_THUMBNAIL_SIZE} pixels with the aspect ratio kept.<br>
+     * The Images service is used when running on App Engine. Otherwise, e.g. in tests,
+     * the thumbnail is created locally with ImageIO instead.
+     * @throws IOException if {@code imageData} is not a valid image or the thumbnail cannot be created
+     */
+    public static byte[] createThumbnail(byte[] imageData) throws IOException {
+        int size = Const.SystemParams.PROFILE_PICTURE_THUMBNAIL_SIZE;
+        if (SystemProperty.environment.value() == null) {
+            return LocalThumbnailCreator.createThumbnail(imageData, size);
+        }
+
+        try {
+            Image image = ImagesServiceFactory.makeImage(imageData);
+            OutputSettings settings = new OutputSettings(ImagesService.OutputEncoding.PNG);
+            return ImagesServiceFactory.getImagesService()
+                                       .applyTransform(ImagesServiceFactory.makeResize(size, size), image, settings)
+                                       .getImageData();
+        } catch (IllegalArgumentException | ImagesServiceFailureException e) {
+            throw new IOException("Unable to create thumbnail: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates thumbnails with ImageIO, which is not available on App Engine,
+     * hence kept in a separate class that is only loaded outside of it.
+     */
+    private static final class LocalThumbnailCreator {
+
+        static byte[] createThumbnail(byte[] imageData, int size) throws IOException {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageData));
+            if (image == null) {
+                throw new IOException("Unable to create thumbnail: not a readable image");
+            }
+
+            double scale = Math.min((double) size / image.getWidth(), (double) size / image.getHeight());
+            int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+            BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = thumbnail.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+            graphics.dispose();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(thumbnail, "png", out);
+            return out.toByteArray();
+        }
+
+    }
+
+}
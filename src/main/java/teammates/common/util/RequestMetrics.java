@@ -0,0 +1,236 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects metrics of the requests handled by this instance, kept in memory since the instance started:
+ * a histogram of the latency of each action, and the number of datastore and search calls made by its requests.<br>
+ * The calls are counted against the request being handled by the thread making them, between
+ * {@link #startRequest()} and {@link #finishRequest(String, long)}. Calls made outside of a request are not counted.
+ */
+public final class RequestMetrics {
+    
+    /**
+     * The calls to the services counted for each request.
+     */
+    public enum Call {
+        DATASTORE_QUERY("Datastore queries"),
+        DATASTORE_GET("Datastore gets"),
+        DATASTORE_PUT("Datastore puts"),
+        DATASTORE_DELETE("Datastore deletes"),
+        SEARCH("Search calls");
+        
+        private final String displayName;
+        
+        Call(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+    
+    /**
+     * The name under which requests that are not for any action are recorded.
+     */
+    public static final String UNKNOWN_ACTION_NAME = "unknown";
+    
+    /**
+     * The upper bounds of the latency buckets in milliseconds, each about 1.5 times the previous one
+     * so that a percentile read from the histogram is off by at most half of it.
+     * Latencies above the last bound fall in an extra bucket.
+     */
+    private static final long[] LATENCY_BUCKET_BOUNDS = {
+            1, 2, 3, 5, 7, 10, 15, 20, 30, 50, 70, 100, 150, 200, 300, 500, 700,
+            1000, 1500, 2000, 3000, 5000, 7000, 10000, 15000, 20000, 30000, 50000, 70000
+    };
+    
+    private static final ThreadLocal<long[]> CALLS_OF_REQUEST = new ThreadLocal<long[]>();
+    
+    private static final ConcurrentMap<String, ActionRecorder> RECORDERS_BY_ACTION =
+            new ConcurrentHashMap<String, ActionRecorder>();
+    
+    private static final long COLLECTED_SINCE = System.currentTimeMillis();
+    
+    private RequestMetrics() {
+        // utility class
+    }
+    
+    /**
+     * Starts counting the calls made by the current thread as calls of a new request.
+     */
+    public static void startRequest() {
+        CALLS_OF_REQUEST.set(new long[Call.values().length]);
+    }
+    
+    /**
+     * Counts a call made by the current thread, if the thread is handling a request.
+     */
+    public static void recordCall(Call call) {
+        long[] calls = CALLS_OF_REQUEST.get();
+        if (calls != null) {
+            calls[call.ordinal()]++;
+        }
+    }
+    
+    /**
+     * @return the number of calls of each {@link Call} made so far by the request handled by the current thread,
+     *         indexed by {@link Call#ordinal()}, or null if the thread is not handling a request
+     */
+    public static long[] getCallsOfCurrentRequest() {
+        long[] calls = CALLS_OF_REQUEST.get();
+        return calls == null ? null : calls.clone();
+    }
+    
+    /**
+     * Records the request handled by the current thread as a request of {@code actionName}
+     * which took {@code timeTaken} milliseconds, and stops counting the calls of the thread.
+     */
+    public static void finishRequest(String actionName, long timeTaken) {
+        long[] calls = CALLS_OF_REQUEST.get();
+        CALLS_OF_REQUEST.remove();
+        
+        ActionRecorder recorder = RECORDERS_BY_ACTION.get(actionName);
+        if (recorder == null) {
+            RECORDERS_BY_ACTION.putIfAbsent(actionName, new ActionRecorder());
+            recorder = RECORDERS_BY_ACTION.get(actionName);
+        }
+        recorder.record(timeTaken, calls == null ? new long[Call.values().length] : calls);
+    }
+    
+    /**
+     * @return the metrics of each action with any recorded request, sorted by the total time taken
+     *         by the requests of the action, the most first
+     */
+    public static List<ActionMetrics> getActionMetrics() {
+        List<ActionMetrics> actionMetrics = new ArrayList<ActionMetrics>();
+        for (String actionName : RECORDERS_BY_ACTION.keySet()) {
+            actionMetrics.add(RECORDERS_BY_ACTION.get(actionName).toActionMetrics(actionName));
+        }
+        Collections.sort(actionMetrics, new Comparator<ActionMetrics>() {
+            @Override
+            public int compare(ActionMetrics metrics1, ActionMetrics metrics2) {
+                return Long.compare(metrics2.getTotalLatency(), metrics1.getTotalLatency());
+            }
+        });
+        return actionMetrics;
+    }
+    
+    /**
+     * @return the time the metrics have been collected since, in milliseconds since the Unix epoch
+     */
+    public static long getCollectedSince() {
+        return COLLECTED_SINCE;
+    }
+    
+    /**
+     * Discards the metrics recorded so far. Only meant for tests, which share the metrics of the instance.
+     */
+    public static void clear() {
+        RECORDERS_BY_ACTION.clear();
+    }
+    
+    /**
+     * @return the index of the latency bucket {@code timeTaken} falls in
+     */
+    private static int getLatencyBucket(long timeTaken) {
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS.length; i++) {
+            if (timeTaken <= LATENCY_BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKET_BOUNDS.length;
+    }
+    
+    /**
+     * Records the requests of an action. Safe to be used by several threads at once; a snapshot taken
+     * while requests are being recorded may count some of them in some metrics but not in others.
+     */
+    private static class ActionRecorder {
+        
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKET_BOUNDS.length + 1);
+        private final AtomicLong numberOfRequests = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+        private final AtomicLongArray totalCalls = new AtomicLongArray(Call.values().length);
+        private final AtomicLongArray maxCalls = new AtomicLongArray(Call.values().length);
+        
+        void record(long timeTaken, long[] calls) {
+            latencyHistogram.incrementAndGet(getLatencyBucket(timeTaken));
+            numberOfRequests.incrementAndGet();
+            totalLatency.addAndGet(timeTaken);
+            updateMax(maxLatency, timeTaken);
+            for (int i = 0; i < calls.length; i++) {
+                totalCalls.addAndGet(i, calls[i]);
+                updateMax(maxCalls, i, calls[i]);
+            }
+        }
+        
+        ActionMetrics toActionMetrics(String actionName) {
+            long[] histogram = new long[latencyHistogram.length()];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = latencyHistogram.get(i);
+            }
+            long max = maxLatency.get();
+            long requests = numberOfRequests.get();
+            
+            List<ActionMetrics.CallMetrics> callMetrics = new ArrayList<ActionMetrics.CallMetrics>();
+            for (Call call : Call.values()) {
+                callMetrics.add(new ActionMetrics.CallMetrics(call.getDisplayName(), totalCalls.get(call.ordinal()),
+                                                              requests, maxCalls.get(call.ordinal())));
+            }
+            
+            return new ActionMetrics(actionName, requests, totalLatency.get(),
+                                     getPercentile(histogram, 50, max), getPercentile(histogram, 95, max),
+                                     getPercentile(histogram, 99, max), max, callMetrics);
+        }
+        
+        /**
+         * @return the upper bound of the bucket the {@code percentile}-th percentile of the latencies falls in,
+         *         or {@code maxLatency} if it is lower
+         */
+        private static long getPercentile(long[] histogram, int percentile, long maxLatency) {
+            long total = 0;
+            for (long count : histogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            
+            long rank = (total * percentile + 99) / 100;
+            long countSoFar = 0;
+            for (int i = 0; i < LATENCY_BUCKET_BOUNDS.length; i++) {
+                countSoFar += histogram[i];
+                if (countSoFar >= rank) {
+                    return Math.min(LATENCY_BUCKET_BOUNDS[i], maxLatency);
+                }
+            }
+            return maxLatency;
+        }
+        
+        private static void updateMax(AtomicLong max, long value) {
+            long current = max.get();
+            while (value > current && !max.compareAndSet(current, value)) {
+                current = max.get();
+            }
+        }
+        
+        private static void updateMax(AtomicLongArray max, int i, long value) {
+            long current = max.get(i);
+            while (value > current && !max.compareAndSet(i, current, value)) {
+                current = max.get(i);
+            }
+        }
+        
+    }
+    
+}
@@ -35,6 +35,41 @@ public final class Sanitizer {
                 .allowElements("quote", "ecode")
                 .allowStyling()
                 .toFactory();
+    
+    /**
+     * The replacement of each ASCII character that {@link #sanitizeForHtml(String)} escapes, or null if kept.
+     */
+    private static final String[] HTML_REPLACEMENTS = new String[128];
+    
+    /**
+     * The entities (without the leading '&') produced by {@link #sanitizeForHtml(String)},
+     * which are left as they are so that sanitizing a string multiple times does not escape it again.
+     */
+    private static final String[] HTML_ENTITIES_NOT_ESCAPED = {"amp;", "lt;", "gt;", "quot;", "#x2f;", "#39;"};
+    
+    /**
+     * The replacement of each ASCII character that {@link #sanitizeForSearch(String)} escapes, or null if kept.
+     */
+    private static final String[] SEARCH_REPLACEMENTS = new String[128];
+    
+    static {
+        HTML_REPLACEMENTS['<'] = "&lt;";
+        HTML_REPLACEMENTS['>'] = "&gt;";
+        HTML_REPLACEMENTS['"'] = "&quot;";
+        HTML_REPLACEMENTS['/'] = "&#x2f;";
+        HTML_REPLACEMENTS['\''] = "&#39;";
+        HTML_REPLACEMENTS['&'] = "&amp;";
+        
+        // general case for punctuation
+        for (char punctuation : "`!#$%^&[]{}|;*.?'/".toCharArray()) {
+            SEARCH_REPLACEMENTS[punctuation] = " ";
+        }
+        // to prevent injection
+        SEARCH_REPLACEMENTS['='] = " ";
+        SEARCH_REPLACEMENTS[':'] = " ";
+        SEARCH_REPLACEMENTS['<'] = "&lt;";
+        SEARCH_REPLACEMENTS['>'] = "&gt;";
+    }
 
     private Sanitizer() {
         // utility class
@@ -148,17 +183,16 @@ public final class Sanitizer {
      * into HTML-safe equivalents.
      */
     public static String sanitizeForHtml(String str) {
-        if (str == null) {
-            return null;
-        }
-        return str.replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("/", "&#x2f;")
-                .replace("'", "&#39;")
-                //To ensure when apply sanitizeForHtml for multiple times, the string's still fine
-                //Regex meaning: replace '&' with safe encoding, but not the one that is safe already
-                .replaceAll("&(?!(amp;)|(lt;)|(gt;)|(quot;)|(#x2f;)|(#39;))", "&amp;");
+        return sanitizeForHtml(str, null);
+    }
+    
+    /**
+     * Sanitizes the string for inserting into HTML, building the result in the {@code buffer} if escaping is needed
+     * so that the buffer can be reused for many strings. A new buffer is created if it is null.
+     */
+    private static String sanitizeForHtml(String str, StringBuilder buffer) {
+        // the entities are not escaped again, so that applying this multiple times gives the same result
+        return replaceCharacters(str, HTML_REPLACEMENTS, true, buffer);
     }
 
     /**
@@ -176,8 +210,9 @@ public final class Sanitizer {
      */
     public static List<String> sanitizeForHtml(List<String> list) {
         List<String> sanitizedList = new ArrayList<String>();
+        StringBuilder buffer = new StringBuilder();
         for (String str : list) {
-            sanitizedList.add(sanitizeForHtml(str));
+            sanitizedList.add(sanitizeForHtml(str, buffer));
         }
         return sanitizedList;
     }
@@ -187,8 +222,9 @@ public final class Sanitizer {
      */
     public static Set<String> sanitizeForHtml(Set<String> set) {
         Set<String> sanitizedSet = new TreeSet<String>();
+        StringBuilder buffer = new StringBuilder();
         for (String str : set) {
-            sanitizedSet.add(sanitizeForHtml(str));
+            sanitizedSet.add(sanitizeForHtml(str, buffer));
         }
         return sanitizedSet;
     }
@@ -240,19 +276,7 @@ public final class Sanitizer {
      * Sanitize the string for searching.
      */
     public static String sanitizeForSearch(String str) {
-        if (str == null) {
-            return null;
-        }
-        return str
-                //general case for punctuation
-                .replace("`", " ").replace("!", " ").replace("#", " ").replace("$", " ").replace("%", " ").replace("^", " ")
-                .replace("&", " ").replace("[", " ").replace("]", " ").replace("{", " ").replace("}", " ").replace("|", " ")
-                .replace(";", " ").replace("*", " ").replace(".", " ").replace("?", " ").replace("'", " ").replace("/", " ")
-                //to prevent injection
-                .replace("=", " ")
-                .replace(":", " ")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;");
+        return replaceCharacters(str, SEARCH_REPLACEMENTS, false, null);
     }
     
     /**
@@ -279,6 +303,59 @@ public final class Sanitizer {
         
         return sanitizedStrList;
     }
+    
+    /**
+     * Replaces each character of the {@code str} by its replacement in the {@code replacements} table
+     * in a single pass, or returns the {@code str} itself if no character has a replacement.
+     * 
+     * @param replacements the replacement of each ASCII character, or null if the character is kept
+     * @param isHtmlEntityKept whether an '&' that starts one of {@link #HTML_ENTITIES_NOT_ESCAPED} is kept
+     * @param buffer the buffer to build the result in, or null to create one
+     * @return the replaced string or null (if the parameter was null).
+     */
+    private static String replaceCharacters(String str, String[] replacements, boolean isHtmlEntityKept,
+                                            StringBuilder buffer) {
+        if (str == null) {
+            return null;
+        }
+        
+        int length = str.length();
+        int start = 0;
+        while (start < length && getReplacement(str, start, replacements, isHtmlEntityKept) == null) {
+            start++;
+        }
+        if (start == length) {
+            return str;
+        }
+        
+        StringBuilder result = buffer == null ? new StringBuilder(length + 16) : buffer;
+        result.setLength(0);
+        result.append(str, 0, start);
+        for (int i = start; i < length; i++) {
+            String replacement = getReplacement(str, i, replacements, isHtmlEntityKept);
+            if (replacement == null) {
+                result.append(str.charAt(i));
+            } else {
+                result.append(replacement);
+            }
+        }
+        return result.toString();
+    }
+    
+    private static String getReplacement(String str, int index, String[] replacements, boolean isHtmlEntityKept) {
+        char c = str.charAt(index);
+        if (c >= replacements.length || replacements[c] == null) {
+            return null;
+        }
+        if (c == '&' && isHtmlEntityKept) {
+            for (String entity : HTML_ENTITIES_NOT_ESCAPED) {
+                if (str.startsWith(entity, index + 1)) {
+                    return null;
+                }
+            }
+        }
+        return replacements[c];
+    }
 
     /**
      * Trims the string if it is not null.
@@ -1,5 +1,6 @@
 package teammates.common.util;
 
+import java.security.MessageDigest;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -9,6 +10,7 @@ import java.util.TreeSet;
 import java.util.regex.Pattern;
 
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
 
@@ -16,6 +18,44 @@ import javax.crypto.spec.SecretKeySpec;
  */
 public final class StringHelper {
     
+    private static final String SIGNING_ALGORITHM = "HmacSHA256";
+    
+    /*
+     * Signatures are generated with a key derived from the encryption key rather than the encryption key itself,
+     * so that the same key is never used by both AES and HMAC.
+     */
+    private static final String SIGNING_KEY_PURPOSE = "teammates-signature";
+    
+    /*
+     * Looking up the provider and setting up the key costs more than encrypting a short value,
+     * so each thread keeps its own initialized instances (they are not thread-safe) and reuses them.
+     * doFinal resets them to their initialized state for the next call.
+     */
+    private static final ThreadLocal<Cipher> ENCRYPTING_CIPHER = new ThreadLocal<Cipher>() {
+        @Override
+        protected Cipher initialValue() {
+            return createCipher(Cipher.ENCRYPT_MODE);
+        }
+    };
+    private static final ThreadLocal<Cipher> DECRYPTING_CIPHER = new ThreadLocal<Cipher>() {
+        @Override
+        protected Cipher initialValue() {
+            return createCipher(Cipher.DECRYPT_MODE);
+        }
+    };
+    private static final ThreadLocal<Mac> SIGNING_MAC = new ThreadLocal<Mac>() {
+        @Override
+        protected Mac initialValue() {
+            try {
+                Mac mac = Mac.getInstance(SIGNING_ALGORITHM);
+                mac.init(new SecretKeySpec(deriveSigningKey(), SIGNING_ALGORITHM));
+                return mac;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+    
     private StringHelper() {
         // utility class
     }
@@ -125,24 +165,83 @@ public final class StringHelper {
     }
 
     public static String encrypt(String value) {
+        Cipher cipher = ENCRYPTING_CIPHER.get();
         try {
-            SecretKeySpec sks = new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.ENCRYPT_MODE, sks, cipher.getParameters());
             byte[] encrypted = cipher.doFinal(value.getBytes());
             return byteArrayToHexString(encrypted);
         } catch (Exception e) {
+            ENCRYPTING_CIPHER.remove();
             throw new RuntimeException(e);
         }
     }
 
     public static String decrypt(String message) {
+        Cipher cipher = DECRYPTING_CIPHER.get();
         try {
-            SecretKeySpec sks = new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), "AES");
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.DECRYPT_MODE, sks);
             byte[] decrypted = cipher.doFinal(hexStringToByteArray(message));
             return new String(decrypted);
+        } catch (Exception e) {
+            // a failed doFinal may leave the cipher in an unknown state, so the next call gets a fresh one
+            DECRYPTING_CIPHER.remove();
+            throw new RuntimeException(e);
+        }
+    }
+    
+    /**
+     * Generates a signature of the {@code value} with a key derived from the application's encryption key,
+     * so that the value can be handed to the client and later verified to have been issued by the application.
+     * @see #isCorrectSignature(String, String)
+     */
+    public static String generateSignature(String value) {
+        Mac mac = SIGNING_MAC.get();
+        try {
+            byte[] signature = mac.doFinal(value.getBytes(Const.SystemParams.ENCODING));
+            return byteArrayToHexString(signature);
+        } catch (Exception e) {
+            SIGNING_MAC.remove();
+            throw new RuntimeException(e);
+        }
+    }
+    
+    private static byte[] deriveSigningKey() {
+        try {
+            Mac mac = Mac.getInstance(SIGNING_ALGORITHM);
+            mac.init(new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), SIGNING_ALGORITHM));
+            return mac.doFinal(SIGNING_KEY_PURPOSE.getBytes(Const.SystemParams.ENCODING));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    private static Cipher createCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES");
+            cipher.init(mode, new SecretKeySpec(hexStringToByteArray(Config.ENCRYPTION_KEY), "AES"));
+            return cipher;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
+    /**
+     * Returns true if the {@code signature} is the one generated for the {@code value}
+     * by {@link #generateSignature(String)}.
+     */
+    public static boolean isCorrectSignature(String value, String signature) {
+        if (value == null || signature == null) {
+            return false;
+        }
+        // compares in constant time so that the correct signature cannot be guessed from the response time
+        return MessageDigest.isEqual(generateSignature(value).getBytes(), signature.getBytes());
+    }
+    
+    /**
+     * Generates the SHA-256 digest of the {@code data} as a hexadecimal string,
+     * which identifies the data by its content.
+     */
+    public static String generateDigest(byte[] data) {
+        try {
+            return byteArrayToHexString(MessageDigest.getInstance("SHA-256").digest(data));
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
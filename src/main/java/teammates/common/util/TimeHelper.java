@@ -11,6 +11,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.GJChronology;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 
 import teammates.common.util.Const.SystemParams;
 
@@ -22,6 +29,13 @@ public final class TimeHelper {
     private static final Map<String, String> TIME_ZONE_CITIES_MAP = new HashMap<String, String>();
     private static final List<Double> TIME_ZONE_VALUES = new ArrayList<Double>();
     
+    /**
+     * The formatters created by {@link #format(Date, String, String)}, by pattern and then by time zone ID.
+     * They are immutable and thread-safe, so each is created once and shared by all requests.
+     */
+    private static final ConcurrentMap<String, ConcurrentMap<String, DateTimeFormatter>> FORMATTERS =
+            new ConcurrentHashMap<String, ConcurrentMap<String, DateTimeFormatter>>();
+    
     /*
      *This time zone - city map was created by selecting major cities from each time zone.
      *reference: http://en.wikipedia.org/wiki/List_of_UTC_time_offsets
@@ -201,9 +215,7 @@ public final class TimeHelper {
         if (date == null) {
             return "";
         }
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy");
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return sdf.format(date);
+        return format(date, "dd/MM/yyyy", "UTC");
     }
     
     /**
@@ -214,29 +226,20 @@ public final class TimeHelper {
         if (date == null) {
             return "";
         }
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
-            return new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm").format(date) + " NOON";
+        if (isNoonInDefaultTimeZone(date)) {
+            return format(date, "EEE, dd MMM yyyy, hh:mm") + " NOON";
         }
-        return new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm a").format(date);
+        return format(date, "EEE, dd MMM yyyy, hh:mm a");
     }
     
     public static String formatDateTimeForComments(Date date) {
         if (date == null) {
             return "";
         }
-        SimpleDateFormat sdf = null;
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
-            sdf = new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm");
-            sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-            return sdf.format(date) + " NOON UTC";
+        if (isNoonInDefaultTimeZone(date)) {
+            return format(date, "EEE, dd MMM yyyy, hh:mm", "UTC") + " NOON UTC";
         }
-        sdf = new SimpleDateFormat("EEE, dd MMM yyyy, hh:mm a zzz");
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return sdf.format(date);
+        return format(date, "EEE, dd MMM yyyy, hh:mm a zzz", "UTC");
     }
 
     /**
@@ -246,24 +249,63 @@ public final class TimeHelper {
         if (date == null) {
             return "";
         }
-        SimpleDateFormat sdf = null;
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        if (c.get(Calendar.HOUR_OF_DAY) == 12 && c.get(Calendar.MINUTE) == 0) {
-            sdf = new SimpleDateFormat("d MMM h:mm");
-            sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-            return sdf.format(date) + " NOON";
+        if (isNoonInDefaultTimeZone(date)) {
+            return format(date, "d MMM h:mm", "UTC") + " NOON";
         }
-        sdf = new SimpleDateFormat("d MMM h:mm a");
-        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return sdf.format(date);
+        return format(date, "d MMM h:mm a", "UTC");
     }
 
     public static String calendarToString(Calendar c) {
         if (c == null) {
             return "";
         }
-        return new SimpleDateFormat("MM/dd/yyyy HH:mm:ss SSS").format(c.getTime());
+        return format(c.getTime(), "MM/dd/yyyy HH:mm:ss SSS");
+    }
+    
+    /**
+     * Formats the {@code date} with the {@code pattern} in the time zone with the {@code timeZoneId},
+     * giving the same result as a {@link SimpleDateFormat} with the same pattern and time zone.
+     * Unlike SimpleDateFormat, the formatter is thread-safe and is created only once for each pattern and time zone.<br>
+     * Note that "S" is the fraction of the second rather than the number of milliseconds,
+     * so the milliseconds can only be formatted as "SSS", and that GMT is named "UTC" by "zzz".
+     */
+    public static String format(Date date, String pattern, String timeZoneId) {
+        ConcurrentMap<String, DateTimeFormatter> formattersOfPattern = FORMATTERS.get(pattern);
+        if (formattersOfPattern == null) {
+            formattersOfPattern = new ConcurrentHashMap<String, DateTimeFormatter>();
+            ConcurrentMap<String, DateTimeFormatter> existing = FORMATTERS.putIfAbsent(pattern, formattersOfPattern);
+            if (existing != null) {
+                formattersOfPattern = existing;
+            }
+        }
+        
+        DateTimeFormatter formatter = formattersOfPattern.get(timeZoneId);
+        if (formatter == null) {
+            DateTimeZone zone = DateTimeZone.forTimeZone(TimeZone.getTimeZone(timeZoneId));
+            // the Gregorian-Julian chronology has the same cutover as the GregorianCalendar of SimpleDateFormat
+            formatter = DateTimeFormat.forPattern(pattern).withChronology(GJChronology.getInstance(zone));
+            formattersOfPattern.putIfAbsent(timeZoneId, formatter);
+        }
+        return formatter.print(date.getTime());
+    }
+    
+    /**
+     * Formats the {@code date} with the {@code pattern} in the default time zone,
+     * like a {@link SimpleDateFormat} with no time zone set.
+     * @see #format(Date, String, String)
+     */
+    public static String format(Date date, String pattern) {
+        return format(date, pattern, TimeZone.getDefault().getID());
+    }
+    
+    /**
+     * Returns true if the {@code date} is at 12:00 (to the minute) in the default time zone.
+     */
+    private static boolean isNoonInDefaultTimeZone(Date date) {
+        long millis = date.getTime();
+        long millisInDay = 24 * 60 * 60 * 1000L;
+        long millisOfDay = ((millis + TimeZone.getDefault().getOffset(millis)) % millisInDay + millisInDay) % millisInDay;
+        return millisOfDay / (60 * 1000L) == 12 * 60;
     }
 
     /**
@@ -1,12 +1,15 @@
 package teammates.logic.api;
 
+import java.io.PrintWriter;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.datatransfer.ActivityLogSearchKey;
 import teammates.common.datatransfer.AdminEmailAttributes;
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CommentParticipantType;
@@ -30,6 +33,7 @@ import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.InstructorSearchResultBundle;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentListPageBundle;
 import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
@@ -40,10 +44,12 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.ExceedingRangeException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.exception.JoinCourseException;
+import teammates.common.util.ActivityLogLine;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.EmailWrapper;
 import teammates.logic.core.AccountsLogic;
+import teammates.logic.core.ActivityLogsLogic;
 import teammates.logic.core.AdminEmailsLogic;
 import teammates.logic.core.CommentsLogic;
 import teammates.logic.core.CoursesLogic;
@@ -54,7 +60,10 @@ import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.ProfilePicturesLogic;
 import teammates.logic.core.StudentsLogic;
+import teammates.logic.core.TaskQueueMetrics;
+import teammates.logic.core.TaskQueuesLogic;
 
 import com.google.appengine.api.blobstore.BlobKey;
 
@@ -85,6 +94,8 @@ public class Logic {
     protected static FeedbackResponsesLogic feedbackResponsesLogic = FeedbackResponsesLogic.inst();
     protected static FeedbackResponseCommentsLogic feedbackResponseCommentsLogic = FeedbackResponseCommentsLogic.inst();
     protected static AdminEmailsLogic adminEmailsLogic = AdminEmailsLogic.inst();
+    protected static ProfilePicturesLogic profilePicturesLogic = ProfilePicturesLogic.inst();
+    protected static ActivityLogsLogic activityLogsLogic = ActivityLogsLogic.inst();
     
 
     /**
@@ -168,6 +179,29 @@ public class Logic {
         return accountsLogic.getAccount(googleId, false);
     }
     
+    /**
+     * Gets the accounts with the given googleIds in one batch get, without their student profiles.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from googleId to account, without the accounts that do not exist
+     */
+    public Map<String, AccountAttributes> getAccounts(Collection<String> googleIds) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleIds);
+        return accountsLogic.getAccounts(googleIds);
+    }
+    
+    /**
+     * Gets the institutes of the given courses in as few reads as possible.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from course ID to institute, without the courses that do not exist
+     *         or have no instructors with accounts
+     */
+    public Map<String, String> getCourseInstitutes(Collection<String> courseIds) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseIds);
+        return accountsLogic.getCourseInstitutes(courseIds);
+    }
+    
     public AccountAttributes getAccount(String googleId, boolean retrieveStudentProfile) {
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
         
@@ -227,6 +261,23 @@ public class Logic {
         accountsLogic.updateStudentProfilePicture(googleId, newPictureKey);
     }
     
+    /**
+     * Updates the profile picture of the student together with its thumbnail.
+     * The replaced picture and thumbnail are deleted.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null. {@code newThumbnailKey} is empty if there is no thumbnail.<br>
+     * * {@code googleId} represents an existing account.
+     */
+    public void updateStudentProfilePicture(String googleId, String newPictureKey, String newThumbnailKey)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, newPictureKey);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, newThumbnailKey);
+        
+        accountsLogic.updateStudentProfilePicture(googleId, newPictureKey, newThumbnailKey);
+    }
+    
     /**
      * Deletes both instructor and student privileges.
      * Does not delete courses. Can result in orphan courses
@@ -364,6 +415,34 @@ public class Logic {
         return instructorsLogic.getInstructorForEmail(courseId, email);
     }
     
+    /**
+     * Gets the instructors with the given emails in the course in one read.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from email to instructor, without the emails of non-existent instructors
+     */
+    public Map<String, InstructorAttributes> getInstructorsForEmails(String courseId, Collection<String> emails) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, emails);
+        
+        return instructorsLogic.getInstructorsForEmails(courseId, emails);
+    }
+    
+    /**
+     * Gets the instructors with the given IDs in one batch get.
+     * The ID of an instructor is made from the email the instructor was created with,
+     * so an instructor whose email has been updated is not found by its new email.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from ID to instructor, without the IDs of non-existent instructors
+     * @see InstructorAttributes#makeId(String, String)
+     */
+    public Map<String, InstructorAttributes> getInstructorsForIds(Collection<String> ids) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, ids);
+        
+        return instructorsLogic.getInstructorsForIds(ids);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -420,6 +499,20 @@ public class Logic {
         return instructorsLogic.getInstructorsForEmail(email);
     }
 
+    /**
+     * Gets the instructors with each of the given emails, in all courses.
+     * The datastore runs one query per email, so this only saves the round trips of separate calls.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from each of the emails to the instructors with it (empty list if none)
+     */
+    public Map<String, List<InstructorAttributes>> getInstructorsForEmails(Collection<String> emails) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, emails);
+        
+        return instructorsLogic.getInstructorsForEmails(emails);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -432,6 +525,20 @@ public class Logic {
         return instructorsLogic.getInstructorsForCourse(courseId);
     }
     
+    /**
+     * Gets the instructors of each of the given courses.
+     * The datastore runs one query per course, so this only saves the round trips of separate calls.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return a map from each of the course IDs to the instructors of the course (empty list if none)
+     */
+    public Map<String, List<InstructorAttributes>> getInstructorsForCourses(Collection<String> courseIds) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseIds);
+        
+        return instructorsLogic.getInstructorsForCourses(courseIds);
+    }
+    
     /**
      * Get the encrypted registration key for the instructor.
      * Preconditions: <br>
@@ -920,6 +1027,20 @@ public class Logic {
 
         return studentsLogic.getStudentForEmail(courseId, email);
     }
+    
+    /**
+     * Gets the students with the given emails in the course in one batch get.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * 
+     * @return a map from email to student, without the emails of non-existent students
+     */
+    public Map<String, StudentAttributes> getStudentsForEmails(String courseId, Collection<String> emails) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, emails);
+        
+        return studentsLogic.getStudentsForEmails(courseId, emails);
+    }
 
     /**
      * Preconditions: <br>
@@ -944,6 +1065,28 @@ public class Logic {
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
         return accountsLogic.getStudentProfile(googleId);
     }
+    
+    /**
+     * Gets the profile picture URLs of the given students, keyed by their emails.
+     * Pictures are served through signed URLs which expire after a while, so the URLs should only
+     * be given to users who are allowed to view the students' pictures.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * 
+     * @return the URL of the default picture for students without an uploaded picture.
+     */
+    public Map<String, String> getProfilePictureUrlsForStudents(Collection<StudentAttributes> students) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, students);
+        return profilePicturesLogic.getProfilePictureUrlsForStudents(students);
+    }
+    
+    /**
+     * @return true if the signed profile picture URL with the given parameters has been issued
+     *         by {@link #getProfilePictureUrlsForStudents(Collection)} and has not expired.
+     */
+    public boolean isValidProfilePictureSignature(String pictureKey, String expiry, String signature) {
+        return profilePicturesLogic.isValidProfilePictureSignature(pictureKey, expiry, signature);
+    }
 
     /**
      * Preconditions: <br>
@@ -1038,6 +1181,19 @@ public class Logic {
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
         return coursesLogic.getSectionsForCourseWithoutStats(courseId);
     }
+    
+    /**
+     * Returns one page of the students of a course, ordered by section, then team, then name.<br>
+     * Preconditions: <br>
+     * * {@code courseId} is non-null. {@code sectionName} and {@code searchKey} are optional filters.
+     * @see CoursesLogic#getStudentListPage(String, String, String, int, int)
+     */
+    public StudentListPageBundle getStudentListPage(String courseId, String sectionName, String searchKey,
+                                                    int offset, int limit)
+            throws EntityDoesNotExistException {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        return coursesLogic.getStudentListPage(courseId, sectionName, searchKey, offset, limit);
+    }
 
     /**
      * Preconditions: <br>
@@ -1299,6 +1455,19 @@ public class Logic {
         return coursesLogic.getCourseStudentListAsCsv(courseId, googleId);
     }
 
+    /**
+     * Writes the students list of a course in CSV format to {@code writer} as it is generated. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     */
+    public void writeCourseStudentListAsCsv(CourseAttributes course, PrintWriter writer) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, course);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, writer);
+        
+        coursesLogic.writeCourseStudentListAsCsv(course, writer);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1492,6 +1661,18 @@ public class Logic {
         return feedbackQuestionsLogic.getFeedbackQuestion(feedbackQuestionId);
     }
 
+    /**
+     * Gets the questions with the given IDs in one batch get per question type.
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     * 
+     * @return a map from question ID to question, without the IDs of non-existent questions
+     */
+    public Map<String, FeedbackQuestionAttributes> getFeedbackQuestions(Collection<String> feedbackQuestionIds) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackQuestionIds);
+        return feedbackQuestionsLogic.getFeedbackQuestions(feedbackQuestionIds);
+    }
+    
     /**
      * Generates summary results (without comments) in CSV format. <br>
      * Preconditions: <br>
@@ -2070,6 +2251,15 @@ public class Logic {
         return feedbackResponsesLogic.getFeedbackResponse(feedbackResponseId);
     }
     
+    /**
+     * Gets the responses with the given IDs in one batch get.
+     * @return a map from response ID to response, without the IDs of non-existent responses
+     */
+    public Map<String, FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackResponseIds);
+        return feedbackResponsesLogic.getFeedbackResponses(feedbackResponseIds);
+    }
+    
     public FeedbackResponseAttributes getFeedbackResponse(String feedbackQuestionId,
                                                           String giverEmail,
                                                           String recipient) {
@@ -2324,24 +2514,25 @@ public class Logic {
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
-     * @throws EntityDoesNotExistException
      */
-    public Set<String> getRecipientEmailsForSendingComments(String courseId) throws EntityDoesNotExistException {
+    public void updateCommentsSendingState(String courseId, CommentSendingState oldState, CommentSendingState newState)
+            throws EntityDoesNotExistException {
+        
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
-        return commentsLogic.getRecipientEmailsForSendingComments(courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, oldState);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, newState);
+        commentsLogic.updateCommentsSendingState(courseId, oldState, newState);
     }
     
     /**
+     * Moves the pending comments and response comments of the course to the sending state,
+     * and queues their recipients to be notified by {@link #sendCommentNotification(String)}.
      * Preconditions: <br>
      * * All parameters are non-null.
      */
-    public void updateCommentsSendingState(String courseId, CommentSendingState oldState, CommentSendingState newState)
-            throws EntityDoesNotExistException {
-        
+    public void clearPendingComments(String courseId) throws EntityDoesNotExistException {
         Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
-        Assumption.assertNotNull(ERROR_NULL_PARAMETER, oldState);
-        Assumption.assertNotNull(ERROR_NULL_PARAMETER, newState);
-        commentsLogic.updateCommentsSendingState(courseId, oldState, newState);
+        commentsLogic.clearPendingComments(courseId);
     }
     
     /**
@@ -2623,4 +2814,43 @@ public class Logic {
         return coursesLogic.getArchivedCourseIds(allCourses, instructorsForCourses);
     }
     
+    /**
+     * Records an activity log, in the format logged by ControllerServlet, to be kept in the datastore
+     * so that it can be searched without scanning the application logs.
+     * The log is written to the datastore asynchronously.
+     */
+    public void recordActivityLog(String logMessage) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, logMessage);
+        activityLogsLogic.recordActivityLog(logMessage);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the activity logs kept in the datastore between {@code startTime} and {@code endTime}
+     *         (both inclusive) whose {@code key} matches any of the {@code values} ignoring case, latest first
+     */
+    public List<ActivityLogLine> getActivityLogs(ActivityLogSearchKey key, Collection<String> values,
+                                                 long startTime, long endTime) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, key);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, values);
+        return activityLogsLogic.getActivityLogs(key, values, startTime, endTime);
+    }
+    
+    /**
+     * @return an iterator over all activity logs kept in the datastore between {@code startTime}
+     *         and {@code endTime} (both inclusive), latest first, which retrieves them in batches
+     */
+    public Iterator<ActivityLogLine> getActivityLogIteratorForPeriod(long startTime, long endTime) {
+        return activityLogsLogic.getActivityLogIteratorForPeriod(startTime, endTime);
+    }
+    
+    /**
+     * @return the metrics of the calls made by this instance to add tasks to each task queue,
+     *         sorted by queue name
+     */
+    public List<TaskQueueMetrics> getTaskQueueMetrics() {
+        return TaskQueuesLogic.inst().getAllMetricsSortedByQueueName();
+    }
+    
 }
@@ -0,0 +1,27 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Const;
+import teammates.logic.core.ActivityLogsLogic;
+
+/**
+ * Deletes the activity logs kept in the datastore for longer than the retention period.
+ * 
+ * @see ActivityLogsLogic#purgeExpiredActivityLogs()
+ */
+@SuppressWarnings("serial")
+public class ActivityLogPurgeServlet extends AutomatedRemindersServlet {
+    
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = Const.AutomatedActionNames.AUTOMATED_ACTIVITY_LOG_PURGE;
+        action = "purge activity logs";
+        
+        // not logged as an activity, as the job runs every few minutes and would crowd out the logs of users
+        int numberOfLogsDeleted = ActivityLogsLogic.inst().purgeExpiredActivityLogs();
+        log.info("Deleted " + numberOfLogsDeleted + " expired activity logs");
+    }
+    
+}
@@ -0,0 +1,27 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Const;
+import teammates.logic.core.ActivityLogsLogic;
+
+/**
+ * Stores the activity logs recorded since the previous run in the datastore.
+ * 
+ * @see ActivityLogsLogic#storeRecordedActivityLogs()
+ */
+@SuppressWarnings("serial")
+public class ActivityLogStorageServlet extends AutomatedRemindersServlet {
+    
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = Const.AutomatedActionNames.AUTOMATED_ACTIVITY_LOG_STORAGE;
+        action = "store activity logs";
+        
+        // not logged as an activity, as the job runs every minute and would crowd out the logs of users
+        int numberOfLogsStored = ActivityLogsLogic.inst().storeRecordedActivityLogs();
+        log.info("Stored " + numberOfLogsStored + " activity logs");
+    }
+    
+}
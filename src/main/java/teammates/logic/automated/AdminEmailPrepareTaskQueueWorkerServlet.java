@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -15,8 +16,11 @@ import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
 import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.Sanitizer;
 import teammates.logic.core.AdminEmailsLogic;
+import teammates.logic.core.TaskQueueBatch;
 import teammates.logic.core.TaskQueuesLogic;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -32,8 +36,6 @@ import com.google.apphosting.api.ApiProxy;
 @SuppressWarnings("serial")
 public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
     
-    private List<List<String>> processedReceiverEmails = new ArrayList<List<String>>();
-    
     //param needed for sending small number of emails
     private String addressReceiverListString;
     
@@ -74,25 +76,16 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
                             req, ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY);
             Assumption.assertNotNull(groupReceiverListFileKey);
             
-            String indexOfEmailListToResumeAsString =
-                    HttpRequestHelper.getValueFromRequestParameterMap(
-                            req, ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX);
-            String indexOfEmailToResumeAsString =
+            String offsetToResumeAsString =
                     HttpRequestHelper.getValueFromRequestParameterMap(
-                            req, ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX);
+                            req, ParamsNames.ADMIN_GROUP_RECEIVER_LIST_OFFSET);
             
-            int indexOfEmailListToResume = indexOfEmailListToResumeAsString == null
-                                           ? 0
-                                           : Integer.parseInt(indexOfEmailListToResumeAsString);
-            int indexOfEmailToResume = indexOfEmailToResumeAsString == null
-                                       ? 0
-                                       : Integer.parseInt(indexOfEmailToResumeAsString);
+            long offsetToResume = offsetToResumeAsString == null
+                                  ? 0
+                                  : Long.parseLong(offsetToResumeAsString);
   
             try {
-                processedReceiverEmails =
-                        GoogleCloudStorageHelper.getGroupReceiverList(new BlobKey(groupReceiverListFileKey));
-                addAdminEmailToTaskQueue(emailId, indexOfEmailListToResume, indexOfEmailToResume);
-    
+                addAdminEmailToTaskQueue(emailId, offsetToResume);
             } catch (IOException e) {
                 log.severe("Unexpected error while adding admin email tasks" + e.getMessage());
             }
@@ -106,14 +99,13 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
         return timeLeftInMillis / 1000 < 100;
     }
     
-    private void pauseAndCreateAnNewTask(int indexOfEmailList, int indexOfEmail) {
+    private void pauseAndCreateAnNewTask(long offset) {
         TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
         
         HashMap<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
         paramMap.put(ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY, groupReceiverListFileKey);
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX, Integer.toString(indexOfEmailList));
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX, Integer.toString(indexOfEmail));
+        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_LIST_OFFSET, Long.toString(offset));
         paramMap.put(ParamsNames.ADMIN_EMAIL_TASK_QUEUE_MODE, Const.ADMIN_EMAIL_TASK_QUEUE_GROUP_MODE);
         
         taskQueueLogic.createAndAddTask(SystemParams.ADMIN_PREPARE_EMAIL_TASK_QUEUE,
@@ -125,7 +117,7 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
         
         AdminEmailAttributes adminEmail = AdminEmailsLogic.inst().getAdminEmailById(emailId);
         Assumption.assertNotNull(adminEmail);
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+        TaskQueueBatch batch = createAdminEmailTaskBatch();
         List<String> addressList = new ArrayList<String>();
         
         if (addressReceiverListString.contains(",")) {
@@ -134,82 +126,90 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
             addressList.add(addressReceiverListString);
         }
         
+        boolean isLargeEmail = isLargeEmail(adminEmail);
         for (String emailAddress : addressList) {
-            HashMap<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
-            paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, emailAddress);
+            batch.addTask(getAdminEmailTaskParams(adminEmail, emailAddress, isLargeEmail));
+        }
+        batch.flush();
+        
+    }
+    
+    private TaskQueueBatch createAdminEmailTaskBatch() {
+        return TaskQueuesLogic.inst().createTaskBatch(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
+                                                      Const.ActionURIs.ADMIN_EMAIL_WORKER, 0);
+    }
+    
+    /**
+     * Returns true if the subject and content of the {@code adminEmail} are too large to be carried by
+     * each admin email task, in which case the admin email worker retrieves them from the datastore instead.<br>
+     * The length is measured after URL-encoding, which is how the task carries them and can be many times
+     * the original length for non-ASCII text and HTML markup.
+     */
+    private boolean isLargeEmail(AdminEmailAttributes adminEmail) {
+        int contentLength = Sanitizer.sanitizeForUri(adminEmail.getSubject()).length()
+                            + Sanitizer.sanitizeForUri(adminEmail.getContent().getValue()).length();
+        if (contentLength > SystemParams.MAX_CONTENT_LENGTH_PER_ADMIN_EMAIL_TASK) {
+            log.info("Email task size exceeds max limit. Switching to large email task mode.");
+            return true;
+        }
+        return false;
+    }
+    
+    private Map<String, String> getAdminEmailTaskParams(AdminEmailAttributes adminEmail, String receiverEmail,
+                                                        boolean isLargeEmail) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.ADMIN_EMAIL_ID, adminEmail.getEmailId());
+        paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, receiverEmail);
+        if (!isLargeEmail) {
             paramMap.put(ParamsNames.ADMIN_EMAIL_SUBJECT, adminEmail.getSubject());
             paramMap.put(ParamsNames.ADMIN_EMAIL_CONTENT, adminEmail.getContent().getValue());
-            
-            try {
-                taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-            } catch (IllegalArgumentException e) {
-                if (e.getMessage().toLowerCase().contains("task size too large")) {
-                    log.info("Email task size exceeds max limit. Switching to large email task mode.");
-                    paramMap.remove(ParamsNames.ADMIN_EMAIL_SUBJECT);
-                    paramMap.remove(ParamsNames.ADMIN_EMAIL_CONTENT);
-                    taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                    Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-                }
-            }
-               
         }
-
+        return paramMap;
     }
     
-    private void addAdminEmailToTaskQueue(String emailId, int indexOfEmailListToResume, int indexOfEmailToResume) {
+    /**
+     * Adds admin email tasks for the receivers in the group receiver list, starting from the byte
+     * {@code offsetToResume} of the list.<br>
+     * At most {@link SystemParams#MAX_RECEIVERS_PER_ADMIN_PREPARE_EMAIL_TASK} receivers are processed
+     * before the rest of the list is handed over to a new task, which resumes reading right after
+     * the last receiver processed by this task.
+     */
+    private void addAdminEmailToTaskQueue(String emailId, long offsetToResume) throws IOException {
         
         AdminEmailAttributes adminEmail = AdminEmailsLogic.inst().getAdminEmailById(emailId);
         Assumption.assertNotNull(adminEmail);
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-        
-        log.info("Resume Adding group mail tasks for mail with id " + emailId + "from list index: "
-                + indexOfEmailListToResume + " email index: " + indexOfEmailToResume);
-        
-        int indexOfLastEmailList = 0;
-        int indexOfLastEmail = 0;
-        
-        for (int i = indexOfEmailListToResume; i < processedReceiverEmails.size(); i++) {
-            
-            List<String> currentEmailList = processedReceiverEmails.get(i);
-            
-            for (int j = indexOfEmailToResume; j < currentEmailList.size(); j++) {
-                String receiverEmail = currentEmailList.get(j);
-                
-                HashMap<String, String> paramMap = new HashMap<String, String>();
-                paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
-                paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, receiverEmail);
-                paramMap.put(ParamsNames.ADMIN_EMAIL_SUBJECT, adminEmail.getSubject());
-                paramMap.put(ParamsNames.ADMIN_EMAIL_CONTENT, adminEmail.getContent().getValue());
-                
-                try {
-                    taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                    Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-                } catch (IllegalArgumentException e) {
-                    if (e.getMessage().toLowerCase().contains("task size too large")) {
-                        log.info("Email task size exceeds max limit. Switching to large email task mode.");
-                        paramMap.remove(ParamsNames.ADMIN_EMAIL_SUBJECT);
-                        paramMap.remove(ParamsNames.ADMIN_EMAIL_CONTENT);
-                        taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                        Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-                    }
-                }
+        TaskQueueBatch batch = createAdminEmailTaskBatch();
+        boolean isLargeEmail = isLargeEmail(adminEmail);
+        
+        log.info("Resume Adding group mail tasks for mail with id " + emailId + " from offset: " + offsetToResume);
+        
+        GroupReceiverListReader reader =
+                GoogleCloudStorageHelper.getGroupReceiverListReader(new BlobKey(groupReceiverListFileKey),
+                                                                   offsetToResume);
+        try {
+            String receiverEmail = reader.readNext();
+            while (receiverEmail != null) {
+                batch.addTask(getAdminEmailTaskParams(adminEmail, receiverEmail, isLargeEmail));
                 
-                if (isNearDeadline()) {
-                    pauseAndCreateAnNewTask(i, j);
+                if (batch.getNumberOfTasks() >= SystemParams.MAX_RECEIVERS_PER_ADMIN_PREPARE_EMAIL_TASK
+                        || isNearDeadline()) {
+                    batch.flush();
+                    pauseAndCreateAnNewTask(reader.getOffset());
                     log.info("Adding group mail tasks for mail with id " + emailId
-                             + " have been paused with list index: " + i + " email index: " + j);
+                             + " have been paused with offset: " + reader.getOffset()
+                             + " after adding " + batch.getNumberOfTasks() + " tasks");
                     return;
                 }
                 
-                indexOfLastEmail = j;
+                receiverEmail = reader.readNext();
             }
-            indexOfLastEmailList = i;
+        } finally {
+            reader.close();
         }
+        batch.flush();
         
         log.info("Adding Group mail tasks for mail with id " + emailId
-                + "was complete. List index : " + indexOfLastEmailList
-                + " Email index: " + indexOfLastEmail);
+                + " was complete. Offset: " + reader.getOffset()
+                + " Tasks added: " + batch.getNumberOfTasks());
     }
 }
@@ -9,6 +9,7 @@ import javax.servlet.http.HttpServletResponse;
 import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.Utils;
+import teammates.logic.core.ActivityLogsLogic;
 
 @SuppressWarnings("serial")
 public abstract class AutomatedRemindersServlet extends HttpServlet {
@@ -33,6 +34,8 @@ public abstract class AutomatedRemindersServlet extends HttpServlet {
     protected void logMessage(HttpServletRequest request, String message) {
         String url = HttpRequestHelper.getRequestedUrl(request);
         ActivityLogEntry activityLogEntry = new ActivityLogEntry(servletName, action, null, message, url);
-        log.info(activityLogEntry.generateLogMessage());
+        String logMessage = activityLogEntry.generateLogMessage();
+        log.info(logMessage);
+        ActivityLogsLogic.inst().recordActivityLog(logMessage);
     }
 }
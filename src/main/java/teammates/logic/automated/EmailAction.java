@@ -24,7 +24,6 @@ public abstract class EmailAction {
     protected static final Logger log = Utils.getLogger();
     
     protected HttpServletRequest req;
-    protected List<EmailWrapper> emailsToBeSent;
 
     protected String actionName = "unspecified";
     protected String actionDescription = "unspecified";
@@ -33,27 +32,24 @@ public abstract class EmailAction {
     
     public EmailAction() {
         req = null;
-        emailsToBeSent = null;
     }
     
     public EmailAction(HttpServletRequest request) {
         
         req = request;
-        emailsToBeSent = null;
     }
 
     public void sendEmails() {
         try {
-            emailsToBeSent = prepareMailToBeSent();
+            // only the data to be logged is kept for each email, as the emails are sent while they are prepared
+            LoggedEmailIterator emailsToBeSent = new LoggedEmailIterator(prepareMailToBeSent());
             
             //actually send the mail
             new EmailSender().sendEmails(emailsToBeSent);
             doPostProcessingForSuccesfulSend();
             
             //carry this out if mail is successfully sent
-            List<EmailWrapper> emailList = new ArrayList<EmailWrapper>();
-            emailList.addAll(emailsToBeSent);
-            logActivitySuccess(req, emailList);
+            logActivitySuccess(req, emailsToBeSent.getLogData());
                 
         } catch (Exception e) {
             isError = true;
@@ -78,7 +74,12 @@ public abstract class EmailAction {
         List<EmailWrapper> preparedMail = null;
         
         try {
-            preparedMail = prepareMailToBeSent();
+            Iterator<EmailWrapper> emails = prepareMailToBeSent();
+            List<EmailWrapper> emailList = new ArrayList<EmailWrapper>();
+            while (emails.hasNext()) {
+                emailList.add(emails.next());
+            }
+            preparedMail = emailList;
             doPostProcessingForSuccesfulSend();
         } catch (Exception e) {
             log.severe("Unexpected error " + TeammatesException.toStringWithStackTrace(e));
@@ -91,17 +92,21 @@ public abstract class EmailAction {
     
     protected abstract void doPostProcessingForUnsuccesfulSend() throws EntityDoesNotExistException;
     
-    protected abstract List<EmailWrapper> prepareMailToBeSent();
+    /**
+     * Returns the emails to be sent. The emails may be generated one at a time as the iterator is advanced,
+     * so that the emails to a large course are not all held in memory.
+     */
+    protected abstract Iterator<EmailWrapper> prepareMailToBeSent();
     
-    protected void logActivitySuccess(HttpServletRequest req, List<EmailWrapper> emails) {
+    private void logActivitySuccess(HttpServletRequest req, Map<String, EmailData> emailLogData) {
         String url = HttpRequestHelper.getRequestedUrl(req);
         String message;
         
-        try {
-            message = generateLogMessage(emails);
-        } catch (Exception e) {
+        if (emailLogData == null) {
             message = "<span class=\"color_red\">Unable to retrieve email targets in "
                             + actionName + ": " + actionDescription + ".</span>";
+        } else {
+            message = generateLogMessage(emailLogData);
         }
         
         ActivityLogEntry activityLogEntry = new ActivityLogEntry(actionName, actionDescription, null, message, url);
@@ -120,12 +125,11 @@ public abstract class EmailAction {
         log.severe(e.getMessage());
     }
 
-    private String generateLogMessage(List<EmailWrapper> emailsSent) {
+    private String generateLogMessage(Map<String, EmailData> emailLogData) {
         StringBuilder logMessage = new StringBuilder(100);
         logMessage.append("Emails sent to:<br>");
         
-        Iterator<Entry<String, EmailData>> extractedEmailIterator =
-                extractEmailDataForLogging(emailsSent).entrySet().iterator();
+        Iterator<Entry<String, EmailData>> extractedEmailIterator = emailLogData.entrySet().iterator();
         
         while (extractedEmailIterator.hasNext()) {
             Entry<String, EmailData> extractedEmail = extractedEmailIterator.next();
@@ -142,19 +146,6 @@ public abstract class EmailAction {
         return logMessage.toString();
     }
     
-    private Map<String, EmailData> extractEmailDataForLogging(List<EmailWrapper> emails) {
-        Map<String, EmailData> logData = new TreeMap<String, EmailData>();
-        
-        for (EmailWrapper email : emails) {
-            String recipient = email.getRecipient();
-            String userName = extractUserName((String) email.getContent());
-            String regKey = extractRegistrationKey((String) email.getContent());
-            logData.put(recipient, new EmailData(userName, regKey));
-        }
-        
-        return logData;
-    }
-    
     private String extractUserName(String emailContent) {
         int startIndex = emailContent.indexOf("Hello ") + "Hello ".length();
         int endIndex = emailContent.indexOf(',');
@@ -170,6 +161,54 @@ public abstract class EmailAction {
         return "";
     }
     
+    /**
+     * Passes on the emails to be sent while keeping only the data needed to log them,
+     * so that the emails themselves can be discarded once they are added to the task queue.
+     */
+    private class LoggedEmailIterator implements Iterator<EmailWrapper> {
+        
+        private final Iterator<EmailWrapper> emails;
+        private Map<String, EmailData> logData = new TreeMap<String, EmailData>();
+        
+        LoggedEmailIterator(Iterator<EmailWrapper> emails) {
+            this.emails = emails;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return emails.hasNext();
+        }
+        
+        @Override
+        public EmailWrapper next() {
+            EmailWrapper email = emails.next();
+            if (logData != null) {
+                try {
+                    String userName = extractUserName(email.getContent());
+                    String regKey = extractRegistrationKey(email.getContent());
+                    logData.put(email.getRecipient(), new EmailData(userName, regKey));
+                } catch (Exception e) {
+                    // the email is still sent even though it cannot be logged
+                    logData = null;
+                }
+            }
+            return email;
+        }
+        
+        /**
+         * Returns the data to be logged for each recipient of the emails passed on,
+         * or null if the data cannot be extracted from any of the emails.
+         */
+        Map<String, EmailData> getLogData() {
+            return logData;
+        }
+        
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+    
     private class EmailData {
         String userName;
         String regKey;
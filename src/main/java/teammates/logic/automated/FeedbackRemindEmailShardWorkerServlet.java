@@ -0,0 +1,61 @@
+package teammates.logic.automated;
+
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.EmailWrapper;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Sends the feedback session reminder emails for one shard of the students of a course.
+ * 
+ * @see FeedbackSessionsLogic#scheduleFeedbackRemindEmailShards(String, String)
+ */
+@SuppressWarnings("serial")
+public class FeedbackRemindEmailShardWorkerServlet extends WorkerServlet {
+    
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        String feedbackSessionName = HttpRequestHelper
+                .getValueFromRequestParameterMap(req, ParamsNames.SUBMISSION_FEEDBACK);
+        Assumption.assertNotNull(feedbackSessionName);
+        
+        String courseId = HttpRequestHelper
+                .getValueFromRequestParameterMap(req, ParamsNames.SUBMISSION_COURSE);
+        Assumption.assertNotNull(courseId);
+        
+        String shardIndex = HttpRequestHelper
+                .getValueFromRequestParameterMap(req, ParamsNames.SUBMISSION_REMIND_SHARD_INDEX);
+        Assumption.assertNotNull(shardIndex);
+        
+        String shardCount = HttpRequestHelper
+                .getValueFromRequestParameterMap(req, ParamsNames.SUBMISSION_REMIND_SHARD_COUNT);
+        
+        String[] studentsToRemind = HttpRequestHelper
+                .getValuesFromRequestParameterMap(req, ParamsNames.SUBMISSION_REMIND_USERLIST);
+        if (studentsToRemind == null) {
+            studentsToRemind = new String[0];
+        }
+        
+        // the first shard also takes care of the instructors, so that they are reminded only once
+        boolean isRemindingInstructors = Integer.parseInt(shardIndex) == 0;
+        
+        try {
+            List<EmailWrapper> emails = FeedbackSessionsLogic.inst()
+                    .sendReminderForFeedbackSessionShard(courseId, feedbackSessionName,
+                            studentsToRemind, isRemindingInstructors);
+            log.info("Reminder shard " + (Integer.parseInt(shardIndex) + 1) + "/" + shardCount
+                     + " of feedback session " + courseId + "/" + feedbackSessionName + ": "
+                     + emails.size() + " emails queued for " + studentsToRemind.length + " students");
+        } catch (EntityDoesNotExistException e) {
+            log.severe("Unexpected error while sending emails " + e.getMessage());
+        }
+    }
+    
+}
@@ -23,9 +23,9 @@ public class FeedbackRemindEmailWorkerServlet extends WorkerServlet {
         Assumption.assertNotNull(courseId);
         
         try {
-            FeedbackSessionsLogic.inst().sendReminderForFeedbackSession(courseId, feedbackSessionName);
+            FeedbackSessionsLogic.inst().scheduleFeedbackRemindEmailShards(courseId, feedbackSessionName);
         } catch (EntityDoesNotExistException e) {
-            log.severe("Unexpected error while sending emails " + e.getMessage());
+            log.severe("Unexpected error while scheduling emails " + e.getMessage());
         }
     }
 
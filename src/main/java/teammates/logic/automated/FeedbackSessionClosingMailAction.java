@@ -1,7 +1,7 @@
 package teammates.logic.automated;
 
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -52,7 +52,7 @@ public class FeedbackSessionClosingMailAction extends EmailAction {
     }
 
     @Override
-    protected List<EmailWrapper> prepareMailToBeSent() {
+    protected Iterator<EmailWrapper> prepareMailToBeSent() {
         
         FeedbackSessionAttributes feedbackObject = FeedbackSessionsLogic.inst()
                 .getFeedbackSession(feedbackSessionName, courseId);
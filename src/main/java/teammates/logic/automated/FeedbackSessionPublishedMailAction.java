@@ -1,7 +1,7 @@
 package teammates.logic.automated;
 
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -54,7 +54,7 @@ public class FeedbackSessionPublishedMailAction extends EmailAction {
     }
 
     @Override
-    protected List<EmailWrapper> prepareMailToBeSent() {
+    protected Iterator<EmailWrapper> prepareMailToBeSent() {
         
         FeedbackSessionAttributes feedbackObject = FeedbackSessionsLogic.inst()
                 .getFeedbackSession(feedbackSessionName, courseId);
@@ -1,6 +1,6 @@
 package teammates.logic.automated;
 
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
@@ -54,7 +54,7 @@ public class FeedbackSessionUnpublishedMailAction extends EmailAction {
     }
 
     @Override
-    protected List<EmailWrapper> prepareMailToBeSent() {
+    protected Iterator<EmailWrapper> prepareMailToBeSent() {
         
         FeedbackSessionAttributes feedbackSession = FeedbackSessionsLogic.inst()
                 .getFeedbackSession(feedbackSessionName, courseId);
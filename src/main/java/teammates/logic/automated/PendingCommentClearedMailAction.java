@@ -1,7 +1,8 @@
 package teammates.logic.automated;
 
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -56,9 +57,10 @@ public class PendingCommentClearedMailAction extends EmailAction {
     }
 
     @Override
-    protected List<EmailWrapper> prepareMailToBeSent() {
+    protected Iterator<EmailWrapper> prepareMailToBeSent() {
         log.info("Fetching recipient emails for pending comments in course : " + courseId);
-        return new EmailGenerator().generatePendingCommentsClearedEmails(courseId);
+        Set<String> recipients = commentsLogic.drainRecipientEmailsForSendingComments(courseId);
+        return new EmailGenerator().generatePendingCommentsClearedEmails(courseId, recipients).iterator();
     }
 
     private void initializeNameAndDescription() {
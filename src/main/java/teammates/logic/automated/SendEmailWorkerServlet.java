@@ -1,5 +1,8 @@
 package teammates.logic.automated;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -15,35 +18,42 @@ public class SendEmailWorkerServlet extends WorkerServlet {
     
     @Override
     public void doGet(HttpServletRequest req, HttpServletResponse resp) {
-        String emailSubject = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_SUBJECT);
-        Assumption.assertNotNull(emailSubject);
+        String[] emailSubjects = HttpRequestHelper.getValuesFromRequestParameterMap(req, ParamsNames.EMAIL_SUBJECT);
+        Assumption.assertNotNull(emailSubjects);
         
-        String emailContent = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_CONTENT);
-        Assumption.assertNotNull(emailContent);
+        String[] emailContents = HttpRequestHelper.getValuesFromRequestParameterMap(req, ParamsNames.EMAIL_CONTENT);
+        Assumption.assertNotNull(emailContents);
         
-        String emailSender = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_SENDER);
-        Assumption.assertNotNull(emailSender);
+        String[] emailSenders = HttpRequestHelper.getValuesFromRequestParameterMap(req, ParamsNames.EMAIL_SENDER);
+        Assumption.assertNotNull(emailSenders);
         
-        String emailSenderName = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_SENDERNAME);
+        String[] emailSenderNames =
+                HttpRequestHelper.getValuesFromRequestParameterMap(req, ParamsNames.EMAIL_SENDERNAME);
         
-        String emailReceiver = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_RECEIVER);
-        Assumption.assertNotNull(emailReceiver);
+        String[] emailReceivers = HttpRequestHelper.getValuesFromRequestParameterMap(req, ParamsNames.EMAIL_RECEIVER);
+        Assumption.assertNotNull(emailReceivers);
         
-        String emailReply = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.EMAIL_REPLY_TO_ADDRESS);
-        Assumption.assertNotNull(emailReply);
+        String[] emailReplies =
+                HttpRequestHelper.getValuesFromRequestParameterMap(req, ParamsNames.EMAIL_REPLY_TO_ADDRESS);
+        Assumption.assertNotNull(emailReplies);
         
-        EmailWrapper message = new EmailWrapper();
-        message.setRecipient(emailReceiver);
-        message.setSenderEmail(emailSender);
-        if (emailSenderName != null) {
-            message.setSenderName(emailSenderName);
+        // each task carries a batch of emails, with the parameters of each email at the same index
+        List<EmailWrapper> messages = new ArrayList<EmailWrapper>();
+        for (int i = 0; i < emailReceivers.length; i++) {
+            EmailWrapper message = new EmailWrapper();
+            message.setRecipient(emailReceivers[i]);
+            message.setSenderEmail(emailSenders[i]);
+            if (emailSenderNames != null) {
+                message.setSenderName(emailSenderNames[i]);
+            }
+            message.setContent(emailContents[i]);
+            message.setSubject(emailSubjects[i]);
+            message.setReplyTo(emailReplies[i]);
+            messages.add(message);
         }
-        message.setContent(emailContent);
-        message.setSubject(emailSubject);
-        message.setReplyTo(emailReply);
         
         try {
-            new EmailSender().sendEmail(message);
+            new EmailSender().sendEmailBatch(messages);
         } catch (Exception e) {
             log.severe("Error while sending email via servlet: " + TeammatesException.toStringWithStackTrace(e));
             
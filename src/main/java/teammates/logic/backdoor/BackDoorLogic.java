@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 
@@ -150,9 +151,12 @@ public class BackDoorLogic extends Logic {
         }
         fqDb.createFeedbackQuestions(questionList);
         
+        // the responses of a question share its ID, which is looked up only once
+        Map<String, String> questionIdsByNumber = new HashMap<String, String>();
+        
         HashMap<String, FeedbackResponseAttributes> responses = dataBundle.feedbackResponses;
         for (FeedbackResponseAttributes response : responses.values()) {
-            response = injectRealIds(response);
+            response = injectRealIds(response, questionIdsByNumber);
         }
         frDb.createFeedbackResponses(responses.values());
 
@@ -170,7 +174,7 @@ public class BackDoorLogic extends Logic {
         
         HashMap<String, FeedbackResponseCommentAttributes> responseComments = dataBundle.feedbackResponseComments;
         for (FeedbackResponseCommentAttributes responseComment : responseComments.values()) {
-            responseComment = injectRealIds(responseComment);
+            responseComment = injectRealIds(responseComment, questionIdsByNumber);
         }
         fcDb.createFeedbackResponseComments(responseComments.values());
         
@@ -394,17 +398,18 @@ public class BackDoorLogic extends Logic {
     * This method will then generate the correct ID and replace the field.
      * @throws EntityDoesNotExistException
     **/
-    private FeedbackResponseAttributes injectRealIds(FeedbackResponseAttributes response)
+    private FeedbackResponseAttributes injectRealIds(FeedbackResponseAttributes response,
+                                                     Map<String, String> questionIdsByNumber)
             throws EntityDoesNotExistException {
         try {
             int qnNumber = Integer.parseInt(response.feedbackQuestionId);
         
-            FeedbackQuestionAttributes question = feedbackQuestionsLogic.getFeedbackQuestion(
-                    response.feedbackSessionName, response.courseId, qnNumber);
-            if (question == null) {
+            String questionId = getQuestionId(response.feedbackSessionName, response.courseId, qnNumber,
+                                              questionIdsByNumber);
+            if (questionId == null) {
                 throw new EntityDoesNotExistException("question has not persisted yet");
             }
-            response.feedbackQuestionId = question.getId();
+            response.feedbackQuestionId = questionId;
             
         } catch (NumberFormatException e) {
             // Correct question ID was already attached to response.
@@ -413,6 +418,24 @@ public class BackDoorLogic extends Logic {
         return response;
     }
     
+    /**
+     * @return the ID of the question numbered {@code qnNumber} in the session, or null if there is no such question.
+     *         The IDs found are kept in {@code questionIdsByNumber} so that each question is looked up only once.
+     */
+    private String getQuestionId(String feedbackSessionName, String courseId, int qnNumber,
+                                 Map<String, String> questionIdsByNumber) {
+        String key = feedbackSessionName + "%" + courseId + "%" + qnNumber;
+        if (!questionIdsByNumber.containsKey(key)) {
+            FeedbackQuestionAttributes question =
+                    feedbackQuestionsLogic.getFeedbackQuestion(feedbackSessionName, courseId, qnNumber);
+            if (question == null) {
+                return null;
+            }
+            questionIdsByNumber.put(key, question.getId());
+        }
+        return questionIdsByNumber.get(key);
+    }
+    
     /**
     * This method is necessary to generate the feedbackQuestionId
     * and feedbackResponseId of the question and response the comment is for.<br>
@@ -424,15 +447,15 @@ public class BackDoorLogic extends Logic {
     * This method will then generate the correct ID and replace the field.
      * @throws EntityDoesNotExistException
     **/
-    private FeedbackResponseCommentAttributes injectRealIds(FeedbackResponseCommentAttributes responseComment) {
+    private FeedbackResponseCommentAttributes injectRealIds(FeedbackResponseCommentAttributes responseComment,
+                                                            Map<String, String> questionIdsByNumber) {
         try {
             int qnNumber = Integer.parseInt(responseComment.feedbackQuestionId);
             
             responseComment.feedbackQuestionId =
-                    feedbackQuestionsLogic.getFeedbackQuestion(
-                            responseComment.feedbackSessionName,
-                            responseComment.courseId,
-                            qnNumber).getId();
+                    getQuestionId(responseComment.feedbackSessionName, responseComment.courseId, qnNumber,
+                                  questionIdsByNumber);
+            Assumption.assertNotNull("question has not persisted yet", responseComment.feedbackQuestionId);
         } catch (NumberFormatException e) {
             // Correct question ID was already attached to response.
         }
@@ -579,6 +602,7 @@ public class BackDoorLogic extends Logic {
     public void uploadAndUpdateStudentProfilePicture(String googleId,
             byte[] pictureData) throws EntityDoesNotExistException, IOException {
         String pictureKey = GoogleCloudStorageHelper.writeImageDataToGcs(googleId, pictureData);
-        updateStudentProfilePicture(googleId, pictureKey);
+        String thumbnailKey = GoogleCloudStorageHelper.writeThumbnailOfImageToGcs(googleId, pictureData);
+        updateStudentProfilePicture(googleId, pictureKey, thumbnailKey);
     }
 }
@@ -1,6 +1,15 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.AccountAttributes;
@@ -17,6 +26,7 @@ import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
 import teammates.storage.api.AccountsDb;
+import teammates.storage.api.CoursesDb;
 import teammates.storage.api.ProfilesDb;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -32,6 +42,7 @@ public class AccountsLogic {
         
     private static AccountsLogic instance;
     private static final AccountsDb accountsDb = new AccountsDb();
+    private static final CoursesDb coursesDb = new CoursesDb();
     private static final ProfilesDb profilesDb = new ProfilesDb();
     
     private static final Logger log = Utils.getLogger();
@@ -64,6 +75,14 @@ public class AccountsLogic {
         return accountsDb.getAccount(googleId, retrieveStudentProfile);
     }
     
+    /**
+     * @return the accounts with the given googleIds, keyed by googleId, without their student profiles.
+     *         Accounts that do not exist are skipped.
+     */
+    public Map<String, AccountAttributes> getAccounts(Collection<String> googleIds) {
+        return accountsDb.getAccounts(googleIds);
+    }
+    
     public boolean isAccountPresent(String googleId) {
         return accountsDb.getAccount(googleId) != null;
     }
@@ -78,26 +97,75 @@ public class AccountsLogic {
     }
     
     public String getCourseInstitute(String courseId) {
-        CourseAttributes cd = new CoursesLogic().getCourse(courseId);
-        Assumption.assertNotNull("Trying to getCourseInstitute for inexistent course with id " + courseId, cd);
-        List<InstructorAttributes> instructorList = InstructorsLogic.inst().getInstructorsForCourse(cd.getId());
-        
-        Assumption.assertTrue("Course has no instructors: " + cd.getId(), !instructorList.isEmpty());
-        // Retrieve institute field from one of the instructors of the course
-        String institute = "";
-        for (int i = 0; i < instructorList.size(); i++) {
-            String instructorGoogleId = instructorList.get(i).googleId;
-            if (instructorGoogleId == null) {
-                continue;
+        String institute = getCourseInstitutes(Arrays.asList(courseId)).get(courseId);
+        if (institute == null) {
+            CourseAttributes cd = new CoursesLogic().getCourse(courseId);
+            Assumption.assertNotNull("Trying to getCourseInstitute for inexistent course with id " + courseId, cd);
+            List<InstructorAttributes> instructorList = InstructorsLogic.inst().getInstructorsForCourse(cd.getId());
+            Assumption.assertTrue("Course has no instructors: " + cd.getId(), !instructorList.isEmpty());
+        }
+        Assumption.assertNotEmpty("No institute found for the course", institute == null ? "" : institute);
+        return institute;
+    }
+        
+    /**
+     * Gets the institutes of the given courses, i.e. the institute of the first instructor of each course
+     * who has an account. Institutes are read from the courses in one batch; those not stored yet are
+     * resolved from the instructors of those courses (one query per course) and their accounts (one batch get),
+     * and stored for the next time.
+     * @return a map from course ID to institute, without the courses that do not exist
+     *         or have no instructors with accounts
+     */
+    public Map<String, String> getCourseInstitutes(Collection<String> courseIds) {
+        List<String> uniqueCourseIds = new ArrayList<String>(new LinkedHashSet<String>(courseIds));
+        Map<String, String> institutes = coursesDb.getCourseInstitutes(uniqueCourseIds);
+        
+        List<String> unresolvedCourseIds = new ArrayList<String>();
+        for (String courseId : uniqueCourseIds) {
+            if (!institutes.containsKey(courseId)) {
+                unresolvedCourseIds.add(courseId);
             }
-            AccountAttributes instructorAcc = accountsDb.getAccount(instructorGoogleId);
-            if (instructorAcc != null) {
-                institute = instructorAcc.institute;
+        }
+        Map<String, List<InstructorAttributes>> instructorsTable =
+                InstructorsLogic.inst().getInstructorsForCourses(unresolvedCourseIds);
+        
+        Map<String, List<String>> instructorGoogleIdsTable = new LinkedHashMap<String, List<String>>();
+        Set<String> instructorGoogleIds = new HashSet<String>();
+        for (String courseId : unresolvedCourseIds) {
+            List<String> googleIds = new ArrayList<String>();
+            for (InstructorAttributes instructor : instructorsTable.get(courseId)) {
+                if (instructor.googleId != null) {
+                    googleIds.add(instructor.googleId);
+                }
+            }
+            instructorGoogleIdsTable.put(courseId, googleIds);
+            instructorGoogleIds.addAll(googleIds);
+        }
+        
+        Map<String, AccountAttributes> accountsTable = accountsDb.getAccounts(instructorGoogleIds);
+        
+        for (Map.Entry<String, List<String>> entry : instructorGoogleIdsTable.entrySet()) {
+            for (String googleId : entry.getValue()) {
+                AccountAttributes account = accountsTable.get(googleId);
+                if (account == null) {
+                    continue;
+                }
+                String institute = account.institute == null ? "" : account.institute;
+                institutes.put(entry.getKey(), institute);
+                updateCourseInstitute(entry.getKey(), institute);
                 break;
             }
         }
-        Assumption.assertNotEmpty("No institute found for the course", institute);
-        return institute;
+        return institutes;
+    }
+    
+    /**
+     * Stores {@code institute} as the institute of the course.
+     * If {@code institute} is null or empty, the institute is resolved again the next time it is needed.
+     */
+    public void updateCourseInstitute(String courseId, String institute) {
+        boolean isKnownInstitute = institute != null && !institute.isEmpty();
+        coursesDb.updateCourseInstitute(courseId, isKnownInstitute ? institute : null);
     }
 
     public void updateAccount(AccountAttributes account)
@@ -176,6 +244,11 @@ public class AccountsLogic {
         instructor.googleId = googleId;
         InstructorsLogic.inst().updateInstructorByEmail(instructor.email, instructor);
         
+        // the course may not have had any instructor with an account until now
+        if (!coursesDb.getCourseInstitutes(Arrays.asList(instructor.courseId)).containsKey(instructor.courseId)) {
+            updateCourseInstitute(instructor.courseId, account == null ? instituteToSave : account.institute);
+        }
+        
         //Update the goolgeId of the student entity for the instructor which was created from sampleData.
         StudentAttributes student = StudentsLogic.inst().getStudentForEmail(instructor.courseId, instructor.email);
         if (student != null) {
@@ -367,6 +440,10 @@ public class AccountsLogic {
         return profilesDb.getStudentProfile(googleId);
     }
 
+    public Map<String, StudentProfileAttributes> getStudentProfiles(Collection<String> googleIds) {
+        return profilesDb.getStudentProfiles(googleIds);
+    }
+    
     public void updateStudentProfile(StudentProfileAttributes newStudentProfileAttributes)
             throws InvalidParametersException, EntityDoesNotExistException {
         profilesDb.updateStudentProfile(newStudentProfileAttributes);
@@ -384,4 +461,9 @@ public class AccountsLogic {
         profilesDb.updateStudentProfilePicture(googleId, newPictureKey);
         
     }
+    
+    public void updateStudentProfilePicture(String googleId, String newPictureKey, String newThumbnailKey)
+            throws EntityDoesNotExistException {
+        profilesDb.updateStudentProfilePicture(googleId, newPictureKey, newThumbnailKey);
+    }
 }
@@ -0,0 +1,156 @@
+package teammates.logic.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.ActivityLogSearchKey;
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogLine;
+import teammates.common.util.Const;
+import teammates.common.util.Utils;
+import teammates.storage.api.ActivityLogsDb;
+
+import com.google.appengine.api.taskqueue.TaskHandle;
+
+/**
+ * Handles the logic related to the activity logs kept in the datastore.<br>
+ * Requests only add their activity logs to a pull queue, which costs them no datastore write;
+ * the logs are written to the datastore in batches by a cron job, and deleted by another cron job
+ * once they are older than {@link Const.SystemParams#ACTIVITY_LOG_RETENTION_DAYS}.
+ */
+public class ActivityLogsLogic {
+    //The API of this class doesn't have header comments because it sits behind
+    //  the API of the logic class. Those who use this class is expected to be
+    //  familiar with the its code and Logic's code. Hence, no need for header
+    //  comments.
+    
+    private static final Logger log = Utils.getLogger();
+    
+    private static final String PAYLOAD_SEPARATOR = "|||";
+    
+    /** Number of seconds the logs being stored are leased for, after which they can be leased again */
+    private static final long LEASE_SECONDS = 60;
+    
+    /** Maximum number of batches stored by each call of {@link #storeRecordedActivityLogs()},
+     * so that the cron job finishes well within its deadline */
+    private static final int MAX_BATCHES_PER_STORAGE = 20;
+    
+    /** Maximum number of batches deleted by each call of {@link #purgeExpiredActivityLogs()},
+     * so that the cron job finishes well within its deadline */
+    private static final int MAX_BATCHES_PER_PURGE = 20;
+    
+    private static final long MILLISECONDS_PER_DAY = 24L * 60 * 60 * 1000;
+    
+    /** The servlet name of the admin activity log page, whose logs are never shown on the page itself */
+    private static final String ADMIN_ACTIVITY_LOG_PAGE_SERVLET_NAME =
+            ActivityLogEntry.getActionName(Const.ActionURIs.ADMIN_ACTIVITY_LOG_PAGE);
+    
+    private static ActivityLogsLogic instance;
+    
+    private static final ActivityLogsDb activityLogsDb = new ActivityLogsDb();
+    private static final TaskQueuesLogic taskQueuesLogic = TaskQueuesLogic.inst();
+    
+    public static ActivityLogsLogic inst() {
+        if (instance == null) {
+            instance = new ActivityLogsLogic();
+        }
+        return instance;
+    }
+    
+    /**
+     * Records an activity log in the format logged by ControllerServlet, to be stored in the datastore
+     * by the next {@link #storeRecordedActivityLogs()}. Failing to record the log does not fail the caller,
+     * as the log is still found in the application logs.
+     */
+    public void recordActivityLog(String logMessage) {
+        String payload = System.currentTimeMillis() + PAYLOAD_SEPARATOR + logMessage;
+        try {
+            taskQueuesLogic.createAndAddPullTaskAsync(Const.SystemParams.ACTIVITY_LOG_TASK_QUEUE,
+                                                      payload.getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.warning("Activity log not recorded: " + TeammatesException.toStringWithStackTrace(e));
+        }
+    }
+    
+    /**
+     * Stores the recorded activity logs in the datastore, one batch at a time.
+     * @return the number of logs stored
+     */
+    public int storeRecordedActivityLogs() {
+        int numberOfLogsStored = 0;
+        for (int i = 0; i < MAX_BATCHES_PER_STORAGE; i++) {
+            List<TaskHandle> tasks = taskQueuesLogic.leaseTasks(Const.SystemParams.ACTIVITY_LOG_TASK_QUEUE,
+                                                                LEASE_SECONDS, ActivityLogsDb.ACTIVITY_LOGS_PER_BATCH);
+            if (tasks.isEmpty()) {
+                break;
+            }
+            
+            // the task names are unique, so a log stored again after its lease expired replaces itself
+            Map<String, ActivityLogLine> logLinesById = new HashMap<String, ActivityLogLine>();
+            for (TaskHandle task : tasks) {
+                String payload = new String(task.getPayload(), StandardCharsets.UTF_8);
+                int separatorIndex = payload.indexOf(PAYLOAD_SEPARATOR);
+                long time = Long.parseLong(payload.substring(0, separatorIndex));
+                ActivityLogLine logLine =
+                        new ActivityLogLine(time, payload.substring(separatorIndex + PAYLOAD_SEPARATOR.length()));
+                
+                if (!ADMIN_ACTIVITY_LOG_PAGE_SERVLET_NAME.equals(logLine.getServletName())) {
+                    logLinesById.put(task.getName(), logLine);
+                }
+            }
+            
+            activityLogsDb.putActivityLogs(logLinesById);
+            taskQueuesLogic.deleteTasks(Const.SystemParams.ACTIVITY_LOG_TASK_QUEUE, tasks);
+            numberOfLogsStored += logLinesById.size();
+            
+            if (tasks.size() < ActivityLogsDb.ACTIVITY_LOGS_PER_BATCH) {
+                break;
+            }
+        }
+        return numberOfLogsStored;
+    }
+    
+    /**
+     * Deletes the stored activity logs older than {@link Const.SystemParams#ACTIVITY_LOG_RETENTION_DAYS},
+     * one batch at a time.
+     * @return the number of logs deleted
+     */
+    public int purgeExpiredActivityLogs() {
+        long retentionMillis = Const.SystemParams.ACTIVITY_LOG_RETENTION_DAYS * MILLISECONDS_PER_DAY;
+        return deleteActivityLogsBefore(System.currentTimeMillis() - retentionMillis);
+    }
+    
+    /**
+     * Deletes the stored activity logs older than {@code time}, one batch at a time, the oldest first.
+     * Stops after a number of batches, leaving the rest of the logs to the next call.
+     * @return the number of logs deleted
+     */
+    public int deleteActivityLogsBefore(long time) {
+        int numberOfLogsDeleted = 0;
+        for (int i = 0; i < MAX_BATCHES_PER_PURGE; i++) {
+            int numberOfLogsInBatch =
+                    activityLogsDb.deleteActivityLogsBefore(time, ActivityLogsDb.ACTIVITY_LOGS_PER_BATCH);
+            numberOfLogsDeleted += numberOfLogsInBatch;
+            if (numberOfLogsInBatch < ActivityLogsDb.ACTIVITY_LOGS_PER_BATCH) {
+                break;
+            }
+        }
+        return numberOfLogsDeleted;
+    }
+    
+    public List<ActivityLogLine> getActivityLogs(ActivityLogSearchKey key, Collection<String> values,
+                                                 long startTime, long endTime) {
+        return activityLogsDb.getActivityLogs(key, values, startTime, endTime);
+    }
+    
+    public Iterator<ActivityLogLine> getActivityLogIteratorForPeriod(long startTime, long endTime) {
+        return activityLogsDb.getActivityLogIteratorForPeriod(startTime, endTime);
+    }
+    
+}
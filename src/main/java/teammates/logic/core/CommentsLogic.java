@@ -29,6 +29,7 @@ import teammates.common.util.Const;
 import teammates.common.util.EmailType;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.Utils;
+import teammates.storage.api.CommentNotificationOutboxDb;
 import teammates.storage.api.CommentsDb;
 import teammates.storage.api.InstructorsDb;
 import teammates.storage.api.StudentsDb;
@@ -44,6 +45,7 @@ public class CommentsLogic {
     private static final Logger log = Utils.getLogger();
 
     private static final CommentsDb commentsDb = new CommentsDb();
+    private static final CommentNotificationOutboxDb outboxDb = new CommentNotificationOutboxDb();
 
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
@@ -546,44 +548,104 @@ public class CommentsLogic {
     /************ Send Email For Pending Comments ************/
     
     /**
-     * Get recipient emails for comments with sending state.
-     * When pending comments are cleared, they'll become sending comments.
-     * @param courseId
-     * @return set of emails for recipients who can see the sending comments
+     * Clears the pending comments and response comments of the course, i.e. moves them to the sending state.
+     * The emails of students who can see the cleared comments are appended to the notification outbox
+     * of the course, to be drained by {@link #drainRecipientEmailsForSendingComments(String)}.<br>
+     * The emails are appended before the comments leave the pending state, so that if appending them fails,
+     * the comments are still pending and are cleared again later instead of being sent without their recipients.
      * @throws EntityDoesNotExistException when the course doesn't exist
      */
-    public Set<String> getRecipientEmailsForSendingComments(String courseId) throws EntityDoesNotExistException {
-        List<StudentAttributes> allStudents = new StudentsDb().getStudentsForCourse(courseId);
-
-        CourseRoster roster = new CourseRoster(allStudents, new InstructorsDb().getInstructorsForCourse(courseId));
+    public void clearPendingComments(String courseId) throws EntityDoesNotExistException {
+        verifyIsCoursePresent(courseId, "clear pending");
+        
+        List<CommentAttributes> pendingComments =
+                commentsDb.getCommentsForSendingState(courseId, CommentSendingState.PENDING);
+        List<FeedbackResponseCommentAttributes> pendingResponseComments =
+                frcLogic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.PENDING);
+        outboxDb.appendRecipientEmails(courseId, getRecipientEmails(courseId, pendingComments, pendingResponseComments));
+        
+        List<CommentAttributes> clearedComments =
+                commentsDb.updateComments(courseId, CommentSendingState.PENDING, CommentSendingState.SENDING);
+        List<FeedbackResponseCommentAttributes> clearedResponseComments =
+                frcLogic.updateFeedbackResponseCommentsSendingState(
+                        courseId, CommentSendingState.PENDING, CommentSendingState.SENDING);
+        
+        // comments which became pending after their recipients were looked up are cleared too
+        Set<Long> pendingCommentIds = new HashSet<Long>();
+        for (CommentAttributes comment : pendingComments) {
+            pendingCommentIds.add(comment.getCommentId());
+        }
+        List<CommentAttributes> newlyPendingComments = new ArrayList<CommentAttributes>();
+        for (CommentAttributes comment : clearedComments) {
+            if (!pendingCommentIds.contains(comment.getCommentId())) {
+                newlyPendingComments.add(comment);
+            }
+        }
+        Set<Long> pendingResponseCommentIds = new HashSet<Long>();
+        for (FeedbackResponseCommentAttributes responseComment : pendingResponseComments) {
+            pendingResponseCommentIds.add(responseComment.getId());
+        }
+        List<FeedbackResponseCommentAttributes> newlyPendingResponseComments =
+                new ArrayList<FeedbackResponseCommentAttributes>();
+        for (FeedbackResponseCommentAttributes responseComment : clearedResponseComments) {
+            if (!pendingResponseCommentIds.contains(responseComment.getId())) {
+                newlyPendingResponseComments.add(responseComment);
+            }
+        }
+        if (!newlyPendingComments.isEmpty() || !newlyPendingResponseComments.isEmpty()) {
+            outboxDb.appendRecipientEmails(
+                    courseId, getRecipientEmails(courseId, newlyPendingComments, newlyPendingResponseComments));
+        }
+    }
+    
+    /**
+     * Removes and returns the emails in the notification outbox of the course,
+     * i.e. the emails of students who can see comments cleared since the outbox was last drained.
+     */
+    public Set<String> drainRecipientEmailsForSendingComments(String courseId) {
+        return outboxDb.drainRecipientEmails(courseId);
+    }
+    
+    private Set<String> getRecipientEmails(String courseId, List<CommentAttributes> comments,
+                                           List<FeedbackResponseCommentAttributes> responseComments) {
+        Set<String> recipientEmailsList = new HashSet<String>();
+        
+        // comments visible only to their recipients are resolved without loading the roster of the course
+        List<StudentAttributes> allStudents = new ArrayList<StudentAttributes>();
+        List<InstructorAttributes> allInstructors = new ArrayList<InstructorAttributes>();
+        if (isRosterNeeded(comments, responseComments)) {
+            allStudents = new StudentsDb().getStudentsForCourse(courseId);
+            allInstructors = new InstructorsDb().getInstructorsForCourse(courseId);
+        }
+        
+        CourseRoster roster = new CourseRoster(allStudents, allInstructors);
         
         Map<String, List<StudentAttributes>> teamStudentTable = new HashMap<String, List<StudentAttributes>>();
         Map<String, List<StudentAttributes>> sectionStudentTable = new HashMap<String, List<StudentAttributes>>();
         populateTeamSectionStudentTables(allStudents, teamStudentTable, sectionStudentTable);
         
-        Set<String> recipientEmailsList = populateRecipientEmails(courseId,
-                allStudents, roster, teamStudentTable, sectionStudentTable);
-        
-        return recipientEmailsList;
-    }
-
-    private Set<String> populateRecipientEmails(String courseId, List<StudentAttributes> allStudents,
-            CourseRoster roster, Map<String, List<StudentAttributes>> teamStudentTable,
-            Map<String, List<StudentAttributes>> sectionStudentTable) throws EntityDoesNotExistException {
-        Set<String> recipientEmailsList = new HashSet<String>();
-        
-        List<CommentAttributes> sendingCommentsList = commentsDb.getCommentsForSendingState(courseId,
-                                                                    CommentSendingState.SENDING);
-        populateRecipientEmailsFromPendingComments(sendingCommentsList, allStudents, roster,
+        populateRecipientEmailsFromPendingComments(comments, allStudents, roster,
                                                    teamStudentTable, sectionStudentTable, recipientEmailsList);
-        
-        List<FeedbackResponseCommentAttributes> sendingResponseCommentsList =
-                frcLogic.getFeedbackResponseCommentsForSendingState(courseId, CommentSendingState.SENDING);
-        populateRecipientEmailsFromPendingResponseComments(sendingResponseCommentsList, allStudents, roster,
+        populateRecipientEmailsFromPendingResponseComments(responseComments, allStudents, roster,
                                                            teamStudentTable, recipientEmailsList);
         
         return recipientEmailsList;
     }
+
+    private boolean isRosterNeeded(List<CommentAttributes> comments,
+                                   List<FeedbackResponseCommentAttributes> responseComments) {
+        if (!responseComments.isEmpty()) {
+            return true;
+        }
+        for (CommentAttributes comment : comments) {
+            if (comment.isVisibleTo(CommentParticipantType.TEAM)
+                    || comment.isVisibleTo(CommentParticipantType.SECTION)
+                    || comment.isVisibleTo(CommentParticipantType.COURSE)) {
+                return true;
+            }
+        }
+        return false;
+    }
     
     private void populateTeamSectionStudentTables(List<StudentAttributes> allStudents,
                                                   Map<String, List<StudentAttributes>> teamStudentTable,
@@ -612,15 +674,21 @@ public class CommentsLogic {
                      Map<String, List<StudentAttributes>> teamStudentTable,
                      Set<String> recipientEmailsList) {
         
+        Set<String> feedbackQuestionIds = new HashSet<String>();
+        Set<String> feedbackResponseIds = new HashSet<String>();
+        for (FeedbackResponseCommentAttributes frc : sendingResponseCommentsList) {
+            feedbackQuestionIds.add(frc.feedbackQuestionId);
+            feedbackResponseIds.add(frc.feedbackResponseId);
+        }
         Map<String, FeedbackQuestionAttributes> feedbackQuestionsTable =
-                new HashMap<String, FeedbackQuestionAttributes>();
+                fqLogic.getFeedbackQuestions(feedbackQuestionIds);
         Map<String, FeedbackResponseAttributes> feedbackResponsesTable =
-                new HashMap<String, FeedbackResponseAttributes>();
+                frLogic.getFeedbackResponses(feedbackResponseIds);
         Map<String, Set<String>> responseCommentsAddedTable = new HashMap<String, Set<String>>();
         
         for (FeedbackResponseCommentAttributes frc : sendingResponseCommentsList) {
-            FeedbackQuestionAttributes relatedQuestion = getRelatedQuestion(feedbackQuestionsTable, frc);
-            FeedbackResponseAttributes relatedResponse = getRelatedResponse(feedbackResponsesTable, frc);
+            FeedbackQuestionAttributes relatedQuestion = feedbackQuestionsTable.get(frc.feedbackQuestionId);
+            FeedbackResponseAttributes relatedResponse = feedbackResponsesTable.get(frc.feedbackResponseId);
             
             if (relatedQuestion != null && relatedResponse != null) {
                 populateRecipientEmailsForGiver(roster, teamStudentTable, recipientEmailsList,
@@ -699,26 +767,6 @@ public class CommentsLogic {
                                       frc.getId().toString(), giver.team);
         }
     }
-
-    private FeedbackResponseAttributes getRelatedResponse(
-            Map<String, FeedbackResponseAttributes> feedbackResponsesTable, FeedbackResponseCommentAttributes frc) {
-        FeedbackResponseAttributes relatedResponse = feedbackResponsesTable.get(frc.feedbackResponseId);
-        if (relatedResponse == null) {
-            relatedResponse = frLogic.getFeedbackResponse(frc.feedbackResponseId);
-            feedbackResponsesTable.put(frc.feedbackResponseId, relatedResponse);
-        }
-        return relatedResponse;
-    }
-
-    private FeedbackQuestionAttributes getRelatedQuestion(
-            Map<String, FeedbackQuestionAttributes> feedbackQuestionsTable, FeedbackResponseCommentAttributes frc) {
-        FeedbackQuestionAttributes relatedQuestion = feedbackQuestionsTable.get(frc.feedbackQuestionId);
-        if (relatedQuestion == null) {
-            relatedQuestion = fqLogic.getFeedbackQuestion(frc.feedbackQuestionId);
-            feedbackQuestionsTable.put(frc.feedbackQuestionId, relatedQuestion);
-        }
-        return relatedQuestion;
-    }
     
     /************ Send Email For Pending Comments : populate recipients emails from Student Comments ************/
 
@@ -1,9 +1,12 @@
 package teammates.logic.core;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,6 +22,7 @@ import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentListPageBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -116,6 +120,8 @@ public class CoursesLogic {
                                   + TeammatesException.toStringWithStackTrace(e);
             Assumption.fail(errorMessage);
         }
+        
+        accountsLogic.updateCourseInstitute(courseId, courseCreator.institute);
     }
 
     /**
@@ -374,6 +380,74 @@ public class CoursesLogic {
         List<StudentAttributes> students = studentsLogic.getStudentsForCourse(courseId);
         StudentAttributes.sortBySectionName(students);
         
+        return groupIntoSections(students);
+    }
+    
+    /**
+     * Returns one page of the students of a course, ordered by section, then team, then name.<br>
+     * Only the students on the page are grouped into sections, so that the cost of rendering a page
+     * does not grow with the size of the course.
+     * @param sectionName if not null, only the students in this section are matched
+     * @param searchKey if not null or empty, only the students whose name, email, team or section contains it
+     *                  (ignoring case) are matched
+     * @param offset position of the first student of the page among the students matched,
+     *               i.e. {@link StudentListPageBundle#getNextOffset()} of the previous page
+     * @param limit maximum number of students in the page
+     */
+    public StudentListPageBundle getStudentListPage(String courseId, String sectionName, String searchKey,
+                                                    int offset, int limit)
+            throws EntityDoesNotExistException {
+        
+        verifyCourseIsPresent(courseId);
+        
+        List<StudentAttributes> students = studentsLogic.getStudentsForCourse(courseId);
+        StudentAttributes.sortBySectionName(students);
+        
+        StudentListPageBundle page = new StudentListPageBundle();
+        String searchKeyInLowerCase = searchKey == null ? "" : searchKey.trim().toLowerCase();
+        List<StudentAttributes> studentsInPage = new ArrayList<StudentAttributes>();
+        
+        for (StudentAttributes student : students) {
+            List<String> teamNames = page.teamNamesInSections.get(student.section);
+            if (teamNames == null) {
+                teamNames = new ArrayList<String>();
+                page.teamNamesInSections.put(student.section, teamNames);
+            }
+            if (teamNames.isEmpty() || !teamNames.get(teamNames.size() - 1).equals(student.team)) {
+                teamNames.add(student.team);
+            }
+            
+            if (!isMatchingStudentListFilter(student, sectionName, searchKeyInLowerCase)) {
+                continue;
+            }
+            if (page.numStudentsMatched >= offset && studentsInPage.size() < limit) {
+                studentsInPage.add(student);
+            }
+            page.numStudentsMatched++;
+        }
+        
+        page.offset = offset;
+        page.numStudentsInPage = studentsInPage.size();
+        page.sections = groupIntoSections(studentsInPage);
+        return page;
+    }
+    
+    private static boolean isMatchingStudentListFilter(StudentAttributes student, String sectionName,
+                                                       String searchKeyInLowerCase) {
+        if (sectionName != null && !sectionName.equals(student.section)) {
+            return false;
+        }
+        return searchKeyInLowerCase.isEmpty()
+               || student.name.toLowerCase().contains(searchKeyInLowerCase)
+               || student.email.toLowerCase().contains(searchKeyInLowerCase)
+               || student.team.toLowerCase().contains(searchKeyInLowerCase)
+               || student.section.toLowerCase().contains(searchKeyInLowerCase);
+    }
+    
+    /**
+     * @param students students sorted by section, then team
+     */
+    private static List<SectionDetailsBundle> groupIntoSections(List<StudentAttributes> students) {
         List<SectionDetailsBundle> sections = new ArrayList<SectionDetailsBundle>();
         
         SectionDetailsBundle section = null;
@@ -821,50 +895,70 @@ public class CoursesLogic {
      */
     public String getCourseStudentListAsCsv(String courseId, String googleId) throws EntityDoesNotExistException {
 
-        HashMap<String, CourseDetailsBundle> courses = getCourseSummariesForInstructor(googleId, false);
-        CourseDetailsBundle course = courses.get(courseId);
-        boolean hasSection = hasIndicatedSections(courseId);
-        
-        StringBuilder export = new StringBuilder(100);
-        String courseInfo = "Course ID," + Sanitizer.sanitizeForCsv(courseId) + Const.EOL
-                      + "Course Name," + Sanitizer.sanitizeForCsv(course.course.getName()) + Const.EOL
-                      + Const.EOL + Const.EOL;
-        export.append(courseInfo);
-        
-        String header = (hasSection ? "Section," : "") + "Team,Full Name,Last Name,Status,Email" + Const.EOL;
-        export.append(header);
-        
-        for (SectionDetailsBundle section : course.sections) {
-            for (TeamDetailsBundle team : section.teams) {
-                for (StudentAttributes student : team.students) {
-                    String studentStatus = null;
-                    if (student.googleId == null || student.googleId.isEmpty()) {
-                        studentStatus = Const.STUDENT_COURSE_STATUS_YET_TO_JOIN;
-                    } else {
-                        studentStatus = Const.STUDENT_COURSE_STATUS_JOINED;
-                    }
+        instructorsLogic.verifyInstructorExists(googleId);
+        CourseAttributes course = getCourse(courseId);
+        if (course == null || instructorsLogic.getInstructorForGoogleId(courseId, googleId) == null) {
+            throw new EntityDoesNotExistException("The course " + courseId + " of the instructor " + googleId
+                                                  + " does not exist");
+        }
+        
+        StringWriter export = new StringWriter();
+        writeCourseStudentListAsCsv(course, new PrintWriter(export));
+        return export.toString();
+    }
+        
+    /**
+     * Writes a CSV for the details(name, email, status) of all students belonging to {@code course}.<br>
+     * Each row is written as soon as it is generated, so that the CSV is never held as a whole
+     * when {@code writer} writes to a stream.
+     */
+    public void writeCourseStudentListAsCsv(CourseAttributes course, PrintWriter writer) {
+        
+        List<StudentAttributes> students = studentsLogic.getStudentsForCourse(course.getId());
+        StudentAttributes.sortBySectionName(students);
                     
-                    if (hasSection) {
-                        export.append(Sanitizer.sanitizeForCsv(section.name)).append(',');
-                    }
-
-                    export.append(Sanitizer.sanitizeForCsv(team.name) + ','
-                            + Sanitizer.sanitizeForCsv(StringHelper.removeExtraSpace(student.name)) + ','
-                            + Sanitizer.sanitizeForCsv(StringHelper.removeExtraSpace(student.lastName)) + ','
-                            + Sanitizer.sanitizeForCsv(studentStatus) + ','
-                            + Sanitizer.sanitizeForCsv(student.email) + Const.EOL);
-                }
+        boolean hasSection = false;
+        for (StudentAttributes student : students) {
+            if (!student.section.equals(Const.DEFAULT_SECTION)) {
+                hasSection = true;
+                break;
             }
         }
-        return export.toString();
+        
+        writer.append("Course ID,").append(Sanitizer.sanitizeForCsv(course.getId())).append(Const.EOL)
+              .append("Course Name,").append(Sanitizer.sanitizeForCsv(course.getName())).append(Const.EOL)
+              .append(Const.EOL).append(Const.EOL);
+        
+        writer.append(hasSection ? "Section," : "").append("Team,Full Name,Last Name,Status,Email").append(Const.EOL);
+        
+        for (StudentAttributes student : students) {
+            String studentStatus = null;
+            if (student.googleId == null || student.googleId.isEmpty()) {
+                studentStatus = Const.STUDENT_COURSE_STATUS_YET_TO_JOIN;
+            } else {
+                studentStatus = Const.STUDENT_COURSE_STATUS_JOINED;
+            }
+            
+            if (hasSection) {
+                writer.append(Sanitizer.sanitizeForCsv(student.section)).append(',');
+            }
+            
+            writer.append(Sanitizer.sanitizeForCsv(student.team)).append(',')
+                  .append(Sanitizer.sanitizeForCsv(StringHelper.removeExtraSpace(student.name))).append(',')
+                  .append(Sanitizer.sanitizeForCsv(StringHelper.removeExtraSpace(student.lastName))).append(',')
+                  .append(Sanitizer.sanitizeForCsv(studentStatus)).append(',')
+                  .append(Sanitizer.sanitizeForCsv(student.email)).append(Const.EOL);
+        }
+        writer.flush();
     }
 
     public boolean hasIndicatedSections(String courseId) throws EntityDoesNotExistException {
         verifyCourseIsPresent(courseId);
         
-        List<StudentAttributes> studentList = studentsLogic.getStudentsForCourse(courseId);
-        for (StudentAttributes student : studentList) {
-            if (!student.section.equals(Const.DEFAULT_SECTION)) {
+        // most courses with sections can be told apart by the first batch of students
+        Iterator<StudentAttributes> students = studentsLogic.getStudentIteratorForCourse(courseId);
+        while (students.hasNext()) {
+            if (!students.next().section.equals(Const.DEFAULT_SECTION)) {
                 return true;
             }
         }
@@ -1,8 +1,10 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.logging.Logger;
 
@@ -15,12 +17,12 @@ import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.UserType;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.TeammatesException;
+import teammates.common.util.CompiledTemplate;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.EmailType;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.StringHelper;
-import teammates.common.util.Templates;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Templates.EmailTemplates;
 import teammates.common.util.Utils;
@@ -34,34 +36,66 @@ import teammates.common.util.Utils;
 public class EmailGenerator {
     
     private static final Logger log = Utils.getLogger();
-    private static final CommentsLogic commentsLogic = CommentsLogic.inst();
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
     
+    private static final CompiledTemplate FEEDBACK_SESSION_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.USER_FEEDBACK_SESSION);
+    private static final CompiledTemplate FEEDBACK_SESSION_CLOSING_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.USER_FEEDBACK_SESSION_CLOSING);
+    private static final CompiledTemplate FEEDBACK_SESSION_PUBLISHED_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.USER_FEEDBACK_SESSION_PUBLISHED);
+    private static final CompiledTemplate FEEDBACK_SESSION_UNPUBLISHED_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.USER_FEEDBACK_SESSION_UNPUBLISHED);
+    
+    private static final CompiledTemplate PENDING_COMMENTS_CLEARED_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.USER_PENDING_COMMENTS_CLEARED);
+    private static final CompiledTemplate PENDING_COMMENTS_CLEARED_WITH_STUDENT_JOIN_TEMPLATE =
+            PENDING_COMMENTS_CLEARED_TEMPLATE.withFragment(
+                    "${joinFragment}", CompiledTemplate.compile(EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN));
+    
+    private static final CompiledTemplate USER_COURSE_JOIN_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.USER_COURSE_JOIN);
+    private static final CompiledTemplate STUDENT_COURSE_JOIN_TEMPLATE =
+            USER_COURSE_JOIN_TEMPLATE.withFragment(
+                    "${joinFragment}", CompiledTemplate.compile(EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN));
+    private static final CompiledTemplate STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET_TEMPLATE =
+            USER_COURSE_JOIN_TEMPLATE.withFragment(
+                    "${joinFragment}",
+                    CompiledTemplate.compile(EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET));
+    private static final CompiledTemplate INSTRUCTOR_COURSE_JOIN_TEMPLATE =
+            USER_COURSE_JOIN_TEMPLATE.withFragment(
+                    "${joinFragment}", CompiledTemplate.compile(EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN));
+    
+    private static final CompiledTemplate NEW_INSTRUCTOR_ACCOUNT_WELCOME_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.NEW_INSTRUCTOR_ACCOUNT_WELCOME);
+    private static final CompiledTemplate SYSTEM_ERROR_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.SYSTEM_ERROR);
+    private static final CompiledTemplate SEVERE_ERROR_LOG_LINE_TEMPLATE =
+            CompiledTemplate.compile(EmailTemplates.SEVERE_ERROR_LOG_LINE);
+    
     /**
      * Generates the feedback session opening emails for the given {@code session}.
+     * The emails are generated one at a time as the returned iterator is advanced.
+     * @see FeedbackSessionEmailIterator
      */
-    public List<EmailWrapper> generateFeedbackSessionOpeningEmails(FeedbackSessionAttributes session) {
+    public Iterator<EmailWrapper> generateFeedbackSessionOpeningEmails(FeedbackSessionAttributes session) {
         
-        String template = EmailTemplates.USER_FEEDBACK_SESSION;
+        CompiledTemplate template = FEEDBACK_SESSION_TEMPLATE;
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         boolean isEmailNeeded = fsLogic.isFeedbackSessionForStudentsToAnswer(session);
         List<InstructorAttributes> instructors = isEmailNeeded
                                                  ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
                                                  : new ArrayList<InstructorAttributes>();
-        List<StudentAttributes> students = isEmailNeeded
-                                           ? studentsLogic.getStudentsForCourse(session.getCourseId())
-                                           : new ArrayList<StudentAttributes>();
-        
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_OPENING.getSubject());
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is now open"));
-        }
-        return emails;
+        Iterator<StudentAttributes> students = isEmailNeeded
+                                               ? studentsLogic.getStudentIteratorForCourse(session.getCourseId())
+                                               : Collections.<StudentAttributes>emptyIterator();
+        
+        return new FeedbackSessionEmailIterator(course, session, students, instructors, template,
+                                                EmailType.FEEDBACK_OPENING.getSubject(), "is now open");
     }
     
     /**
@@ -73,34 +107,24 @@ public class EmailGenerator {
             List<InstructorAttributes> instructorsToRemind, List<InstructorAttributes> instructorsToNotify) {
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
-        String template = EmailTemplates.USER_FEEDBACK_SESSION;
+        CompiledTemplate template = FEEDBACK_SESSION_TEMPLATE;
+        String status = "is still open for submissions";
         List<EmailWrapper> emails =
                 generateFeedbackSessionEmailBasesForInstructorReminders(course, session, instructorsToRemind, template,
-                                                                        EmailType.FEEDBACK_SESSION_REMINDER.getSubject());
-        emails.addAll(generateFeedbackSessionEmailBases(course, session, students, instructorsToNotify, template,
-                                                        EmailType.FEEDBACK_SESSION_REMINDER.getSubject()));
-        
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is still open for submissions"));
+                                                                        EmailType.FEEDBACK_SESSION_REMINDER.getSubject(),
+                                                                        status);
+        Iterator<EmailWrapper> emailsForStudents =
+                new FeedbackSessionEmailIterator(course, session, students.iterator(), instructorsToNotify, template,
+                                                 EmailType.FEEDBACK_SESSION_REMINDER.getSubject(), status);
+        while (emailsForStudents.hasNext()) {
+            emails.add(emailsForStudents.next());
         }
         return emails;
     }
     
     private List<EmailWrapper> generateFeedbackSessionEmailBasesForInstructorReminders(
             CourseAttributes course, FeedbackSessionAttributes session, List<InstructorAttributes> instructors,
-            String template, String subject) {
-        
-        List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
-        for (InstructorAttributes instructor : instructors) {
-            emails.add(generateFeedbackSessionEmailBaseForInstructorReminders(course, session, instructor,
-                                                                              template, subject));
-        }
-        return emails;
-    }
-    
-    private EmailWrapper generateFeedbackSessionEmailBaseForInstructorReminders(
-            CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, String subject) {
+            CompiledTemplate template, String subject, String status) {
         
         String submitUrl = Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_FEEDBACK_SUBMISSION_EDIT_PAGE)
                                  .withCourseId(course.getId())
@@ -112,221 +136,207 @@ public class EmailGenerator {
                                  .withSessionName(session.getFeedbackSessionName())
                                  .toAbsoluteString();
         
-        String emailBody = Templates.populateTemplate(template,
-                "${userName}", instructor.name,
-                "${courseName}", course.getName(),
-                "${courseId}", course.getId(),
-                "${feedbackSessionName}", session.getFeedbackSessionName(),
-                "${deadline}", TimeHelper.formatTime12H(session.getEndTime()),
-                "${instructorFragment}", "",
-                "${submitUrl}", submitUrl,
-                "${reportUrl}", reportUrl,
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+        String deadline = TimeHelper.formatTime12H(session.getEndTime());
+        String emailSubject = String.format(subject, course.getName(), session.getFeedbackSessionName());
         
-        EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
-        email.setContent(emailBody);
-        return email;
+        List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
+        for (InstructorAttributes instructor : instructors) {
+            String emailBody = template.render(
+                    "${userName}", instructor.name,
+                    "${courseName}", course.getName(),
+                    "${courseId}", course.getId(),
+                    "${feedbackSessionName}", session.getFeedbackSessionName(),
+                    "${deadline}", deadline,
+                    "${instructorFragment}", "",
+                    "${submitUrl}", submitUrl,
+                    "${reportUrl}", reportUrl,
+                    "${supportEmail}", Config.SUPPORT_EMAIL,
+                    "${status}", status);
+            
+            EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
+            email.setSubject(emailSubject);
+            email.setContent(emailBody);
+            emails.add(email);
+        }
+        return emails;
     }
     
     /**
      * Generates the feedback session closing emails for the given {@code session}.
+     * The emails are generated one at a time as the returned iterator is advanced,
+     * and only the students who have not fully completed the session are emailed.
+     * @see FeedbackSessionEmailIterator
      */
-    public List<EmailWrapper> generateFeedbackSessionClosingEmails(FeedbackSessionAttributes session) {
+    public Iterator<EmailWrapper> generateFeedbackSessionClosingEmails(FeedbackSessionAttributes session) {
         
-        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
         boolean isEmailNeeded = fsLogic.isFeedbackSessionForStudentsToAnswer(session);
+        Iterator<StudentAttributes> students =
+                isEmailNeeded
+                ? new StudentsYetToCompleteSessionIterator(
+                          session, studentsLogic.getStudentIteratorForCourse(session.getCourseId()))
+                : Collections.<StudentAttributes>emptyIterator();
         
-        if (isEmailNeeded) {
-            List<StudentAttributes> studentsForCourse = studentsLogic.getStudentsForCourse(session.getCourseId());
-            
-            for (StudentAttributes student : studentsForCourse) {
-                try {
-                    if (!fsLogic.isFeedbackSessionFullyCompletedByStudent(session.getFeedbackSessionName(),
-                            session.getCourseId(), student.email)) {
-                        students.add(student);
-                    }
-                } catch (EntityDoesNotExistException e) {
-                    log.severe("Course " + session.getCourseId() + " does not exist or "
-                               + "session " + session.getFeedbackSessionName() + " does not exist");
-                    // Course or session cannot be found for one student => it will be the case for all students
-                    // Do not waste time looping through all students
-                    break;
-                }
-            }
-        }
-        
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_CLOSING;
+        CompiledTemplate template = FEEDBACK_SESSION_CLOSING_TEMPLATE;
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         List<InstructorAttributes> instructors = isEmailNeeded
                                                  ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
                                                  : new ArrayList<InstructorAttributes>();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_CLOSING.getSubject());
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is closing soon"));
-        }
-        return emails;
+        return new FeedbackSessionEmailIterator(course, session, students, instructors, template,
+                                                EmailType.FEEDBACK_CLOSING.getSubject(), "is closing soon");
     }
     
     /**
      * Generates the feedback session published emails for the given {@code session}.
+     * The emails are generated one at a time as the returned iterator is advanced.
+     * @see FeedbackSessionEmailIterator
      */
-    public List<EmailWrapper> generateFeedbackSessionPublishedEmails(FeedbackSessionAttributes session) {
+    public Iterator<EmailWrapper> generateFeedbackSessionPublishedEmails(FeedbackSessionAttributes session) {
         
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_PUBLISHED;
+        CompiledTemplate template = FEEDBACK_SESSION_PUBLISHED_TEMPLATE;
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         boolean isEmailNeeded = fsLogic.isFeedbackSessionViewableToStudents(session);
         List<InstructorAttributes> instructors = isEmailNeeded
                                                  ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
                                                  : new ArrayList<InstructorAttributes>();
-        List<StudentAttributes> students = isEmailNeeded
-                                           ? studentsLogic.getStudentsForCourse(session.getCourseId())
-                                           : new ArrayList<StudentAttributes>();
+        Iterator<StudentAttributes> students = isEmailNeeded
+                                               ? studentsLogic.getStudentIteratorForCourse(session.getCourseId())
+                                               : Collections.<StudentAttributes>emptyIterator();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_PUBLISHED.getSubject());
-        return emails;
+        return new FeedbackSessionEmailIterator(course, session, students, instructors, template,
+                                                EmailType.FEEDBACK_PUBLISHED.getSubject(), "");
     }
     
     /**
-     * Generates the feedback session published emails for the given {@code session}.
+     * Generates the feedback session unpublished emails for the given {@code session}.
+     * The emails are generated one at a time as the returned iterator is advanced.
+     * @see FeedbackSessionEmailIterator
      */
-    public List<EmailWrapper> generateFeedbackSessionUnpublishedEmails(FeedbackSessionAttributes session) {
+    public Iterator<EmailWrapper> generateFeedbackSessionUnpublishedEmails(FeedbackSessionAttributes session) {
         
-        String template = EmailTemplates.USER_FEEDBACK_SESSION_UNPUBLISHED;
+        CompiledTemplate template = FEEDBACK_SESSION_UNPUBLISHED_TEMPLATE;
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         boolean isEmailNeeded = fsLogic.isFeedbackSessionViewableToStudents(session);
         List<InstructorAttributes> instructors = isEmailNeeded
                                                  ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
                                                  : new ArrayList<InstructorAttributes>();
-        List<StudentAttributes> students = isEmailNeeded
-                                           ? studentsLogic.getStudentsForCourse(session.getCourseId())
-                                           : new ArrayList<StudentAttributes>();
+        Iterator<StudentAttributes> students = isEmailNeeded
+                                               ? studentsLogic.getStudentIteratorForCourse(session.getCourseId())
+                                               : Collections.<StudentAttributes>emptyIterator();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_UNPUBLISHED.getSubject());
-        return emails;
-    }
-    
-    private List<EmailWrapper> generateFeedbackSessionEmailBases(
-            CourseAttributes course, FeedbackSessionAttributes session, List<StudentAttributes> students,
-            List<InstructorAttributes> instructors, String template, String subject) {
-        
-        List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
-        for (StudentAttributes student : students) {
-            emails.add(generateFeedbackSessionEmailBaseForStudents(course, session, student, template, subject));
-        }
-        for (InstructorAttributes instructor : instructors) {
-            emails.add(generateFeedbackSessionEmailBaseForInstructors(course, session, instructor, template, subject));
-        }
-        return emails;
+        return new FeedbackSessionEmailIterator(course, session, students, instructors, template,
+                                                EmailType.FEEDBACK_UNPUBLISHED.getSubject(), "");
     }
     
     private EmailWrapper generateFeedbackSessionEmailBaseForStudents(
-            CourseAttributes course, FeedbackSessionAttributes session, StudentAttributes student, String template,
-            String subject) {
+            CourseAttributes course, FeedbackSessionAttributes session, StudentAttributes student,
+            CompiledTemplate template, String emailSubject, String deadline, String status) {
+        
+        String encryptedKey = StringHelper.encrypt(student.key);
         
         String submitUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE)
                                  .withCourseId(course.getId())
                                  .withSessionName(session.getFeedbackSessionName())
-                                 .withRegistrationKey(StringHelper.encrypt(student.key))
+                                 .withRegistrationKey(encryptedKey)
                                  .withStudentEmail(student.email)
                                  .toAbsoluteString();
         
         String reportUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_FEEDBACK_RESULTS_PAGE)
                                  .withCourseId(course.getId())
                                  .withSessionName(session.getFeedbackSessionName())
-                                 .withRegistrationKey(StringHelper.encrypt(student.key))
+                                 .withRegistrationKey(encryptedKey)
                                  .withStudentEmail(student.email)
                                  .toAbsoluteString();
         
-        String emailBody = Templates.populateTemplate(template,
+        String emailBody = template.render(
                 "${userName}", student.name,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
                 "${feedbackSessionName}", session.getFeedbackSessionName(),
-                "${deadline}", TimeHelper.formatTime12H(session.getEndTime()),
+                "${deadline}", deadline,
                 "${instructorFragment}", "",
                 "${submitUrl}", submitUrl,
                 "${reportUrl}", reportUrl,
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+                "${supportEmail}", Config.SUPPORT_EMAIL,
+                "${status}", status);
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(student.email);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
+        email.setSubject(emailSubject);
         email.setContent(emailBody);
         return email;
     }
     
     private EmailWrapper generateFeedbackSessionEmailBaseForInstructors(
             CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, String subject) {
+            CompiledTemplate template, String emailSubject, String deadline, String status) {
         
-        String emailBody = Templates.populateTemplate(template,
+        String emailBody = template.render(
                 "${userName}", instructor.name,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
                 "${feedbackSessionName}", session.getFeedbackSessionName(),
-                "${deadline}", TimeHelper.formatTime12H(session.getEndTime()),
+                "${deadline}", deadline,
                 "${instructorFragment}",
                         "The email below has been sent to students of course: " + course.getId()
                         + ".<p/><br>\n<br>\n=== Email message as seen by the students ===<br>\n",
                 "${submitUrl}", "{in the actual email sent to the students, this will be the unique link}",
                 "${reportUrl}", "{in the actual email sent to the students, this will be the unique link}",
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+                "${supportEmail}", Config.SUPPORT_EMAIL,
+                "${status}", status);
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
-        email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
+        email.setSubject(emailSubject);
         email.setContent(emailBody);
         return email;
     }
     
     /**
-     * Generates the comments notification emails for the given {@code courseId}.
+     * Generates the comments notification emails for the given {@code courseId},
+     * addressed to the students in {@code recipients}. Recipients not in the course are skipped.
      */
-    public List<EmailWrapper> generatePendingCommentsClearedEmails(String courseId) {
-        
-        Set<String> recipients;
-        try {
-            recipients = commentsLogic.getRecipientEmailsForSendingComments(courseId);
-        } catch (EntityDoesNotExistException e) {
-            log.severe("Recipient emails for pending comments in course : " + courseId + " could not be fetched");
-            recipients = new HashSet<String>();
-        }
+    public List<EmailWrapper> generatePendingCommentsClearedEmails(String courseId, Set<String> recipients) {
         
         List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
         CourseAttributes course = coursesLogic.getCourse(courseId);
-        String template = EmailTemplates.USER_PENDING_COMMENTS_CLEARED;
         
         for (String recipientEmail : recipients) {
             StudentAttributes student = studentsLogic.getStudentForEmail(courseId, recipientEmail);
             if (student == null) {
                 continue;
             }
-            EmailWrapper email = generatePendingCommentsClearedEmailBaseForStudent(course, student, template);
+            EmailWrapper email = generatePendingCommentsClearedEmailBaseForStudent(course, student);
             emails.add(email);
         }
         return emails;
     }
     
     private EmailWrapper generatePendingCommentsClearedEmailBaseForStudent(
-            CourseAttributes course, StudentAttributes student, String template) {
+            CourseAttributes course, StudentAttributes student) {
         
         String commentsPageUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_COMMENTS_PAGE)
                                        .withCourseId(course.getId())
                                        .toAbsoluteString();
         
-        String emailBody = Templates.populateTemplate(
-                isYetToJoinCourse(student) ? fillUpStudentJoinFragment(student, template)
-                                           : template.replace("${joinFragment}", ""),
-                "${userName}", student.name,
-                "${courseName}", course.getName(),
-                "${courseId}", course.getId(),
-                "${commentsPageUrl}", commentsPageUrl,
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+        String emailBody;
+        if (isYetToJoinCourse(student)) {
+            emailBody = PENDING_COMMENTS_CLEARED_WITH_STUDENT_JOIN_TEMPLATE.render(
+                    "${joinUrl}", getStudentJoinUrl(student),
+                    "${userName}", student.name,
+                    "${courseName}", course.getName(),
+                    "${courseId}", course.getId(),
+                    "${commentsPageUrl}", commentsPageUrl,
+                    "${supportEmail}", Config.SUPPORT_EMAIL);
+        } else {
+            emailBody = PENDING_COMMENTS_CLEARED_TEMPLATE.render(
+                    "${joinFragment}", "",
+                    "${userName}", student.name,
+                    "${courseName}", course.getName(),
+                    "${courseId}", course.getId(),
+                    "${commentsPageUrl}", commentsPageUrl,
+                    "${supportEmail}", Config.SUPPORT_EMAIL);
+        }
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(student.email);
         email.setSubject(String.format(EmailType.PENDING_COMMENT_CLEARED.getSubject(),
@@ -347,7 +357,7 @@ public class EmailGenerator {
         
         String joinUrl = generateNewInstructorAccountJoinLink(instructor, institute);
         
-        String emailBody = Templates.populateTemplate(EmailTemplates.NEW_INSTRUCTOR_ACCOUNT_WELCOME,
+        String emailBody = NEW_INSTRUCTOR_ACCOUNT_WELCOME_TEMPLATE.render(
                 "${userName}", shortName,
                 "${joinUrl}", joinUrl);
         
@@ -373,8 +383,8 @@ public class EmailGenerator {
      */
     public EmailWrapper generateStudentCourseJoinEmail(CourseAttributes course, StudentAttributes student) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpStudentJoinFragment(student, EmailTemplates.USER_COURSE_JOIN),
+        String emailBody = STUDENT_COURSE_JOIN_TEMPLATE.render(
+                "${joinUrl}", getStudentJoinUrl(student),
                 "${userName}", student.name,
                 "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
@@ -392,8 +402,8 @@ public class EmailGenerator {
     public EmailWrapper generateStudentCourseRejoinEmailAfterGoogleIdReset(
             CourseAttributes course, StudentAttributes student) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpStudentRejoinAfterGoogleIdResetFragment(student, EmailTemplates.USER_COURSE_JOIN),
+        String emailBody = STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET_TEMPLATE.render(
+                "${joinUrl}", getStudentJoinUrl(student),
                 "${userName}", student.name,
                 "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
@@ -410,8 +420,8 @@ public class EmailGenerator {
      */
     public EmailWrapper generateInstructorCourseJoinEmail(CourseAttributes course, InstructorAttributes instructor) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpInstructorJoinFragment(instructor, EmailTemplates.USER_COURSE_JOIN),
+        String emailBody = INSTRUCTOR_COURSE_JOIN_TEMPLATE.render(
+                "${joinUrl}", getInstructorJoinUrl(instructor),
                 "${userName}", instructor.name,
                 "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
@@ -423,31 +433,14 @@ public class EmailGenerator {
         return email;
     }
     
-    private String fillUpStudentJoinFragment(StudentAttributes student, String emailBody) {
-        String joinUrl = Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
-        
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
-    }
-    
-    private String fillUpStudentRejoinAfterGoogleIdResetFragment(StudentAttributes student, String emailBody) {
-        String joinUrl = Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
-        
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
-                "${joinUrl}", joinUrl,
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+    private String getStudentJoinUrl(StudentAttributes student) {
+        return Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
     }
     
-    private String fillUpInstructorJoinFragment(InstructorAttributes instructor, String emailBody) {
-        String joinUrl = Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_COURSE_JOIN)
-                               .withRegistrationKey(StringHelper.encrypt(instructor.key))
-                               .toAbsoluteString();
-        
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
+    private String getInstructorJoinUrl(InstructorAttributes instructor) {
+        return Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_COURSE_JOIN)
+                     .withRegistrationKey(StringHelper.encrypt(instructor.key))
+                     .toAbsoluteString();
     }
     
     /**
@@ -473,7 +466,7 @@ public class EmailGenerator {
         
         String actualUser = userType == null || userType.id == null ? "Not logged in" : userType.id;
         
-        String emailBody = Templates.populateTemplate(EmailTemplates.SYSTEM_ERROR,
+        String emailBody = SYSTEM_ERROR_TEMPLATE.render(
                 "${actualUser}", actualUser,
                 "${requestMethod}", requestMethod,
                 "${requestUserAgent}", requestUserAgent,
@@ -505,8 +498,7 @@ public class EmailGenerator {
     }
     
     private String generateSevereErrorLogLine(int index, AppLogLine logLine) {
-        return Templates.populateTemplate(
-                EmailTemplates.SEVERE_ERROR_LOG_LINE,
+        return SEVERE_ERROR_LOG_LINE_TEMPLATE.render(
                 "${index}", String.valueOf(index),
                 "${errorType}", logLine.getLogLevel().toString(),
                 "${errorMessage}", logLine.getLogMessage().replace("\n", "<br>"));
@@ -531,4 +523,108 @@ public class EmailGenerator {
         return email;
     }
     
+    /**
+     * Generates the emails of a feedback session for the students, followed by those for the instructors,
+     * one at a time as the iterator is advanced. Together with an iterator over the students that
+     * retrieves them in batches, the emails for a large course are never held in memory together.
+     */
+    private class FeedbackSessionEmailIterator implements Iterator<EmailWrapper> {
+        
+        private final CourseAttributes course;
+        private final FeedbackSessionAttributes session;
+        private final Iterator<StudentAttributes> students;
+        private final Iterator<InstructorAttributes> instructors;
+        private final CompiledTemplate template;
+        private final String status;
+        
+        // values shared by all recipients are computed once for the whole session
+        private final String emailSubject;
+        private final String deadline;
+        
+        FeedbackSessionEmailIterator(
+                CourseAttributes course, FeedbackSessionAttributes session, Iterator<StudentAttributes> students,
+                List<InstructorAttributes> instructors, CompiledTemplate template, String subject, String status) {
+            this.course = course;
+            this.session = session;
+            this.students = students;
+            this.instructors = instructors.iterator();
+            this.template = template;
+            this.status = status;
+            this.emailSubject = String.format(subject, course.getName(), session.getFeedbackSessionName());
+            this.deadline = TimeHelper.formatTime12H(session.getEndTime());
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return students.hasNext() || instructors.hasNext();
+        }
+        
+        @Override
+        public EmailWrapper next() {
+            if (students.hasNext()) {
+                return generateFeedbackSessionEmailBaseForStudents(course, session, students.next(), template,
+                                                                   emailSubject, deadline, status);
+            }
+            return generateFeedbackSessionEmailBaseForInstructors(course, session, instructors.next(), template,
+                                                                  emailSubject, deadline, status);
+        }
+        
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+    
+    /**
+     * Iterates over the students of a course who have not fully completed the feedback session.
+     */
+    private class StudentsYetToCompleteSessionIterator implements Iterator<StudentAttributes> {
+        
+        private final FeedbackSessionAttributes session;
+        private final Iterator<StudentAttributes> students;
+        
+        private StudentAttributes nextStudent;
+        private boolean isSessionMissing;
+        
+        StudentsYetToCompleteSessionIterator(FeedbackSessionAttributes session, Iterator<StudentAttributes> students) {
+            this.session = session;
+            this.students = students;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (nextStudent == null && !isSessionMissing && students.hasNext()) {
+                StudentAttributes student = students.next();
+                try {
+                    if (!fsLogic.isFeedbackSessionFullyCompletedByStudent(session.getFeedbackSessionName(),
+                            session.getCourseId(), student.email)) {
+                        nextStudent = student;
+                    }
+                } catch (EntityDoesNotExistException e) {
+                    log.severe("Course " + session.getCourseId() + " does not exist or "
+                               + "session " + session.getFeedbackSessionName() + " does not exist");
+                    // Course or session cannot be found for one student => it will be the case for all students
+                    // Do not waste time looping through all students
+                    isSessionMissing = true;
+                }
+            }
+            return nextStudent != null;
+        }
+        
+        @Override
+        public StudentAttributes next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            StudentAttributes student = nextStudent;
+            nextStudent = null;
+            return student;
+        }
+        
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+    
 }
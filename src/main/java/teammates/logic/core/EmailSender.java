@@ -1,6 +1,8 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -13,6 +15,7 @@ import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.EmailLogEntry;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.Sanitizer;
 import teammates.common.util.Utils;
 
 /**
@@ -20,6 +23,11 @@ import teammates.common.util.Utils;
  */
 public class EmailSender {
     
+    /** Number of emails taken from an iterator before they are added to the task queue by {@link #sendEmails(Iterator)} */
+    public static final int EMAILS_PER_GROUP = 500;
+    
+    private static final int MAX_EMAIL_INTERVAL_MILLIS = 5000;
+    
     private static final Logger log = Utils.getLogger();
     
     private final EmailSenderService service;
@@ -44,47 +52,143 @@ public class EmailSender {
             return;
         }
         
-        // Equally spread out the emails to be sent over 1 hour
+        List<List<EmailWrapper>> emailBatches = groupIntoTaskBatches(messages);
+        
+        // Equally spread out the email batches to be sent over 1 hour
         // Sets interval to a maximum of 5 seconds if the interval is too large
         int oneHourInMillis = 60 * 60 * 1000;
-        int emailIntervalMillis = Math.min(5000, oneHourInMillis / messages.size());
+        int emailIntervalMillis = Math.min(MAX_EMAIL_INTERVAL_MILLIS, oneHourInMillis / emailBatches.size());
         
-        int numberOfEmailsSent = 0;
-        for (EmailWrapper m : messages) {
-            long emailDelayTimer = numberOfEmailsSent * emailIntervalMillis;
-            addEmailToTaskQueue(m, emailDelayTimer);
-            numberOfEmailsSent++;
+        TaskQueueBatch taskBatch = createSendEmailTaskBatch(emailIntervalMillis);
+        addEmailsToTaskQueue(emailBatches, taskBatch);
+    }
+    
+    /**
+     * Sends the {@code messages} as they are taken from the iterator. The messages are grouped into
+     * send email tasks and added to the task queue {@link #EMAILS_PER_GROUP} messages at a time,
+     * so that only one group of messages is held in memory at a time.<br>
+     * As the number of messages is not known in advance, the tasks are spread out at the longest
+     * interval used by {@link #sendEmails(List)} instead of over 1 hour.
+     */
+    public void sendEmails(Iterator<EmailWrapper> messages) {
+        TaskQueueBatch taskBatch = createSendEmailTaskBatch(MAX_EMAIL_INTERVAL_MILLIS);
+        List<EmailWrapper> group = new ArrayList<EmailWrapper>();
+        while (messages.hasNext()) {
+            group.add(messages.next());
+            if (group.size() == EMAILS_PER_GROUP) {
+                addEmailsToTaskQueue(groupIntoTaskBatches(group), taskBatch);
+                group = new ArrayList<EmailWrapper>();
+            }
+        }
+        if (!group.isEmpty()) {
+            addEmailsToTaskQueue(groupIntoTaskBatches(group), taskBatch);
         }
     }
     
-    private void addEmailToTaskQueue(EmailWrapper message, long emailDelayTimer) {
-        String emailSubject = message.getSubject();
-        String emailSenderName = message.getSenderName();
-        String emailSender = message.getSenderEmail();
-        String emailReceiver = message.getRecipient();
-        String emailReplyToAddress = message.getReplyTo();
+    /**
+     * Groups the {@code messages} into batches to be sent by a single send email task each.
+     * Messages that can be sent in the same call to the email service are kept in the same batch,
+     * subject to the limits on the number of emails and the content size of a task.
+     */
+    private List<List<EmailWrapper>> groupIntoTaskBatches(List<EmailWrapper> messages) {
+        int maxEmailsPerTask = Math.min(service.getMaxEmailsPerBatch(), SystemParams.MAX_EMAILS_PER_SEND_EMAIL_TASK);
+        
+        List<List<EmailWrapper>> taskBatches = new ArrayList<List<EmailWrapper>>();
+        for (List<EmailWrapper> serviceBatch : EmailSenderService.groupIntoBatches(messages, maxEmailsPerTask)) {
+            List<EmailWrapper> taskBatch = new ArrayList<EmailWrapper>();
+            int taskContentLength = 0;
+            for (EmailWrapper message : serviceBatch) {
+                int contentLength = getEncodedLength(message);
+                if (!taskBatch.isEmpty()
+                        && taskContentLength + contentLength > SystemParams.MAX_CONTENT_LENGTH_PER_SEND_EMAIL_TASK) {
+                    taskBatches.add(taskBatch);
+                    taskBatch = new ArrayList<EmailWrapper>();
+                    taskContentLength = 0;
+                }
+                taskBatch.add(message);
+                taskContentLength += contentLength;
+            }
+            taskBatches.add(taskBatch);
+        }
+        return taskBatches;
+    }
+    
+    /**
+     * Returns the length of the parameters of the {@code message} once they are URL-encoded in a task,
+     * which can be many times the length of the parameters for non-ASCII text and HTML markup.
+     */
+    private static int getEncodedLength(EmailWrapper message) {
+        String[] params = {message.getSubject(), message.getContent(), message.getSenderEmail(),
+                           message.getSenderName(), message.getRecipient(), message.getReplyTo()};
+        int encodedLength = 0;
+        for (String param : params) {
+            if (param != null) {
+                encodedLength += Sanitizer.sanitizeForUri(param).length();
+            }
+        }
+        return encodedLength;
+    }
+    
+    private TaskQueueBatch createSendEmailTaskBatch(long emailIntervalMillis) {
+        return TaskQueuesLogic.inst().createTaskBatch(SystemParams.SEND_EMAIL_TASK_QUEUE,
+                                                      Const.ActionURIs.SEND_EMAIL_WORKER, emailIntervalMillis);
+    }
+    
+    /**
+     * Adds a send email task for each of the {@code emailBatches} to the {@code taskBatch}.
+     * If the tasks cannot all be added, the emails of those not added are logged as failed. The failed tasks
+     * are dropped from the {@code taskBatch}, so that the batch can still be used for the next emails.
+     */
+    private void addEmailsToTaskQueue(List<List<EmailWrapper>> emailBatches, TaskQueueBatch taskBatch) {
+        int tasksAddedBefore = taskBatch.getNumberOfTasksAdded();
         try {
-            Map<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.EMAIL_SUBJECT, emailSubject);
-            paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent());
-            paramMap.put(ParamsNames.EMAIL_SENDER, emailSender);
-            if (emailSenderName != null && !emailSenderName.isEmpty()) {
-                paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
+            for (List<EmailWrapper> batch : emailBatches) {
+                taskBatch.addTaskMultisetParam(getSendEmailTaskParams(batch));
             }
-            paramMap.put(ParamsNames.EMAIL_RECEIVER, emailReceiver);
-            paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReplyToAddress);
-            
-            TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-            taskQueueLogic.createAndAddDeferredTask(SystemParams.SEND_EMAIL_TASK_QUEUE,
-                    Const.ActionURIs.SEND_EMAIL_WORKER, paramMap, emailDelayTimer);
+            taskBatch.flush();
         } catch (Exception e) {
-            log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
-                       + "Email sender: " + emailSender + "\n"
-                       + "Email sender name: " + emailSenderName + "\n"
-                       + "Email receiver: " + emailReceiver + "\n"
-                       + "Email subject: " + emailSubject + "\n"
-                       + "Email reply to address: " + emailReplyToAddress);
+            // the tasks are added in order, so those of the first email batches may have been added already
+            int tasksAdded = taskBatch.getNumberOfTasksAdded() - tasksAddedBefore;
+            for (List<EmailWrapper> batch : emailBatches.subList(tasksAdded, emailBatches.size())) {
+                for (EmailWrapper message : batch) {
+                    log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
+                               + "Email sender: " + message.getSenderEmail() + "\n"
+                               + "Email sender name: " + message.getSenderName() + "\n"
+                               + "Email receiver: " + message.getRecipient() + "\n"
+                               + "Email subject: " + message.getSubject() + "\n"
+                               + "Email reply to address: " + message.getReplyTo());
+                }
+            }
+        }
+    }
+    
+    private Map<String, String[]> getSendEmailTaskParams(List<EmailWrapper> messages) {
+        int numberOfMessages = messages.size();
+        String[] emailSubjects = new String[numberOfMessages];
+        String[] emailContents = new String[numberOfMessages];
+        String[] emailSenders = new String[numberOfMessages];
+        String[] emailSenderNames = new String[numberOfMessages];
+        String[] emailReceivers = new String[numberOfMessages];
+        String[] emailReplyToAddresses = new String[numberOfMessages];
+        for (int i = 0; i < numberOfMessages; i++) {
+            EmailWrapper message = messages.get(i);
+            emailSubjects[i] = message.getSubject();
+            emailContents[i] = message.getContent();
+            emailSenders[i] = message.getSenderEmail();
+            // the sender name is optional, but is always added to keep the parameters of each email aligned
+            emailSenderNames[i] = message.getSenderName() == null ? "" : message.getSenderName();
+            emailReceivers[i] = message.getRecipient();
+            emailReplyToAddresses[i] = message.getReplyTo();
         }
+        
+        Map<String, String[]> paramMap = new HashMap<String, String[]>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, emailSubjects);
+        paramMap.put(ParamsNames.EMAIL_CONTENT, emailContents);
+        paramMap.put(ParamsNames.EMAIL_SENDER, emailSenders);
+        paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderNames);
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, emailReceivers);
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReplyToAddresses);
+        return paramMap;
     }
     
     /**
@@ -98,6 +202,19 @@ public class EmailSender {
         log.info(emailLogInfo);
     }
     
+    /**
+     * Sends the given {@code messages} in as few calls to the email service as possible
+     * and generates a log report for each of them.
+     */
+    public void sendEmailBatch(List<EmailWrapper> messages) throws EmailSendingException {
+        service.sendEmails(messages);
+        
+        for (EmailWrapper message : messages) {
+            EmailLogEntry newEntry = new EmailLogEntry(message);
+            log.info(newEntry.generateLogMessage());
+        }
+    }
+    
     /**
      * Sends the given {@code message} with Javamail service regardless of configuration.
      */
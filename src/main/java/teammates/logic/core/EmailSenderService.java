@@ -1,7 +1,16 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
+import org.jsoup.Jsoup;
+
 import teammates.common.exception.EmailSendingException;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.Utils;
@@ -15,6 +24,15 @@ public abstract class EmailSenderService {
     
     protected static final Logger log = Utils.getLogger();
     
+    /**
+     * The HTML content last rendered to plain text by this service instance, and its plain text version.
+     * Only consecutive emails with exactly the same content share the rendering, e.g. the copies of an email
+     * sent to many recipients; contents personalized for each recipient are parsed once each and not kept,
+     * as they would never be looked up again.
+     */
+    private String lastHtmlContent;
+    private String lastTextContent;
+    
     /**
      * Parses the {@code wrapper} email object to specific implementations of email object
      * used by the service.
@@ -34,8 +52,106 @@ public abstract class EmailSenderService {
         }
     }
     
+    /**
+     * Sends all the emails packaged as {@code wrappers}, using as few calls to the service as possible.
+     */
+    public void sendEmails(List<EmailWrapper> wrappers) throws EmailSendingException {
+        try {
+            for (List<EmailWrapper> batch : groupIntoBatches(wrappers, getMaxEmailsPerBatch())) {
+                if (batch.size() == 1) {
+                    sendEmailWithService(batch.get(0));
+                } else {
+                    sendEmailBatchWithService(batch);
+                }
+            }
+        } catch (Exception e) {
+            throw new EmailSendingException(e);
+        }
+    }
+    
+    /**
+     * Returns the maximum number of emails the service can send in a single call.
+     * Services without a batch sending API send one email per call.
+     */
+    public int getMaxEmailsPerBatch() {
+        return 1;
+    }
+    
     @SuppressWarnings("PMD.SignatureDeclareThrowsException")
     // accounts for the many different Exceptions from different email services
     protected abstract void sendEmailWithService(EmailWrapper wrapper) throws Exception;
     
+    /**
+     * Sends a {@code batch} of emails that share the same sender, reply-to address and subject
+     * in a single call to the service.
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+    // accounts for the many different Exceptions from different email services
+    protected void sendEmailBatchWithService(List<EmailWrapper> batch) throws Exception {
+        for (EmailWrapper wrapper : batch) {
+            sendEmailWithService(wrapper);
+        }
+    }
+    
+    /**
+     * Returns the plain text version of the HTML {@code content}.
+     */
+    protected String getTextContent(String content) {
+        if (!content.equals(lastHtmlContent)) {
+            lastTextContent = Jsoup.parse(content).text();
+            lastHtmlContent = content;
+        }
+        return lastTextContent;
+    }
+    
+    /**
+     * Returns true if all emails in the {@code batch} have exactly the same content,
+     * i.e. the content does not need to be personalized for each recipient.
+     */
+    protected static boolean isSharingContent(List<EmailWrapper> batch) {
+        String content = batch.get(0).getContent();
+        for (EmailWrapper wrapper : batch) {
+            if (!content.equals(wrapper.getContent())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Groups the {@code wrappers} into batches of at most {@code maxBatchSize} emails, where emails
+     * in the same batch share the same sender, reply-to address and subject.
+     * Emails with a bcc are never batched with other emails, and a recipient appears at most once
+     * in a batch as the services personalize the contents of a batch by recipient.
+     */
+    public static List<List<EmailWrapper>> groupIntoBatches(List<EmailWrapper> wrappers, int maxBatchSize) {
+        Map<String, List<EmailWrapper>> batchesByEnvelope = new LinkedHashMap<String, List<EmailWrapper>>();
+        Map<String, Set<String>> batchRecipientsByEnvelope = new HashMap<String, Set<String>>();
+        List<List<EmailWrapper>> batches = new ArrayList<List<EmailWrapper>>();
+        for (EmailWrapper wrapper : wrappers) {
+            boolean hasBcc = wrapper.getBcc() != null && !wrapper.getBcc().isEmpty();
+            if (maxBatchSize <= 1 || hasBcc) {
+                List<EmailWrapper> batch = new ArrayList<EmailWrapper>();
+                batch.add(wrapper);
+                batches.add(batch);
+                continue;
+            }
+            String envelope = wrapper.getSenderEmail() + "|" + wrapper.getSenderName() + "|"
+                              + wrapper.getReplyTo() + "|" + wrapper.getSubject();
+            String recipient = wrapper.getRecipient().toLowerCase();
+            List<EmailWrapper> batch = batchesByEnvelope.get(envelope);
+            Set<String> batchRecipients = batchRecipientsByEnvelope.get(envelope);
+            if (batch == null || batch.size() == maxBatchSize || batchRecipients.contains(recipient)) {
+                batch = new ArrayList<EmailWrapper>();
+                batchRecipients = new HashSet<String>();
+                batchesByEnvelope.put(envelope, batch);
+                batchRecipientsByEnvelope.put(envelope, batchRecipients);
+                batches.add(batch);
+            }
+            batch.add(wrapper);
+            batchRecipients.add(recipient);
+        }
+        return batches;
+    }
+    
 }
@@ -1,10 +1,12 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -98,6 +100,14 @@ public class FeedbackQuestionsLogic {
         return fqDb.getFeedbackQuestion(feedbackQuestionId);
     }
     
+    /**
+     * @return the questions with the given IDs, keyed by question ID.
+     *         IDs of non-existent questions are skipped.
+     */
+    public Map<String, FeedbackQuestionAttributes> getFeedbackQuestions(Collection<String> feedbackQuestionIds) {
+        return fqDb.getFeedbackQuestions(feedbackQuestionIds);
+    }
+    
     /**
      * Gets a single question corresponding to the given parameters.
      */
@@ -367,8 +377,9 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case STUDENTS:
-            List<StudentAttributes> studentsInCourse = studentsLogic.getStudentsForCourse(question.courseId);
-            for (StudentAttributes student : studentsInCourse) {
+            Iterator<StudentAttributes> studentsInCourse = studentsLogic.getStudentIteratorForCourse(question.courseId);
+            while (studentsInCourse.hasNext()) {
+                StudentAttributes student = studentsInCourse.next();
                 // Ensure student does not evaluate himself
                 if (!giver.equals(student.email)) {
                     recipients.put(student.email, student.name);
@@ -0,0 +1,96 @@
+package teammates.logic.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.UserType.Role;
+
+/**
+ * Checks whether {@link FeedbackResponseCommentAttributes} are visible to one user.<br>
+ * Everything that does not depend on the comment, i.e. who the user is and the response visibility
+ * of each question, is worked out once, so that checking each comment only takes a few bitwise checks.
+ */
+public class FeedbackResponseCommentVisibilityChecker {
+    
+    private static final int INSTRUCTORS = FeedbackParticipantType.INSTRUCTORS.getMaskBit();
+    private static final int STUDENTS = FeedbackParticipantType.STUDENTS.getMaskBit();
+    private static final int GIVER = FeedbackParticipantType.GIVER.getMaskBit();
+    private static final int RECEIVER = FeedbackParticipantType.RECEIVER.getMaskBit();
+    private static final int OWN_TEAM_MEMBERS = FeedbackParticipantType.OWN_TEAM_MEMBERS.getMaskBit();
+    private static final int RECEIVER_TEAM_MEMBERS = FeedbackParticipantType.RECEIVER_TEAM_MEMBERS.getMaskBit();
+    
+    private final String userEmail;
+    private final boolean isInstructor;
+    private final boolean isStudent;
+    private final String userTeam;
+    private final Set<String> studentsEmailInTeam;
+    
+    private final Map<String, Integer> questionVisibilityMasks = new HashMap<String, Integer>();
+    
+    /**
+     * @param student the user as a student of the course; only used if {@code role} is {@link Role#STUDENT}
+     * @param studentsEmailInTeam emails of the students in the user's team, including the user
+     */
+    public FeedbackResponseCommentVisibilityChecker(String userEmail, Role role, StudentAttributes student,
+                                                     Set<String> studentsEmailInTeam) {
+        this.userEmail = userEmail;
+        this.isInstructor = role == Role.INSTRUCTOR;
+        this.isStudent = role == Role.STUDENT;
+        this.userTeam = isStudent && student != null ? student.team : null;
+        this.studentsEmailInTeam = studentsEmailInTeam;
+    }
+    
+    /**
+     * @return true if {@code comment} on the {@code response} to {@code question} is visible to the user,
+     *         false if {@code response} or {@code question} is null
+     */
+    public boolean isVisible(FeedbackResponseAttributes response, FeedbackQuestionAttributes question,
+                             FeedbackResponseCommentAttributes comment) {
+        if (response == null || question == null) {
+            return false;
+        }
+        
+        if (comment.giverEmail.equals(userEmail)) {
+            return true;
+        }
+        
+        boolean isFollowingQuestion = comment.isVisibilityFollowingFeedbackQuestion;
+        int commentMask = FeedbackParticipantType.toMask(comment.showCommentTo);
+        int mask = isFollowingQuestion ? getQuestionVisibilityMask(question) : commentMask;
+        
+        if (isInstructor && (mask & INSTRUCTORS) != 0
+                || isStudent && (mask & STUDENTS) != 0
+                || response.giver.equals(userEmail) && (isFollowingQuestion || (commentMask & GIVER) != 0)
+                || response.recipient.equals(userEmail) && (mask & RECEIVER) != 0) {
+            return true;
+        }
+        
+        boolean isVisibleToRecipientTeam = isStudent
+                && question.recipientType == FeedbackParticipantType.TEAMS
+                && (mask & RECEIVER) != 0
+                && response.recipient.equals(userTeam);
+        boolean isVisibleToGiverTeamMembers =
+                (question.giverType == FeedbackParticipantType.TEAMS || (mask & OWN_TEAM_MEMBERS) != 0)
+                && studentsEmailInTeam.contains(response.giver);
+        boolean isVisibleToRecipientTeamMembers = (mask & RECEIVER_TEAM_MEMBERS) != 0
+                && studentsEmailInTeam.contains(response.recipient);
+        
+        return isVisibleToRecipientTeam || isVisibleToGiverTeamMembers || isVisibleToRecipientTeamMembers;
+    }
+    
+    private int getQuestionVisibilityMask(FeedbackQuestionAttributes question) {
+        Integer mask = questionVisibilityMasks.get(question.getId());
+        if (mask == null) {
+            mask = FeedbackParticipantType.toMask(question.showResponsesTo);
+            questionVisibilityMasks.put(question.getId(), mask);
+        }
+        return mask;
+    }
+    
+}
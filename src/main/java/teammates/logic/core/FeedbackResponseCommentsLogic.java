@@ -17,7 +17,6 @@ import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.UserType;
-import teammates.common.datatransfer.UserType.Role;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
@@ -155,17 +154,24 @@ public class FeedbackResponseCommentsLogic {
         return frcList;
     }
     
-    public void updateFeedbackResponseCommentsSendingState(
+    /**
+     * Updates the sending state of the response comments in published sessions of the course.
+     * @return the updated response comments
+     */
+    public List<FeedbackResponseCommentAttributes> updateFeedbackResponseCommentsSendingState(
             String courseId, CommentSendingState oldState, CommentSendingState newState)
             throws EntityDoesNotExistException {
         verifyIsCoursePresent(courseId);
         
+        List<FeedbackResponseCommentAttributes> updatedComments = new ArrayList<FeedbackResponseCommentAttributes>();
         List<FeedbackSessionAttributes> feedbackSessions = fsLogic.getFeedbackSessionsForCourse(courseId);
         for (FeedbackSessionAttributes fs : feedbackSessions) {
             if (fs.isPublished()) {
-                frcDb.updateFeedbackResponseComments(courseId, fs.getFeedbackSessionName(), oldState, newState);
+                updatedComments.addAll(frcDb.updateFeedbackResponseComments(
+                        courseId, fs.getFeedbackSessionName(), oldState, newState));
             }
         }
+        return updatedComments;
     }
     
     /**
@@ -261,78 +267,16 @@ public class FeedbackResponseCommentsLogic {
     }
     
     /**
-     * Verify whether the comment is visible to certain user
+     * Verify whether the comment is visible to certain user.
+     * To check many comments for the same user, use a {@link FeedbackResponseCommentVisibilityChecker} instead.
      * @return true/false
      */
-    public boolean isResponseCommentVisibleForUser(String userEmail, String courseId, UserType.Role role,
-            String section, StudentAttributes student, Set<String> studentsEmailInTeam,
+    public boolean isResponseCommentVisibleForUser(String userEmail, UserType.Role role,
+            StudentAttributes student, Set<String> studentsEmailInTeam,
             FeedbackResponseAttributes response, FeedbackQuestionAttributes relatedQuestion,
-            FeedbackResponseCommentAttributes relatedComment, InstructorAttributes instructor) {
-        if (response == null || relatedQuestion == null) {
-            return false;
-        }
-        
-        boolean isVisibilityFollowingFeedbackQuestion = relatedComment.isVisibilityFollowingFeedbackQuestion;
-        boolean isVisibleToGiver = isVisibilityFollowingFeedbackQuestion
-                                 || relatedComment.isVisibleTo(FeedbackParticipantType.GIVER);
-        
-        boolean isVisibleResponseComment = false;
-        
-        
-        boolean userIsInstructor = role == Role.INSTRUCTOR;
-        boolean userIsStudent = role == Role.STUDENT;
-        
-        boolean userIsInstructorAndRelatedResponseCommentIsVisibleToInstructors =
-                userIsInstructor && isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                                               FeedbackParticipantType.INSTRUCTORS);
-        boolean userIsResponseRecipientAndRelatedResponseCommentIsVisibleToRecipients =
-                response.recipient.equals(userEmail) && isResponseCommentVisibleTo(relatedQuestion,
-                                                                     relatedComment, FeedbackParticipantType.RECEIVER);
-        boolean userIsResponseGiverAndRelatedResponseCommentIsVisibleToGivers =
-                response.giver.equals(userEmail) && isVisibleToGiver;
-        boolean userIsRelatedResponseCommentGiver = relatedComment.giverEmail.equals(userEmail);
-        boolean userIsStudentAndRelatedResponseCommentIsVisibleToStudents =
-                userIsStudent && isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                                            FeedbackParticipantType.STUDENTS);
-        
-        boolean userIsInResponseRecipientTeamAndRelatedResponseCommentIsVisibleToRecipients =
-                userIsStudent
-                && relatedQuestion.recipientType == FeedbackParticipantType.TEAMS
-                && isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                              FeedbackParticipantType.RECEIVER)
-                && response.recipient.equals(student.team);
-        boolean userIsInResponseGiverTeamAndRelatedResponseCommentIsVisibleToGiversTeamMembers =
-                (relatedQuestion.giverType == FeedbackParticipantType.TEAMS
-                || isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                              FeedbackParticipantType.OWN_TEAM_MEMBERS))
-                && studentsEmailInTeam.contains(response.giver);
-        boolean userIsInResponseRecipientTeamAndRelatedResponseCommentIsVisibleToRecipientsTeamMembers =
-                isResponseCommentVisibleTo(relatedQuestion, relatedComment,
-                                           FeedbackParticipantType.RECEIVER_TEAM_MEMBERS)
-                && studentsEmailInTeam.contains(response.recipient);
-        
-        if (userIsInstructorAndRelatedResponseCommentIsVisibleToInstructors
-                || userIsResponseRecipientAndRelatedResponseCommentIsVisibleToRecipients
-                || userIsResponseGiverAndRelatedResponseCommentIsVisibleToGivers
-                || userIsRelatedResponseCommentGiver
-                || userIsStudentAndRelatedResponseCommentIsVisibleToStudents) {
-            isVisibleResponseComment = true;
-        } else if (userIsInResponseRecipientTeamAndRelatedResponseCommentIsVisibleToRecipients
-                || userIsInResponseGiverTeamAndRelatedResponseCommentIsVisibleToGiversTeamMembers
-                || userIsInResponseRecipientTeamAndRelatedResponseCommentIsVisibleToRecipientsTeamMembers) {
-            isVisibleResponseComment = true;
-        }
-        return isVisibleResponseComment;
-    }
-
-    private boolean isResponseCommentVisibleTo(FeedbackQuestionAttributes relatedQuestion,
-                                               FeedbackResponseCommentAttributes relatedComment,
-                                               FeedbackParticipantType viewerType) {
-        boolean isVisibilityFollowingFeedbackQuestion = relatedComment.isVisibilityFollowingFeedbackQuestion;
-        boolean isVisibleTo = isVisibilityFollowingFeedbackQuestion
-                            ? relatedQuestion.isResponseVisibleTo(viewerType)
-                            : relatedComment.isVisibleTo(viewerType);
-        return isVisibleTo;
+            FeedbackResponseCommentAttributes relatedComment) {
+        return new FeedbackResponseCommentVisibilityChecker(userEmail, role, student, studentsEmailInTeam)
+                .isVisible(response, relatedQuestion, relatedComment);
     }
     
     private void verifyIsCoursePresent(String courseId) throws EntityDoesNotExistException {
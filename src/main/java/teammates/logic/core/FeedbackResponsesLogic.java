@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -60,6 +61,14 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponse(feedbackResponseId);
     }
 
+    /**
+     * @return the responses with the given IDs, keyed by response ID.
+     *         IDs of non-existent responses are skipped.
+     */
+    public Map<String, FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        return frDb.getFeedbackResponses(feedbackResponseIds);
+    }
+
     public FeedbackResponseAttributes getFeedbackResponse(
             String feedbackQuestionId, String giverEmail, String recipient) {
         return frDb.getFeedbackResponse(feedbackQuestionId, giverEmail, recipient);
@@ -25,6 +25,7 @@ import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
 import teammates.common.datatransfer.FeedbackSessionResponseStatus;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
+import teammates.common.datatransfer.FeedbackSessionScheduleEvent;
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
@@ -365,10 +366,12 @@ public class FeedbackSessionsLogic {
                 fqLogic.getRecipientsForQuestion(question, userEmail, instructorGiver, studentGiver);
         // instructor can only see students in allowed sections for him/her
         if (question.recipientType.equals(FeedbackParticipantType.STUDENTS)) {
+            Map<String, StudentAttributes> recipientStudents =
+                    studentsLogic.getStudentsForEmails(courseId, recipients.keySet());
             Iterator<Map.Entry<String, String>> iter = recipients.entrySet().iterator();
             while (iter.hasNext()) {
                 Map.Entry<String, String> studentEntry = iter.next();
-                StudentAttributes student = studentsLogic.getStudentForEmail(courseId, studentEntry.getKey());
+                StudentAttributes student = recipientStudents.get(studentEntry.getKey());
                 if (!instructor.isAllowedForPrivilege(student.section,
                         fsa.getFeedbackSessionName(), Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS)) {
                     iter.remove();
@@ -859,6 +862,20 @@ public class FeedbackSessionsLogic {
         if (!results.isComplete) {
             throw new ExceedingRangeException(ERROR_NUMBER_OF_RESPONSES_EXCEEDS_RANGE);
         }
+        
+        return getFeedbackSessionResultsSummaryAsCsv(results, section, filterText,
+                                                     isMissingResponsesShown, isStatsShown);
+    }
+    
+    /**
+     * Generates the CSV of the results in {@code results}, which have been loaded for {@code section},
+     * or for all sections if {@code section} is null.
+     * The responses of {@code results} are sorted by giver > recipient > question number in the process.
+     */
+    public String getFeedbackSessionResultsSummaryAsCsv(
+            FeedbackSessionResultsBundle results, String section, String filterText,
+            boolean isMissingResponsesShown, boolean isStatsShown) {
+        
         // sort responses by giver > recipient > qnNumber
         Collections.sort(results.responses,
                 results.compareByGiverRecipientQuestion);
@@ -1097,14 +1114,15 @@ public class FeedbackSessionsLogic {
      *         sent as they are published
      */
     public List<FeedbackSessionAttributes> getFeedbackSessionsWhichNeedAutomatedPublishedEmailsToBeSent() {
+        // only the sessions due to be published by now are read, rather than all sessions with unsent emails
         List<FeedbackSessionAttributes> sessions =
-                fsDb.getFeedbackSessionsWithUnsentPublishedEmail();
+                fsDb.getFeedbackSessionsScheduledUpTo(FeedbackSessionScheduleEvent.PUBLISHED, new Date());
         List<FeedbackSessionAttributes> sessionsToSendEmailsFor =
                 new ArrayList<FeedbackSessionAttributes>();
 
         for (FeedbackSessionAttributes session : sessions) {
             // automated emails are required only for custom publish times
-            if (session.isPublished() && session.isPublishedEmailEnabled()
+            if (!session.isSentPublishedEmail() && session.isPublished() && session.isPublishedEmailEnabled()
                     && !TimeHelper.isSpecialTime(session.getResultsVisibleFromTime())) {
                 sessionsToSendEmailsFor.add(session);
             }
@@ -1114,12 +1132,12 @@ public class FeedbackSessionsLogic {
 
     public List<FeedbackSessionAttributes> getFeedbackSessionsWhichNeedOpenEmailsToBeSent() {
         List<FeedbackSessionAttributes> sessions =
-                fsDb.getFeedbackSessionsWithUnsentOpenEmail();
+                fsDb.getFeedbackSessionsScheduledUpTo(FeedbackSessionScheduleEvent.OPENING, new Date());
         List<FeedbackSessionAttributes> sessionsToSendEmailsFor =
                 new ArrayList<FeedbackSessionAttributes>();
 
         for (FeedbackSessionAttributes session : sessions) {
-            if (session.isOpened()) {
+            if (!session.isSentOpenEmail() && session.isOpened()) {
                 sessionsToSendEmailsFor.add(session);
             }
         }
@@ -1507,34 +1525,102 @@ public class FeedbackSessionsLogic {
         }
     }
 
-    public List<EmailWrapper> sendReminderForFeedbackSession(String courseId,
-            String feedbackSessionName) throws EntityDoesNotExistException {
+    /**
+     * Splits the students of the course into shards of at most
+     * {@link SystemParams#FEEDBACK_REMIND_EMAIL_SHARD_SIZE} students, and schedules a task for each shard
+     * to send the feedback session reminder emails of its students in parallel with the other shards.<br>
+     * The instructors of the course are reminded and notified by the first shard.
+     */
+    public void scheduleFeedbackRemindEmailShards(String courseId, String feedbackSessionName)
+            throws EntityDoesNotExistException {
         if (!isFeedbackSessionExists(feedbackSessionName, courseId)) {
             throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_REMIND + courseId + "/" + feedbackSessionName);
         }
 
-        FeedbackSessionAttributes session = getFeedbackSession(
-                feedbackSessionName, courseId);
-        List<StudentAttributes> studentList = studentsLogic
-                .getStudentsForCourse(courseId);
-        List<InstructorAttributes> instructorList = instructorsLogic
-                .getInstructorsForCourse(courseId);
-
-        // Filter out students who have submitted the feedback session
+        // only the emails of the students are kept, as the students are not needed to schedule the shards
+        int shardSize = SystemParams.FEEDBACK_REMIND_EMAIL_SHARD_SIZE;
+        List<String[]> studentEmailsInShards = new ArrayList<String[]>();
+        List<String> studentEmailsInShard = new ArrayList<String>();
+        int numberOfStudents = 0;
+        Iterator<StudentAttributes> students = studentsLogic.getStudentIteratorForCourse(courseId);
+        while (students.hasNext()) {
+            studentEmailsInShard.add(students.next().email);
+            numberOfStudents++;
+            if (studentEmailsInShard.size() == shardSize) {
+                studentEmailsInShards.add(studentEmailsInShard.toArray(new String[shardSize]));
+                studentEmailsInShard.clear();
+            }
+        }
+        // there is always at least one shard, which reminds the instructors
+        if (!studentEmailsInShard.isEmpty() || studentEmailsInShards.isEmpty()) {
+            studentEmailsInShards.add(studentEmailsInShard.toArray(new String[studentEmailsInShard.size()]));
+        }
+        int numberOfShards = studentEmailsInShards.size();
+        
+        List<Map<String, String[]>> paramMaps = new ArrayList<Map<String, String[]>>();
+        for (int shardIndex = 0; shardIndex < numberOfShards; shardIndex++) {
+            Map<String, String[]> paramMap = new HashMap<String, String[]>();
+            paramMap.put(ParamsNames.SUBMISSION_FEEDBACK, new String[] {feedbackSessionName});
+            paramMap.put(ParamsNames.SUBMISSION_COURSE, new String[] {courseId});
+            paramMap.put(ParamsNames.SUBMISSION_REMIND_USERLIST, studentEmailsInShards.get(shardIndex));
+            paramMap.put(ParamsNames.SUBMISSION_REMIND_SHARD_INDEX, new String[] {String.valueOf(shardIndex)});
+            paramMap.put(ParamsNames.SUBMISSION_REMIND_SHARD_COUNT, new String[] {String.valueOf(numberOfShards)});
+            paramMaps.add(paramMap);
+        }
+        
+        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+        taskQueueLogic.createAndAddTasksMultisetParam(SystemParams.FEEDBACK_REMIND_EMAIL_SHARD_TASK_QUEUE,
+                Const.ActionURIs.FEEDBACK_REMIND_EMAIL_SHARD_WORKER, paramMaps, 0);
+        
+        log.info("Scheduled " + numberOfShards + " reminder shards for " + numberOfStudents
+                 + " students of feedback session " + courseId + "/" + feedbackSessionName);
+    }
+    
+    /**
+     * Sends the feedback session reminder emails to the students with the given {@code studentEmails}
+     * who are yet to complete the session.<br>
+     * If {@code isRemindingInstructors} is true, the instructors of the course who are yet to complete
+     * the session are reminded too, and all instructors of the course are notified of the reminder.
+     * @return the emails sent
+     */
+    public List<EmailWrapper> sendReminderForFeedbackSessionShard(String courseId, String feedbackSessionName,
+            String[] studentEmails, boolean isRemindingInstructors) throws EntityDoesNotExistException {
+        FeedbackSessionAttributes session = getFeedbackSession(feedbackSessionName, courseId);
+        if (session == null) {
+            throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_REMIND + courseId + "/" + feedbackSessionName);
+        }
+        
+        // same check as isFeedbackSessionCompletedByStudent, but the questions are only retrieved once per shard
+        // and students who have completed the session are not retrieved at all; the rest are retrieved together
+        boolean hasQuestionsForStudents =
+                !fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName, courseId).isEmpty();
+        List<String> emailsToRemind = new ArrayList<String>();
+        for (String studentEmail : studentEmails) {
+            if (hasQuestionsForStudents && !session.getRespondingStudentList().contains(studentEmail)) {
+                emailsToRemind.add(studentEmail);
+            }
+        }
+        Map<String, StudentAttributes> studentsToRemind = studentsLogic.getStudentsForEmails(courseId, emailsToRemind);
         List<StudentAttributes> studentsToRemindList = new ArrayList<StudentAttributes>();
-        for (StudentAttributes student : studentList) {
-            if (!isFeedbackSessionCompletedByStudent(session, student.email)) {
+        for (String studentEmail : emailsToRemind) {
+            StudentAttributes student = studentsToRemind.get(studentEmail);
+            if (student != null) {
                 studentsToRemindList.add(student);
             }
         }
 
-        // Filter out instructors who have submitted the feedback session
+        List<InstructorAttributes> instructorList = new ArrayList<InstructorAttributes>();
         List<InstructorAttributes> instructorsToRemindList = new ArrayList<InstructorAttributes>();
-        for (InstructorAttributes instructor : instructorList) {
-            if (!isFeedbackSessionCompletedByInstructor(
-                    session.getFeedbackSessionName(), session.getCourseId(),
-                    instructor.email)) {
-                instructorsToRemindList.add(instructor);
+        if (isRemindingInstructors) {
+            instructorList = instructorsLogic.getInstructorsForCourse(courseId);
+            
+            // Filter out instructors who have submitted the feedback session
+            for (InstructorAttributes instructor : instructorList) {
+                if (!isFeedbackSessionCompletedByInstructor(
+                        session.getFeedbackSessionName(), session.getCourseId(),
+                        instructor.email)) {
+                    instructorsToRemindList.add(instructor);
+                }
             }
         }
 
@@ -1622,10 +1708,10 @@ public class FeedbackSessionsLogic {
         ArrayList<FeedbackSessionAttributes> requiredSessions = new
                 ArrayList<FeedbackSessionAttributes>();
 
-        List<FeedbackSessionAttributes> nonPrivateSessions = fsDb
-                .getNonPrivateFeedbackSessions();
+        List<FeedbackSessionAttributes> sessions =
+                fsDb.getFeedbackSessionsScheduledAround(FeedbackSessionScheduleEvent.CLOSING_SOON, new Date());
 
-        for (FeedbackSessionAttributes session : nonPrivateSessions) {
+        for (FeedbackSessionAttributes session : sessions) {
             if (session.isClosingWithinTimeLimit(SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT)
                     && session.isClosingEmailEnabled()) {
                 requiredSessions.add(session);
@@ -1861,20 +1947,16 @@ public class FeedbackSessionsLogic {
             }
         }
         
-        InstructorAttributes instructor = null;
-        if (role == Role.INSTRUCTOR) {
-            instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
-        }
-        
+        FeedbackResponseCommentVisibilityChecker commentVisibilityChecker =
+                new FeedbackResponseCommentVisibilityChecker(userEmail, role, student, studentsEmailInTeam);
         List<FeedbackResponseCommentAttributes> allResponseComments =
                 frcLogic.getFeedbackResponseCommentForSession(courseId,
                         feedbackSessionName);
         for (FeedbackResponseCommentAttributes frc : allResponseComments) {
             FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
             FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
-            boolean isVisibleResponseComment = frcLogic.isResponseCommentVisibleForUser(userEmail, courseId,
-                    role, section, student, studentsEmailInTeam, relatedResponse,
-                    relatedQuestion, frc, instructor);
+            boolean isVisibleResponseComment =
+                    commentVisibilityChecker.isVisible(relatedResponse, relatedQuestion, frc);
             if (isVisibleResponseComment) {
                 if (!frcLogic.isNameVisibleTo(frc, relatedResponse, userEmail, roster)) {
                     frc.giverEmail = "Anonymous";
@@ -2150,15 +2232,16 @@ public class FeedbackSessionsLogic {
         if (params.get(PARAM_VIEW_TYPE) == null
                 || Const.FeedbackSessionResults.GRQ_SORT_TYPE.equals(params.get(PARAM_VIEW_TYPE))
                 || Const.FeedbackSessionResults.RGQ_SORT_TYPE.equals(params.get(PARAM_VIEW_TYPE))) {
+            FeedbackResponseCommentVisibilityChecker commentVisibilityChecker =
+                    new FeedbackResponseCommentVisibilityChecker(userEmail, role, student, studentsEmailInTeam);
             List<FeedbackResponseCommentAttributes> allResponseComments =
                     frcLogic.getFeedbackResponseCommentForSessionInSection(courseId,
                             feedbackSessionName, section);
             for (FeedbackResponseCommentAttributes frc : allResponseComments) {
                 FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
                 FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
-                boolean isVisibleResponseComment = frcLogic.isResponseCommentVisibleForUser(userEmail, courseId,
-                        role, section, student, studentsEmailInTeam, relatedResponse,
-                        relatedQuestion, frc, instructor);
+                boolean isVisibleResponseComment =
+                        commentVisibilityChecker.isVisible(relatedResponse, relatedQuestion, frc);
                 if (isVisibleResponseComment) {
                     if (!frcLogic.isNameVisibleTo(frc, relatedResponse, userEmail, roster)) {
                         frc.giverEmail = "Anonymous";
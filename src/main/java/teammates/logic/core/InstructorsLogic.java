@@ -1,7 +1,9 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CourseAttributes;
@@ -94,6 +96,22 @@ public class InstructorsLogic {
         
         return instructorsDb.getInstructorForEmail(courseId, email);
     }
+    
+    /**
+     * @return the instructors with the given emails in the course, keyed by email.
+     *         Emails of non-existent instructors are skipped.
+     */
+    public Map<String, InstructorAttributes> getInstructorsForEmails(String courseId, Collection<String> emails) {
+        return instructorsDb.getInstructorsForEmails(courseId, emails);
+    }
+    
+    /**
+     * @return the instructors with the given IDs, keyed by ID. IDs of non-existent instructors are skipped.
+     * @see InstructorAttributes#makeId(String, String)
+     */
+    public Map<String, InstructorAttributes> getInstructorsForIds(Collection<String> ids) {
+        return instructorsDb.getInstructorsForIds(ids);
+    }
 
     public InstructorAttributes getInstructorForGoogleId(String courseId, String googleId) {
         
@@ -110,6 +128,11 @@ public class InstructorsLogic {
         return instructorsDb.getInstructorsForCourse(courseId);
     }
     
+    public Map<String, List<InstructorAttributes>> getInstructorsForCourses(Collection<String> courseIds) {
+        
+        return instructorsDb.getInstructorsForCourses(courseIds);
+    }
+    
     public List<InstructorAttributes> getInstructorsForGoogleId(String googleId) {
         
         return getInstructorsForGoogleId(googleId, false);
@@ -134,6 +157,11 @@ public class InstructorsLogic {
         
         return instructorsDb.getInstructorsForEmail(email);
     }
+    
+    public Map<String, List<InstructorAttributes>> getInstructorsForEmails(Collection<String> emails) {
+        
+        return instructorsDb.getInstructorsForEmails(emails);
+    }
 
     /**
      * @deprecated Not scalable. Use only for admin features.
@@ -343,9 +371,15 @@ public class InstructorsLogic {
     }
     
     public void deleteInstructorCascade(String courseId, String email) {
+        InstructorAttributes instructor = getInstructorForEmail(courseId, email);
         commentsLogic.deleteCommentsForInstructor(courseId, email);
-        fsLogic.deleteInstructorFromRespondantsList(getInstructorForEmail(courseId, email));
+        fsLogic.deleteInstructorFromRespondantsList(instructor);
         instructorsDb.deleteInstructor(courseId, email);
+        
+        if (instructor != null && instructor.googleId != null) {
+            // the course institute may have come from the deleted instructor's account
+            accountsLogic.updateCourseInstitute(courseId, null);
+        }
     }
 
     public void deleteInstructorsForGoogleIdAndCascade(String googleId) {
@@ -1,7 +1,11 @@
 package teammates.logic.core;
 
+import java.util.List;
+
 import javax.ws.rs.core.MediaType;
 
+import org.json.JSONObject;
+
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
@@ -17,6 +21,16 @@ import teammates.common.util.EmailWrapper;
  */
 public class MailgunService extends EmailSenderService {
     
+    /**
+     * Maximum number of recipients allowed by Mailgun in a single batch sending call.
+     * Reference: https://documentation.mailgun.com/user_manual.html#batch-sending
+     */
+    private static final int MAX_RECIPIENTS_PER_BATCH = 1000;
+    
+    private static final String RECIPIENT_HTML_VARIABLE = "html";
+    
+    private static WebResource messagesResource;
+    
     /**
      * {@inheritDoc}
      */
@@ -42,19 +56,80 @@ public class MailgunService extends EmailSenderService {
         return formData;
     }
     
+    /**
+     * Parses a {@code batch} of emails sharing the same sender, reply-to address and subject
+     * to a single Mailgun batch sending request.<br>
+     * Each recipient receives an individual copy of the email. If the contents differ between recipients,
+     * the content is personalized through Mailgun's recipient variables.
+     */
+    public FormDataMultiPart parseToBatchEmail(List<EmailWrapper> batch) {
+        EmailWrapper first = batch.get(0);
+        FormDataMultiPart formData = new FormDataMultiPart();
+        
+        String sender = first.getSenderName() == null || first.getSenderName().isEmpty()
+                        ? first.getSenderEmail()
+                        : first.getSenderName() + " <" + first.getSenderEmail() + ">";
+        formData.field("from", sender);
+        
+        boolean isSharingContent = isSharingContent(batch);
+        
+        // recipient variables are always needed for each recipient to receive an individual copy
+        JSONObject recipientVariables = new JSONObject();
+        for (EmailWrapper wrapper : batch) {
+            formData.field("to", wrapper.getRecipient());
+            JSONObject variables = new JSONObject();
+            if (!isSharingContent) {
+                variables.put(RECIPIENT_HTML_VARIABLE, wrapper.getContent());
+            }
+            recipientVariables.put(wrapper.getRecipient(), variables);
+        }
+        formData.field("recipient-variables", recipientVariables.toString());
+        
+        formData.field("h:Reply-To", first.getReplyTo());
+        formData.field("subject", first.getSubject());
+        formData.field("html", isSharingContent
+                               ? first.getContent()
+                               : "%recipient." + RECIPIENT_HTML_VARIABLE + "%");
+        
+        return formData;
+    }
+    
+    @Override
+    public int getMaxEmailsPerBatch() {
+        return MAX_RECIPIENTS_PER_BATCH;
+    }
+    
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) {
-        FormDataMultiPart email = parseToEmail(wrapper);
-        Client client = Client.create();
-        client.addFilter(new HTTPBasicAuthFilter("api", Config.MAILGUN_APIKEY));
-        WebResource webResource =
-                client.resource("https://api.mailgun.net/v3/" + Config.MAILGUN_DOMAINNAME + "/messages");
-        
-        ClientResponse response = webResource.type(MediaType.MULTIPART_FORM_DATA_TYPE)
-                                             .post(ClientResponse.class, email);
+        post(parseToEmail(wrapper));
+    }
+    
+    @Override
+    protected void sendEmailBatchWithService(List<EmailWrapper> batch) {
+        post(parseToBatchEmail(batch));
+    }
+    
+    private void post(FormDataMultiPart email) {
+        ClientResponse response = getMessagesResource()
+                .type(MediaType.MULTIPART_FORM_DATA_TYPE)
+                .post(ClientResponse.class, email);
         if (response.getStatus() != SUCCESS_CODE) {
             log.severe("Email failed to send: " + response.getStatusInfo().getReasonPhrase());
         }
     }
     
+    /**
+     * Returns the messages resource of a Jersey client shared by all emails sent in this instance,
+     * as the client is thread-safe and expensive to create.
+     */
+    private static synchronized WebResource getMessagesResource() {
+        if (messagesResource == null) {
+            Client client = Client.create();
+            client.addFilter(new HTTPBasicAuthFilter("api", Config.MAILGUN_APIKEY));
+            messagesResource =
+                    client.resource("https://api.mailgun.net/v3/" + Config.MAILGUN_DOMAINNAME + "/messages");
+        }
+        return messagesResource;
+    }
+    
 }
@@ -1,8 +1,9 @@
 package teammates.logic.core;
 
+import java.util.List;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
-import org.jsoup.Jsoup;
 
 import com.mailjet.client.MailjetClient;
 import com.mailjet.client.MailjetRequest;
@@ -23,6 +24,16 @@ import teammates.common.util.EmailWrapper;
  */
 public class MailjetService extends EmailSenderService {
     
+    /**
+     * Maximum number of messages allowed by Mailjet in a single Send API call.
+     * Reference: https://dev.mailjet.com/guides/#send-multiple-messages-at-once
+     */
+    private static final int MAX_MESSAGES_PER_BATCH = 50;
+    
+    private static final String MESSAGES = "Messages";
+    
+    private static MailjetClient mailjet;
+    
     /**
      * {@inheritDoc}
      */
@@ -42,18 +53,68 @@ public class MailjetService extends EmailSenderService {
         request.property(Email.HEADERS, new JSONObject().put("Reply-To", wrapper.getReplyTo()));
         request.property(Email.SUBJECT, wrapper.getSubject());
         request.property(Email.HTMLPART, wrapper.getContent());
-        request.property(Email.TEXTPART, Jsoup.parse(wrapper.getContent()).text());
+        request.property(Email.TEXTPART, getTextContent(wrapper.getContent()));
+        return request;
+    }
+    
+    /**
+     * Parses a {@code batch} of emails sharing the same sender, reply-to address and subject
+     * to a single Mailjet Send API request.<br>
+     * If all emails share the same content, the request contains one message with each recipient
+     * receiving an individual copy; otherwise it contains one personalized message per recipient.
+     */
+    public MailjetRequest parseToBatchEmail(List<EmailWrapper> batch) {
+        JSONArray messages = new JSONArray();
+        if (isSharingContent(batch)) {
+            JSONObject message = new JSONObject(parseToEmail(batch.get(0)).getBody());
+            JSONArray recipients = new JSONArray();
+            for (EmailWrapper wrapper : batch) {
+                recipients.put(new JSONObject().put("Email", wrapper.getRecipient()));
+            }
+            message.put(Email.RECIPIENTS, recipients);
+            messages.put(message);
+        } else {
+            for (EmailWrapper wrapper : batch) {
+                messages.put(new JSONObject(parseToEmail(wrapper).getBody()));
+            }
+        }
+        
+        MailjetRequest request = new MailjetRequest(Email.resource);
+        request.property(MESSAGES, messages);
         return request;
     }
     
+    @Override
+    public int getMaxEmailsPerBatch() {
+        return MAX_MESSAGES_PER_BATCH;
+    }
+    
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) throws MailjetException {
-        MailjetRequest email = parseToEmail(wrapper);
-        MailjetClient mailjet = new MailjetClient(Config.MAILJET_APIKEY, Config.MAILJET_SECRETKEY);
-        MailjetResponse response = mailjet.post(email);
+        post(parseToEmail(wrapper));
+    }
+    
+    @Override
+    protected void sendEmailBatchWithService(List<EmailWrapper> batch) throws MailjetException {
+        post(parseToBatchEmail(batch));
+    }
+    
+    private void post(MailjetRequest email) throws MailjetException {
+        MailjetResponse response = getMailjet().post(email);
         if (response.getStatus() != SUCCESS_CODE) {
             log.severe("Email failed to send: " + response.getData().toString());
         }
     }
     
+    /**
+     * Returns a Mailjet client shared by all emails sent in this instance,
+     * so that its underlying HTTP client and connections are reused.
+     */
+    private static synchronized MailjetClient getMailjet() {
+        if (mailjet == null) {
+            mailjet = new MailjetClient(Config.MAILJET_APIKEY, Config.MAILJET_SECRETKEY);
+        }
+        return mailjet;
+    }
+    
 }
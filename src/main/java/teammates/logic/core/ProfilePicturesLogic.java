@@ -0,0 +1,123 @@
+package teammates.logic.core;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentProfileAttributes;
+import teammates.common.util.Config;
+import teammates.common.util.Const;
+import teammates.common.util.StringHelper;
+
+/**
+ * Handles the logic related to showing profile pictures of students to other users.<br>
+ * Instead of checking the access to each picture as it is requested, the pictures of all the students
+ * a user is allowed to see are resolved together, and are served through short-lived signed URLs
+ * which can be verified without reading from the datastore.
+ */
+public class ProfilePicturesLogic {
+    //The API of this class doesn't have header comments because it sits behind
+    //  the API of the logic class. Those who use this class is expected to be
+    //  familiar with the its code and Logic's code. Hence, no need for header
+    //  comments.
+
+    private static final String SIGNED_VALUE_SEPARATOR = "|";
+
+    private static ProfilePicturesLogic instance;
+
+    private static final AccountsLogic accountsLogic = AccountsLogic.inst();
+
+    public static ProfilePicturesLogic inst() {
+        if (instance == null) {
+            instance = new ProfilePicturesLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the profile picture URLs of the {@code students}, keyed by the students' emails.
+     * The profiles of all the students are retrieved in a single batch get.
+     * The URLs refer to the thumbnails of the pictures where available.
+     * Students without an uploaded picture are given the URL of the default picture.
+     */
+    public Map<String, String> getProfilePictureUrlsForStudents(Collection<StudentAttributes> students) {
+        Set<String> googleIds = new HashSet<String>();
+        for (StudentAttributes student : students) {
+            // pictures are only relevant for registered students
+            if (student.isRegistered()) {
+                googleIds.add(student.googleId);
+            }
+        }
+
+        Map<String, String> pictureKeys = new HashMap<String, String>();
+        for (StudentProfileAttributes profile : accountsLogic.getStudentProfiles(googleIds).values()) {
+            // the thumbnail is shown where available, as pictures are shown at the thumbnail size
+            if (profile.thumbnailKey != null && !profile.thumbnailKey.isEmpty()) {
+                pictureKeys.put(profile.googleId, profile.thumbnailKey);
+            } else if (profile.pictureKey != null && !profile.pictureKey.isEmpty()) {
+                pictureKeys.put(profile.googleId, profile.pictureKey);
+            }
+        }
+
+        long expiry = getExpiryForNewUrls();
+        Map<String, String> pictureUrls = new HashMap<String, String>();
+        for (StudentAttributes student : students) {
+            String pictureKey = student.isRegistered() ? pictureKeys.get(student.googleId) : null;
+            pictureUrls.put(student.email, pictureKey == null
+                                           ? Const.SystemParams.DEFAULT_PROFILE_PICTURE_PATH
+                                           : getSignedProfilePictureUrl(pictureKey, expiry));
+        }
+        return pictureUrls;
+    }
+
+    public String getSignedProfilePictureUrl(String pictureKey) {
+        return getSignedProfilePictureUrl(pictureKey, getExpiryForNewUrls());
+    }
+
+    /**
+     * Returns true if the {@code signature} was issued for the picture with the {@code pictureKey}
+     * together with the {@code expiry}, and the expiry time has not passed.
+     */
+    public boolean isValidProfilePictureSignature(String pictureKey, String expiry, String signature) {
+        if (pictureKey == null || expiry == null || signature == null) {
+            return false;
+        }
+
+        long expiryMillis;
+        try {
+            expiryMillis = Long.parseLong(expiry);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        return expiryMillis > System.currentTimeMillis()
+               && StringHelper.isCorrectSignature(getSignedValue(pictureKey, expiryMillis), signature);
+    }
+
+    private static String getSignedProfilePictureUrl(String pictureKey, long expiry) {
+        return Config.getAppUrl(Const.ActionURIs.PUBLIC_PROFILE_PICTURE)
+                     .withParam(Const.ParamsNames.BLOB_KEY, pictureKey)
+                     .withParam(Const.ParamsNames.PROFILE_PICTURE_EXPIRY, String.valueOf(expiry))
+                     .withParam(Const.ParamsNames.PROFILE_PICTURE_SIGNATURE,
+                                StringHelper.generateSignature(getSignedValue(pictureKey, expiry)))
+                     .toString();
+    }
+
+    /**
+     * Returns the expiry time for URLs issued now. URLs expire at the end of the validity period
+     * after the current one, so that all URLs of a picture issued within the same period are identical,
+     * while each of them is still valid for at least a full period.
+     */
+    private static long getExpiryForNewUrls() {
+        long validity = Const.SystemParams.PROFILE_PICTURE_URL_VALIDITY_MILLIS;
+        return (System.currentTimeMillis() / validity + 2) * validity;
+    }
+
+    private static String getSignedValue(String pictureKey, long expiry) {
+        return pictureKey + SIGNED_VALUE_SEPARATOR + expiry;
+    }
+
+}
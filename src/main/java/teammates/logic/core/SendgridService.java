@@ -1,6 +1,6 @@
 package teammates.logic.core;
 
-import org.jsoup.Jsoup;
+import java.util.List;
 
 import com.sendgrid.SendGrid;
 import com.sendgrid.SendGrid.Email;
@@ -18,6 +18,17 @@ import teammates.common.util.EmailWrapper;
  */
 public class SendgridService extends EmailSenderService {
     
+    /**
+     * Maximum number of recipients recommended by SendGrid in a single X-SMTPAPI header.
+     * Reference: https://sendgrid.com/docs/API_Reference/SMTP_API/
+     */
+    private static final int MAX_RECIPIENTS_PER_BATCH = 1000;
+    
+    private static final String HTML_SUBSTITUTION_TAG = "-teammatesHtmlContent-";
+    private static final String TEXT_SUBSTITUTION_TAG = "-teammatesTextContent-";
+    
+    private static SendGrid sendgrid;
+    
     /**
      * {@inheritDoc}
      */
@@ -35,18 +46,82 @@ public class SendgridService extends EmailSenderService {
         }
         email.setSubject(wrapper.getSubject());
         email.setHtml(wrapper.getContent());
-        email.setText(Jsoup.parse(wrapper.getContent()).text());
+        email.setText(getTextContent(wrapper.getContent()));
+        return email;
+    }
+    
+    /**
+     * Parses a {@code batch} of emails sharing the same sender, reply-to address and subject
+     * to a single SendGrid email addressed through the X-SMTPAPI header.<br>
+     * Each recipient receives an individual copy of the email. If the contents differ between recipients,
+     * the content is personalized through SendGrid's substitution tags.
+     */
+    public Email parseToBatchEmail(List<EmailWrapper> batch) {
+        EmailWrapper first = batch.get(0);
+        Email email = new Email();
+        email.setFrom(first.getSenderEmail());
+        if (first.getSenderName() != null && !first.getSenderName().isEmpty()) {
+            email.setFromName(first.getSenderName());
+        }
+        email.setReplyTo(first.getReplyTo());
+        email.setSubject(first.getSubject());
+        
+        String[] recipients = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            recipients[i] = batch.get(i).getRecipient();
+        }
+        email.addSmtpApiTo(recipients);
+        
+        if (isSharingContent(batch)) {
+            email.setHtml(first.getContent());
+            email.setText(getTextContent(first.getContent()));
+            return email;
+        }
+        
+        String[] htmlContents = new String[batch.size()];
+        String[] textContents = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            htmlContents[i] = batch.get(i).getContent();
+            textContents[i] = getTextContent(htmlContents[i]);
+        }
+        email.setHtml(HTML_SUBSTITUTION_TAG);
+        email.setText(TEXT_SUBSTITUTION_TAG);
+        email.addSubstitution(HTML_SUBSTITUTION_TAG, htmlContents);
+        email.addSubstitution(TEXT_SUBSTITUTION_TAG, textContents);
         return email;
     }
     
+    @Override
+    public int getMaxEmailsPerBatch() {
+        return MAX_RECIPIENTS_PER_BATCH;
+    }
+    
     @Override
     protected void sendEmailWithService(EmailWrapper wrapper) throws SendGridException {
-        Email email = parseToEmail(wrapper);
-        SendGrid sendgrid = new SendGrid(Config.SENDGRID_APIKEY);
-        Response response = sendgrid.send(email);
+        send(parseToEmail(wrapper));
+    }
+    
+    @Override
+    protected void sendEmailBatchWithService(List<EmailWrapper> batch) throws SendGridException {
+        send(parseToBatchEmail(batch));
+    }
+    
+    private void send(Email email) throws SendGridException {
+        Response response = getSendgrid().send(email);
         if (response.getCode() != SUCCESS_CODE) {
             log.severe("Email failed to send: " + response.getMessage());
         }
     }
     
+    /**
+     * Returns a SendGrid client shared by all emails sent in this instance,
+     * so that its underlying HTTP client and connections are reused.
+     */
+    private static synchronized SendGrid getSendgrid() {
+        if (sendgrid == null) {
+            sendgrid = new SendGrid(Config.SENDGRID_APIKEY);
+        }
+        return sendgrid;
+    }
+    
 }
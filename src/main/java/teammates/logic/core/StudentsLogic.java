@@ -1,8 +1,11 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
@@ -92,6 +95,14 @@ public class StudentsLogic {
     public StudentAttributes getStudentForEmail(String courseId, String email) {
         return studentsDb.getStudentForEmail(courseId, email);
     }
+    
+    /**
+     * @return the students with the given emails in the course, keyed by email.
+     *         Emails of non-existent students are skipped.
+     */
+    public Map<String, StudentAttributes> getStudentsForEmails(String courseId, Collection<String> emails) {
+        return studentsDb.getStudentsForEmails(courseId, emails);
+    }
 
     public StudentAttributes getStudentForCourseIdAndGoogleId(String courseId, String googleId) {
         return studentsDb.getStudentForGoogleId(courseId, googleId);
@@ -109,6 +120,16 @@ public class StudentsLogic {
         return studentsDb.getStudentsForCourse(courseId);
     }
     
+    /**
+     * Returns an iterator over the students of a course which retrieves them in batches.
+     * Preferred over {@link #getStudentsForCourse(String)} when the students are processed one by one,
+     * as the students of a large course are then never held in memory together.
+     * @see StudentsDb#getStudentIteratorForCourse(String)
+     */
+    public Iterator<StudentAttributes> getStudentIteratorForCourse(String courseId) {
+        return studentsDb.getStudentIteratorForCourse(courseId);
+    }
+    
     public List<StudentAttributes> getStudentsForTeam(String teamName, String courseId) {
         return studentsDb.getStudentsForTeam(teamName, courseId);
     }
@@ -359,11 +380,8 @@ public class StudentsLogic {
         List<FeedbackSessionAttributes> feedbackSessions = FeedbackSessionsLogic.inst()
                 .getFeedbackSessionsForCourse(courseId);
         
-        for (FeedbackSessionAttributes session : feedbackSessions) {
-            //Schedule adjustment of submissions for feedback session in course
-            scheduleSubmissionAdjustmentForFeedbackInCourse(enrollmentList, courseId,
-                    session.getFeedbackSessionName());
-        }
+        //Schedule adjustment of submissions for each feedback session in course
+        scheduleSubmissionAdjustmentForFeedbackInCourse(enrollmentList, courseId, feedbackSessions);
 
         // add to return list students not included in the enroll list.
         List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
@@ -513,20 +531,26 @@ public class StudentsLogic {
     }
 
     private void scheduleSubmissionAdjustmentForFeedbackInCourse(
-            ArrayList<StudentEnrollDetails> enrollmentList, String courseId, String sessionName) {
+            ArrayList<StudentEnrollDetails> enrollmentList, String courseId,
+            List<FeedbackSessionAttributes> feedbackSessions) {
         // private methods -- should I test this?
-        HashMap<String, String> paramMap = new HashMap<String, String>();
-        
-        paramMap.put(ParamsNames.COURSE_ID, courseId);
-        paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, sessionName);
-        
         Gson gsonBuilder = Utils.getTeammatesGson();
         String enrollmentDetails = gsonBuilder.toJson(enrollmentList);
-        paramMap.put(ParamsNames.ENROLLMENT_DETAILS, enrollmentDetails);
         
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-        taskQueueLogic.createAndAddTask(SystemParams.FEEDBACK_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
-                Const.ActionURIs.FEEDBACK_SUBMISSION_ADJUSTMENT_WORKER, paramMap);
+        TaskQueueBatch batch = TaskQueuesLogic.inst().createTaskBatch(
+                SystemParams.FEEDBACK_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
+                Const.ActionURIs.FEEDBACK_SUBMISSION_ADJUSTMENT_WORKER, 0);
+        
+        for (FeedbackSessionAttributes session : feedbackSessions) {
+            HashMap<String, String> paramMap = new HashMap<String, String>();
+            
+            paramMap.put(ParamsNames.COURSE_ID, courseId);
+            paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, session.getFeedbackSessionName());
+            paramMap.put(ParamsNames.ENROLLMENT_DETAILS, enrollmentDetails);
+            
+            batch.addTask(paramMap);
+        }
+        batch.flush();
         
     }
 
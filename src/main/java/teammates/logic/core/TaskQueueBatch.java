@@ -0,0 +1,92 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.appengine.api.taskqueue.QueueConstants;
+import com.google.appengine.api.taskqueue.TaskOptions;
+
+/**
+ * Collects tasks to be added to a task queue, and adds them in groups of up to
+ * {@link QueueConstants#maxTasksPerAdd()} tasks with a single call to the queue for each group.<br>
+ * The n-th task (starting from 0) added to the batch is deferred by n times the countdown interval
+ * of the batch. Tasks which do not fill up a group are only added when the batch is {@link #flush() flushed},
+ * so the batch must be flushed after the last task is added.<br>
+ * A group which fails to be added is dropped from the batch and the failure is thrown to the caller,
+ * which is then to decide whether to add the tasks again; they are never added by a later flush.
+ * 
+ * @see TaskQueuesLogic#createTaskBatch(String, String, long)
+ */
+public class TaskQueueBatch {
+    
+    private final String queueName;
+    private final String workerUrl;
+    private final long countdownInterval;
+    
+    private final List<TaskOptions> pendingTasks = new ArrayList<TaskOptions>();
+    private int numberOfTasks;
+    private int numberOfTasksAdded;
+    
+    TaskQueueBatch(String queueName, String workerUrl, long countdownInterval) {
+        this.queueName = queueName;
+        this.workerUrl = workerUrl;
+        this.countdownInterval = countdownInterval;
+    }
+    
+    /**
+     * Adds a task with the parameters in {@code paramMap} to the batch.
+     * As this adds the tasks pending in the batch to the queue when they fill up a group,
+     * it can throw the failure of adding them.
+     */
+    public void addTask(Map<String, String> paramMap) {
+        add(TaskQueuesLogic.createTask(workerUrl, paramMap));
+    }
+    
+    /**
+     * Adds a task with the multi-valued parameters in {@code paramMap} to the batch.
+     */
+    public void addTaskMultisetParam(Map<String, String[]> paramMap) {
+        add(TaskQueuesLogic.createTaskMultisetParam(workerUrl, paramMap));
+    }
+    
+    private void add(TaskOptions task) {
+        task.countdownMillis(numberOfTasks * countdownInterval);
+        pendingTasks.add(task);
+        numberOfTasks++;
+        
+        if (pendingTasks.size() == QueueConstants.maxTasksPerAdd()) {
+            flush();
+        }
+    }
+    
+    /**
+     * Adds all tasks of the batch which are not yet added to the queue.
+     * If the tasks cannot be added, they are dropped from the batch and the failure is thrown.
+     */
+    public void flush() {
+        if (pendingTasks.isEmpty()) {
+            return;
+        }
+        List<TaskOptions> tasks = new ArrayList<TaskOptions>(pendingTasks);
+        pendingTasks.clear();
+        TaskQueuesLogic.inst().addTasks(queueName, tasks);
+        numberOfTasksAdded += tasks.size();
+    }
+    
+    /**
+     * Returns the number of tasks added to the batch so far, including those not yet added to the queue.
+     */
+    public int getNumberOfTasks() {
+        return numberOfTasks;
+    }
+    
+    /**
+     * Returns the number of tasks of the batch which have been added to the queue so far,
+     * i.e. without those pending in the batch and those which failed to be added.
+     */
+    public int getNumberOfTasksAdded() {
+        return numberOfTasksAdded;
+    }
+    
+}
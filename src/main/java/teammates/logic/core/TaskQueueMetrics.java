@@ -0,0 +1,77 @@
+package teammates.logic.core;
+
+/**
+ * Metrics of the calls made to add tasks to a task queue, i.e. the number of tasks added per call
+ * and the time taken by each call.
+ */
+public class TaskQueueMetrics {
+    
+    private final String queueName;
+    
+    private long numberOfAddCalls;
+    private long numberOfTasksAdded;
+    private int maxBatchSize;
+    private long totalLatencyMillis;
+    private long maxLatencyMillis;
+    
+    TaskQueueMetrics(String queueName) {
+        this.queueName = queueName;
+    }
+    
+    synchronized void recordAdd(int batchSize, long latencyMillis) {
+        numberOfAddCalls++;
+        numberOfTasksAdded += batchSize;
+        maxBatchSize = Math.max(maxBatchSize, batchSize);
+        totalLatencyMillis += latencyMillis;
+        maxLatencyMillis = Math.max(maxLatencyMillis, latencyMillis);
+    }
+    
+    public String getQueueName() {
+        return queueName;
+    }
+    
+    public synchronized long getNumberOfAddCalls() {
+        return numberOfAddCalls;
+    }
+    
+    public synchronized long getNumberOfTasksAdded() {
+        return numberOfTasksAdded;
+    }
+    
+    public synchronized int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+    
+    public synchronized double getAverageBatchSize() {
+        return numberOfAddCalls == 0 ? 0 : (double) numberOfTasksAdded / numberOfAddCalls;
+    }
+    
+    public String getAverageBatchSizeForDisplay() {
+        return String.format("%.1f", getAverageBatchSize());
+    }
+    
+    public synchronized long getTotalLatencyMillis() {
+        return totalLatencyMillis;
+    }
+    
+    public synchronized long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+    
+    public synchronized double getAverageLatencyMillis() {
+        return numberOfAddCalls == 0 ? 0 : (double) totalLatencyMillis / numberOfAddCalls;
+    }
+    
+    public String getAverageLatencyMillisForDisplay() {
+        return String.format("%.1f", getAverageLatencyMillis());
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: %d tasks in %d calls (average batch size %.1f, max %d), "
+                             + "average latency %.1f ms (max %d ms)",
+                             queueName, numberOfTasksAdded, numberOfAddCalls, getAverageBatchSize(), maxBatchSize,
+                             getAverageLatencyMillis(), maxLatencyMillis);
+    }
+    
+}
@@ -1,9 +1,15 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
-import com.google.appengine.api.taskqueue.Queue;
 import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskHandle;
 import com.google.appengine.api.taskqueue.TaskOptions;
 
 /**
@@ -13,6 +19,8 @@ public class TaskQueuesLogic {
 
     private static TaskQueuesLogic instance;
     
+    private final Map<String, TaskQueueMetrics> metricsByQueue = new HashMap<String, TaskQueueMetrics>();
+    
     public static TaskQueuesLogic inst() {
         if (instance == null) {
             instance = new TaskQueuesLogic();
@@ -22,50 +30,134 @@ public class TaskQueuesLogic {
     
     public void createAndAddTask(String queueName,
             String workerUrl, Map<String, String> paramMap) {
-        Queue requiredQueue = QueueFactory.getQueue(queueName);
-        TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl);
-        
-        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
-            String name = entry.getKey();
-            String value = entry.getValue();
-            
-            taskToBeAdded = taskToBeAdded.param(name, value);
-        }
+        TaskOptions taskToBeAdded = createTask(workerUrl, paramMap);
         
-        requiredQueue.add(taskToBeAdded);
+        addTasks(queueName, Arrays.asList(taskToBeAdded));
     }
     
     // TODO Combine this and createAndAddTask and modify task schedulers accordingly?
     public void createAndAddTaskMultisetParam(String queueName,
             String workerUrl, Map<String, String[]> paramMap) {
-        Queue requiredQueue = QueueFactory.getQueue(queueName);
-        TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl);
-        
-        for (Map.Entry<String, String[]> entry : paramMap.entrySet()) {
-            String name = entry.getKey();
-            String[] value = entry.getValue();
-            
-            for (int i = 0; i < value.length; i++) {
-                taskToBeAdded = taskToBeAdded.param(name, value[i]);
-            }
-        }
+        TaskOptions taskToBeAdded = createTaskMultisetParam(workerUrl, paramMap);
         
-        requiredQueue.add(taskToBeAdded);
+        addTasks(queueName, Arrays.asList(taskToBeAdded));
     }
     
     public void createAndAddDeferredTask(String queueName,
             String workerUrl, Map<String, String> paramMap, long countdownTime) {
-        Queue requiredQueue = QueueFactory.getQueue(queueName);
-        TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl);
+        TaskOptions taskToBeAdded = createTask(workerUrl, paramMap);
         taskToBeAdded.countdownMillis(countdownTime);
         
+        addTasks(queueName, Arrays.asList(taskToBeAdded));
+    }
+    
+    /**
+     * Adds one task for each of the {@code paramMaps} to the queue, with as few calls to the queue as possible.
+     * The n-th task (starting from 0) is deferred by n times {@code countdownInterval} milliseconds.
+     */
+    public void createAndAddTasksMultisetParam(String queueName, String workerUrl,
+            List<Map<String, String[]>> paramMaps, long countdownInterval) {
+        TaskQueueBatch batch = createTaskBatch(queueName, workerUrl, countdownInterval);
+        for (Map<String, String[]> paramMap : paramMaps) {
+            batch.addTaskMultisetParam(paramMap);
+        }
+        batch.flush();
+    }
+    
+    /**
+     * Creates an empty batch of tasks to be added to the queue with as few calls to the queue as possible.
+     * The n-th task (starting from 0) added to the batch is deferred by n times {@code countdownInterval}
+     * milliseconds, so that the tasks are spread out over time.
+     * 
+     * @see TaskQueueBatch
+     */
+    public TaskQueueBatch createTaskBatch(String queueName, String workerUrl, long countdownInterval) {
+        return new TaskQueueBatch(queueName, workerUrl, countdownInterval);
+    }
+    
+    /**
+     * Adds a task carrying {@code payload} to the pull queue without waiting for the task to be added,
+     * so that the caller is not held up by the call to the queue.
+     * The tasks of a pull queue are not executed, but leased in bulk by {@link #leaseTasks}.
+     */
+    public void createAndAddPullTaskAsync(String queueName, byte[] payload) {
+        QueueFactory.getQueue(queueName).addAsync(
+                TaskOptions.Builder.withMethod(TaskOptions.Method.PULL).payload(payload));
+    }
+    
+    /**
+     * Leases up to {@code countLimit} tasks from the pull queue for {@code leaseSeconds} seconds.
+     * The tasks are to be deleted with {@link #deleteTasks} once they are done with;
+     * otherwise they can be leased again when their lease expires.
+     */
+    public List<TaskHandle> leaseTasks(String queueName, long leaseSeconds, long countLimit) {
+        return QueueFactory.getQueue(queueName).leaseTasks(leaseSeconds, TimeUnit.SECONDS, countLimit);
+    }
+    
+    public void deleteTasks(String queueName, List<TaskHandle> tasks) {
+        QueueFactory.getQueue(queueName).deleteTask(tasks);
+    }
+    
+    /**
+     * Returns the metrics of the calls made by this instance to add tasks to the queue.
+     */
+    public synchronized TaskQueueMetrics getMetrics(String queueName) {
+        TaskQueueMetrics metrics = metricsByQueue.get(queueName);
+        if (metrics == null) {
+            metrics = new TaskQueueMetrics(queueName);
+            metricsByQueue.put(queueName, metrics);
+        }
+        return metrics;
+    }
+    
+    /**
+     * Returns the metrics of the calls made by this instance to add tasks to each queue, keyed by queue name.
+     */
+    public synchronized Map<String, TaskQueueMetrics> getAllMetrics() {
+        return new HashMap<String, TaskQueueMetrics>(metricsByQueue);
+    }
+    
+    /**
+     * Returns the metrics of the calls made by this instance to add tasks to each queue it has added tasks to,
+     * sorted by queue name.
+     */
+    public List<TaskQueueMetrics> getAllMetricsSortedByQueueName() {
+        return new ArrayList<TaskQueueMetrics>(new TreeMap<String, TaskQueueMetrics>(getAllMetrics()).values());
+    }
+    
+    /**
+     * Adds the {@code tasks} to the queue with a single call to the queue, and records the call in the
+     * metrics of the queue.
+     */
+    void addTasks(String queueName, List<TaskOptions> tasks) {
+        long startTime = System.currentTimeMillis();
+        QueueFactory.getQueue(queueName).add(tasks);
+        getMetrics(queueName).recordAdd(tasks.size(), System.currentTimeMillis() - startTime);
+    }
+    
+    static TaskOptions createTask(String workerUrl, Map<String, String> paramMap) {
+        TaskOptions task = TaskOptions.Builder.withUrl(workerUrl);
+        
         for (Map.Entry<String, String> entry : paramMap.entrySet()) {
             String name = entry.getKey();
             String value = entry.getValue();
             
-            taskToBeAdded = taskToBeAdded.param(name, value);
+            task = task.param(name, value);
         }
+        return task;
+    }
+    
+    static TaskOptions createTaskMultisetParam(String workerUrl, Map<String, String[]> paramMap) {
+        TaskOptions task = TaskOptions.Builder.withUrl(workerUrl);
         
-        requiredQueue.add(taskToBeAdded);
+        for (Map.Entry<String, String[]> entry : paramMap.entrySet()) {
+            String name = entry.getKey();
+            String[] value = entry.getValue();
+            
+            for (int i = 0; i < value.length; i++) {
+                task = task.param(name, value[i]);
+            }
+        }
+        return task;
     }
 }
@@ -7,6 +7,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.Const;
+import teammates.common.util.HttpRequestHelper;
 
 import com.google.appengine.api.blobstore.BlobKey;
 import com.google.appengine.api.blobstore.BlobstoreService;
@@ -36,8 +37,12 @@ public class PublicImageServlet extends PublicResourcesServlet {
                 resp.sendError(1, "No image found");
             } else {
                 resp.setContentType("image/png");
-                BlobstoreService blobstoreService = BlobstoreServiceFactory.getBlobstoreService();
-                blobstoreService.serve(new BlobKey(blobKey), resp);
+                boolean isCachedByClient = HttpRequestHelper.setImageCacheHeadersAndCheckNotModified(
+                        req, resp, blobKey, Const.SystemParams.PUBLIC_IMAGE_CACHE_MAX_AGE_SECONDS, true);
+                if (!isCachedByClient) {
+                    BlobstoreService blobstoreService = BlobstoreServiceFactory.getBlobstoreService();
+                    blobstoreService.serve(new BlobKey(blobKey), resp);
+                }
                 // TODO : restrict image request to those "public" files only
                 
                 String url = req.getRequestURL().toString() + "?blob-key=" + blobKey;
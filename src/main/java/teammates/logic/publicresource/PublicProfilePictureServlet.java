@@ -0,0 +1,56 @@
+package teammates.logic.publicresource;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.Const;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.ProfilePicturesLogic;
+
+import com.google.appengine.api.blobstore.BlobKey;
+import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
+
+/**
+ * Serves the profile picture stored in google cloud storage using a signed URL.<br>
+ * The access to the picture has been checked when the URL was issued, so the picture is served
+ * as long as the signature is correct and has not expired, without reading from the datastore.
+ *
+ * @see ProfilePicturesLogic
+ */
+@SuppressWarnings("serial")
+public class PublicProfilePictureServlet extends PublicResourcesServlet {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+
+        servletName = Const.PublicActionNames.PUBLIC_PROFILE_PICTURE_SERVE_ACTION;
+        action = Const.PublicActionNames.PUBLIC_PROFILE_PICTURE_SERVE_ACTION;
+
+        requestParameters = req.getParameterMap();
+        String blobKey = getBlobKeyFromRequest();
+        String expiry = getRequestParamValue(Const.ParamsNames.PROFILE_PICTURE_EXPIRY);
+        String signature = getRequestParamValue(Const.ParamsNames.PROFILE_PICTURE_SIGNATURE);
+
+        try {
+            if (!ProfilePicturesLogic.inst().isValidProfilePictureSignature(blobKey, expiry, signature)) {
+                logMessage(req, "Failed to serve profile picture : signature is invalid or has expired");
+                resp.sendError(HttpServletResponse.SC_FORBIDDEN, "Profile picture link is invalid or has expired");
+            } else {
+                resp.setContentType("image/png");
+                // the picture can be cached until the link expires, as the picture with a key never changes
+                int maxAgeSeconds = (int) ((Long.parseLong(expiry) - System.currentTimeMillis()) / 1000);
+                if (!HttpRequestHelper.setImageCacheHeadersAndCheckNotModified(req, resp, blobKey,
+                                                                               maxAgeSeconds, false)) {
+                    BlobstoreServiceFactory.getBlobstoreService().serve(new BlobKey(blobKey), resp);
+                }
+            }
+        } catch (IOException e) {
+            log.warning(ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
+        }
+    }
+
+}
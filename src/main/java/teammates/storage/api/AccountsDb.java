@@ -2,7 +2,9 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.JDOObjectNotFoundException;
@@ -100,6 +102,25 @@ public class AccountsDb extends EntitiesDb {
     public AccountAttributes getAccount(String googleId) {
         return getAccount(googleId, false);
     }
+    
+    /**
+     * Gets the accounts with the given googleIds in one batch get, without their student profiles.
+     * Accounts that do not exist are skipped.
+     * @return the accounts keyed by googleId
+     */
+    public Map<String, AccountAttributes> getAccounts(Collection<String> googleIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleIds);
+        
+        List<Account> accountEntities = getEntitiesForKeys(Account.class, "googleId", googleIds);
+        // closing before conversion keeps the student profiles from being fetched one by one
+        closePm();
+        
+        Map<String, AccountAttributes> accounts = new HashMap<String, AccountAttributes>();
+        for (Account a : accountEntities) {
+            accounts.put(a.getGoogleId(), new AccountAttributes(a));
+        }
+        return accounts;
+    }
 
     /**
      * @return {@link AccountAttribute} objects for all accounts with instructor privileges.
@@ -186,9 +207,7 @@ public class AccountsDb extends EntitiesDb {
             return;
         }
         
-        if (!accountToDelete.studentProfile.pictureKey.isEmpty()) {
-            deletePicture(new BlobKey(accountToDelete.studentProfile.pictureKey));
-        }
+        deleteProfilePictures(accountToDelete.studentProfile);
         deleteEntity(accountToDelete);
         closePm();
     }
@@ -196,13 +215,20 @@ public class AccountsDb extends EntitiesDb {
     public void deleteAccounts(Collection<AccountAttributes> accounts) {
 
         for (AccountAttributes accountToDelete : accounts) {
-            if (!accountToDelete.studentProfile.pictureKey.isEmpty()) {
-                deletePicture(new BlobKey(accountToDelete.studentProfile.pictureKey));
-            }
+            deleteProfilePictures(accountToDelete.studentProfile);
         }
         deleteEntities(accounts);
         closePm();
     }
+    
+    private void deleteProfilePictures(StudentProfileAttributes profile) {
+        if (!profile.pictureKey.isEmpty()) {
+            deletePicture(new BlobKey(profile.pictureKey));
+        }
+        if (profile.thumbnailKey != null && !profile.thumbnailKey.isEmpty()) {
+            deletePicture(new BlobKey(profile.thumbnailKey));
+        }
+    }
 
     private Account getAccountEntity(String googleId, boolean retrieveStudentProfile) {
         
@@ -0,0 +1,233 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.Query;
+
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
+
+import teammates.common.datatransfer.ActivityLogSearchKey;
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.util.ActivityLogLine;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.entity.ActivityLog;
+
+import com.google.appengine.api.datastore.Cursor;
+
+/**
+ * Handles operations on the {@link ActivityLog} entities, the activity logs kept in the datastore.<br>
+ * The logs are only ever written, looked up and deleted once they are old enough, never updated.
+ * All lookups return the logs latest first.
+ */
+public class ActivityLogsDb extends EntitiesDb {
+    
+    /** Maximum number of entities written by a single call to the datastore */
+    public static final int ACTIVITY_LOGS_PER_BATCH = 500;
+    
+    /** Maximum number of values the datastore allows in a single "contains" filter */
+    private static final int MAX_VALUES_PER_QUERY = 30;
+    
+    private static final Comparator<ActivityLogLine> LATEST_FIRST = new Comparator<ActivityLogLine>() {
+        @Override
+        public int compare(ActivityLogLine logLine1, ActivityLogLine logLine2) {
+            return Long.compare(logLine2.getTime(), logLine1.getTime());
+        }
+    };
+    
+    /**
+     * Writes the logs, replacing any existing logs with the same IDs.
+     * @param logLinesById the log lines keyed by the unique IDs of the logs
+     */
+    public void putActivityLogs(Map<String, ActivityLogLine> logLinesById) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, logLinesById);
+        
+        List<ActivityLog> logs = new ArrayList<ActivityLog>();
+        for (Map.Entry<String, ActivityLogLine> logLine : logLinesById.entrySet()) {
+            logs.add(new ActivityLog(logLine.getKey(), logLine.getValue()));
+        }
+        
+        for (int from = 0; from < logs.size(); from += ACTIVITY_LOGS_PER_BATCH) {
+            getPm().makePersistentAll(logs.subList(from, Math.min(from + ACTIVITY_LOGS_PER_BATCH, logs.size())));
+        }
+        getPm().flush();
+    }
+    
+    /**
+     * Returns the logs between {@code startTime} and {@code endTime} (both inclusive, in milliseconds since
+     * the Unix epoch) whose {@code key} matches any of the {@code values}, ignoring case.
+     * The logs are looked up by the periods they fall in, so the cost grows with the length of the time period
+     * (in days for {@link ActivityLogSearchKey#PERSON}, in hours for the other keys) rather than with the number
+     * of logs in it.
+     */
+    public List<ActivityLogLine> getActivityLogs(ActivityLogSearchKey key, Collection<String> values,
+                                                 long startTime, long endTime) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, key);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, values);
+        
+        List<String> searchValues = new ArrayList<String>();
+        long lastPeriod = ActivityLog.getSearchPeriod(key, endTime);
+        for (String value : values) {
+            for (long period = ActivityLog.getSearchPeriod(key, startTime); period <= lastPeriod; period++) {
+                searchValues.add(ActivityLog.makeSearchValue(value, period));
+            }
+        }
+        
+        // a log matching several values is returned by each query matching it
+        Map<String, ActivityLogLine> logLinesById = new LinkedHashMap<String, ActivityLogLine>();
+        for (int from = 0; from < searchValues.size(); from += MAX_VALUES_PER_QUERY) {
+            List<String> batch = searchValues.subList(from, Math.min(from + MAX_VALUES_PER_QUERY, searchValues.size()));
+            
+            // equality filters on a single property only, so that no composite index is needed
+            Query q = getPm().newQuery(ActivityLog.class);
+            q.setFilter(":p.contains(" + getSearchFieldName(key) + ")");
+            
+            @SuppressWarnings("unchecked")
+            List<ActivityLog> logs = (List<ActivityLog>) q.execute(new ArrayList<String>(batch));
+            for (ActivityLog log : logs) {
+                boolean isInPeriod = log.getTime() >= startTime && log.getTime() <= endTime;
+                if (isInPeriod && !JDOHelper.isDeleted(log)) {
+                    logLinesById.put(log.getActivityLogId(), log.getActivityLogLine());
+                }
+            }
+        }
+        
+        List<ActivityLogLine> logLines = new ArrayList<ActivityLogLine>(logLinesById.values());
+        Collections.sort(logLines, LATEST_FIRST);
+        return logLines;
+    }
+    
+    /**
+     * Returns an iterator over all logs between {@code startTime} and {@code endTime} (both inclusive,
+     * in milliseconds since the Unix epoch), which retrieves them in batches as they are iterated over.
+     */
+    public Iterator<ActivityLogLine> getActivityLogIteratorForPeriod(long startTime, long endTime) {
+        return new ActivityLogIterator(startTime, endTime, ACTIVITY_LOGS_PER_BATCH);
+    }
+    
+    /**
+     * Deletes at most {@code maxLogs} of the logs older than {@code time} (in milliseconds since the Unix epoch),
+     * the oldest first.
+     * @return the number of logs deleted
+     */
+    public int deleteActivityLogsBefore(long time, int maxLogs) {
+        // the filter and the ordering are on the same property, which needs no composite index
+        Query q = getPm().newQuery(ActivityLog.class);
+        q.declareParameters("long timeParam");
+        q.setFilter("time < timeParam");
+        q.setOrdering("time asc");
+        q.setRange(0, maxLogs);
+        
+        @SuppressWarnings("unchecked")
+        List<ActivityLog> logs = (List<ActivityLog>) q.execute(time);
+        int numberOfLogs = logs.size();
+        getPm().deletePersistentAll(logs);
+        getPm().flush();
+        return numberOfLogs;
+    }
+    
+    private static String getSearchFieldName(ActivityLogSearchKey key) {
+        switch (key) {
+        case PERSON:
+            return "personDays";
+        case ROLE:
+            return "roleHour";
+        case SERVLET:
+            return "servletHour";
+        default:
+            Assumption.fail("Unknown search key " + key);
+            return null;
+        }
+    }
+    
+    /**
+     * Iterates over the logs in a time period one batch at a time, latest first.
+     * Only the current batch is held in memory.
+     */
+    private class ActivityLogIterator implements Iterator<ActivityLogLine> {
+        
+        private final long startTime;
+        private final long endTime;
+        private final int batchSize;
+        
+        private Iterator<ActivityLogLine> batch = new ArrayList<ActivityLogLine>().iterator();
+        private Cursor cursor;
+        private boolean isAllRetrieved;
+        
+        ActivityLogIterator(long startTime, long endTime, int batchSize) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.batchSize = batchSize;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext() && !isAllRetrieved) {
+                batch = retrieveNextBatch();
+            }
+            return batch.hasNext();
+        }
+        
+        @Override
+        public ActivityLogLine next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+        
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+        
+        @SuppressWarnings("unchecked")
+        private Iterator<ActivityLogLine> retrieveNextBatch() {
+            // the filters and the ordering are on the same property, which needs no composite index
+            Query q = getPm().newQuery(ActivityLog.class);
+            q.declareParameters("long startTimeParam, long endTimeParam");
+            q.setFilter("time >= startTimeParam && time <= endTimeParam");
+            q.setOrdering("time desc");
+            q.setRange(0, batchSize);
+            if (cursor != null) {
+                Map<String, Object> extensionMap = new HashMap<String, Object>();
+                extensionMap.put(JDOCursorHelper.CURSOR_EXTENSION, cursor);
+                q.setExtensions(extensionMap);
+            }
+            
+            List<ActivityLog> logs = (List<ActivityLog>) q.execute(startTime, endTime);
+            List<ActivityLogLine> logLines = new ArrayList<ActivityLogLine>();
+            for (ActivityLog log : logs) {
+                if (!JDOHelper.isDeleted(log)) {
+                    logLines.add(log.getActivityLogLine());
+                }
+            }
+            
+            if (logs.size() < batchSize) {
+                isAllRetrieved = true;
+            } else {
+                cursor = JDOCursorHelper.getCursor(logs);
+            }
+            return logLines.iterator();
+        }
+        
+    }
+    
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        // the logs have no attributes class; they are only looked up in bulk
+        Assumption.fail("Activity logs are only looked up in bulk");
+        return null;
+    }
+    
+}
@@ -81,6 +81,20 @@ public class BothQuestionsDb extends EntitiesDb {
         return oldQuestion;
     }
     
+    /**
+     * Gets the questions with the given IDs, taking one batch get for each question type.
+     * IDs of non-existent questions are skipped.
+     * 
+     * @return the questions keyed by question ID
+     */
+    public Map<String, FeedbackQuestionAttributes> getFeedbackQuestions(Collection<String> feedbackQuestionIds) {
+        Map<String, FeedbackQuestionAttributes> questions = oldQuestionsDb.getFeedbackQuestions(feedbackQuestionIds);
+        if (!questions.isEmpty()) {
+            questions.putAll(newQuestionsDb.getFeedbackQuestions(questions.values()));
+        }
+        return questions;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
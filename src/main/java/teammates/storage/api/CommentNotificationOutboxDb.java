@@ -0,0 +1,146 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.Transaction;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.entity.CommentNotificationOutbox;
+
+/**
+ * Handles operations on the {@link CommentNotificationOutbox} of a course, i.e. the emails of
+ * students yet to be notified of comments cleared from the pending state.<br>
+ * Recipients are appended when comments are cleared, and are drained when the notifications are sent,
+ * so that sending does not need to re-resolve the recipients of every comment in the course.
+ */
+public class CommentNotificationOutboxDb extends EntitiesDb {
+    
+    private static final int MAX_ATTEMPTS_ON_CONTENTION = 5;
+    
+    /**
+     * Appends {@code recipientEmails} to the outbox of the course, ignoring emails already in it.
+     * The append is retried up to {@value #MAX_ATTEMPTS_ON_CONTENTION} times if it fails due to
+     * a concurrent update of the same outbox.
+     */
+    public void appendRecipientEmails(String courseId, Collection<String> recipientEmails) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, recipientEmails);
+        
+        if (recipientEmails.isEmpty()) {
+            return;
+        }
+        
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            try {
+                tryAppendRecipientEmails(courseId, recipientEmails);
+                return;
+            } catch (RuntimeException e) {
+                if (attempts >= MAX_ATTEMPTS_ON_CONTENTION || !isCausedByContention(e)) {
+                    throw e;
+                }
+                log.warning("Contention when appending to the comment notification outbox of course " + courseId
+                            + ", attempt " + attempts + " of " + MAX_ATTEMPTS_ON_CONTENTION);
+            }
+        }
+    }
+    
+    private void tryAppendRecipientEmails(String courseId, Collection<String> recipientEmails) {
+        Transaction txn = getPm().currentTransaction();
+        try {
+            txn.begin();
+            
+            CommentNotificationOutbox outbox = getOutboxEntity(courseId);
+            if (outbox == null) {
+                outbox = new CommentNotificationOutbox(courseId);
+            }
+            Set<String> emails = new LinkedHashSet<String>(outbox.getRecipientEmails());
+            emails.addAll(recipientEmails);
+            outbox.setRecipientEmails(new ArrayList<String>(emails));
+            outbox.setUpdatedAt(new Date());
+            getPm().makePersistent(outbox);
+            
+            txn.commit();
+        } finally {
+            if (txn.isActive()) {
+                txn.rollback();
+            }
+            getPm().close();
+        }
+    }
+    
+    private static boolean isCausedByContention(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrentModificationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Removes and returns all emails in the outbox of the course.
+     * Concurrent drains of the same outbox never return the same email twice.
+     * @return an empty set if the outbox of the course is empty
+     */
+    public Set<String> drainRecipientEmails(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Transaction txn = getPm().currentTransaction();
+        try {
+            txn.begin();
+            
+            CommentNotificationOutbox outbox = getOutboxEntity(courseId);
+            if (outbox == null) {
+                return new LinkedHashSet<String>();
+            }
+            Set<String> emails = new LinkedHashSet<String>(outbox.getRecipientEmails());
+            getPm().deletePersistent(outbox);
+            
+            txn.commit();
+            return emails;
+        } finally {
+            if (txn.isActive()) {
+                txn.rollback();
+            }
+            getPm().close();
+        }
+    }
+    
+    /**
+     * Returns the emails in the outbox of the course without removing them.
+     * @return an empty set if the outbox of the course is empty
+     */
+    public Set<String> getRecipientEmails(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        CommentNotificationOutbox outbox = getOutboxEntity(courseId);
+        return outbox == null ? new LinkedHashSet<String>()
+                              : new LinkedHashSet<String>(outbox.getRecipientEmails());
+    }
+    
+    private CommentNotificationOutbox getOutboxEntity(String courseId) {
+        try {
+            return getPm().getObjectById(CommentNotificationOutbox.class, courseId);
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+    
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        // the outbox has no attributes class; it is only accessed through its course ID
+        Assumption.fail("Outbox entities are only accessed by course ID");
+        return null;
+    }
+    
+}
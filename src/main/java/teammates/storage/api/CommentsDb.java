@@ -249,18 +249,24 @@ public class CommentsDb extends EntitiesDb {
     
     /*
      * Update comment from old state to new state
+     * @return the updated comments
      */
-    public void updateComments(String courseId, CommentSendingState oldState, CommentSendingState newState) {
+    public List<CommentAttributes> updateComments(String courseId, CommentSendingState oldState,
+                                                  CommentSendingState newState) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
         List<Comment> comments = getCommentEntitiesForSendingState(courseId, oldState);
+        List<CommentAttributes> updatedComments = new ArrayList<CommentAttributes>();
         
         for (Comment comment : comments) {
             comment.setSendingState(newState);
+            updatedComments.add(new CommentAttributes(comment));
         }
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        
+        return updatedComments;
     }
 
     /**
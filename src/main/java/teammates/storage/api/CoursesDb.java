@@ -2,7 +2,9 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -128,6 +130,39 @@ public class CoursesDb extends EntitiesDb {
     }
     
 
+    /**
+     * Gets the institutes stored with the given courses.
+     * @return a map from course ID to institute, without the courses that do not exist
+     *         or whose institute has not been resolved yet
+     */
+    public Map<String, String> getCourseInstitutes(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        Map<String, String> institutes = new HashMap<String, String>();
+        for (Course course : getCourseEntities(courseIds)) {
+            if (!JDOHelper.isDeleted(course) && course.getInstitute() != null) {
+                institutes.put(course.getUniqueId(), course.getInstitute());
+            }
+        }
+        return institutes;
+    }
+    
+    /**
+     * Stores the institute of the course, or marks it as unresolved if {@code institute} is null.<br>
+     * Fails silently if there is no such course.
+     */
+    public void updateCourseInstitute(String courseId, String institute) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        Course course = getCourseEntity(courseId);
+        if (course == null) {
+            return;
+        }
+        
+        course.setInstitute(institute);
+        getPm().close();
+    }
+    
     /**
      * Note: This is a non-cascade delete.<br>
      *   <br> Fails silently if there is no such object.
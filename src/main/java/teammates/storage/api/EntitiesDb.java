@@ -2,11 +2,13 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
@@ -43,6 +45,11 @@ public abstract class EntitiesDb {
     public static final String ERROR_CREATE_INSTRUCTOR_ALREADY_EXISTS = "Trying to create a Instructor that exists: ";
     public static final String ERROR_TRYING_TO_MAKE_NON_EXISTENT_ACCOUNT_AN_INSTRUCTOR =
             "Trying to make an non-existent account an Instructor :";
+    
+    /**
+     * The maximum number of keys the datastore accepts in one batch get.
+     */
+    protected static final int MAX_KEYS_PER_BATCH_GET = 1000;
 
     protected static final Logger log = Utils.getLogger();
     
@@ -294,6 +301,39 @@ public abstract class EntitiesDb {
      */
     protected abstract Object getEntity(EntityAttributes attributes);
     
+    /**
+     * Gets the entities of {@code entityClass} whose primary key is one of {@code keys}.<br>
+     * The datastore runs a {@code contains} filter on the primary key as a single batch get,
+     * so this takes one round trip per {@value #MAX_KEYS_PER_BATCH_GET} keys, whereas
+     * {@code getObjectById} and {@code getObjectsById} take one round trip per key.<br>
+     * Keys that do not match any entity are skipped.
+     * 
+     * @param keyFieldName the name of the primary key field of {@code entityClass}
+     * @param keys values of the primary key, as encoded key strings if the primary key is encoded
+     */
+    protected <T> List<T> getEntitiesForKeys(Class<T> entityClass, String keyFieldName, Collection<?> keys) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, keys);
+        
+        List<Object> uniqueKeys = new ArrayList<Object>(new LinkedHashSet<Object>(keys));
+        List<T> entities = new ArrayList<T>();
+        
+        for (int from = 0; from < uniqueKeys.size(); from += MAX_KEYS_PER_BATCH_GET) {
+            List<Object> batch = uniqueKeys.subList(from, Math.min(from + MAX_KEYS_PER_BATCH_GET, uniqueKeys.size()));
+            
+            Query q = getPm().newQuery(entityClass);
+            q.setFilter(":p.contains(" + keyFieldName + ")");
+            
+            @SuppressWarnings("unchecked")
+            List<T> entitiesInBatch = (List<T>) q.execute(new ArrayList<Object>(batch));
+            for (T entity : entitiesInBatch) {
+                if (!JDOHelper.isDeleted(entity)) {
+                    entities.add(entity);
+                }
+            }
+        }
+        return entities;
+    }
+    
     protected PersistenceManager getPm() {
         return Datastore.getPersistenceManager();
     }
@@ -3,7 +3,9 @@ package teammates.storage.api;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -54,6 +56,21 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         
         return new FeedbackQuestionAttributes(fq);
     }
+    
+    /**
+     * Gets the questions with the given IDs using one batch get.
+     * IDs of non-existent questions are skipped.
+     * 
+     * @return the questions keyed by question ID
+     */
+    public Map<String, FeedbackQuestionAttributes> getFeedbackQuestions(Collection<String> feedbackQuestionIds) {
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        for (FeedbackQuestion fq : getEntitiesForKeys(FeedbackQuestion.class, "feedbackQuestionId",
+                                                      feedbackQuestionIds)) {
+            questions.put(fq.getId(), new FeedbackQuestionAttributes(fq));
+        }
+        return questions;
+    }
 
     public FeedbackQuestionAttributes createFeedbackQuestionWithoutExistenceCheck(
             EntityAttributes entityToAdd) throws InvalidParametersException {
@@ -412,20 +412,25 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
     
     /*
      * Update response comments from old state to new state
+     * @return the updated response comments
      */
-    public void updateFeedbackResponseComments(String courseId, String feedbackSessionName,
-                                               CommentSendingState oldState, CommentSendingState newState) {
+    public List<FeedbackResponseCommentAttributes> updateFeedbackResponseComments(
+            String courseId, String feedbackSessionName, CommentSendingState oldState, CommentSendingState newState) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
         List<FeedbackResponseComment> frcList =
                 getFeedbackResponseCommentEntityForSendingState(courseId, feedbackSessionName, oldState);
+        List<FeedbackResponseCommentAttributes> updatedComments = new ArrayList<FeedbackResponseCommentAttributes>();
         
         for (FeedbackResponseComment frComment : frcList) {
             frComment.setSendingState(newState);
+            updatedComments.add(new FeedbackResponseCommentAttributes(frComment));
         }
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        
+        return updatedComments;
     }
     
     /*
@@ -46,6 +46,21 @@ public class FeedbackResponsesDb extends EntitiesDb {
         }
         return new FeedbackResponseAttributes(feedbackResponse);
     }
+    
+    /**
+     * Gets the responses with the given IDs using one batch get.
+     * IDs of non-existent responses are skipped.
+     * 
+     * @return the responses keyed by response ID
+     */
+    public Map<String, FeedbackResponseAttributes> getFeedbackResponses(Collection<String> feedbackResponseIds) {
+        Map<String, FeedbackResponseAttributes> responses = new HashMap<String, FeedbackResponseAttributes>();
+        for (FeedbackResponse fr : getEntitiesForKeys(FeedbackResponse.class, "feedbackResponseId",
+                                                      feedbackResponseIds)) {
+            responses.put(fr.getId(), new FeedbackResponseAttributes(fr));
+        }
+        return responses;
+    }
 
     /**
      * Preconditions: <br>
@@ -0,0 +1,214 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import javax.jdo.Query;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionScheduleEvent;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.common.util.Const.SystemParams;
+import teammates.common.util.TimeHelper;
+import teammates.storage.entity.FeedbackSession;
+import teammates.storage.entity.FeedbackSessionScheduleEntry;
+
+/**
+ * Handles operations on the {@link FeedbackSessionScheduleEntry} entities, which index the feedback sessions
+ * by the hour their {@link FeedbackSessionScheduleEvent events} are due in.<br>
+ * Only events which may still need emails to be sent are indexed. Events due before the entries are written,
+ * such as the opening of a session created with a start time in the past, are indexed in the current hour.
+ * The opening and published events stay indexed until their emails are sent, so that they are
+ * {@link #getFeedbackSessionIdsScheduledUpTo looked up} by every job run until then.
+ * The entries of a session are rewritten every time the session is updated,
+ * so they are only accessed through {@link FeedbackSessionsDb}.
+ */
+public class FeedbackSessionScheduleDb extends EntitiesDb {
+    
+    private static final long MILLISECONDS_PER_HOUR = 60L * 60 * 1000;
+    
+    /**
+     * Writes the schedule entries of {@code sessions}, replacing any existing entries of the sessions.
+     */
+    public void putScheduleEntries(Collection<FeedbackSessionAttributes> sessions) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, sessions);
+        
+        long currentHour = getHour(new Date());
+        List<FeedbackSessionScheduleEntry> entriesToPut = new ArrayList<FeedbackSessionScheduleEntry>();
+        List<String> entryIdsToDelete = new ArrayList<String>();
+        for (FeedbackSessionAttributes session : sessions) {
+            String feedbackSessionId = FeedbackSession.makeId(session.getFeedbackSessionName(), session.getCourseId());
+            for (FeedbackSessionScheduleEvent event : FeedbackSessionScheduleEvent.values()) {
+                Long hour = getScheduledHour(session, event, currentHour);
+                if (hour == null) {
+                    entryIdsToDelete.add(FeedbackSessionScheduleEntry.makeId(event.name(), feedbackSessionId));
+                } else {
+                    entriesToPut.add(new FeedbackSessionScheduleEntry(event.name(), hour, session.getCourseId(),
+                                                                      feedbackSessionId));
+                }
+            }
+        }
+        
+        getPm().makePersistentAll(entriesToPut);
+        getPm().deletePersistentAll(
+                getEntitiesForKeys(FeedbackSessionScheduleEntry.class, "scheduleEntryId", entryIdsToDelete));
+        getPm().flush();
+    }
+    
+    /**
+     * Deletes the schedule entries of the session.
+     */
+    public void deleteScheduleEntries(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        
+        String feedbackSessionId = FeedbackSession.makeId(feedbackSessionName, courseId);
+        List<String> entryIds = new ArrayList<String>();
+        for (FeedbackSessionScheduleEvent event : FeedbackSessionScheduleEvent.values()) {
+            entryIds.add(FeedbackSessionScheduleEntry.makeId(event.name(), feedbackSessionId));
+        }
+        
+        getPm().deletePersistentAll(
+                getEntitiesForKeys(FeedbackSessionScheduleEntry.class, "scheduleEntryId", entryIds));
+        getPm().flush();
+    }
+    
+    /**
+     * Deletes the schedule entries of all sessions in the courses.
+     */
+    public void deleteScheduleEntriesForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        
+        Query q = getPm().newQuery(FeedbackSessionScheduleEntry.class);
+        q.setFilter(":p.contains(courseId)");
+        
+        getPm().deletePersistentAll((Collection<?>) q.execute(courseIds));
+        getPm().flush();
+    }
+    
+    /**
+     * Returns the IDs of the sessions with {@code event} due in the hour of {@code time} or in the hour before it.
+     * The hour before is included so that an hourly job does not miss events due between the minute it ran at
+     * in the previous hour and the end of that hour. The job is expected to check whether each session is
+     * really due, as the entries of closing soon events are not removed once the emails are sent.
+     */
+    public List<String> getFeedbackSessionIdsScheduledAround(FeedbackSessionScheduleEvent event, Date time) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, event);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, time);
+        
+        long hour = getHour(time);
+        List<String> eventHours = new ArrayList<String>();
+        eventHours.add(FeedbackSessionScheduleEntry.makeEventHour(event.name(), hour - 1));
+        eventHours.add(FeedbackSessionScheduleEntry.makeEventHour(event.name(), hour));
+        
+        // equality filters on a single property only, so that no composite index is needed
+        Query q = getPm().newQuery(FeedbackSessionScheduleEntry.class);
+        q.setFilter(":p.contains(eventHour)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackSessionScheduleEntry> entries = (List<FeedbackSessionScheduleEntry>) q.execute(eventHours);
+        
+        List<String> feedbackSessionIds = new ArrayList<String>();
+        for (FeedbackSessionScheduleEntry entry : entries) {
+            feedbackSessionIds.add(entry.getFeedbackSessionId());
+        }
+        return feedbackSessionIds;
+    }
+    
+    /**
+     * Returns the IDs of the sessions with {@code event} due in the hour of {@code time} or in any hour before it,
+     * so that an event whose emails were not sent by the job run in the hour it is due in, e.g. because they
+     * failed to be queued or because the job did not run in that hour, is looked up again by the next runs.
+     * This is only meaningful for the opening and published events, whose entries are removed once the emails
+     * are sent. The job is expected to {@link #putScheduleEntries rewrite} the entries of the sessions it looks up,
+     * so that the entries of sessions which no longer need the emails, e.g. sessions closed before their opening
+     * emails were sent, are removed.
+     */
+    public List<String> getFeedbackSessionIdsScheduledUpTo(FeedbackSessionScheduleEvent event, Date time) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, event);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, time);
+        Assumption.assertTrue("Closing soon emails are only sent within the hour after the alert time",
+                              event != FeedbackSessionScheduleEvent.CLOSING_SOON);
+        
+        // a range filter on a single property only, so that no composite index is needed
+        Query q = getPm().newQuery(FeedbackSessionScheduleEntry.class);
+        q.declareParameters("String fromEventHourParam, String toEventHourParam");
+        q.setFilter("eventHour >= fromEventHourParam && eventHour <= toEventHourParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackSessionScheduleEntry> entries = (List<FeedbackSessionScheduleEntry>) q.execute(
+                FeedbackSessionScheduleEntry.makeEventHour(event.name(), 0),
+                FeedbackSessionScheduleEntry.makeEventHour(event.name(), getHour(time)));
+        
+        List<String> feedbackSessionIds = new ArrayList<String>();
+        for (FeedbackSessionScheduleEntry entry : entries) {
+            feedbackSessionIds.add(entry.getFeedbackSessionId());
+        }
+        return feedbackSessionIds;
+    }
+    
+    /**
+     * @return the hour {@code event} of the session is to be indexed in,
+     *         or null if no emails will be needed for the event
+     */
+    private static Long getScheduledHour(FeedbackSessionAttributes session, FeedbackSessionScheduleEvent event,
+                                         long currentHour) {
+        if (session.getFeedbackSessionType() == FeedbackSessionType.PRIVATE) {
+            return null;
+        }
+        
+        long endHour = getHour(toUtc(session.getEndTime(), session.getTimeZone()));
+        switch (event) {
+        case OPENING:
+            if (session.isSentOpenEmail() || endHour < currentHour) {
+                return null;
+            }
+            return Math.max(currentHour, getHour(toUtc(session.getStartTime(), session.getTimeZone())));
+        case CLOSING_SOON:
+            long closingSoonHour = endHour - SystemParams.NUMBER_OF_HOURS_BEFORE_CLOSING_ALERT;
+            // the closing emails are only sent by the job run within the hour after the alert time
+            if (!session.isClosingEmailEnabled() || closingSoonHour < currentHour - 1) {
+                return null;
+            }
+            return closingSoonHour;
+        case PUBLISHED:
+            Date resultsVisibleFromTime = session.getResultsVisibleFromTime();
+            if (session.isSentPublishedEmail() || !session.isPublishedEmailEnabled()
+                    || TimeHelper.isSpecialTime(resultsVisibleFromTime)) {
+                return null;
+            }
+            return Math.max(currentHour, getHour(toUtc(resultsVisibleFromTime, session.getTimeZone())));
+        default:
+            Assumption.fail("Unknown schedule event " + event);
+            return null;
+        }
+    }
+    
+    /**
+     * Converts a time stored in the time zone of a session, as all times of sessions are, to UTC.
+     */
+    private static Date toUtc(Date timeInSessionTimeZone, double timeZone) {
+        return new Date(timeInSessionTimeZone.getTime() - (long) (timeZone * MILLISECONDS_PER_HOUR));
+    }
+    
+    private static long getHour(Date time) {
+        return time.getTime() / MILLISECONDS_PER_HOUR;
+    }
+    
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        // the entries have no attributes class; they are only accessed through the sessions they belong to
+        Assumption.fail("Schedule entries are only accessed through their feedback sessions");
+        return null;
+    }
+    
+}
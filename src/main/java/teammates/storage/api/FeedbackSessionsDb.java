@@ -1,6 +1,7 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
@@ -13,7 +14,9 @@ import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionScheduleEvent;
 import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
@@ -25,9 +28,26 @@ public class FeedbackSessionsDb extends EntitiesDb {
     
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Session : ";
 
+    private FeedbackSessionScheduleDb scheduleDb = new FeedbackSessionScheduleDb();
+    
+    @Override
+    public Object createEntity(EntityAttributes entityToAdd)
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        Object createdEntity = super.createEntity(entityToAdd);
+        scheduleDb.putScheduleEntries(Arrays.asList((FeedbackSessionAttributes) entityToAdd));
+        return createdEntity;
+    }
+    
     public void createFeedbackSessions(Collection<FeedbackSessionAttributes> feedbackSessionsToAdd)
             throws InvalidParametersException {
         List<EntityAttributes> feedbackSessionsToUpdate = createEntities(feedbackSessionsToAdd);
+        
+        // the schedule entries of the sessions which already exist are written when they are updated below
+        List<FeedbackSessionAttributes> createdFeedbackSessions =
+                new ArrayList<FeedbackSessionAttributes>(feedbackSessionsToAdd);
+        createdFeedbackSessions.removeAll(feedbackSessionsToUpdate);
+        scheduleDb.putScheduleEntries(createdFeedbackSessions);
+        
         for (EntityAttributes entity : feedbackSessionsToUpdate) {
             FeedbackSessionAttributes session = (FeedbackSessionAttributes) entity;
             try {
@@ -187,6 +207,49 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return fsaList;
     }
     
+    /**
+     * Returns the sessions with {@code event} due in the hour of {@code time} or in the hour before it,
+     * without scanning the other sessions. Some of the sessions may no longer need the emails of the event,
+     * e.g. because they have already been sent.
+     * @see FeedbackSessionScheduleDb#getFeedbackSessionIdsScheduledAround(FeedbackSessionScheduleEvent, Date)
+     */
+    public List<FeedbackSessionAttributes> getFeedbackSessionsScheduledAround(FeedbackSessionScheduleEvent event,
+                                                                              Date time) {
+        List<String> feedbackSessionIds = scheduleDb.getFeedbackSessionIdsScheduledAround(event, time);
+        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        if (feedbackSessionIds.isEmpty()) {
+            return fsaList;
+        }
+        
+        for (FeedbackSession fs : getEntitiesForKeys(FeedbackSession.class, "feedbackSessionId", feedbackSessionIds)) {
+            fsaList.add(new FeedbackSessionAttributes(fs));
+        }
+        return fsaList;
+    }
+    
+    /**
+     * Returns the sessions with {@code event} due in the hour of {@code time} or in any hour before it,
+     * without scanning the other sessions. Some of the sessions may not need the emails of the event yet,
+     * e.g. because they open later within the hour.
+     * The schedule entries of the sessions returned are rewritten according to their current state,
+     * so that sessions which no longer need the emails of the event are not returned again.
+     * @see FeedbackSessionScheduleDb#getFeedbackSessionIdsScheduledUpTo(FeedbackSessionScheduleEvent, Date)
+     */
+    public List<FeedbackSessionAttributes> getFeedbackSessionsScheduledUpTo(FeedbackSessionScheduleEvent event,
+                                                                            Date time) {
+        List<String> feedbackSessionIds = scheduleDb.getFeedbackSessionIdsScheduledUpTo(event, time);
+        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        if (feedbackSessionIds.isEmpty()) {
+            return fsaList;
+        }
+        
+        for (FeedbackSession fs : getEntitiesForKeys(FeedbackSession.class, "feedbackSessionId", feedbackSessionIds)) {
+            fsaList.add(new FeedbackSessionAttributes(fs));
+        }
+        scheduleDb.putScheduleEntries(fsaList);
+        return fsaList;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -265,6 +328,9 @@ public class FeedbackSessionsDb extends EntitiesDb {
         fs.setIsOpeningEmailEnabled(newAttributes.isOpeningEmailEnabled());
         fs.setSendClosingEmail(newAttributes.isClosingEmailEnabled());
         fs.setSendPublishedEmail(newAttributes.isPublishedEmailEnabled());
+        
+        // the times and email states the schedule entries depend on may have changed
+        scheduleDb.putScheduleEntries(Arrays.asList(newAttributes));
                 
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
@@ -499,6 +565,16 @@ public class FeedbackSessionsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(feedbackSessionList);
         getPm().flush();
+        
+        scheduleDb.deleteScheduleEntriesForCourses(courseIds);
+    }
+    
+    @Override
+    public void deleteEntity(EntityAttributes entityToDelete) {
+        super.deleteEntity(entityToDelete);
+        
+        FeedbackSessionAttributes sessionToDelete = (FeedbackSessionAttributes) entityToDelete;
+        scheduleDb.deleteScheduleEntries(sessionToDelete.getFeedbackSessionName(), sessionToDelete.getCourseId());
     }
     
     @SuppressWarnings("unchecked")
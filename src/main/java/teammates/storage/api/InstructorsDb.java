@@ -2,9 +2,13 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -155,7 +159,52 @@ public class InstructorsDb extends EntitiesDb {
     
         return new InstructorAttributes(i);
     }
+    
+    /**
+     * Gets the instructors with the given emails in the course.<br>
+     * Unlike students, instructors cannot be looked up by key as the key of an instructor keeps
+     * its original email when the email is updated. As courses have few instructors, all of them
+     * are read in one query instead.
+     * Emails of non-existent instructors are skipped.
+     * 
+     * @return the instructors keyed by email
+     */
+    public Map<String, InstructorAttributes> getInstructorsForEmails(String courseId, Collection<String> emails) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+        
+        Map<String, InstructorAttributes> instructors = new HashMap<String, InstructorAttributes>();
+        if (emails.isEmpty()) {
+            return instructors;
+        }
+        
+        Set<String> uniqueEmails = new HashSet<String>(emails);
+        for (Instructor i : getInstructorEntitiesForCourse(courseId)) {
+            if (!JDOHelper.isDeleted(i) && uniqueEmails.contains(i.getEmail())) {
+                instructors.put(i.getEmail(), new InstructorAttributes(i));
+            }
+        }
+        return instructors;
+    }
 
+    /**
+     * Gets the instructors with the given IDs (see {@link InstructorAttributes#makeId(String, String)}),
+     * using one batch get. As the ID of an instructor keeps the email the instructor was created with,
+     * an instructor whose email has since been updated cannot be found with the new email.
+     * IDs of non-existent instructors are skipped.
+     * 
+     * @return the instructors keyed by ID
+     */
+    public Map<String, InstructorAttributes> getInstructorsForIds(Collection<String> ids) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, ids);
+        
+        Map<String, InstructorAttributes> instructors = new HashMap<String, InstructorAttributes>();
+        for (Instructor i : getEntitiesForKeys(Instructor.class, "id", ids)) {
+            instructors.put(i.getUniqueId(), new InstructorAttributes(i));
+        }
+        return instructors;
+    }
+    
     /**
      * @return null if no matching objects.
      */
@@ -234,6 +283,33 @@ public class InstructorsDb extends EntitiesDb {
         return instructorDataList;
     }
     
+    /**
+     * Gets the instructors with each of the given emails, in all courses.<br>
+     * This is a single {@code contains} query on the email, which the datastore runs as one query per email,
+     * so it takes as many reads as there are emails; it only saves the round trips of separate calls.
+     * Preconditions: <br>
+     *  * All parameters are non-null.
+     * @return a map from each of the emails to the instructors with it (empty list if none)
+     * @see #getInstructorsForEmail(String)
+     */
+    public Map<String, List<InstructorAttributes>> getInstructorsForEmails(Collection<String> emails) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+        
+        Map<String, List<InstructorAttributes>> instructorsTable = createEmptyListsTable(emails);
+        if (emails.isEmpty()) {
+            return instructorsTable;
+        }
+        
+        for (Instructor i : getInstructorEntitiesForEmails(new ArrayList<String>(instructorsTable.keySet()))) {
+            if (!JDOHelper.isDeleted(i)) {
+                instructorsTable.get(i.getEmail()).add(new InstructorAttributes(i));
+            }
+        }
+        
+        return instructorsTable;
+    }
+    
     /**
      * Preconditions: <br>
      *  * All parameters are non-null.
@@ -255,6 +331,33 @@ public class InstructorsDb extends EntitiesDb {
         return instructorDataList;
     }
     
+    /**
+     * Gets the instructors of each of the given courses.<br>
+     * This is a single {@code contains} query on the course ID, which the datastore runs as one query
+     * per course, so it takes as many reads as there are courses; it only saves the round trips of separate calls.
+     * Preconditions: <br>
+     *  * All parameters are non-null.
+     * @return a map from each of the course IDs to the instructors of the course (empty list if none)
+     * @see #getInstructorsForCourse(String)
+     */
+    public Map<String, List<InstructorAttributes>> getInstructorsForCourses(Collection<String> courseIds) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        Map<String, List<InstructorAttributes>> instructorsTable = createEmptyListsTable(courseIds);
+        if (courseIds.isEmpty()) {
+            return instructorsTable;
+        }
+        
+        for (Instructor i : getInstructorEntitiesForCourses(new ArrayList<String>(instructorsTable.keySet()))) {
+            if (!JDOHelper.isDeleted(i)) {
+                instructorsTable.get(i.getCourseId()).add(new InstructorAttributes(i));
+            }
+        }
+        
+        return instructorsTable;
+    }
+    
     /**
      * Not scalable. Don't use unless for admin features.
      * @return {@code InstructorAttributes} objects for all instructor
@@ -552,6 +655,24 @@ public class InstructorsDb extends EntitiesDb {
         return instructorList;
     }
 
+    private List<Instructor> getInstructorEntitiesForEmails(List<String> emails) {
+        Query q = getPm().newQuery(Instructor.class);
+        q.setFilter(":p.contains(email)");
+        
+        @SuppressWarnings("unchecked")
+        List<Instructor> instructorList = (List<Instructor>) q.execute(emails);
+        
+        return instructorList;
+    }
+    
+    private static Map<String, List<InstructorAttributes>> createEmptyListsTable(Collection<String> keys) {
+        Map<String, List<InstructorAttributes>> table = new HashMap<String, List<InstructorAttributes>>();
+        for (String key : keys) {
+            table.put(key, new ArrayList<InstructorAttributes>());
+        }
+        return table;
+    }
+    
     private List<Instructor> getInstructorEntitiesForCourse(String courseId) {
         
         Query q = getPm().newQuery(Instructor.class);
@@ -1,6 +1,11 @@
 package teammates.storage.api;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.JDOObjectNotFoundException;
@@ -43,6 +48,27 @@ public class ProfilesDb extends EntitiesDb {
         return new StudentProfileAttributes(sp);
     }
     
+    /**
+     * Gets the datatransfer (*Attributes) version of the profiles corresponding to
+     * the googleIds given, using a single batch get for all the profiles.
+     * Profiles that are not found are not included in the returned map.
+     * 
+     * @param accountGoogleIds
+     * @return the profiles keyed by googleId
+     */
+    public Map<String, StudentProfileAttributes> getStudentProfiles(Collection<String> accountGoogleIds) {
+        List<String> profileKeys = new ArrayList<String>();
+        for (String googleId : accountGoogleIds) {
+            profileKeys.add(KeyFactory.keyToString(getStudentProfileKey(googleId)));
+        }
+        
+        Map<String, StudentProfileAttributes> profiles = new HashMap<String, StudentProfileAttributes>();
+        for (StudentProfile profile : getEntitiesForKeys(StudentProfile.class, "profileId", profileKeys)) {
+            profiles.put(profile.getGoogleId(), new StudentProfileAttributes(profile));
+        }
+        return profiles;
+    }
+    
     /**
      * Updates the entire profile based on the given new profile attributes.
      * Assumes that the googleId remains the same and so updates the profile
@@ -116,19 +142,56 @@ public class ProfilesDb extends EntitiesDb {
     
     public void updateStudentProfilePicture(String googleId,
             String newPictureKey) throws EntityDoesNotExistException {
+        updateStudentProfilePicture(googleId, newPictureKey, "");
+    }
+    
+    /**
+     * Udates the pictureKey and thumbnailKey of the profile with given GoogleId.
+     * Deletes existing picture and thumbnail if they are replaced and updates
+     * modifiedDate. An empty newThumbnailKey means there is no thumbnail for
+     * the new picture, and the existing thumbnail is kept only if the picture
+     * does not change.
+     * 
+     * @param googleId
+     * @param newPictureKey
+     * @param newThumbnailKey
+     * @throws EntityDoesNotExistException
+     */
+    public void updateStudentProfilePicture(String googleId, String newPictureKey,
+            String newThumbnailKey) throws EntityDoesNotExistException {
         
         validateParametersForUpdatePicture(googleId, newPictureKey);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, newThumbnailKey);
         StudentProfile profileToUpdate = getCurrentProfileFromDb(googleId);
         
-        boolean hasNewNonEmptyPictureKey = !newPictureKey.isEmpty()
-                && !newPictureKey.equals(profileToUpdate.getPictureKey().getKeyString());
+        String oldPictureKey = profileToUpdate.getPictureKey().getKeyString();
+        String oldThumbnailKey = profileToUpdate.getThumbnailKey() == null
+                               ? "" : profileToUpdate.getThumbnailKey().getKeyString();
         
-        if (hasNewNonEmptyPictureKey) {
+        boolean hasNewPictureKey = !newPictureKey.equals(oldPictureKey);
+        String thumbnailKeyToSave = newThumbnailKey.isEmpty() && !hasNewPictureKey
+                                  ? oldThumbnailKey : newThumbnailKey;
+        boolean hasNewThumbnailKey = !thumbnailKeyToSave.equals(oldThumbnailKey);
+        
+        if (hasNewPictureKey) {
             profileToUpdate.setPictureKey(new BlobKey(newPictureKey));
+        }
+        if (hasNewThumbnailKey) {
+            profileToUpdate.setThumbnailKey(new BlobKey(thumbnailKeyToSave));
+        }
+        if (hasNewPictureKey || hasNewThumbnailKey) {
             profileToUpdate.setModifiedDate(new Date());
         }
         
         closePm();
+        
+        // pictures are never overwritten, so replaced ones are no longer referred to by anyone
+        if (hasNewPictureKey && !oldPictureKey.isEmpty()) {
+            deletePicture(new BlobKey(oldPictureKey));
+        }
+        if (hasNewThumbnailKey && !oldThumbnailKey.isEmpty()) {
+            deletePicture(new BlobKey(oldThumbnailKey));
+        }
     }
 
     private void validateParametersForUpdatePicture(String googleId,
@@ -140,9 +203,9 @@ public class ProfilesDb extends EntitiesDb {
     }
     
     /**
-     * Deletes the profile picture from GCS and
+     * Deletes the profile picture and its thumbnail from GCS and
      * updates the profile entity:
-     *     empties the key and updates the modifiedDate
+     *     empties the keys and updates the modifiedDate
      * 
      * @param googleId
      * @throws EntityDoesNotExistException
@@ -156,6 +219,12 @@ public class ProfilesDb extends EntitiesDb {
             sp.setModifiedDate(new Date());
         }
         
+        if (sp.getThumbnailKey() != null && !sp.getThumbnailKey().equals(new BlobKey(""))) {
+            deletePicture(sp.getThumbnailKey());
+            sp.setThumbnailKey(new BlobKey(""));
+            sp.setModifiedDate(new Date());
+        }
+        
         closePm();
     }
     
@@ -218,8 +287,7 @@ public class ProfilesDb extends EntitiesDb {
      * @param googleId
      */
     private StudentProfile getStudentProfileEntityFromDb(String googleId) {
-        Key childKey = KeyFactory.createKey(Account.class.getSimpleName(), googleId)
-                                 .getChild(StudentProfile.class.getSimpleName(), googleId);
+        Key childKey = getStudentProfileKey(googleId);
         
         try {
             StudentProfile profile = getPm().getObjectById(StudentProfile.class, childKey);
@@ -234,6 +302,11 @@ public class ProfilesDb extends EntitiesDb {
         }
     }
     
+    private Key getStudentProfileKey(String googleId) {
+        return KeyFactory.createKey(Account.class.getSimpleName(), googleId)
+                         .getChild(StudentProfile.class.getSimpleName(), googleId);
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         // this method is never used and is here only for future expansion and completeness
@@ -3,7 +3,9 @@ package teammates.storage.api;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.JDOObjectNotFoundException;
@@ -375,6 +377,27 @@ public class QuestionsDb extends EntitiesDb {
         return new FeedbackQuestionAttributes(fq);
     }
     
+    /**
+     * Gets the questions corresponding to the given questions of the old question type
+     * using one batch get. Questions that have not been copied over are skipped.
+     * 
+     * @return the questions keyed by question ID
+     */
+    public Map<String, FeedbackQuestionAttributes> getFeedbackQuestions(
+            Collection<FeedbackQuestionAttributes> oldQuestions) {
+        List<String> keys = new ArrayList<String>();
+        for (FeedbackQuestionAttributes oldQuestion : oldQuestions) {
+            keys.add(KeyFactory.keyToString(getFeedbackQuestionKey(oldQuestion.feedbackSessionName,
+                                                                   oldQuestion.courseId, oldQuestion.getId())));
+        }
+        
+        Map<String, FeedbackQuestionAttributes> questions = new HashMap<String, FeedbackQuestionAttributes>();
+        for (Question question : getEntitiesForKeys(Question.class, "encodedKey", keys)) {
+            questions.put(question.getId(), new FeedbackQuestionAttributes(question));
+        }
+        return questions;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -619,9 +642,7 @@ public class QuestionsDb extends EntitiesDb {
     private Question getFeedbackQuestionEntity(String feedbackSessionName, String courseId, String feedbackQuestionId) {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
 
-        Key k = KeyFactory.createKey(FeedbackSession.class.getSimpleName(),
-                                     FeedbackSessionAttributes.makeId(feedbackSessionName, courseId))
-                          .getChild(Question.class.getSimpleName(), feedbackQuestionId);
+        Key k = getFeedbackQuestionKey(feedbackSessionName, courseId, feedbackQuestionId);
         try {
             return getPm().getObjectById(Question.class, k);
         } catch (JDOObjectNotFoundException e) {
@@ -629,6 +650,12 @@ public class QuestionsDb extends EntitiesDb {
         }
     }
     
+    private Key getFeedbackQuestionKey(String feedbackSessionName, String courseId, String feedbackQuestionId) {
+        return KeyFactory.createKey(FeedbackSession.class.getSimpleName(),
+                                    FeedbackSessionAttributes.makeId(feedbackSessionName, courseId))
+                         .getChild(Question.class.getSimpleName(), feedbackQuestionId);
+    }
+    
     /**
      *  Gets a feedbackQuestion based on feedbackSessionName, courseId and questionNumber.
      */
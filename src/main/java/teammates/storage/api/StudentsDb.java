@@ -2,14 +2,21 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
+
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
@@ -28,6 +35,7 @@ import teammates.storage.entity.Student;
 import teammates.storage.search.StudentSearchDocument;
 import teammates.storage.search.StudentSearchQuery;
 
+import com.google.appengine.api.datastore.Cursor;
 import com.google.appengine.api.datastore.KeyFactory;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
@@ -41,6 +49,9 @@ public class StudentsDb extends EntitiesDb {
 
     public static final String ERROR_UPDATE_EMAIL_ALREADY_USED = "Trying to update to an email that is already used by: ";
     
+    /** Number of students retrieved by each query of {@link #getStudentIteratorForCourse(String)} */
+    public static final int STUDENTS_PER_BATCH = 500;
+    
     public void putDocument(StudentAttributes student) {
         putDocument(Const.SearchIndex.STUDENT, new StudentSearchDocument(student));
     }
@@ -160,6 +171,41 @@ public class StudentsDb extends EntitiesDb {
         return new StudentAttributes(s);
     }
     
+    /**
+     * Gets the students with the given emails in the course, using one batch get.
+     * Emails of non-existent students are skipped.
+     * 
+     * @return the students keyed by email
+     */
+    public Map<String, StudentAttributes> getStudentsForEmails(String courseId, Collection<String> emails) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+        
+        Set<String> uniqueEmails = new HashSet<String>(emails);
+        List<String> ids = new ArrayList<String>();
+        for (String email : uniqueEmails) {
+            ids.add(CourseStudent.makeId(email, courseId));
+        }
+        
+        Map<String, StudentAttributes> students = new HashMap<String, StudentAttributes>();
+        for (CourseStudent cs : getEntitiesForKeys(CourseStudent.class, "id", ids)) {
+            students.put(cs.getEmail(), new StudentAttributes(cs));
+        }
+        
+        if (students.size() < uniqueEmails.size()) {
+            // some of the students may not have been copied to CourseStudent yet;
+            // their Student entities can only be found by querying the course
+            for (Student s : getStudentEntitiesForCourse(courseId)) {
+                if (!JDOHelper.isDeleted(s) && uniqueEmails.contains(s.getEmail())
+                        && !students.containsKey(s.getEmail())) {
+                    students.put(s.getEmail(), new StudentAttributes(s));
+                }
+            }
+        }
+        
+        return students;
+    }
+    
     /**
      * Creates a CourseStudent copy of an existing Student.
      * Can be removed after migrating all Students to CourseStudents
@@ -292,12 +338,17 @@ public class StudentsDb extends EntitiesDb {
             }
         }
         
+        Set<String> courseStudentIds = new HashSet<String>();
+        for (StudentAttributes student : studentDataList) {
+            courseStudentIds.add(student.getId());
+        }
+        
         List<Student> studentEntities = getStudentEntitiesForCourse(courseId);
         for (Student student : studentEntities) {
             // Check if StudentAttributes is already in list due to CourseStudent
             if (!JDOHelper.isDeleted(student)) {
                 StudentAttributes s = new StudentAttributes(student);
-                if (!isListContainsSameStudentAttributes(studentDataList, s)) {
+                if (!courseStudentIds.contains(s.getId())) {
                     studentDataList.add(s);
                 }
             }
@@ -306,6 +357,29 @@ public class StudentsDb extends EntitiesDb {
         return studentDataList;
     }
     
+    /**
+     * Returns an iterator over the students of a course which retrieves them from the datastore
+     * in batches of {@link #STUDENTS_PER_BATCH} with query cursors, so that the students of a course
+     * never have to be held in memory together.<br>
+     * The students are returned in a stable order: the {@link CourseStudent} entities in key order,
+     * followed by the {@link Student} entities which have not been copied to {@link CourseStudent}.<br>
+     * Preconditions: <br>
+     *  * All parameters are non-null.
+     */
+    public Iterator<StudentAttributes> getStudentIteratorForCourse(String courseId) {
+        return getStudentIteratorForCourse(courseId, STUDENTS_PER_BATCH);
+    }
+    
+    /**
+     * @see #getStudentIteratorForCourse(String)
+     */
+    public Iterator<StudentAttributes> getStudentIteratorForCourse(String courseId, int batchSize) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertTrue(batchSize > 0);
+        
+        return new StudentIterator(courseId, batchSize);
+    }
+    
     /**
      * Preconditions: <br>
      *  * All parameters are non-null.
@@ -944,6 +1018,121 @@ public class StudentsDb extends EntitiesDb {
         return false;
     }
 
+    /**
+     * Retrieves the next batch of entities of {@code entityClass} in the course, continuing from {@code cursor}.
+     * @param courseIdFieldName the name of the course ID field of {@code entityClass}
+     * @param cursor where the previous batch ended, or null to retrieve the first batch
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> getEntitiesForCourseInBatch(Class<T> entityClass, String courseIdFieldName, String courseId,
+                                                    Cursor cursor, int batchSize) {
+        Query q = getPm().newQuery(entityClass);
+        q.declareParameters("String courseIdParam");
+        q.setFilter(courseIdFieldName + " == courseIdParam");
+        q.setRange(0, batchSize);
+        if (cursor != null) {
+            Map<String, Object> extensionMap = new HashMap<String, Object>();
+            extensionMap.put(JDOCursorHelper.CURSOR_EXTENSION, cursor);
+            q.setExtensions(extensionMap);
+        }
+        
+        return (List<T>) q.execute(courseId);
+    }
+    
+    /**
+     * Iterates over the students of a course one batch at a time.
+     * Only the current batch is held in memory.
+     */
+    private class StudentIterator implements Iterator<StudentAttributes> {
+        
+        private final String courseId;
+        private final int batchSize;
+        
+        private Iterator<StudentAttributes> batch = new ArrayList<StudentAttributes>().iterator();
+        private Cursor cursor;
+        private boolean isCourseStudentsRetrieved;
+        private boolean isAllRetrieved;
+        
+        StudentIterator(String courseId, int batchSize) {
+            this.courseId = courseId;
+            this.batchSize = batchSize;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext() && !isAllRetrieved) {
+                batch = isCourseStudentsRetrieved ? retrieveNextStudentBatch() : retrieveNextCourseStudentBatch();
+            }
+            return batch.hasNext();
+        }
+        
+        @Override
+        public StudentAttributes next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+        
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+        
+        private Iterator<StudentAttributes> retrieveNextCourseStudentBatch() {
+            List<CourseStudent> entities =
+                    getEntitiesForCourseInBatch(CourseStudent.class, "courseId", courseId, cursor, batchSize);
+            List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+            for (CourseStudent entity : entities) {
+                if (!JDOHelper.isDeleted(entity)) {
+                    students.add(new StudentAttributes(entity));
+                }
+            }
+            
+            if (entities.size() < batchSize) {
+                isCourseStudentsRetrieved = true;
+                cursor = null;
+            } else {
+                cursor = JDOCursorHelper.getCursor(entities);
+            }
+            return students.iterator();
+        }
+        
+        private Iterator<StudentAttributes> retrieveNextStudentBatch() {
+            List<Student> entities =
+                    getEntitiesForCourseInBatch(Student.class, "courseID", courseId, cursor, batchSize);
+            List<StudentAttributes> candidates = new ArrayList<StudentAttributes>();
+            List<String> ids = new ArrayList<String>();
+            for (Student entity : entities) {
+                if (!JDOHelper.isDeleted(entity)) {
+                    StudentAttributes student = new StudentAttributes(entity);
+                    candidates.add(student);
+                    ids.add(student.getId());
+                }
+            }
+            
+            // students which have been copied to CourseStudent were returned with the CourseStudent entities
+            Set<String> copiedIds = new HashSet<String>();
+            for (CourseStudent copy : getEntitiesForKeys(CourseStudent.class, "id", ids)) {
+                copiedIds.add(copy.getUniqueId());
+            }
+            List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+            for (StudentAttributes student : candidates) {
+                if (!copiedIds.contains(student.getId())) {
+                    students.add(student);
+                }
+            }
+            
+            if (entities.size() < batchSize) {
+                isAllRetrieved = true;
+            } else {
+                cursor = JDOCursorHelper.getCursor(entities);
+            }
+            return students.iterator();
+        }
+        
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes entity) {
         StudentAttributes studentToGet = (StudentAttributes) entity;
@@ -9,6 +9,8 @@ import javax.jdo.Transaction;
 
 import teammates.common.util.Utils;
 
+import com.google.appengine.api.utils.SystemProperty;
+
 //TODO: we might not really need this class. To be reconsidered.
 /**
  * Represents the Datastore.
@@ -25,7 +27,16 @@ public final class Datastore {
         // utility class
     }
 
+    /**
+     * Initializes the datastore, and starts counting the datastore calls of each request
+     * in the {@link teammates.common.util.RequestMetrics} when running on App Engine.
+     */
     public static void initialize() {
+        // Outside App Engine, e.g. in tests, the GCS client only uses its local implementation
+        // if the API delegate is the local one, so the delegate is not wrapped there
+        if (SystemProperty.environment.value() != null) {
+            DatastoreCallCounter.install();
+        }
         if (pmf == null) {
             pmf = JDOHelper
                     .getPersistenceManagerFactory("transactions-optional");
@@ -0,0 +1,100 @@
+package teammates.storage.datastore;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+import teammates.common.util.RequestMetrics;
+import teammates.common.util.RequestMetrics.Call;
+
+import com.google.apphosting.api.ApiProxy;
+import com.google.apphosting.api.ApiProxy.ApiConfig;
+import com.google.apphosting.api.ApiProxy.ApiProxyException;
+import com.google.apphosting.api.ApiProxy.Delegate;
+import com.google.apphosting.api.ApiProxy.Environment;
+import com.google.apphosting.api.ApiProxy.LogRecord;
+
+/**
+ * Counts the calls made to the datastore in the {@link RequestMetrics} of the current request,
+ * by wrapping the delegate every App Engine API call goes through, as Appstats does.
+ * This counts the calls made by every query and lookup of the *Db classes, however they are made,
+ * and counts a batch lookup as a single call, as it costs a single round trip.
+ */
+public final class DatastoreCallCounter implements Delegate<Environment> {
+    
+    private static final String DATASTORE_PACKAGE = "datastore_v3";
+    
+    private final Delegate<Environment> delegate;
+    
+    private DatastoreCallCounter(Delegate<Environment> delegate) {
+        this.delegate = delegate;
+    }
+    
+    /**
+     * Wraps the current delegate of the App Engine APIs, unless it is already wrapped.
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized void install() {
+        Delegate<Environment> currentDelegate = ApiProxy.getDelegate();
+        if (currentDelegate == null || currentDelegate instanceof DatastoreCallCounter) {
+            return;
+        }
+        ApiProxy.setDelegate(new DatastoreCallCounter(currentDelegate));
+    }
+    
+    /**
+     * Restores the delegate wrapped by {@link #install()}, if it is still the current one.
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized void uninstall() {
+        Delegate<Environment> currentDelegate = ApiProxy.getDelegate();
+        if (currentDelegate instanceof DatastoreCallCounter) {
+            ApiProxy.setDelegate(((DatastoreCallCounter) currentDelegate).delegate);
+        }
+    }
+    
+    @Override
+    public byte[] makeSyncCall(Environment environment, String packageName, String methodName, byte[] request)
+            throws ApiProxyException {
+        recordCall(packageName, methodName);
+        return delegate.makeSyncCall(environment, packageName, methodName, request);
+    }
+    
+    @Override
+    public Future<byte[]> makeAsyncCall(Environment environment, String packageName, String methodName,
+                                        byte[] request, ApiConfig apiConfig) {
+        recordCall(packageName, methodName);
+        return delegate.makeAsyncCall(environment, packageName, methodName, request, apiConfig);
+    }
+    
+    @Override
+    public void log(Environment environment, LogRecord record) {
+        delegate.log(environment, record);
+    }
+    
+    @Override
+    public void flushLogs(Environment environment) {
+        delegate.flushLogs(environment);
+    }
+    
+    @Override
+    public List<Thread> getRequestThreads(Environment environment) {
+        return delegate.getRequestThreads(environment);
+    }
+    
+    private static void recordCall(String packageName, String methodName) {
+        if (!DATASTORE_PACKAGE.equals(packageName)) {
+            return;
+        }
+        // the further batches of a query (Next) are not counted, as they are part of the same query
+        if ("RunQuery".equals(methodName)) {
+            RequestMetrics.recordCall(Call.DATASTORE_QUERY);
+        } else if ("Get".equals(methodName)) {
+            RequestMetrics.recordCall(Call.DATASTORE_GET);
+        } else if ("Put".equals(methodName)) {
+            RequestMetrics.recordCall(Call.DATASTORE_PUT);
+        } else if ("Delete".equals(methodName)) {
+            RequestMetrics.recordCall(Call.DATASTORE_DELETE);
+        }
+    }
+    
+}
@@ -0,0 +1,104 @@
+package teammates.storage.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import teammates.common.datatransfer.ActivityLogSearchKey;
+import teammates.common.util.ActivityLogLine;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents an activity log kept in the datastore, so that the activity logs can be searched
+ * without scanning the application logs.<br>
+ * Each {@link ActivityLogSearchKey search key} is indexed together with the period the log falls in,
+ * so that the logs of a person, role or servlet in a time period can be looked up with equality filters
+ * on a single property, which need no composite index.
+ */
+@PersistenceCapable
+public class ActivityLog {
+    
+    private static final long MILLISECONDS_PER_HOUR = 60L * 60 * 1000;
+    private static final long MILLISECONDS_PER_DAY = 24 * MILLISECONDS_PER_HOUR;
+    
+    @PrimaryKey
+    @Persistent
+    private String activityLogId;
+    
+    @Persistent
+    private long time;
+    
+    /** The Google ID and the email of the user, each together with the day of the log */
+    @Persistent
+    private List<String> personDays;
+    
+    /** The role of the user together with the hour of the log */
+    @Persistent
+    private String roleHour;
+    
+    /** The servlet name together with the hour of the log */
+    @Persistent
+    private String servletHour;
+    
+    /** The log line in the compact version, from which the rest of the log is read */
+    @Persistent
+    private Text logMessage;
+    
+    /**
+     * @param activityLogId a unique ID of the log, which makes storing the same log more than once harmless
+     */
+    public ActivityLog(String activityLogId, ActivityLogLine logLine) {
+        this.activityLogId = activityLogId;
+        this.time = logLine.getTime();
+        
+        this.personDays = new ArrayList<String>();
+        personDays.add(makeSearchValue(logLine.getGoogleId(), getSearchPeriod(ActivityLogSearchKey.PERSON, time)));
+        personDays.add(makeSearchValue(logLine.getEmail(), getSearchPeriod(ActivityLogSearchKey.PERSON, time)));
+        this.roleHour = makeSearchValue(logLine.getRole(), getSearchPeriod(ActivityLogSearchKey.ROLE, time));
+        this.servletHour = makeSearchValue(logLine.getServletName(),
+                                           getSearchPeriod(ActivityLogSearchKey.SERVLET, time));
+        this.logMessage = new Text(logLine.toCompactLine());
+    }
+    
+    /**
+     * Returns the number of whole periods between the Unix epoch and {@code time}, where the periods are
+     * a day long for {@link ActivityLogSearchKey#PERSON}, as a person has relatively few logs a day,
+     * and an hour long for the other keys.
+     */
+    public static long getSearchPeriod(ActivityLogSearchKey key, long time) {
+        return key == ActivityLogSearchKey.PERSON ? time / MILLISECONDS_PER_DAY : time / MILLISECONDS_PER_HOUR;
+    }
+    
+    public static String makeSearchValue(String value, long period) {
+        return String.valueOf(value).toLowerCase() + "%" + period;
+    }
+    
+    public String getActivityLogId() {
+        return activityLogId;
+    }
+    
+    public long getTime() {
+        return time;
+    }
+    
+    public List<String> getPersonDays() {
+        return personDays;
+    }
+    
+    public String getRoleHour() {
+        return roleHour;
+    }
+    
+    public String getServletHour() {
+        return servletHour;
+    }
+    
+    public ActivityLogLine getActivityLogLine() {
+        return new ActivityLogLine(time, logMessage.getValue());
+    }
+    
+}
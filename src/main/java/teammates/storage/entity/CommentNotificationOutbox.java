@@ -0,0 +1,56 @@
+package teammates.storage.entity;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents the emails of students in a course who are yet to be notified of comments that were cleared
+ * from the pending state. There is at most one such entity per course, keyed by the course ID.
+ */
+@PersistenceCapable
+public class CommentNotificationOutbox {
+    
+    @PrimaryKey
+    @Persistent
+    private String courseId;
+    
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private List<String> recipientEmails;
+    
+    @Persistent
+    private Date updatedAt;
+    
+    public CommentNotificationOutbox(String courseId) {
+        this.courseId = courseId;
+        this.recipientEmails = new ArrayList<String>();
+        this.updatedAt = new Date();
+    }
+    
+    public String getCourseId() {
+        return courseId;
+    }
+    
+    public List<String> getRecipientEmails() {
+        return recipientEmails == null ? new ArrayList<String>() : recipientEmails;
+    }
+    
+    public void setRecipientEmails(List<String> recipientEmails) {
+        this.recipientEmails = recipientEmails;
+    }
+    
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+}
@@ -31,6 +31,10 @@ public class Course {
     @Persistent
     private String timeZone;
 
+    /** Institute of the course, taken from its instructors' accounts; null if not resolved yet. */
+    @Persistent
+    private String institute;
+
     public Course(String courseId, String courseName, String courseTimeZone, Date createdAt) {
         this.setUniqueId(courseId);
         this.setName(courseName);
@@ -77,4 +81,12 @@ public class Course {
     public void setTimeZone(String timeZone) {
         this.timeZone = timeZone;
     }
+
+    public String getInstitute() {
+        return institute;
+    }
+
+    public void setInstitute(String institute) {
+        this.institute = institute;
+    }
 }
@@ -143,7 +143,14 @@ public class CourseStudent implements StoreCallback {
     }
     
     private String makeId() {
-        return getEmail() + '%' + getCourseId();
+        return makeId(getEmail(), getCourseId());
+    }
+    
+    /**
+     * @return the unique ID of the student with the given email in the given course
+     */
+    public static String makeId(String email, String courseId) {
+        return email.trim() + '%' + courseId.trim();
     }
     
     public Date getCreatedAt() {
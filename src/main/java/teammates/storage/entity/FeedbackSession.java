@@ -151,12 +151,19 @@ public class FeedbackSession {
         this.isOpeningEmailEnabled = isOpeningEmailEnabled;
         this.isClosingEmailEnabled = isClosingEmailEnabled;
         this.isPublishedEmailEnabled = isPublishedEmailEnabled;
-        this.feedbackSessionId = this.feedbackSessionName + "%" + this.courseId;
+        this.feedbackSessionId = makeId(this.feedbackSessionName, this.courseId);
         this.respondingInstructorList = instructorList;
         this.respondingStudentList = studentList;
         this.feedbackQuestions = questions;
     }
     
+    /**
+     * @return the unique ID of the session with the given name in the given course
+     */
+    public static String makeId(String feedbackSessionName, String courseId) {
+        return feedbackSessionName + "%" + courseId;
+    }
+    
     public String getId() {
         return feedbackSessionId;
     }
@@ -0,0 +1,69 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents the hour in which an event of a feedback session is due, so that the reminder cron jobs
+ * can look up the sessions due in an hour without scanning all sessions.
+ * There is at most one such entity per event per session.
+ */
+@PersistenceCapable
+public class FeedbackSessionScheduleEntry {
+    
+    @PrimaryKey
+    @Persistent
+    private String scheduleEntryId;
+    
+    /**
+     * The event together with the hour it is due in, the only property the entries are looked up by.
+     * The hour is zero-padded so that the entries of an event are ordered by hour.
+     */
+    @Persistent
+    private String eventHour;
+    
+    @Persistent
+    private String courseId;
+    
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private String feedbackSessionId;
+    
+    /**
+     * @param hour the number of whole hours between the Unix epoch and the time the event is due
+     * @param feedbackSessionId the ID of the {@link FeedbackSession} the event belongs to
+     */
+    public FeedbackSessionScheduleEntry(String event, long hour, String courseId, String feedbackSessionId) {
+        this.scheduleEntryId = makeId(event, feedbackSessionId);
+        this.eventHour = makeEventHour(event, hour);
+        this.courseId = courseId;
+        this.feedbackSessionId = feedbackSessionId;
+    }
+    
+    public static String makeId(String event, String feedbackSessionId) {
+        return event + "%" + feedbackSessionId;
+    }
+    
+    public static String makeEventHour(String event, long hour) {
+        return event + "%" + String.format("%012d", hour);
+    }
+    
+    public String getScheduleEntryId() {
+        return scheduleEntryId;
+    }
+    
+    public String getEventHour() {
+        return eventHour;
+    }
+    
+    public String getCourseId() {
+        return courseId;
+    }
+    
+    public String getFeedbackSessionId() {
+        return feedbackSessionId;
+    }
+    
+}
@@ -59,6 +59,11 @@ public class StudentProfile {
     @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
     private BlobKey pictureKey;
 
+    /* null for profiles whose picture was uploaded before thumbnails were generated */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private BlobKey thumbnailKey;
+
     @Persistent
     private Date modifiedDate;
 
@@ -93,6 +98,7 @@ public class StudentProfile {
         this.setMoreInfo(moreInfo);
         this.setModifiedDate(new Date());
         this.setPictureKey(pictureKey);
+        this.setThumbnailKey(new BlobKey(""));
     }
 
     public StudentProfile(String googleId) {
@@ -104,6 +110,7 @@ public class StudentProfile {
         this.setGender("other");
         this.setMoreInfo(new Text(""));
         this.setPictureKey(new BlobKey(""));
+        this.setThumbnailKey(new BlobKey(""));
         this.setModifiedDate(new Date());
     }
 
@@ -171,6 +178,14 @@ public class StudentProfile {
         this.pictureKey = pictureKey;
     }
 
+    public BlobKey getThumbnailKey() {
+        return this.thumbnailKey;
+    }
+
+    public void setThumbnailKey(BlobKey thumbnailKey) {
+        this.thumbnailKey = thumbnailKey;
+    }
+
     public Date getModifiedDate() {
         return this.modifiedDate;
     }
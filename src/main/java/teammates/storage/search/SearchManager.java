@@ -6,6 +6,8 @@ import java.util.logging.Logger;
 
 import teammates.common.exception.TeammatesException;
 import teammates.common.util.Config;
+import teammates.common.util.RequestMetrics;
+import teammates.common.util.RequestMetrics.Call;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 
@@ -102,7 +104,11 @@ public final class SearchManager {
         getIndex(indexName).deleteAsync(documentIds);
     }
     
+    /**
+     * Gets the index for a call to the search service, which is counted in the {@link RequestMetrics}.
+     */
     private static Index getIndex(String indexName) {
+        RequestMetrics.recordCall(Call.SEARCH);
         Map<String, Index> indicesTable = getIndicesTable();
         Index index = indicesTable.get(indexName);
         if (index == null) {
@@ -31,6 +31,7 @@ public class ActionFactory {
         map(ADMIN_INSTRUCTORACCOUNT_ADD, AdminInstructorAccountAddAction.class);
         map(ADMIN_SESSIONS_PAGE, AdminSessionsPageAction.class);
         map(ADMIN_SEARCH_PAGE, AdminSearchPageAction.class);
+        map(ADMIN_METRICS_PAGE, AdminMetricsPageAction.class);
         map(ADMIN_STUDENT_GOOGLE_ID_RESET, AdminStudentGoogleIdResetAction.class);
         map(ADMIN_EMAIL_COMPOSE_PAGE, AdminEmailComposePageAction.class);
         map(ADMIN_EMAIL_COMPOSE_SAVE, AdminEmailComposeSaveAction.class);
@@ -65,6 +66,7 @@ public class ActionFactory {
         map(INSTRUCTOR_COURSE_ENROLL_SAVE, InstructorCourseEnrollSaveAction.class);
         map(INSTRUCTOR_COURSE_STUDENT_DELETE, InstructorCourseStudentDeleteAction.class);
         map(INSTRUCTOR_COURSE_STUDENT_LIST_DOWNLOAD, InstructorCourseStudentListDownloadAction.class);
+        map(INSTRUCTOR_COURSE_STUDENT_PICTURE_MANIFEST, InstructorCourseStudentPictureManifestAction.class);
         map(INSTRUCTOR_COURSE_STUDENT_DETAILS_PAGE, InstructorCourseStudentDetailsPageAction.class);
         map(INSTRUCTOR_COURSE_STUDENT_DETAILS_EDIT, InstructorCourseStudentDetailsEditPageAction.class);
         map(INSTRUCTOR_COURSE_STUDENT_DETAILS_EDIT_SAVE, InstructorCourseStudentDetailsEditSaveAction.class);
@@ -140,14 +142,30 @@ public class ActionFactory {
         String url = req.getRequestURL().toString();
         log.info("URL received : [" + req.getMethod() + "] " + url);
         
+        Action c = getAction(getUri(req));
+        c.init(req);
+        return c;
+        
+    }
+    
+    /**
+     * @return the name of the action mapped to the URI in the {@code req}, i.e. the last segment of the URI,
+     *   which is also the servlet name in the activity logs, or null if no action is mapped to the URI
+     */
+    public static String getActionName(HttpServletRequest req) {
+        String uri = getUri(req);
+        if (!actionMappings.containsKey(uri)) {
+            return null;
+        }
+        return uri.substring(uri.lastIndexOf('/') + 1);
+    }
+    
+    private static String getUri(HttpServletRequest req) {
         String uri = req.getRequestURI();
         if (uri.contains(";")) {
             uri = uri.split(";")[0];
         }
-        Action c = getAction(uri);
-        c.init(req);
-        return c;
-        
+        return uri;
     }
 
     private static Action getAction(String uri) {
@@ -1,15 +1,18 @@
 package teammates.ui.controller;
 
-import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.TimeZone;
 
+import teammates.common.datatransfer.ActivityLogSearchKey;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogLine;
 import teammates.common.util.AdminLogQuery;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
@@ -34,11 +37,6 @@ public class AdminActivityLogPageAction extends Action {
      * The maximum number of times to retrieve logs with time increment.
      */
     private static final int MAX_SEARCH_TIMES = MAX_SEARCH_PERIOD / SEARCH_TIME_INCREMENT;
-    /**
-     * Maximum number of versions to query.
-     */
-    private static final int MAX_VERSIONS_TO_QUERY = 1 + 5; //the current version and its 5 preceding versions
-    
     private int totalLogsSearched;
     private boolean isFirstRow = true;
     private Long nextEndTimeToSearch;
@@ -94,18 +92,24 @@ public class AdminActivityLogPageAction extends Action {
             data.setToDate(Long.parseLong(searchTimeOffset));
         }
         
-        List<String> versionToQuery = getVersionsForQuery(data.getVersions());
-        AdminLogQuery query = new AdminLogQuery(versionToQuery, data.getFromDate(), data.getToDate());
+        // the application logs are only searched for the versions specified in the query;
+        // otherwise the activity logs kept in the datastore are searched
+        List<String> versionToQuery = data.getVersions();
+        boolean isVersionSpecifiedInQuery = versionToQuery != null && !versionToQuery.isEmpty();
         
         List<ActivityLogEntry> logs = null;
-        if (data.isFromDateSpecifiedInQuery()) {
-            logs = searchLogsWithExactTimePeriod(query, data);
+        if (!isVersionSpecifiedInQuery) {
+            logs = searchStoredLogs(data);
+        } else if (data.isFromDateSpecifiedInQuery()) {
+            logs = searchLogsWithExactTimePeriod(new AdminLogQuery(versionToQuery, data.getFromDate(),
+                                                                   data.getToDate()), data);
         } else {
-            logs = searchLogsWithTimeIncrement(query, data);
+            logs = searchLogsWithTimeIncrement(new AdminLogQuery(versionToQuery, data.getFromDate(),
+                                                                 data.getToDate()), data);
         }
         
         String courseIdFromSearchPage = getRequestParamValue("courseId");
-        generateStatusMessage(versionToQuery, data, logs, courseIdFromSearchPage);
+        generateStatusMessage(isVersionSpecifiedInQuery ? versionToQuery : null, data, logs, courseIdFromSearchPage);
         data.init(ifShowAll, ifShowTestData, logs);
         
         if (searchTimeOffset.isEmpty()) {
@@ -115,19 +119,6 @@ public class AdminActivityLogPageAction extends Action {
         return createAjaxResult(data);
     }
     
-    /**
-     * Selects versions for query. If versions are not specified, it will return
-     * MAX_VERSIONS_TO_QUERY most recent versions used for query.
-     */
-    private List<String> getVersionsForQuery(List<String> versions) {
-        boolean isVersionSpecifiedInRequest = versions != null && !versions.isEmpty();
-        if (isVersionSpecifiedInRequest) {
-            return versions;
-        }
-        GaeVersionApi versionApi = new GaeVersionApi();
-        return versionApi.getMostRecentVersions(MAX_VERSIONS_TO_QUERY);
-    }
-    
     private void generateStatusMessage(List<String> versionToQuery,
                                        AdminActivityLogPageData data,
                                        List<ActivityLogEntry> logs, String courseId) {
@@ -171,13 +162,18 @@ public class AdminActivityLogPageAction extends Action {
             status.append("on <b>" + timeInUserTimeZone + "</b> in Local Time Zone (" + targetTimeZone + ").<br>");
         }
         
-        status.append("Logs are from following version(s): ");
-        for (int i = 0; i < versionToQuery.size(); i++) {
-            String version = versionToQuery.get(i).replace('-', '.');
-            if (i < versionToQuery.size() - 1) {
-                status.append(version).append(", ");
-            } else {
-                status.append(version).append("<br>");
+        if (versionToQuery == null) {
+            status.append("Logs are from the activity logs kept in the datastore. "
+                          + "Specify versions in the query to search the application logs instead.<br>");
+        } else {
+            status.append("Logs are from following version(s): ");
+            for (int i = 0; i < versionToQuery.size(); i++) {
+                String version = versionToQuery.get(i).replace('-', '.');
+                if (i < versionToQuery.size() - 1) {
+                    status.append(version).append(", ");
+                } else {
+                    status.append(version).append("<br>");
+                }
             }
         }
         
@@ -205,6 +201,48 @@ public class AdminActivityLogPageAction extends Action {
         data.setStatusForAjax(statusString);
         statusToUser.add(new StatusMessage(statusString, StatusMessageColor.INFO));
     }
+    
+    /**
+     * Retrieves the logs from the activity logs kept in the datastore, looked up by the most selective
+     * of the person, servlet and role specified in the query. All logs in the time period are retrieved
+     * if the query specifies the from date; otherwise only enough logs within MAX_SEARCH_PERIOD hours.
+     */
+    private List<ActivityLogEntry> searchStoredLogs(AdminActivityLogPageData data) {
+        long endTime = data.getToDate();
+        boolean isPaged = !data.isFromDateSpecifiedInQuery();
+        long startTime = isPaged ? endTime - MAX_SEARCH_PERIOD : data.getFromDate();
+        
+        Iterator<ActivityLogLine> storedLogs;
+        if (data.isPersonSpecified()) {
+            // the person is matched exactly against the Google ID and email, rather than as a part of them
+            storedLogs = logic.getActivityLogs(ActivityLogSearchKey.PERSON, Arrays.asList(data.getPersonSpecified()),
+                                               startTime, endTime).iterator();
+        } else if (data.getRequestsSpecified() != null) {
+            storedLogs = logic.getActivityLogs(ActivityLogSearchKey.SERVLET, Arrays.asList(data.getRequestsSpecified()),
+                                               startTime, endTime).iterator();
+        } else if (data.getRolesSpecified() != null) {
+            storedLogs = logic.getActivityLogs(ActivityLogSearchKey.ROLE, Arrays.asList(data.getRolesSpecified()),
+                                               startTime, endTime).iterator();
+        } else {
+            storedLogs = logic.getActivityLogIteratorForPeriod(startTime, endTime);
+        }
+        
+        List<ActivityLogEntry> appLogs = new LinkedList<ActivityLogEntry>();
+        totalLogsSearched = 0;
+        nextEndTimeToSearch = startTime - 1;
+        while (storedLogs.hasNext()) {
+            if (isPaged && appLogs.size() >= RELEVANT_LOGS_PER_PAGE) {
+                nextEndTimeToSearch = appLogs.get(appLogs.size() - 1).getTime() - 1;
+                break;
+            }
+            totalLogsSearched++;
+            ActivityLogEntry activityLogEntry = filterLogForActivityLogPage(storedLogs.next(), data);
+            if (activityLogEntry != null) {
+                appLogs.add(activityLogEntry);
+            }
+        }
+        return appLogs;
+    }
 
     /**
      * Retrieves enough logs within MAX_SEARCH_PERIOD hours.
@@ -259,21 +297,34 @@ public class AdminActivityLogPageAction extends Action {
                 continue;
             }
             
-            ActivityLogEntry activityLogEntry = new ActivityLogEntry(appLog);
-            activityLogEntry = data.filterLogs(activityLogEntry);
-            
-            boolean isToShow = activityLogEntry.toShow() && (!activityLogEntry.isTestingData() || data.getIfShowTestData());
-            if (!isToShow) {
-                continue;
-            }
-            if (isFirstRow) {
-                activityLogEntry.setFirstRow();
-                isFirstRow = false;
+            ActivityLogLine logLine = new ActivityLogLine(appLog.getTimeUsec() / 1000, logMsg);
+            ActivityLogEntry activityLogEntry = filterLogForActivityLogPage(logLine, data);
+            if (activityLogEntry != null) {
+                appLogs.add(activityLogEntry);
             }
-            appLogs.add(activityLogEntry);
         }
         return appLogs;
     }
+    
+    /**
+     * Filters the log with the query, and marks it as the first row if it is the first log to be shown.
+     * The log is only parsed as far as the filtering needs.
+     * @return the log entry to be shown, or null if the log is not to be shown
+     */
+    private ActivityLogEntry filterLogForActivityLogPage(ActivityLogLine logLine, AdminActivityLogPageData data) {
+        if (logLine.isTestingData() && !data.getIfShowTestData()) {
+            return null;
+        }
+        ActivityLogEntry activityLogEntry = data.filterLogs(logLine);
+        if (activityLogEntry == null) {
+            return null;
+        }
+        if (isFirstRow) {
+            activityLogEntry.setFirstRow();
+            isFirstRow = false;
+        }
+        return activityLogEntry;
+    }
 
     private double getLocalTimeZoneForRequest(String userGoogleId, String userRole) {
         
@@ -366,9 +417,8 @@ public class AdminActivityLogPageAction extends Action {
         }
         
         Calendar appCal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-        SimpleDateFormat sdf = new SimpleDateFormat("dd-MM-yyyy HH:mm:ss");
         appCal.setTimeInMillis(Long.parseLong(logTimeInAdminTimeZone));
         TimeHelper.convertToUserTimeZone(appCal, timeZone);
-        return sdf.format(appCal.getTime());
+        return TimeHelper.format(appCal.getTime(), "dd-MM-yyyy HH:mm:ss");
     }
 }
@@ -12,6 +12,7 @@ import java.util.TimeZone;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogLine;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
@@ -152,7 +153,7 @@ public class AdminActivityLogPageData extends PageData {
      * check current log entry should be excluded as rubbish logs
      * returns false if the logEntry is regarded as rubbish
      */
-    private boolean shouldExcludeLogEntry(ActivityLogEntry logEntry) {
+    private boolean shouldExcludeLogEntry(ActivityLogLine logLine) {
         
         if (ifShowAll) {
             return false;
@@ -160,7 +161,7 @@ public class AdminActivityLogPageData extends PageData {
         
         for (String uri : excludedLogRequestURIs) {
             
-            if (uri.contains(logEntry.getServletName())) {
+            if (uri.contains(logLine.getServletName())) {
                 return true;
             }
         }
@@ -169,79 +170,66 @@ public class AdminActivityLogPageData extends PageData {
     }
     
     /**
-     * Performs the actual filtering, based on QueryParameters
-     * returns false if the logEntry fails the filtering process
+     * Performs the actual filtering, based on QueryParameters.
+     * Only the fields of the log line needed by the query are read, and the log entry is only created
+     * for a log which passes the filtering process.
+     * @return the log entry, or null if the log fails the filtering process
      */
-    public ActivityLogEntry filterLogs(ActivityLogEntry logEntry) {
-        if (!logEntry.toShow()) {
-            return logEntry;
+    public ActivityLogEntry filterLogs(ActivityLogLine logLine) {
+        if (!logLine.isToShow()) {
+            return null;
         }
         
         if (q == null) {
             if (this.queryMessage == null) {
                 this.queryMessage = "Error parsing the query. QueryParameters not created.";
             }
-            logEntry.setToShow(true);
-            return logEntry;
+            return new ActivityLogEntry(logLine);
         }
         
         //Filter based on what is in the query
-        if (q.isRequestInQuery && !arrayContains(q.requestValues, logEntry.getServletName())) {
-            logEntry.setToShow(false);
-            return logEntry;
+        if (q.isRequestInQuery && !arrayContains(q.requestValues, logLine.getServletName())) {
+            return null;
         }
-        if (q.isResponseInQuery && !arrayContains(q.responseValues, logEntry.getAction())) {
-            logEntry.setToShow(false);
-            return logEntry;
+        if (q.isResponseInQuery && !arrayContains(q.responseValues, logLine.getAction())) {
+            return null;
         }
         if (q.isPersonInQuery
-                && !logEntry.getName().toLowerCase().contains(q.personValue.toLowerCase())
-                && !logEntry.getGoogleId().toLowerCase().contains(q.personValue.toLowerCase())
-                && !logEntry.getEmail().toLowerCase().contains(q.personValue.toLowerCase())) {
-            logEntry.setToShow(false);
-            return logEntry;
+                && !logLine.getName().toLowerCase().contains(q.personValue.toLowerCase())
+                && !logLine.getGoogleId().toLowerCase().contains(q.personValue.toLowerCase())
+                && !logLine.getEmail().toLowerCase().contains(q.personValue.toLowerCase())) {
+            return null;
         }
-        if (q.isRoleInQuery && !arrayContains(q.roleValues, logEntry.getRole())) {
-            logEntry.setToShow(false);
-            return logEntry;
+        if (q.isRoleInQuery && !arrayContains(q.roleValues, logLine.getRole())) {
+            return null;
         }
         if (q.isCutoffInQuery) {
-            if (logEntry.getTimeTaken() == null) {
-                logEntry.setToShow(false);
-                return logEntry;
-            }
-            
-            if (logEntry.getTimeTaken() < q.cutoffValue) {
-                logEntry.setToShow(false);
-                return logEntry;
+            Long timeTaken = logLine.getTimeTaken();
+            if (timeTaken == null || timeTaken < q.cutoffValue) {
+                return null;
             }
         }
         if (q.isInfoInQuery) {
-            
+            ActivityLogEntry logEntry = new ActivityLogEntry(logLine);
             for (String keyString : q.infoValues) {
                 if (!logEntry.getMessageInfo().toLowerCase().contains(keyString.toLowerCase())) {
-                    logEntry.setToShow(false);
-                    return logEntry;
+                    return null;
                 }
             }
             
-            logEntry.setToShow(true);
             logEntry.setKeyStringsToHighlight(q.infoValues);
             logEntry.highlightKeyStringInMessageInfoHtml();
             return logEntry;
         }
-        if (q.isIdInQuery && !arrayContains(q.idValues, logEntry.getId())) {
-            logEntry.setToShow(false);
-            return logEntry;
+        if (q.isIdInQuery && !arrayContains(q.idValues, logLine.getId())) {
+            return null;
         }
         
-        if (shouldExcludeLogEntry(logEntry)) {
-            logEntry.setToShow(false);
-            return logEntry;
+        if (shouldExcludeLogEntry(logLine)) {
+            return null;
         }
         
-        logEntry.setToShow(true);
-        return logEntry;
+        return new ActivityLogEntry(logLine);
     }
     
     /**
@@ -502,6 +490,20 @@ public class AdminActivityLogPageData extends PageData {
         return q.personValue;
     }
     
+    /**
+     * @return the servlet names the query is limited to, in lower case, or null if it is not limited by servlet
+     */
+    public String[] getRequestsSpecified() {
+        return q != null && q.isRequestInQuery ? q.requestValues : null;
+    }
+    
+    /**
+     * @return the roles the query is limited to, in lower case, or null if it is not limited by role
+     */
+    public String[] getRolesSpecified() {
+        return q != null && q.isRoleInQuery ? q.roleValues : null;
+    }
+    
     public boolean isFromDateSpecifiedInQuery() {
         return isFromDateSpecifiedInQuery;
     }
@@ -0,0 +1,32 @@
+package teammates.ui.controller;
+
+import teammates.common.util.Const;
+import teammates.common.util.RequestMetrics;
+import teammates.logic.api.GateKeeper;
+
+/**
+ * Shows the latency and the datastore and search calls of the actions handled by the instance serving the page,
+ * and the batch size and latency of the calls it made to add tasks to each task queue,
+ * or exports them as JSON if {@link Const.ParamsNames#ADMIN_METRICS_EXPORT} is true.
+ */
+public class AdminMetricsPageAction extends Action {
+    
+    @Override
+    protected ActionResult execute() {
+        
+        new GateKeeper().verifyAdminPrivileges(account);
+        
+        AdminMetricsPageData data = new AdminMetricsPageData(account, RequestMetrics.getCollectedSince(),
+                                                             RequestMetrics.getActionMetrics(),
+                                                             logic.getTaskQueueMetrics());
+        
+        if (getRequestParamAsBoolean(Const.ParamsNames.ADMIN_METRICS_EXPORT)) {
+            statusToAdmin = "adminMetricsPage Export";
+            return createAjaxResult(data);
+        }
+        
+        statusToAdmin = "adminMetricsPage Page Load";
+        return createShowPageResult(Const.ViewURIs.ADMIN_METRICS, data);
+    }
+    
+}
@@ -0,0 +1,59 @@
+package teammates.ui.controller;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.util.ActionMetrics;
+import teammates.common.util.Const;
+import teammates.common.util.RequestMetrics;
+import teammates.common.util.TimeHelper;
+import teammates.logic.core.TaskQueueMetrics;
+
+public class AdminMetricsPageData extends PageData {
+    
+    private long collectedSince;
+    private List<ActionMetrics> actionMetrics;
+    private List<TaskQueueMetrics> taskQueueMetrics;
+    
+    public AdminMetricsPageData(AccountAttributes account, long collectedSince, List<ActionMetrics> actionMetrics,
+                                List<TaskQueueMetrics> taskQueueMetrics) {
+        super(account);
+        this.collectedSince = collectedSince;
+        this.actionMetrics = actionMetrics;
+        this.taskQueueMetrics = taskQueueMetrics;
+    }
+    
+    public long getCollectedSince() {
+        return collectedSince;
+    }
+    
+    /**
+     * @return the time the metrics have been collected since, in the admin time zone
+     */
+    public String getCollectedSinceString() {
+        return TimeHelper.format(new Date(collectedSince), "dd-MM-yyyy HH:mm:ss", Const.SystemParams.ADMIN_TIME_ZONE);
+    }
+    
+    public List<ActionMetrics> getActionMetrics() {
+        return actionMetrics;
+    }
+    
+    public List<TaskQueueMetrics> getTaskQueueMetrics() {
+        return taskQueueMetrics;
+    }
+    
+    public List<String> getCallNames() {
+        List<String> callNames = new ArrayList<String>();
+        for (RequestMetrics.Call call : RequestMetrics.Call.values()) {
+            callNames.add(call.getDisplayName());
+        }
+        return callNames;
+    }
+    
+    public String getExportLink() {
+        return Const.ActionURIs.ADMIN_METRICS_PAGE + "?" + Const.ParamsNames.ADMIN_METRICS_EXPORT + "=true";
+    }
+    
+}
@@ -2,9 +2,11 @@ package teammates.ui.controller;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
@@ -52,9 +54,12 @@ public class AdminSearchPageAction extends Action {
         data = putFeedbackSessionLinkIntoMap(data.studentResultBundle.studentList, data);
         data = putStudentHomePageLinkIntoMap(data.studentResultBundle.studentList, data);
         data = putStudentRecordsPageLinkIntoMap(data.studentResultBundle.studentList, data);
-        data = putStudentInsitituteIntoMap(data.studentResultBundle.studentList, data);
                    
         data.instructorResultBundle = logic.searchInstructorsInWholeSystem(searchKey, "");
+        
+        putCourseInstitutesIntoTempMap(data.studentResultBundle.studentList,
+                                       data.instructorResultBundle.instructorList);
+        data = putStudentInsitituteIntoMap(data.studentResultBundle.studentList, data);
         data = putInstructorInsitituteIntoMap(data.instructorResultBundle.instructorList, data);
         data = putInstructorHomePageLinkIntoMap(data.instructorResultBundle.instructorList, data);
         data = putInstructorCourseJoinLinkIntoMap(data.instructorResultBundle.instructorList, data);
@@ -128,28 +133,33 @@ public class AdminSearchPageAction extends Action {
         return data;
     }
     
+    /**
+     * Resolves the institutes of all courses of the given students and instructors in one batch.
+     */
+    private void putCourseInstitutesIntoTempMap(List<StudentAttributes> students,
+                                                List<InstructorAttributes> instructors) {
+        Set<String> courseIds = new HashSet<String>();
+        for (StudentAttributes student : students) {
+            courseIds.add(student.course);
+        }
+        for (InstructorAttributes instructor : instructors) {
+            courseIds.add(instructor.courseId);
+        }
+        courseIds.remove(null);
+        
+        for (Map.Entry<String, String> entry : logic.getCourseInstitutes(courseIds).entrySet()) {
+            String institute = entry.getValue().trim().isEmpty() ? "None" : entry.getValue();
+            tempCourseIdToInstituteMap.put(entry.getKey(), institute);
+        }
+    }
+    
     private AdminSearchPageData putInstructorInsitituteIntoMap(List<InstructorAttributes> instructors,
                                                                AdminSearchPageData data) {
-        Logic logic = new Logic();
         for (InstructorAttributes instructor : instructors) {
-            
-            if (tempCourseIdToInstituteMap.get(instructor.courseId) != null) {
-                data.instructorInstituteMap.put(instructor.getIdentificationString(),
-                                                tempCourseIdToInstituteMap.get(instructor.courseId));
-                continue;
-            }
-            
-            String googleId = findAvailableInstructorGoogleIdForCourse(instructor.courseId);
-            
-            AccountAttributes account = logic.getAccount(googleId);
-            if (account == null) {
-                continue;
+            String institute = tempCourseIdToInstituteMap.get(instructor.courseId);
+            if (institute != null) {
+                data.instructorInstituteMap.put(instructor.getIdentificationString(), institute);
             }
-            
-            String institute = account.institute.trim().isEmpty() ? "None" : account.institute;
-            
-            tempCourseIdToInstituteMap.put(instructor.courseId, institute);
-            data.instructorInstituteMap.put(instructor.getIdentificationString(), institute);
         }
         
         return data;
@@ -175,29 +185,11 @@ public class AdminSearchPageAction extends Action {
     }
 
     private AdminSearchPageData putStudentInsitituteIntoMap(List<StudentAttributes> students, AdminSearchPageData data) {
-        
-        Logic logic = new Logic();
-        
         for (StudentAttributes student : students) {
-            
-            if (tempCourseIdToInstituteMap.get(student.course) != null) {
-                data.studentInstituteMap.put(student.getIdentificationString(),
-                                             tempCourseIdToInstituteMap.get(student.course));
-                continue;
-            }
-            
-            String instructorForCoursegoogleId = findAvailableInstructorGoogleIdForCourse(student.course);
-            
-            AccountAttributes account = logic.getAccount(instructorForCoursegoogleId);
-            if (account == null) {
-                continue;
+            String institute = tempCourseIdToInstituteMap.get(student.course);
+            if (institute != null) {
+                data.studentInstituteMap.put(student.getIdentificationString(), institute);
             }
-            
-            String institute = account.institute.trim().isEmpty() ? "None" : account.institute;
-            
-            tempCourseIdToInstituteMap.put(student.course, institute);
-            
-            data.studentInstituteMap.put(student.getIdentificationString(), institute);
         }
         
         return data;
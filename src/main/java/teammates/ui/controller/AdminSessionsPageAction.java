@@ -4,10 +4,11 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Const;
@@ -25,6 +26,7 @@ public class AdminSessionsPageAction extends Action {
 
     private Map<String, List<FeedbackSessionAttributes>> map;
     private Map<String, String> sessionToInstructorIdMap = new HashMap<String, String>();
+    private Map<String, String> creatorEmailToInstructorIdMap = new HashMap<String, String>();
     private int totalOngoingSessions;
     private int totalOpenStatusSessions;
     private int totalClosedStatusSessions;
@@ -128,10 +130,10 @@ public class AdminSessionsPageAction extends Action {
                               + "<span class=\"bold\"> Error: invalid filter range</span>";
     
                 prepareDefaultPageData(calStart, calEnd);
-                data.init(this.map, this.sessionToInstructorIdMap, this.totalOngoingSessions,
-                          this.totalOpenStatusSessions, this.totalClosedStatusSessions,
-                          this.totalWaitToOpenStatusSessions, this.totalInstitutes, this.rangeStart,
-                          this.rangeEnd, this.zone, this.isShowAll);
+                data.init(this.map, this.sessionToInstructorIdMap, this.creatorEmailToInstructorIdMap,
+                          this.totalOngoingSessions, this.totalOpenStatusSessions, this.totalClosedStatusSessions,
+                          this.totalWaitToOpenStatusSessions, this.totalInstitutes, this.rangeStart, this.rangeEnd,
+                          this.zone, this.isShowAll);
                 return createShowPageResult(Const.ViewURIs.ADMIN_SESSIONS, data);
             }
           
@@ -143,9 +145,10 @@ public class AdminSessionsPageAction extends Action {
                           + "<span class=\"bold\"> Error: Missing Parameters</span>";
 
             prepareDefaultPageData(calStart, calEnd);
-            data.init(this.map, this.sessionToInstructorIdMap, this.totalOngoingSessions,
-                      this.totalOpenStatusSessions, this.totalClosedStatusSessions, this.totalWaitToOpenStatusSessions,
-                      this.totalInstitutes, this.rangeStart, this.rangeEnd, this.zone, this.isShowAll);
+            data.init(this.map, this.sessionToInstructorIdMap, this.creatorEmailToInstructorIdMap,
+                      this.totalOngoingSessions, this.totalOpenStatusSessions, this.totalClosedStatusSessions,
+                      this.totalWaitToOpenStatusSessions, this.totalInstitutes, this.rangeStart, this.rangeEnd,
+                      this.zone, this.isShowAll);
             return createShowPageResult(Const.ViewURIs.ADMIN_SESSIONS, data);
             
         }
@@ -172,9 +175,10 @@ public class AdminSessionsPageAction extends Action {
             this.totalClosedStatusSessions = 0;
             this.totalWaitToOpenStatusSessions = 0;
             this.totalInstitutes = 0;
-            data.init(this.map, this.sessionToInstructorIdMap, this.totalOngoingSessions,
-                      this.totalOpenStatusSessions, this.totalClosedStatusSessions, this.totalWaitToOpenStatusSessions,
-                      this.totalInstitutes, this.rangeStart, this.rangeEnd, this.zone, this.isShowAll);
+            data.init(this.map, this.sessionToInstructorIdMap, this.creatorEmailToInstructorIdMap,
+                      this.totalOngoingSessions, this.totalOpenStatusSessions, this.totalClosedStatusSessions,
+                      this.totalWaitToOpenStatusSessions, this.totalInstitutes, this.rangeStart, this.rangeEnd,
+                      this.zone, this.isShowAll);
             return createShowPageResult(Const.ViewURIs.ADMIN_SESSIONS, data);
         }
         
@@ -189,28 +193,27 @@ public class AdminSessionsPageAction extends Action {
         this.totalClosedStatusSessions = getTotalNumOfCloseStatusSession(allOpenFeedbackSessionsList);
         this.totalWaitToOpenStatusSessions = getTotalNumOfWaitToOpenStatusSession(allOpenFeedbackSessionsList);
 
+        Set<String> courseIds = new HashSet<String>();
+        for (FeedbackSessionAttributes fs : allOpenFeedbackSessionsList) {
+            courseIds.add(fs.getCourseId());
+        }
+        Map<String, String> courseInstitutes = logic.getCourseInstitutes(courseIds);
+        
         for (FeedbackSessionAttributes fs : allOpenFeedbackSessionsList) {
 
-            List<InstructorAttributes> instructors = logic.getInstructorsForCourse(fs.getCourseId());
+            String institute = courseInstitutes.get(fs.getCourseId());
 
-            if (instructors.isEmpty()) {
+            if (institute == null) {
                 putIntoUnknownList(map, fs);
+                continue;
+            }
+            
+            if (map.get(institute) == null) {
+                List<FeedbackSessionAttributes> newList = new ArrayList<FeedbackSessionAttributes>();
+                newList.add(fs);
+                map.put(institute, newList);
             } else {
-                AccountAttributes account = getRegisteredInstructorAccountFromInstructors(instructors);
-
-                if (account == null) {
-                    putIntoUnknownList(map, fs);
-                    continue;
-                }
-
-                if (map.get(account.institute) == null) {
-                    List<FeedbackSessionAttributes> newList = new ArrayList<FeedbackSessionAttributes>();
-                    newList.add(fs);
-                    map.put(account.institute, newList);
-                } else {
-                    map.get(account.institute).add(fs);
-                }
-
+                map.get(institute).add(fs);
             }
         }
         this.map = map;
@@ -221,37 +224,77 @@ public class AdminSessionsPageAction extends Action {
                       + "<span class=\"bold\">Total Opened Sessions:</span> "
                       + this.totalOpenStatusSessions;
         
-        constructSessionToInstructorIdMap();
-        data.init(this.map, this.sessionToInstructorIdMap, this.totalOngoingSessions,
-                  this.totalOpenStatusSessions, this.totalClosedStatusSessions, this.totalWaitToOpenStatusSessions,
-                  this.totalInstitutes, this.rangeStart, this.rangeEnd, this.zone, this.isShowAll);
+        constructSessionToInstructorIdMap(allOpenFeedbackSessionsList, courseIds);
+        constructCreatorEmailToInstructorIdMap(allOpenFeedbackSessionsList);
+        data.init(this.map, this.sessionToInstructorIdMap, this.creatorEmailToInstructorIdMap,
+                  this.totalOngoingSessions, this.totalOpenStatusSessions, this.totalClosedStatusSessions,
+                  this.totalWaitToOpenStatusSessions, this.totalInstitutes, this.rangeStart, this.rangeEnd,
+                  this.zone, this.isShowAll);
         return createShowPageResult(Const.ViewURIs.ADMIN_SESSIONS, data);
     }
     
-    private void constructSessionToInstructorIdMap() {
-        for (String institute : this.map.keySet()) {
-            for (FeedbackSessionAttributes fs : this.map.get(institute)) {
-                String googleId = findAvailableInstructorGoogleIdForCourse(fs.getCourseId());
-                this.sessionToInstructorIdMap.put(fs.getIdentificationString(), googleId);
+    /**
+     * Maps each session to the google ID of a registered instructor of its course,
+     * reading the instructors of all the courses together and finding the instructor once per course.
+     */
+    private void constructSessionToInstructorIdMap(List<FeedbackSessionAttributes> sessions, Set<String> courseIds) {
+        Map<String, List<InstructorAttributes>> instructorsTable = logic.getInstructorsForCourses(courseIds);
+        Map<String, String> courseToInstructorIdMap = new HashMap<String, String>();
+        for (String courseId : courseIds) {
+            courseToInstructorIdMap.put(courseId, findAvailableInstructorGoogleId(instructorsTable.get(courseId)));
+        }
+        
+        for (FeedbackSessionAttributes fs : sessions) {
+            this.sessionToInstructorIdMap.put(fs.getIdentificationString(),
+                                              courseToInstructorIdMap.get(fs.getCourseId()));
+        }
+    }
+    
+    /**
+     * Maps the email of each session creator who is an instructor to the google ID of the creator.
+     * The creators are read in one batch get as the instructors of the sessions' courses with the creators' emails.
+     * Only the creators not found that way, e.g. those whose email has been updated, are looked up by email,
+     * which takes one query per email.
+     */
+    private void constructCreatorEmailToInstructorIdMap(List<FeedbackSessionAttributes> sessions) {
+        Set<String> creatorIds = new HashSet<String>();
+        for (FeedbackSessionAttributes fs : sessions) {
+            creatorIds.add(InstructorAttributes.makeId(fs.getCreatorEmail(), fs.getCourseId()));
+        }
+        Map<String, InstructorAttributes> creators = logic.getInstructorsForIds(creatorIds);
+        
+        Set<String> creatorEmailsNotFound = new HashSet<String>();
+        for (FeedbackSessionAttributes fs : sessions) {
+            InstructorAttributes creator = creators.get(InstructorAttributes.makeId(fs.getCreatorEmail(), fs.getCourseId()));
+            if (creator == null) {
+                creatorEmailsNotFound.add(fs.getCreatorEmail());
+            } else if (!this.creatorEmailToInstructorIdMap.containsKey(fs.getCreatorEmail())) {
+                this.creatorEmailToInstructorIdMap.put(fs.getCreatorEmail(), creator.googleId);
+            }
+        }
+        creatorEmailsNotFound.removeAll(this.creatorEmailToInstructorIdMap.keySet());
+        if (creatorEmailsNotFound.isEmpty()) {
+            return;
+        }
+        
+        for (Map.Entry<String, List<InstructorAttributes>> entry
+                : logic.getInstructorsForEmails(creatorEmailsNotFound).entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                this.creatorEmailToInstructorIdMap.put(entry.getKey(), entry.getValue().get(0).googleId);
             }
         }
     }
 
     /**
-     * This method loops through all instructors for the given course until a registered Instructor is found.
+     * This method loops through the given instructors of a course until a registered Instructor is found.
      * It returns the google id of the found instructor.
-     * @param CourseId
      * @return empty string if no available instructor google id is found
      */
-    private String findAvailableInstructorGoogleIdForCourse(String courseId) {
+    private String findAvailableInstructorGoogleId(List<InstructorAttributes> instructors) {
         
         String googleId = "";
         
-        if (logic.getInstructorsForCourse(courseId) == null) {
-            return googleId;
-        }
-        
-        for (InstructorAttributes instructor : logic.getInstructorsForCourse(courseId)) {
+        for (InstructorAttributes instructor : instructors) {
           
             if (instructor.googleId != null) {
                 googleId = instructor.googleId;
@@ -262,17 +305,6 @@ public class AdminSessionsPageAction extends Action {
         return googleId;
     }
 
-    private AccountAttributes getRegisteredInstructorAccountFromInstructors(List<InstructorAttributes> instructors) {
-        
-        for (InstructorAttributes instructor : instructors) {
-            if (instructor.googleId != null) {
-                return logic.getAccount(instructor.googleId);
-            }
-        }
-        
-        return null;
-    }
-
     private int getTotalNumOfOpenStatusSession(List<FeedbackSessionAttributes> allOpenFeedbackSessionsList) {
         
         int numOfTotal = 0;
@@ -4,17 +4,17 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
-import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Url;
-import teammates.logic.api.Logic;
 import teammates.ui.template.AdminFeedbackSessionRow;
 import teammates.ui.template.AdminFilter;
+import teammates.ui.template.AdminSessionsDayRow;
 import teammates.ui.template.InstitutionPanel;
 
 public class AdminSessionsPageData extends PageData {
@@ -29,7 +29,9 @@ public class AdminSessionsPageData extends PageData {
     private double zone;
     private boolean isShowAll;
     private List<InstitutionPanel> institutionPanels;
+    private List<AdminSessionsDayRow> dayRows;
     private AdminFilter filter;
+    private Map<String, String> creatorEmailToInstructorIdMap;
     
     public AdminSessionsPageData(AccountAttributes account) {
         super(account);
@@ -38,9 +40,9 @@ public class AdminSessionsPageData extends PageData {
     
     public void init(
             Map<String, List<FeedbackSessionAttributes>> map, Map<String, String> sessionToInstructorIdMap,
-            int totalOngoingSessions, int totalOpenStatusSessions, int totalClosedStatusSessions,
-            int totalWaitToOpenStatusSessions, int totalInstitutes, Date rangeStart, Date rangeEnd,
-            double zone, boolean isShowAll) {
+            Map<String, String> creatorEmailToInstructorIdMap, int totalOngoingSessions,
+            int totalOpenStatusSessions, int totalClosedStatusSessions, int totalWaitToOpenStatusSessions,
+            int totalInstitutes, Date rangeStart, Date rangeEnd, double zone, boolean isShowAll) {
 
         this.totalOngoingSessions = totalOngoingSessions;
         this.totalOpenStatusSessions = totalOpenStatusSessions;
@@ -51,8 +53,10 @@ public class AdminSessionsPageData extends PageData {
         this.rangeEnd = rangeEnd;
         this.zone = zone;
         this.isShowAll = isShowAll;
+        this.creatorEmailToInstructorIdMap = creatorEmailToInstructorIdMap;
         setFilter();
         setInstitutionPanels(map, sessionToInstructorIdMap);
+        setDayRows(map);
     }
 
     public int getTotalOngoingSessions() {
@@ -99,17 +103,17 @@ public class AdminSessionsPageData extends PageData {
         return institutionPanels;
     }
     
+    public List<AdminSessionsDayRow> getDayRows() {
+        return dayRows;
+    }
+    
     public String getInstructorHomePageViewLink(String email) {
 
-        Logic logic = new Logic();
-        List<InstructorAttributes> instructors = logic
-                .getInstructorsForEmail(email);
-
-        if (instructors == null || instructors.isEmpty()) {
+        if (!creatorEmailToInstructorIdMap.containsKey(email)) {
             return "";
         }
         
-        String googleId = logic.getInstructorsForEmail(email).get(0).googleId;
+        String googleId = creatorEmailToInstructorIdMap.get(email);
         String link = Const.ActionURIs.INSTRUCTOR_HOME_PAGE;
         link = Url.addParamToUrl(link, Const.ParamsNames.USER_ID, googleId);
         return "href=\"" + link + "\"";
@@ -213,19 +217,59 @@ public class AdminSessionsPageData extends PageData {
         institutionPanels = new ArrayList<InstitutionPanel>();
         for (String key : map.keySet()) {
             if (!key.equals(UNKNOWN_INSTITUTION)) {
-                institutionPanels.add(new InstitutionPanel(
-                                              key, getFeedbackSessionRows(
-                                                           map.get(key),
-                                                           sessionToInstructorIdMap)));
+                institutionPanels.add(createInstitutionPanel(key, map.get(key), sessionToInstructorIdMap));
             }
         }
         String key = UNKNOWN_INSTITUTION;
         List<FeedbackSessionAttributes> feedbackSessions = map.get(key);
         if (feedbackSessions != null) {
-            institutionPanels.add(new InstitutionPanel(
-                                          key, getFeedbackSessionRows(
-                                                       feedbackSessions,
-                                                       sessionToInstructorIdMap)));
+            institutionPanels.add(createInstitutionPanel(key, feedbackSessions, sessionToInstructorIdMap));
+        }
+    }
+    
+    private InstitutionPanel createInstitutionPanel(String institutionName,
+                                                    List<FeedbackSessionAttributes> feedbackSessions,
+                                                    Map<String, String> sessionToInstructorIdMap) {
+        int totalOpenStatusSessions = 0;
+        int totalClosedStatusSessions = 0;
+        int totalWaitToOpenStatusSessions = 0;
+        for (FeedbackSessionAttributes feedbackSession : feedbackSessions) {
+            if (feedbackSession.isOpened()) {
+                totalOpenStatusSessions++;
+            }
+            if (feedbackSession.isClosed()) {
+                totalClosedStatusSessions++;
+            }
+            if (feedbackSession.isWaitingToOpen()) {
+                totalWaitToOpenStatusSessions++;
+            }
+        }
+        return new InstitutionPanel(institutionName, getFeedbackSessionRows(feedbackSessions, sessionToInstructorIdMap),
+                                    totalOpenStatusSessions, totalClosedStatusSessions, totalWaitToOpenStatusSessions);
+    }
+    
+    /**
+     * Counts the sessions starting and ending on each day, by the dates shown for their start and end times.
+     */
+    private void setDayRows(Map<String, List<FeedbackSessionAttributes>> map) {
+        // sorted by the date in a format that sorts in chronological order
+        Map<String, AdminSessionsDayRow> dayRowsTable = new TreeMap<String, AdminSessionsDayRow>();
+        for (List<FeedbackSessionAttributes> feedbackSessions : map.values()) {
+            for (FeedbackSessionAttributes feedbackSession : feedbackSessions) {
+                getDayRow(dayRowsTable, feedbackSession.getSessionStartTime()).addSessionStarting();
+                getDayRow(dayRowsTable, feedbackSession.getSessionEndTime()).addSessionEnding();
+            }
+        }
+        dayRows = new ArrayList<AdminSessionsDayRow>(dayRowsTable.values());
+    }
+    
+    private static AdminSessionsDayRow getDayRow(Map<String, AdminSessionsDayRow> dayRowsTable, Date time) {
+        String day = TimeHelper.format(time, "yyyy-MM-dd");
+        AdminSessionsDayRow dayRow = dayRowsTable.get(day);
+        if (dayRow == null) {
+            dayRow = new AdminSessionsDayRow(TimeHelper.format(time, "EEE, dd MMM yyyy"));
+            dayRowsTable.put(day, dayRow);
         }
+        return dayRow;
     }
 }
@@ -3,6 +3,7 @@ package teammates.ui.controller;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.servlet.http.HttpServlet;
@@ -20,6 +21,7 @@ import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.EmailWrapper;
 import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.RequestMetrics;
 import teammates.common.util.StatusMessage;
 import teammates.common.util.Utils;
 import teammates.logic.api.GateKeeper;
@@ -47,13 +49,14 @@ public class ControllerServlet extends HttpServlet {
     @SuppressWarnings("PMD.AvoidCatchingThrowable") // used as fallback
     public final void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
 
+        long startTime = System.currentTimeMillis();
+        RequestMetrics.startRequest();
         try {
             /* We are using the Template Method Design Pattern here.
              * This method contains the high level logic of the the request processing.
              * Concrete details of the processing steps are to be implemented by child
              * classes, based on request-specific needs.
              */
-            long startTime = System.currentTimeMillis();
             
             log.info("Request received : [" + req.getMethod() + "] " + req.getRequestURL().toString()
                     + ":" + HttpRequestHelper.printRequestParameters(req));
@@ -70,25 +73,25 @@ public class ControllerServlet extends HttpServlet {
             long timeTaken = System.currentTimeMillis() - startTime;
             // This is the log message that is used to generate the 'activity log' for the admin.
             
-            log.info(c.getLogMessage() + "|||" + timeTaken);
+            logActivity(Level.INFO, c.getLogMessage() + "|||" + timeTaken);
             
         } catch (PageNotFoundException e) {
-            log.warning(ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
+            logActivity(Level.WARNING, ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
             cleanUpStatusMessageInSession(req);
             resp.sendRedirect(Const.ViewURIs.ACTION_NOT_FOUND_PAGE);
         } catch (EntityNotFoundException e) {
-            log.warning(ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
+            logActivity(Level.WARNING, ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
             cleanUpStatusMessageInSession(req);
             resp.sendRedirect(Const.ViewURIs.ENTITY_NOT_FOUND_PAGE);
 
         } catch (FeedbackSessionNotVisibleException e) {
-            log.warning(ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
+            logActivity(Level.WARNING, ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
             cleanUpStatusMessageInSession(req);
             req.getSession().setAttribute(Const.ParamsNames.FEEDBACK_SESSION_NOT_VISIBLE, e.getStartTimeString());
             resp.sendRedirect(Const.ViewURIs.FEEDBACK_SESSION_NOT_VISIBLE);
             
         } catch (UnauthorizedAccessException e) {
-            log.warning(ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
+            logActivity(Level.WARNING, ActivityLogEntry.generateServletActionFailureLogMessage(req, e));
             cleanUpStatusMessageInSession(req);
             resp.sendRedirect(Const.ViewURIs.UNAUTHORIZED);
 
@@ -131,14 +134,28 @@ public class ControllerServlet extends HttpServlet {
             EmailWrapper email = new Logic().emailErrorReport(requestMethod, requestUserAgent, requestPath,
                                                               requestUrl, requestParams, userType, t);
             if (email != null) {
-                log.severe(ActivityLogEntry.generateSystemErrorReportLogMessage(req, email));
+                logActivity(Level.SEVERE, ActivityLogEntry.generateSystemErrorReportLogMessage(req, email));
             }
             cleanUpStatusMessageInSession(req);
             resp.sendRedirect(Const.ViewURIs.ERROR_PAGE);
+        } finally {
+            // requests for URIs without an action share one entry, so that they cannot add entries without bound
+            String actionName = ActionFactory.getActionName(req);
+            RequestMetrics.finishRequest(actionName == null ? RequestMetrics.UNKNOWN_ACTION_NAME : actionName,
+                                         System.currentTimeMillis() - startTime);
         }
         
     }
     
+    /**
+     * Logs an activity log message, which is also recorded to be kept in the datastore
+     * so that the admin activity log page can search it without scanning the application logs.
+     */
+    private void logActivity(Level level, String logMessage) {
+        log.log(level, logMessage);
+        new Logic().recordActivityLog(logMessage);
+    }
+    
     private void cleanUpStatusMessageInSession(HttpServletRequest req) {
         req.getSession().removeAttribute(Const.ParamsNames.STATUS_MESSAGES_LIST);
     }
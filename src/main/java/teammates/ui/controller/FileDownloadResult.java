@@ -2,6 +2,7 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
@@ -15,6 +16,7 @@ public class FileDownloadResult extends ActionResult {
     
     String fileContent = "";
     String fileName = "";
+    FileContentWriter fileContentWriter;
 
     public FileDownloadResult(String destination, AccountAttributes account,
             List<StatusMessage> status) {
@@ -30,6 +32,19 @@ public class FileDownloadResult extends ActionResult {
         this.fileContent = fileContent;
     }
 
+    /**
+     * Creates a result whose content is generated by {@code fileContentWriter} while it is being sent,
+     * instead of being generated as a whole beforehand.
+     */
+    public FileDownloadResult(
+            String destination, AccountAttributes account,
+            List<StatusMessage> status,
+            String fileName, FileContentWriter fileContentWriter) {
+        super(destination, account, status);
+        this.fileName = fileName;
+        this.fileContentWriter = fileContentWriter;
+    }
+    
     @Override
     public void send(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         /*
@@ -42,7 +57,15 @@ public class FileDownloadResult extends ActionResult {
         resp.setHeader("Content-Disposition", getContentDispositionHeader());
         PrintWriter writer = resp.getWriter();
         writer.write("\uFEFF");
-        writer.append(fileContent);
+        writeFileContent(writer);
+    }
+    
+    private void writeFileContent(PrintWriter writer) {
+        if (fileContentWriter == null) {
+            writer.append(fileContent);
+        } else {
+            fileContentWriter.write(writer);
+        }
     }
     
     /**
@@ -67,7 +90,21 @@ public class FileDownloadResult extends ActionResult {
     }
     
     public String getFileContent() {
-        return this.fileContent;
+        if (fileContentWriter == null) {
+            return this.fileContent;
+        }
+        StringWriter content = new StringWriter();
+        writeFileContent(new PrintWriter(content));
+        return content.toString();
+    }
+    
+    /**
+     * Writes the content of a file as it is generated.
+     */
+    public interface FileContentWriter {
+        
+        void write(PrintWriter writer);
+        
     }
 
 }
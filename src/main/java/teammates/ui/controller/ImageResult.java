@@ -7,6 +7,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.StatusMessage;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -30,8 +31,12 @@ public class ImageResult extends ActionResult {
             resp.sendError(1, "No image found");
         } else {
             resp.setContentType("image/png");
-            BlobstoreService blobstoreService = BlobstoreServiceFactory.getBlobstoreService();
-            blobstoreService.serve(new BlobKey(blobKey), resp);
+            // the client has to revalidate its copy every time, as the access to the image is checked
+            // on every request, but the image itself is not sent again if the copy is still up-to-date
+            if (!HttpRequestHelper.setImageCacheHeadersAndCheckNotModified(req, resp, blobKey, 0, false)) {
+                BlobstoreService blobstoreService = BlobstoreServiceFactory.getBlobstoreService();
+                blobstoreService.serve(new BlobKey(blobKey), resp);
+            }
         }
     }
 
@@ -1,9 +1,13 @@
 package teammates.ui.controller;
 
+import java.io.PrintWriter;
+
+import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.logic.api.GateKeeper;
+import teammates.ui.controller.FileDownloadResult.FileContentWriter;
 
 public class InstructorCourseStudentListDownloadAction extends Action {
 
@@ -12,16 +16,22 @@ public class InstructorCourseStudentListDownloadAction extends Action {
         String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
         Assumption.assertNotNull(courseId);
         
+        final CourseAttributes course = logic.getCourse(courseId);
         new GateKeeper().verifyAccessible(
                 logic.getInstructorForGoogleId(courseId, account.googleId),
-                logic.getCourse(courseId));
+                course);
         
-        String fileContent = logic.getCourseStudentListAsCsv(courseId, account.googleId);
         String fileName = courseId + "_studentList";
         
         statusToAdmin = "Students data for Course " + courseId + " was downloaded";
         
-        return createFileDownloadResult(fileName, fileContent);
+        // the rows are written to the response as they are generated, instead of being built into one string
+        return createFileDownloadResult(fileName, new FileContentWriter() {
+            @Override
+            public void write(PrintWriter writer) {
+                logic.writeCourseStudentListAsCsv(course, writer);
+            }
+        });
     }
 
 }
@@ -0,0 +1,51 @@
+package teammates.ui.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.logic.api.GateKeeper;
+
+/**
+ * Action: gets the profile picture URLs of all the students in a course, or in a section of the course,
+ * whose pictures the instructor is allowed to view.
+ */
+public class InstructorCourseStudentPictureManifestAction extends Action {
+    
+    @Override
+    protected ActionResult execute() {
+        String courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
+        Assumption.assertPostParamNotNull(Const.ParamsNames.COURSE_ID, courseId);
+        String sectionName = getRequestParamValue(Const.ParamsNames.SECTION_NAME);
+        
+        InstructorAttributes instructor = logic.getInstructorForGoogleId(courseId, account.googleId);
+        new GateKeeper().verifyAccessible(instructor, logic.getCourse(courseId));
+        
+        List<StudentAttributes> students = sectionName == null
+                                           ? logic.getStudentsForCourse(courseId)
+                                           : logic.getStudentsForSection(sectionName, courseId);
+        
+        List<StudentAttributes> studentsWithViewablePictures = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : students) {
+            if (instructor.isAllowedForPrivilege(student.section,
+                                                 Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS)) {
+                studentsWithViewablePictures.add(student);
+            }
+        }
+        
+        Map<String, String> pictureUrls = logic.getProfilePictureUrlsForStudents(studentsWithViewablePictures);
+        
+        statusToAdmin = "Profile picture URLs of " + pictureUrls.size() + " students in course <span class=\"bold\">["
+                      + courseId + "]</span>" + (sectionName == null ? "" : " section [" + sectionName + "]")
+                      + " retrieved";
+        
+        InstructorCourseStudentPictureManifestAjaxPageData data =
+                new InstructorCourseStudentPictureManifestAjaxPageData(account, courseId, pictureUrls);
+        return createAjaxResult(data);
+    }
+    
+}
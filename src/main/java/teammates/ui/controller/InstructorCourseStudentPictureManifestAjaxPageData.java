@@ -0,0 +1,29 @@
+package teammates.ui.controller;
+
+import java.util.Map;
+
+import teammates.common.datatransfer.AccountAttributes;
+
+public class InstructorCourseStudentPictureManifestAjaxPageData extends PageData {
+    
+    private String courseId;
+    
+    /** Profile picture URLs of the students, keyed by the students' emails */
+    private Map<String, String> pictureUrls;
+    
+    public InstructorCourseStudentPictureManifestAjaxPageData(AccountAttributes account, String courseId,
+                                                              Map<String, String> pictureUrls) {
+        super(account);
+        this.courseId = courseId;
+        this.pictureUrls = pictureUrls;
+    }
+    
+    public String getCourseId() {
+        return courseId;
+    }
+    
+    public Map<String, String> getPictureUrls() {
+        return pictureUrls;
+    }
+    
+}
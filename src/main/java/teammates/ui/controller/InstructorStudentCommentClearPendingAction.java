@@ -27,9 +27,7 @@ public class InstructorStudentCommentClearPendingAction extends Action {
                 logic.getInstructorForGoogleId(courseId, account.googleId),
                 logic.getCourse(courseId));
         
-        logic.updateCommentsSendingState(courseId, CommentSendingState.PENDING, CommentSendingState.SENDING);
-        logic.updateFeedbackResponseCommentsSendingState(
-                      courseId, CommentSendingState.PENDING, CommentSendingState.SENDING);
+        logic.clearPendingComments(courseId);
         
         // Wait for the operation to persist
         if (Config.PERSISTENCE_CHECK_DURATION > 0) {
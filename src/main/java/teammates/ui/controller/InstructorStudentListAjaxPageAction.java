@@ -1,5 +1,6 @@
 package teammates.ui.controller;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -8,11 +9,11 @@ import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentListPageBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
-import teammates.common.util.Url;
 import teammates.logic.api.GateKeeper;
 
 public class InstructorStudentListAjaxPageAction extends Action {
@@ -33,26 +34,36 @@ public class InstructorStudentListAjaxPageAction extends Action {
 
         new GateKeeper().verifyAccessible(instructor, course);
 
-        List<SectionDetailsBundle> courseSectionDetails = logic.getSectionsForCourse(courseId);
         int courseIndex = Integer.parseInt(courseIndexString);
-        boolean hasSection = logic.hasIndicatedSections(courseId);
+        String offsetString = getRequestParamValue(Const.ParamsNames.STUDENT_LIST_OFFSET);
+        int offset = offsetString == null ? 0 : Integer.parseInt(offsetString);
+        String sectionNameFilter = getRequestParamValue(Const.ParamsNames.SECTION_NAME);
+        if (sectionNameFilter != null && sectionNameFilter.isEmpty()) {
+            sectionNameFilter = null;
+        }
+        String searchKey = getRequestParamValue(Const.ParamsNames.SEARCH_KEY);
+        
+        // only one page of the students is rendered, so that the size of the response and the number of
+        // profile picture URLs to be resolved do not grow with the size of the course
+        StudentListPageBundle page = logic.getStudentListPage(courseId, sectionNameFilter, searchKey, offset,
+                                                              Const.SystemParams.STUDENT_LIST_PAGE_SIZE);
 
-        Map<String, String> emailPhotoUrlMapping = new HashMap<String, String>();
+        List<StudentAttributes> studentsWithViewablePhotos = new ArrayList<StudentAttributes>();
+        List<StudentAttributes> studentsWithoutViewablePhotos = new ArrayList<StudentAttributes>();
         Map<String, Map<String, Boolean>> sectionPrivileges = new HashMap<>();
-        for (SectionDetailsBundle sectionDetails : courseSectionDetails) {
+        for (SectionDetailsBundle sectionDetails : page.sections) {
+            boolean isAllowedToViewStudentInSection = instructor.isAllowedForPrivilege(
+                    sectionDetails.name, Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS);
             for (TeamDetailsBundle teamDetails : sectionDetails.teams) {
-                for (StudentAttributes student : teamDetails.students) {
-                    String studentPhotoUrl = student.getPublicProfilePictureUrl();
-                    studentPhotoUrl = Url.addParamToUrl(studentPhotoUrl,
-                                                    Const.ParamsNames.USER_ID, account.googleId);
-                    emailPhotoUrlMapping.put(student.email, studentPhotoUrl);
+                if (isAllowedToViewStudentInSection) {
+                    studentsWithViewablePhotos.addAll(teamDetails.students);
+                } else {
+                    studentsWithoutViewablePhotos.addAll(teamDetails.students);
                 }
             }
             Map<String, Boolean> sectionPrivilege = new HashMap<String, Boolean>();
             sectionPrivilege.put(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS,
-                                 instructor.isAllowedForPrivilege(
-                                         sectionDetails.name,
-                                         Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS));
+                                 isAllowedToViewStudentInSection);
             sectionPrivilege.put(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_STUDENT,
                                  instructor.isAllowedForPrivilege(sectionDetails.name,
                                                                   Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_STUDENT));
@@ -63,10 +74,17 @@ public class InstructorStudentListAjaxPageAction extends Action {
             sectionPrivileges.put(sectionDetails.name, sectionPrivilege);
         }
         
+        // the pictures of all students on the page in the sections the instructor can view are resolved together,
+        // and served through signed URLs that do not need the access to be checked again for each picture
+        Map<String, String> emailPhotoUrlMapping = logic.getProfilePictureUrlsForStudents(studentsWithViewablePhotos);
+        for (StudentAttributes student : studentsWithoutViewablePhotos) {
+            emailPhotoUrlMapping.put(student.email, Const.SystemParams.DEFAULT_PROFILE_PICTURE_PATH);
+        }
+        
         InstructorStudentListAjaxPageData data = new InstructorStudentListAjaxPageData(account, courseId, courseIndex,
-                                                                                       hasSection, courseSectionDetails,
-                                                                                       sectionPrivileges,
-                                                                                       emailPhotoUrlMapping);
+                                                                                       page, sectionPrivileges,
+                                                                                       emailPhotoUrlMapping,
+                                                                                       sectionNameFilter, searchKey);
 
         return createShowPageResult(Const.ViewURIs.INSTRUCTOR_STUDENT_LIST_AJAX, data);
     }
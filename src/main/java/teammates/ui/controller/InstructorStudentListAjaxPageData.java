@@ -1,11 +1,13 @@
 package teammates.ui.controller;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.SectionDetailsBundle;
+import teammates.common.datatransfer.StudentListPageBundle;
 import teammates.common.util.Const;
 import teammates.ui.template.StudentListSectionData;
 
@@ -15,25 +17,60 @@ public class InstructorStudentListAjaxPageData extends PageData {
     private int courseIndex;
     private boolean hasSection;
     private List<StudentListSectionData> sections;
+    private Map<String, List<String>> teamNamesInSections;
+    private String sectionNameFilter;
+    private String searchKey;
+    private int firstStudentIndex;
+    private int nextOffset;
+    private boolean hasNextPage;
+    private int numStudentsMatched;
 
     public InstructorStudentListAjaxPageData(AccountAttributes account, String courseId, int courseIndex,
-                                             boolean hasSection, List<SectionDetailsBundle> sections,
+                                             StudentListPageBundle page,
                                              Map<String, Map<String, Boolean>> sectionPrivileges,
-                                             Map<String, String> emailPhotoUrlMapping) {
+                                             Map<String, String> emailPhotoUrlMapping,
+                                             String sectionNameFilter, String searchKey) {
         super(account);
         this.courseId = courseId;
         this.courseIndex = courseIndex;
-        this.hasSection = hasSection;
+        this.teamNamesInSections = page.teamNamesInSections;
+        this.hasSection = teamNamesInSections.size() > 1
+                          || teamNamesInSections.size() == 1
+                             && !teamNamesInSections.containsKey(Const.DEFAULT_SECTION);
+        this.sectionNameFilter = sectionNameFilter;
+        this.searchKey = searchKey;
+        this.firstStudentIndex = page.offset;
+        this.nextOffset = page.getNextOffset();
+        this.hasNextPage = page.hasNextPage();
+        this.numStudentsMatched = page.numStudentsMatched;
+
+        // sections and teams are indexed among all those of the course rather than those on the page,
+        // so that the rows of every page can be matched with the section and team filter choices
+        Map<String, Integer> sectionIndexes = new HashMap<String, Integer>();
+        Map<String, Map<String, Integer>> teamIndexesInSections = new HashMap<String, Map<String, Integer>>();
+        int teamIndex = 0;
+        for (Map.Entry<String, List<String>> teamNamesInSection : teamNamesInSections.entrySet()) {
+            sectionIndexes.put(teamNamesInSection.getKey(), sectionIndexes.size());
+            Map<String, Integer> teamIndexes = new HashMap<String, Integer>();
+            for (String teamName : teamNamesInSection.getValue()) {
+                teamIndexes.put(teamName, teamIndex);
+                teamIndex++;
+            }
+            teamIndexesInSections.put(teamNamesInSection.getKey(), teamIndexes);
+        }
+
         List<StudentListSectionData> sectionsDetails =
                                         new ArrayList<StudentListSectionData>();
-        for (SectionDetailsBundle section : sections) {
+        for (SectionDetailsBundle section : page.sections) {
             boolean isAllowedToViewStudentInSection = sectionPrivileges.get(section.name)
                                             .get(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS);
             boolean isAllowedToModifyStudent = sectionPrivileges.get(section.name)
                                             .get(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_STUDENT);
             boolean isAllowedToGiveCommentInSection = sectionPrivileges.get(section.name)
                                             .get(Const.ParamsNames.INSTRUCTOR_PERMISSION_GIVE_COMMENT_IN_SECTIONS);
-            sectionsDetails.add(new StudentListSectionData(section, isAllowedToViewStudentInSection,
+            sectionsDetails.add(new StudentListSectionData(section, sectionIndexes.get(section.name),
+                                                           teamIndexesInSections.get(section.name),
+                                                           isAllowedToViewStudentInSection,
                                                            isAllowedToModifyStudent, isAllowedToGiveCommentInSection,
                                                            emailPhotoUrlMapping, account.googleId));
         }
@@ -56,4 +93,48 @@ public class InstructorStudentListAjaxPageData extends PageData {
         return sections;
     }
 
+    /**
+     * @return the names of all sections of the course with the names of all their teams,
+     *         in the order the sections and teams are indexed in
+     */
+    public Map<String, List<String>> getTeamNamesInSections() {
+        return teamNamesInSections;
+    }
+
+    public String getSectionNameFilter() {
+        return sectionNameFilter;
+    }
+
+    public String getSearchKey() {
+        return searchKey;
+    }
+
+    public boolean isFiltered() {
+        return sectionNameFilter != null || searchKey != null && !searchKey.isEmpty();
+    }
+
+    /**
+     * @return true if this is the first page of the students matching the filter, which is rendered
+     *         as a new table rather than appended to the rows of the previous pages
+     */
+    public boolean isFirstPage() {
+        return firstStudentIndex == 0;
+    }
+
+    public int getFirstStudentIndex() {
+        return firstStudentIndex;
+    }
+
+    public int getNextOffset() {
+        return nextOffset;
+    }
+
+    public boolean isHasNextPage() {
+        return hasNextPage;
+    }
+
+    public int getNumStudentsMatched() {
+        return numStudentsMatched;
+    }
+
 }
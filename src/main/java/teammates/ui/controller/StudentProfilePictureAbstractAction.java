@@ -0,0 +1,28 @@
+package teammates.ui.controller;
+
+import java.io.IOException;
+
+import teammates.common.util.Const;
+import teammates.common.util.GoogleCloudStorageHelper;
+
+/**
+ * Holds the operations shared by the actions which save a new profile picture for the student.
+ */
+public abstract class StudentProfilePictureAbstractAction extends Action {
+    
+    /**
+     * Writes the thumbnail shown on pages listing many students in place of the picture.
+     * A picture without a thumbnail is still shown in full, hence a failure here does not fail the action.
+     * @return the key of the thumbnail, or an empty string if it could not be created
+     */
+    protected String writeThumbnail(byte[] imageData) {
+        try {
+            return GoogleCloudStorageHelper.writeThumbnailOfImageToGcs(account.googleId, imageData);
+        } catch (IOException e) {
+            statusToAdmin = Const.ACTION_RESULT_FAILURE + " : Unable to create thumbnail of profile picture for account ("
+                          + account.googleId + ") || Error Message: " + e.getMessage() + Const.EOL;
+            return "";
+        }
+    }
+    
+}
@@ -2,6 +2,7 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 
+import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Const.StatusMessageColor;
@@ -21,7 +22,7 @@ import com.google.appengine.api.images.Transform;
  * Action: edits the profile picture based on the coordinates of
  *         the cropped photograph.
  */
-public class StudentProfilePictureEditAction extends Action {
+public class StudentProfilePictureEditAction extends StudentProfilePictureAbstractAction {
 
     private BlobKey blobKey;
     private String widthString;
@@ -33,7 +34,7 @@ public class StudentProfilePictureEditAction extends Action {
     private String rotateString;
 
     @Override
-    protected ActionResult execute() {
+    protected ActionResult execute() throws EntityDoesNotExistException {
         new GateKeeper().verifyLoggedInUserPrivileges();
         readAllPostParamterValuesToFields();
         if (!validatePostParameters()) {
@@ -44,7 +45,9 @@ public class StudentProfilePictureEditAction extends Action {
             byte[] transformedImage = this.transformImage();
             if (!isError) {
                 // this branch is covered in UiTests (look at todo in transformImage())
-                GoogleCloudStorageHelper.writeImageDataToGcs(account.googleId, transformedImage);
+                // the edited picture is written to a new file, and the existing one is deleted after the update
+                String newPictureKey = GoogleCloudStorageHelper.writeImageDataToGcs(account.googleId, transformedImage);
+                logic.updateStudentProfilePicture(account.googleId, newPictureKey, writeThumbnail(transformedImage));
             }
         } catch (IOException e) {
             // Happens when GCS Service is down
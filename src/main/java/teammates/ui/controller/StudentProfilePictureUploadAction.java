@@ -23,7 +23,7 @@ import com.google.appengine.api.blobstore.BlobstoreServiceFactory;
  * Action: saves the file information of the profile picture
  *         that was just uploaded.
  */
-public class StudentProfilePictureUploadAction extends Action {
+public class StudentProfilePictureUploadAction extends StudentProfilePictureAbstractAction {
     /*
      * This class is not tested in ActionTests as it is difficult to
      * reproduce the upload action done by Google Blobstore API
@@ -35,6 +35,7 @@ public class StudentProfilePictureUploadAction extends Action {
         new GateKeeper().verifyLoggedInUserPrivileges();
 
         String pictureKey = "";
+        String thumbnailKey = "";
         BlobKey blobKey = new BlobKey("");
         RedirectResult r = createRedirectResult(Const.ActionURIs.STUDENT_PROFILE_PAGE);
 
@@ -42,8 +43,10 @@ public class StudentProfilePictureUploadAction extends Action {
             BlobInfo blobInfo = extractProfilePictureKey();
             if (!isError) {
                 blobKey = blobInfo.getBlobKey();
-                pictureKey = renameFileToGoogleId(blobInfo);
-                logic.updateStudentProfilePicture(account.googleId, pictureKey);
+                byte[] imageData = readImageData(blobInfo);
+                pictureKey = renameFileToGoogleId(blobKey, imageData);
+                thumbnailKey = writeThumbnail(imageData);
+                logic.updateStudentProfilePicture(account.googleId, pictureKey, thumbnailKey);
                 statusToUser.add(new StatusMessage(Const.StatusMessages.STUDENT_PROFILE_PICTURE_SAVED,
                                                    StatusMessageColor.SUCCESS));
                 r.addResponseParam(Const.ParamsNames.STUDENT_PROFILE_PHOTOEDIT, "true");
@@ -58,6 +61,7 @@ public class StudentProfilePictureUploadAction extends Action {
              * that occur rarely and are handled higher up.
              */
             deletePicture(new BlobKey(pictureKey));
+            deletePicture(new BlobKey(thumbnailKey));
             statusToUser.clear();
             throw e;
         }
@@ -65,15 +69,17 @@ public class StudentProfilePictureUploadAction extends Action {
         return r;
     }
 
-    private String renameFileToGoogleId(BlobInfo blobInfo) throws IOException {
+    private byte[] readImageData(BlobInfo blobInfo) throws IOException {
         Assumption.assertNotNull(blobInfo);
 
-        BlobKey blobKey = blobInfo.getBlobKey();
-        InputStream blobStream = new BlobstoreInputStream(blobKey);
+        InputStream blobStream = new BlobstoreInputStream(blobInfo.getBlobKey());
         byte[] imageData = new byte[(int) blobInfo.getSize()];
         blobStream.read(imageData);
         blobStream.close();
+        return imageData;
+    }
 
+    private String renameFileToGoogleId(BlobKey blobKey, byte[] imageData) throws IOException {
         String newKey = GoogleCloudStorageHelper.writeImageDataToGcs(account.googleId, imageData);
         deletePicture(blobKey);
         return newKey;
@@ -0,0 +1,34 @@
+package teammates.ui.template;
+
+/**
+ * The number of sessions starting and ending on a day, for the admin sessions page.
+ */
+public class AdminSessionsDayRow {
+    private String date;
+    private int numberOfSessionsStarting;
+    private int numberOfSessionsEnding;
+    
+    public AdminSessionsDayRow(String date) {
+        this.date = date;
+    }
+    
+    public String getDate() {
+        return date;
+    }
+    
+    public int getNumberOfSessionsStarting() {
+        return numberOfSessionsStarting;
+    }
+    
+    public int getNumberOfSessionsEnding() {
+        return numberOfSessionsEnding;
+    }
+    
+    public void addSessionStarting() {
+        numberOfSessionsStarting++;
+    }
+    
+    public void addSessionEnding() {
+        numberOfSessionsEnding++;
+    }
+}
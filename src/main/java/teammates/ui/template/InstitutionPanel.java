@@ -5,10 +5,18 @@ import java.util.List;
 public class InstitutionPanel {
     private String institutionName;
     private List<AdminFeedbackSessionRow> feedbackSessionRows;
+    private int totalOpenStatusSessions;
+    private int totalClosedStatusSessions;
+    private int totalWaitToOpenStatusSessions;
     
-    public InstitutionPanel(String institutionName, List<AdminFeedbackSessionRow> feedbackSessionRows) {
+    public InstitutionPanel(String institutionName, List<AdminFeedbackSessionRow> feedbackSessionRows,
+                            int totalOpenStatusSessions, int totalClosedStatusSessions,
+                            int totalWaitToOpenStatusSessions) {
         this.institutionName = institutionName;
         this.feedbackSessionRows = feedbackSessionRows;
+        this.totalOpenStatusSessions = totalOpenStatusSessions;
+        this.totalClosedStatusSessions = totalClosedStatusSessions;
+        this.totalWaitToOpenStatusSessions = totalWaitToOpenStatusSessions;
     }
     
     public String getInstitutionName() {
@@ -18,4 +26,16 @@ public class InstitutionPanel {
     public List<AdminFeedbackSessionRow> getFeedbackSessionRows() {
         return feedbackSessionRows;
     }
+    
+    public int getTotalOpenStatusSessions() {
+        return totalOpenStatusSessions;
+    }
+    
+    public int getTotalClosedStatusSessions() {
+        return totalClosedStatusSessions;
+    }
+    
+    public int getTotalWaitToOpenStatusSessions() {
+        return totalWaitToOpenStatusSessions;
+    }
 }
@@ -1,6 +1,7 @@
 package teammates.ui.template;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +11,7 @@ import teammates.common.util.Sanitizer;
 
 public class StudentListSectionData {
 
+    private int sectionIndex;
     private String sectionName;
     private boolean allowedToViewStudentInSection;
     private boolean allowedToModifyStudent;
@@ -19,17 +21,41 @@ public class StudentListSectionData {
     public StudentListSectionData(SectionDetailsBundle section, boolean isAllowedToViewStudentInSection,
                                   boolean isAllowedToModifyStudent, boolean isAllowedToGiveCommentInSection,
                                   Map<String, String> emailPhotoUrlMapping, String googleId) {
+        this(section, -1, new HashMap<String, Integer>(), isAllowedToViewStudentInSection, isAllowedToModifyStudent,
+             isAllowedToGiveCommentInSection, emailPhotoUrlMapping, googleId);
+    }
+
+    /**
+     * Creates the section with the indexes it and its teams have among all the sections and teams of the course,
+     * for a section which may be shown without the sections or teams before it, e.g. on a page of the course's
+     * students. Sections and teams without an index are numbered by the order they are shown in.
+     * @param teamIndexes index of each team of the section, keyed by team name
+     */
+    public StudentListSectionData(SectionDetailsBundle section, int sectionIndex, Map<String, Integer> teamIndexes,
+                                  boolean isAllowedToViewStudentInSection, boolean isAllowedToModifyStudent,
+                                  boolean isAllowedToGiveCommentInSection, Map<String, String> emailPhotoUrlMapping,
+                                  String googleId) {
+        this.sectionIndex = sectionIndex;
         this.sectionName = Sanitizer.sanitizeForHtml(section.name);
         this.allowedToViewStudentInSection = isAllowedToViewStudentInSection;
         this.allowedToModifyStudent = isAllowedToModifyStudent;
         this.allowedToGiveCommentInSection = isAllowedToGiveCommentInSection;
         List<StudentListTeamData> teamsDetails = new ArrayList<StudentListTeamData>();
         for (TeamDetailsBundle team : section.teams) {
-            teamsDetails.add(new StudentListTeamData(team, emailPhotoUrlMapping, googleId));
+            Integer teamIndex = teamIndexes.get(team.name);
+            teamsDetails.add(new StudentListTeamData(team, teamIndex == null ? -1 : teamIndex,
+                                                     emailPhotoUrlMapping, googleId));
         }
         this.teams = teamsDetails;
     }
 
+    /**
+     * @return the index of the section among all sections of the course, or -1 if it is not known
+     */
+    public int getSectionIndex() {
+        return sectionIndex;
+    }
+
     public String getSectionName() {
         return sectionName;
     }
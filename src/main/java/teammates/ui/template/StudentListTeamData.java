@@ -9,10 +9,13 @@ import teammates.common.datatransfer.TeamDetailsBundle;
 
 public class StudentListTeamData {
 
+    private int teamIndex;
     private String teamName;
     private List<StudentListStudentData> students;
 
-    public StudentListTeamData(TeamDetailsBundle team, Map<String, String> emailPhotoUrlMapping, String googleId) {
+    public StudentListTeamData(TeamDetailsBundle team, int teamIndex, Map<String, String> emailPhotoUrlMapping,
+                               String googleId) {
+        this.teamIndex = teamIndex;
         this.teamName = team.name;
         List<StudentListStudentData> studentsDetails =
                                         new ArrayList<StudentListStudentData>();
@@ -24,6 +27,13 @@ public class StudentListTeamData {
         this.students = studentsDetails;
     }
 
+    /**
+     * @return the index of the team among all teams of the course, or -1 if it is not known
+     */
+    public int getTeamIndex() {
+        return teamIndex;
+    }
+
     public String getTeamName() {
         return teamName;
     }
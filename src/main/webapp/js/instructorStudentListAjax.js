@@ -31,6 +31,13 @@ function bindPhotos(courseIdx) {
     });
 }
 
+function bindPhotosInRows(rows) {
+    $(rows).find('.profile-pic-icon-click').each(function() {
+        bindErrorImages($(this));
+        bindStudentPhotoLink($(this).children('.student-profile-pic-view-link'));
+    });
+}
+
 function numStudentsRetrieved() {
     var emailChoices = $('.email-to-be-transported');
     return emailChoices.length;
@@ -130,6 +137,94 @@ var seeMoreRequest = function(e) {
     }
 };
 
+/**
+ * Appends the next page of students of a course to the rows already shown
+ */
+var showMoreStudentsRequest = function(e) {
+    e.preventDefault();
+    var formObject = $(this);
+    var moreStudents = formObject.parent();
+    var panelBody = moreStudents.parent();
+    var courseIdx = formObject.children('input[name="courseidx"]').val();
+    var button = formObject.children('button');
+
+    if (numStudents >= STUDENT_LIMIT) {
+        setStatusMessage(PERFORMANCE_ISSUE_MESSAGE, StatusType.DANGER);
+        return;
+    }
+
+    $.ajax({
+        type: 'POST',
+        url: formObject.attr('action') + '?' + formObject.serialize(),
+        beforeSend: function() {
+            button.prop('disabled', true);
+            button.html('<img height="25" width="25" src="/images/ajax-preload.gif">');
+        },
+        error: function() {
+            button.prop('disabled', false);
+            button.html('<span class="glyphicon glyphicon-warning-sign"></span> [ Failed to load. Click here to retry. ]');
+        },
+        success: function(data) {
+            var page = $('<div>').html(data);
+            var rows = page.find('tr.student_row');
+            panelBody.find('table > tbody').append(rows);
+
+            var emailChoices = page.find('.email-to-be-transported');
+            $('#emails').append(emailChoices);
+            emailChoices.removeAttr('class'); // the email divs have no other class
+
+            var courseNumStudents = parseInt($('#numStudents-' + courseIdx).val()) + rows.length;
+            $('#numStudents-' + courseIdx).val(courseNumStudents);
+            numStudents += rows.length;
+
+            bindPhotosInRows(rows);
+            moreStudents.replaceWith(page.find('.student-list-more'));
+            applyFilters();
+        }
+    });
+};
+
+/**
+ * Replaces the students shown for a course with the first page of its students matching the filter
+ */
+var filterStudentsRequest = function(e) {
+    e.preventDefault();
+    var formObject = $(this);
+    var panelBody = formObject.parent();
+    var courseIdx = formObject.children('input[name="courseidx"]').val();
+    var button = formObject.children('button');
+
+    $.ajax({
+        type: 'POST',
+        url: formObject.attr('action') + '?' + formObject.serialize(),
+        beforeSend: function() {
+            button.prop('disabled', true);
+        },
+        error: function() {
+            button.prop('disabled', false);
+            setStatusMessage('Failed to filter the students. Please try again.', StatusType.DANGER);
+        },
+        success: function(data) {
+            numStudents -= parseInt($('#numStudents-' + courseIdx).val());
+            $('div[id^="student_email-c' + courseIdx + '."]').remove();
+            panelBody.html(data);
+
+            // the section and team choices of the course are already shown
+            $('.section-to-be-transported').remove();
+            $('.team-to-be-transported').remove();
+
+            var courseNumStudents = numStudentsRetrieved();
+            $('#numStudents-' + courseIdx).val(courseNumStudents);
+            numStudents += courseNumStudents;
+            transportEmailChoices();
+            bindPhotos(courseIdx);
+            applyFilters();
+        }
+    });
+};
+
 $(document).ready(function() {
     $('.ajax_submit').click(seeMoreRequest);
+    $(document).on('submit', '.student-list-more-form', showMoreStudentsRequest);
+    $(document).on('submit', '.student-list-filter', filterStudentsRequest);
 });
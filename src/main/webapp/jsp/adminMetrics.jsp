@@ -0,0 +1,19 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib tagdir="/WEB-INF/tags" prefix="t" %>
+<%@ taglib tagdir="/WEB-INF/tags/admin" prefix="ta" %>
+<%@ taglib tagdir="/WEB-INF/tags/admin/metrics" prefix="adminMetrics" %>
+
+<ta:adminPage bodyTitle="Metrics" pageTitle="TEAMMATES - Administrator Metrics">
+    <p>
+        Metrics of the requests handled and the tasks added by the instance serving this page
+        since ${data.collectedSinceString}.
+        Other instances keep their own metrics, so reloading the page may show those of another instance.
+        The latency percentiles are the upper bounds of the histogram buckets they fall in.
+        <a href="${data.exportLink}" class="btn btn-default btn-xs" id="exportMetrics">Export as JSON</a>
+    </p>
+    
+    <adminMetrics:actionMetricsTable actionMetrics="${data.actionMetrics}" callNames="${data.callNames}"/>
+    <adminMetrics:taskQueueMetricsTable taskQueueMetrics="${data.taskQueueMetrics}"/>
+    <t:statusMessage doNotFocusToStatus="${true}" statusMessagesToUser="${data.statusMessagesToUser}" />
+</ta:adminPage>
@@ -30,6 +30,7 @@
     <br>
     <adminSessions:filter filter="${data.filter}"/>
     <t:statusMessage statusMessagesToUser="${data.statusMessagesToUser}" />
+    <adminSessions:dayCountsTable dayRows="${data.dayRows}" />
     <c:forEach items="${data.institutionPanels}" var="institutionPanel" varStatus="i">
         <adminSessions:institutionPanel institutionPanel="${institutionPanel}" tableIndex="${i.count}" showAll="${data.showAll}" />
     </c:forEach>
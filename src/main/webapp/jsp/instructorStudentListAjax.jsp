@@ -1,4 +1,80 @@
 <%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" %>
+<%@ page import="teammates.common.util.Const" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <%@ taglib tagdir="/WEB-INF/tags/instructor" prefix="ti" %>
-<ti:studentList courseId="${data.courseId}" courseIndex="${data.courseIndex}" hasSection="${data.hasSection}"
-                sections="${data.sections}" fromStudentListPage="${true}" />
\ No newline at end of file
+<c:if test="${data.firstPage and not data.filtered}">
+    <%-- generated here but to be appended to #sectionChoices and #teamChoices in instructorStudentList.jsp
+         will be transported via JavaScript in instructorStudentListAjax.js;
+         all sections and teams of the course are listed, not only those of the students on this page --%>
+    <c:set var="teamIndex" value="${-1}" />
+    <c:forEach items="${data.teamNamesInSections}" var="teamNamesInSection" varStatus="sectionIdx">
+        <div class="checkbox section-to-be-transported">
+            <input id="section_check-${data.courseIndex}-${sectionIdx.index}" type="checkbox" checked class="section_check">
+            <label for="section_check-${data.courseIndex}-${sectionIdx.index}">
+                [${data.courseId}] : <c:out value="${teamNamesInSection.key}"/>
+            </label>
+        </div>
+        <c:forEach items="${teamNamesInSection.value}" var="teamName">
+            <c:set var="teamIndex" value="${teamIndex + 1}" />
+            <div class="checkbox team-to-be-transported">
+                <input id="team_check-${data.courseIndex}-${sectionIdx.index}-${teamIndex}" type="checkbox" checked class="team_check">
+                <label for="team_check-${data.courseIndex}-${sectionIdx.index}-${teamIndex}">
+                    [${data.courseId}] : <c:out value="${teamName}"/>
+                </label>
+            </div>
+        </c:forEach>
+    </c:forEach>
+</c:if>
+<c:if test="${data.firstPage and not empty data.teamNamesInSections}">
+    <form class="form-inline padding-15px student-list-filter" action="<%= Const.ActionURIs.INSTRUCTOR_STUDENT_LIST_AJAX_PAGE %>">
+        <input type="hidden" name="<%= Const.ParamsNames.COURSE_ID %>" value="${data.courseId}">
+        <input type="hidden" name="<%= Const.ParamsNames.COURSE_INDEX %>" value="${data.courseIndex}">
+        <input type="hidden" name="<%= Const.ParamsNames.USER_ID %>" value="${data.account.googleId}">
+        <c:if test="${data.hasSection}">
+            <select class="form-control input-sm" name="<%= Const.ParamsNames.SECTION_NAME %>">
+                <option value="">All sections</option>
+                <c:forEach items="${data.teamNamesInSections}" var="teamNamesInSection">
+                    <option value="<c:out value="${teamNamesInSection.key}"/>"<c:if test="${teamNamesInSection.key == data.sectionNameFilter}"> selected</c:if>>
+                        <c:out value="${teamNamesInSection.key}"/>
+                    </option>
+                </c:forEach>
+            </select>
+        </c:if>
+        <input type="text" class="form-control input-sm" name="<%= Const.ParamsNames.SEARCH_KEY %>"
+               value="<c:out value="${data.searchKey}"/>" placeholder="Name, email, team or section">
+        <button type="submit" class="btn btn-default btn-sm">
+            <span class="glyphicon glyphicon-filter"></span> Filter
+        </button>
+    </form>
+</c:if>
+<c:choose>
+    <c:when test="${data.filtered and empty data.sections}">
+        <div class="align-center padding-15px">
+            No students in this course match the filter
+        </div>
+    </c:when>
+    <c:otherwise>
+        <ti:studentList courseId="${data.courseId}" courseIndex="${data.courseIndex}" hasSection="${data.hasSection}"
+                        sections="${data.sections}" fromStudentListPage="${true}"
+                        firstStudentIndex="${data.firstStudentIndex}" />
+    </c:otherwise>
+</c:choose>
+<c:if test="${data.hasNextPage}">
+    <div class="align-center padding-15px student-list-more">
+        <form class="student-list-more-form" action="<%= Const.ActionURIs.INSTRUCTOR_STUDENT_LIST_AJAX_PAGE %>">
+            <input type="hidden" name="<%= Const.ParamsNames.COURSE_ID %>" value="${data.courseId}">
+            <input type="hidden" name="<%= Const.ParamsNames.COURSE_INDEX %>" value="${data.courseIndex}">
+            <input type="hidden" name="<%= Const.ParamsNames.USER_ID %>" value="${data.account.googleId}">
+            <input type="hidden" name="<%= Const.ParamsNames.STUDENT_LIST_OFFSET %>" value="${data.nextOffset}">
+            <c:if test="${not empty data.sectionNameFilter}">
+                <input type="hidden" name="<%= Const.ParamsNames.SECTION_NAME %>" value="<c:out value="${data.sectionNameFilter}"/>">
+            </c:if>
+            <c:if test="${not empty data.searchKey}">
+                <input type="hidden" name="<%= Const.ParamsNames.SEARCH_KEY %>" value="<c:out value="${data.searchKey}"/>">
+            </c:if>
+            <button type="submit" class="btn btn-default btn-sm">
+                Show more students (${data.nextOffset} of ${data.numStudentsMatched} shown)
+            </button>
+        </form>
+    </div>
+</c:if>
@@ -112,7 +112,7 @@ public class FeedbackSessionEmailTaskQueueTest extends BaseComponentUsingTaskQue
         
     }
     
-    private void testFeedbackSessionsRemindEmail() {
+    private void testFeedbackSessionsRemindEmail() throws Exception {
         
         FeedbackSessionsEmailTaskQueueCallback.resetTaskCount();
 
@@ -129,6 +129,21 @@ public class FeedbackSessionEmailTaskQueueTest extends BaseComponentUsingTaskQue
             }
             counter++;
         }
+        
+        assertEquals(1, FeedbackSessionsEmailTaskQueueCallback.taskCount);
+        
+        ______TS("Schedule feedback session reminder shards: one shard for a typical course");
+        
+        counter = 0;
+        
+        while (counter != 10) {
+            FeedbackSessionsEmailTaskQueueCallback.resetTaskCount();
+            feedbackSessionsLogic.scheduleFeedbackRemindEmailShards(fsa.getCourseId(), fsa.getFeedbackSessionName());
+            if (FeedbackSessionsEmailTaskQueueCallback.verifyTaskCount(1)) {
+                break;
+            }
+            counter++;
+        }
 
         assertEquals(1, FeedbackSessionsEmailTaskQueueCallback.taskCount);
 
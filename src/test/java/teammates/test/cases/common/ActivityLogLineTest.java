@@ -0,0 +1,147 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogLine;
+import teammates.test.cases.BaseTestCase;
+
+public class ActivityLogLineTest extends BaseTestCase {
+    
+    private static final long TIME = 1445236649608L;
+    
+    @Test
+    public void testVersion1() {
+        
+        ______TS("log with ID and time taken");
+        
+        ActivityLogLine logLine = new ActivityLogLine(TIME,
+                "TEAMMATESLOG|||instructorHome|||Pageload|||true|||Instructor|||UserName|||UserId"
+                + "|||UserEmail|||Message|||URL|||UserId%20151019143729608|||105");
+        verifyFields(logLine, "instructorHome", "Pageload", true, "Instructor", "UserName", "UserId", "UserEmail",
+                     "Message", "URL", "UserId%20151019143729608", Long.valueOf(105));
+        assertEquals(TIME, logLine.getTime());
+        
+        ______TS("log with ID but without time taken, as logged by ActivityLogEntry");
+        
+        logLine = new ActivityLogLine(TIME, "TEAMMATESLOG|||studentHome|||studentHome|||FALSE|||Student|||Name|||id"
+                                            + "|||a@b.tmt|||Message|||/page/studentHome|||id%20151019143729608");
+        verifyFields(logLine, "studentHome", "studentHome", false, "Student", "Name", "id", "a@b.tmt",
+                     "Message", "/page/studentHome", "id%20151019143729608", null);
+        assertTrue(logLine.isTestingData());
+        
+        ______TS("old log with the time taken in place of the ID");
+        
+        logLine = new ActivityLogLine(TIME, "TEAMMATESLOG|||instructorHome|||Pageload|||true|||Instructor|||UserName"
+                                            + "|||UserId|||UserEmail|||Message|||URL||| 105 ");
+        verifyFields(logLine, "instructorHome", "Pageload", true, "Instructor", "UserName", "UserId", "UserEmail",
+                     "Message", "URL", null, Long.valueOf(105));
+        assertFalse(logLine.isTestingData());
+        
+        ______TS("log without ID and time taken, with empty fields");
+        
+        logLine = new ActivityLogLine(TIME, "TEAMMATESLOG|||||||||true||||||||||||||||||");
+        verifyFields(logLine, "", "", true, "", "", "", "", "", "", null, null);
+        
+        ______TS("malformed log");
+        
+        String line = "TEAMMATESLOG|||instructorHome|||Pageload|||true";
+        logLine = new ActivityLogLine(TIME, line);
+        verifyFields(logLine, "Unknown", "Unknown", true, "Unknown", "Unknown", "Unknown", "Unknown",
+                     "<span class=\"text-danger\">Error. Problem parsing log message from the server.</span><br>"
+                     + "System Error: 4<br>" + line,
+                     "Unknown", logLine.getId(), null);
+        assertTrue(logLine.getId().startsWith("Unknown%"));
+        assertFalse(logLine.isTestingData());
+    }
+    
+    @Test
+    public void testVersion2() {
+        
+        ______TS("compact line, with the action and the ID elided");
+        
+        String line = "TEAMMATESLOG|||instructorHome|||instructorHome|||true|||Instructor|||UserName|||UserId"
+                      + "|||UserEmail|||Message|||URL|||UserId%20151019143729608|||105";
+        String compactLine = new ActivityLogLine(TIME, line).toCompactLine();
+        assertEquals("AL214:instructorHome=10:Instructor8:UserName6:UserId9:UserEmail7:Message3:URL"
+                     + "~17:20151019143729608" + "1105", compactLine);
+        
+        ActivityLogLine logLine = new ActivityLogLine(TIME, compactLine);
+        verifyFields(logLine, "instructorHome", "instructorHome", true, "Instructor", "UserName", "UserId",
+                     "UserEmail", "Message", "URL", "UserId%20151019143729608", Long.valueOf(105));
+        assertEquals(compactLine, logLine.toCompactLine());
+        
+        ______TS("fields with separators, length markers and non-ASCII characters");
+        
+        logLine = new ActivityLogLine(TIME, "AL27:a|||b:c1:=4:Rôle0:5:x%y:z7:ü@b.tmt3:|||0:~0:0");
+        verifyFields(logLine, "a|||b:c", "=", false, "Rôle", "", "x%y:z", "ü@b.tmt", "|||", "", "x%y:z%", null);
+        assertTrue(logLine.isTestingData());
+        
+        ______TS("missing ID, an ID not starting with the Google ID and malformed compact lines");
+        
+        logLine = new ActivityLogLine(TIME, "AL21:s=1:r1:n1:g1:e1:m1:u-10");
+        verifyFields(logLine, "s", "s", true, "r", "n", "g", "e", "m", "u", null, Long.valueOf(0));
+        
+        logLine = new ActivityLogLine(TIME, "AL21:s=1:r1:n1:g1:e1:m1:u3:a%b0");
+        assertEquals("a%b", logLine.getId());
+        
+        verifyMalformed("AL21:s=1:r1:n1:g1:e1:m1:u-");
+        verifyMalformed("AL21:s=1:r1:n1:g1:e1:m1:u-2");
+        verifyMalformed("AL21:s=1:r1:n1:g1:e1:m9:u-1");
+        verifyMalformed("AL2x:s=1:r1:n1:g1:e1:m1:u-1");
+        verifyMalformed("AL2");
+    }
+    
+    @Test
+    public void testRoundTrip() {
+        String[] lines = {
+                "TEAMMATESLOG|||instructorHome|||Pageload|||true|||Instructor|||UserName|||UserId"
+                + "|||UserEmail|||Message|||URL|||UserId%20151019143729608|||105",
+                "TEAMMATESLOG|||studentHome|||studentHome|||false|||Unregistered:CS1101|||Name|||Unregistered"
+                + "|||a@b.com|||<span class=\"text-danger\">Failure: :</span>|||/page/studentHome?a=b"
+                + "|||a@b.com%CS1101%20151019143729608",
+                "TEAMMATESLOG|||instructorHome|||Pageload|||true|||Instructor|||UserName|||UserId"
+                + "|||UserEmail|||Message|||URL|||105",
+                "TEAMMATESLOG|||instructorHome|||Pageload|||true",
+        };
+        
+        for (String line : lines) {
+            ActivityLogLine logLine = new ActivityLogLine(TIME, line);
+            ActivityLogLine compactLogLine = new ActivityLogLine(TIME, logLine.toCompactLine());
+            verifyFields(compactLogLine, logLine.getServletName(), logLine.getAction(), logLine.isToShow(),
+                         logLine.getRole(), logLine.getName(), logLine.getGoogleId(), logLine.getEmail(),
+                         logLine.getMessage(), logLine.getUrl(), logLine.getId(), logLine.getTimeTaken());
+            assertEquals(logLine.isTestingData(), compactLogLine.isTestingData());
+            assertEquals(compactLogLine.toCompactLine(), logLine.toCompactLine());
+            
+            ActivityLogEntry entry = new ActivityLogEntry(TIME, line);
+            ActivityLogEntry compactEntry = new ActivityLogEntry(compactLogLine);
+            assertEquals(entry.generateLogMessage(), compactEntry.generateLogMessage());
+            assertEquals(entry.getLogInfoForTableRowAsHtml(), compactEntry.getLogInfoForTableRowAsHtml());
+        }
+    }
+    
+    private static void verifyMalformed(String line) {
+        ActivityLogLine logLine = new ActivityLogLine(TIME, line);
+        assertEquals("Unknown", logLine.getServletName());
+        assertTrue(logLine.getMessage().endsWith("<br>" + line));
+        assertNull(logLine.getTimeTaken());
+    }
+    
+    private static void verifyFields(ActivityLogLine logLine, String servletName, String action, boolean isToShow,
+                                     String role, String name, String googleId, String email, String message,
+                                     String url, String id, Long timeTaken) {
+        assertEquals(servletName, logLine.getServletName());
+        assertEquals(action, logLine.getAction());
+        assertEquals(isToShow, logLine.isToShow());
+        assertEquals(role, logLine.getRole());
+        assertEquals(name, logLine.getName());
+        assertEquals(googleId, logLine.getGoogleId());
+        assertEquals(email, logLine.getEmail());
+        assertEquals(message, logLine.getMessage());
+        assertEquals(url, logLine.getUrl());
+        assertEquals(id, logLine.getId());
+        assertEquals(timeTaken, logLine.getTimeTaken());
+    }
+    
+}
@@ -0,0 +1,100 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.CompiledTemplate;
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+import teammates.test.cases.BaseTestCase;
+
+public class CompiledTemplateTest extends BaseTestCase {
+    
+    @Test
+    public void testRender() {
+        
+        ______TS("typical case: same result as populating the template");
+        
+        String template = "Hello ${userName}, welcome to ${courseName} (${courseId}). Bye ${userName}.";
+        String[] values = {
+                "${userName}", "Alice",
+                "${courseName}", "Software Engineering",
+                "${courseId}", "CS2103"
+        };
+        assertEquals(Templates.populateTemplate(template, values),
+                     CompiledTemplate.compile(template).render(values));
+        
+        ______TS("placeholders at the start and end of the template, and next to each other");
+        
+        assertEquals("ab-c", CompiledTemplate.compile("${a}${b}-${c}").render("${a}", "a", "${b}", "b", "${c}", "c"));
+        
+        ______TS("placeholders without values are left as they are");
+        
+        assertEquals("a ${b}", CompiledTemplate.compile("${a} ${b}").render("${a}", "a"));
+        
+        ______TS("values are not scanned for placeholders again");
+        
+        assertEquals("${b} b", CompiledTemplate.compile("${a} ${b}").render("${a}", "${b}", "${b}", "b"));
+        
+        ______TS("text which is not a placeholder is kept");
+        
+        String notPlaceholders = "$ {a} ${} ${a b} ${a-b} ${unclosed";
+        assertEquals(notPlaceholders, CompiledTemplate.compile(notPlaceholders).render("${a}", "x"));
+        
+        ______TS("template without placeholders");
+        
+        assertEquals("", CompiledTemplate.compile("").render());
+        assertEquals("plain text", CompiledTemplate.compile("plain text").render("${a}", "x"));
+        
+        ______TS("odd number of values");
+        
+        try {
+            CompiledTemplate.compile("${a}").render("${a}");
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            ignoreExpectedException();
+        }
+    }
+    
+    @Test
+    public void testWithFragment() {
+        
+        ______TS("fragment placeholders are populated together with those of the template");
+        
+        CompiledTemplate template = CompiledTemplate.compile("Dear ${name},${fragment} Regards, ${sender}")
+                .withFragment("${fragment}", CompiledTemplate.compile(" join ${course} at ${url}."));
+        assertEquals("Dear Alice, join CS2103 at http://x. Regards, Bob",
+                     template.render("${name}", "Alice", "${course}", "CS2103", "${url}", "http://x",
+                                     "${sender}", "Bob"));
+        
+        ______TS("fragment inlined at every occurrence of the placeholder");
+        
+        template = CompiledTemplate.compile("${f}-${f}").withFragment("${f}", CompiledTemplate.compile("[${x}]"));
+        assertEquals("[1]-[1]", template.render("${x}", "1"));
+        
+        ______TS("fragment without placeholders");
+        
+        template = CompiledTemplate.compile("a${f}b").withFragment("${f}", CompiledTemplate.compile("-"));
+        assertEquals("a-b", template.render());
+        
+        ______TS("email template: same result as populating the fragment and then the template");
+        
+        String joinUrl = "http://localhost/page/studentCourseJoinAuthentication?key=abc";
+        String expected = Templates.populateTemplate(
+                Templates.populateTemplate(EmailTemplates.USER_COURSE_JOIN,
+                        "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
+                        "${joinUrl}", joinUrl,
+                        "${supportEmail}", "support@example.com"),
+                "${userName}", "Alice",
+                "${courseName}", "Software Engineering",
+                "${supportEmail}", "support@example.com");
+        String actual = CompiledTemplate.compile(EmailTemplates.USER_COURSE_JOIN)
+                .withFragment("${joinFragment}",
+                        CompiledTemplate.compile(EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET))
+                .render("${joinUrl}", joinUrl,
+                        "${userName}", "Alice",
+                        "${courseName}", "Software Engineering",
+                        "${supportEmail}", "support@example.com");
+        assertEquals(expected, actual);
+    }
+    
+}
@@ -0,0 +1,97 @@
+package teammates.test.cases.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackRankStatistics;
+import teammates.common.datatransfer.FeedbackRankStatistics.RankHistogram;
+import teammates.common.util.Const;
+import teammates.test.cases.BaseTestCase;
+
+public class FeedbackRankStatisticsTest extends BaseTestCase {
+    
+    @Test
+    public void testAddRanking() {
+        
+        ______TS("ranks without ties are kept");
+        
+        FeedbackRankStatistics statistics = new FeedbackRankStatistics();
+        statistics.addRanking(createRanking("a", 1, "b", 2, "c", 3));
+        statistics.addRanking(createRanking("a", 2, "b", 1, "c", 3));
+        
+        Map<String, RankHistogram> histograms = statistics.getHistograms();
+        assertEquals(3, histograms.size());
+        assertEquals("1 , 2", histograms.get("a").getRanksReceivedAsString());
+        assertEquals("1 , 2", histograms.get("b").getRanksReceivedAsString());
+        assertEquals("3 , 3", histograms.get("c").getRanksReceivedAsString());
+        assertEquals(1.5, histograms.get("a").getAverage(), 0.001);
+        assertEquals(3.0, histograms.get("c").getAverage(), 0.001);
+        
+        ______TS("tied ranks are given the best rank they occupy");
+        
+        statistics = new FeedbackRankStatistics();
+        statistics.addRanking(createRanking("a", 1, "b", 4, "c", 1, "d", 4));
+        
+        histograms = statistics.getHistograms();
+        assertEquals(1, histograms.get("a").getCount(1));
+        assertEquals(1, histograms.get("c").getCount(1));
+        assertEquals(1, histograms.get("b").getCount(3));
+        assertEquals(1, histograms.get("d").getCount(3));
+        assertEquals(0, histograms.get("b").getCount(4));
+        
+        ______TS("ranks that are not submitted are ignored");
+        
+        statistics = new FeedbackRankStatistics();
+        statistics.addRanking(createRanking("a", 3, "b", Const.POINTS_NOT_SUBMITTED, "c", 5));
+        
+        histograms = statistics.getHistograms();
+        assertEquals(2, histograms.size());
+        assertFalse(histograms.containsKey("b"));
+        assertEquals("1", histograms.get("a").getRanksReceivedAsString());
+        assertEquals("2", histograms.get("c").getRanksReceivedAsString());
+    }
+    
+    @Test
+    public void testGetRanksReceivedAsString() {
+        
+        ______TS("at most 10 ranks: all ranks are shown in ascending order");
+        
+        FeedbackRankStatistics statistics = new FeedbackRankStatistics();
+        for (int rank = 10; rank >= 1; rank--) {
+            statistics.addRanking(createRanking("a", rank));
+        }
+        RankHistogram histogram = statistics.getHistograms().get("a");
+        
+        // every ranking has a single recipient, so every rank is normalised to 1
+        assertEquals(10, histogram.getNumRanksReceived());
+        assertEquals("1 , 1 , 1 , 1 , 1 , 1 , 1 , 1 , 1 , 1", histogram.getRanksReceivedAsString());
+        
+        ______TS("more than 10 ranks: only the 5 best and the 5 worst ranks are shown");
+        
+        statistics = new FeedbackRankStatistics();
+        for (int rank = 1; rank <= 12; rank++) {
+            Map<String, Integer> ranking = new HashMap<String, Integer>();
+            for (int i = 1; i <= 12; i++) {
+                // the recipient "a" is ranked at rank, the others fill up the remaining ranks
+                ranking.put(i == 1 ? "a" : "other" + i, i == 1 ? rank : (i <= rank ? i - 1 : i));
+            }
+            statistics.addRanking(ranking);
+        }
+        histogram = statistics.getHistograms().get("a");
+        
+        assertEquals(12, histogram.getNumRanksReceived());
+        assertEquals("1 , 2 , 3 , 4 , 5 , ... , 8 , 9 , 10 , 11 , 12", histogram.getRanksReceivedAsString());
+        assertEquals(6.5, histogram.getAverage(), 0.001);
+    }
+    
+    private static Map<String, Integer> createRanking(Object... keysAndRanks) {
+        Map<String, Integer> ranking = new HashMap<String, Integer>();
+        for (int i = 0; i < keysAndRanks.length; i += 2) {
+            ranking.put((String) keysAndRanks[i], (Integer) keysAndRanks[i + 1]);
+        }
+        return ranking;
+    }
+    
+}
@@ -0,0 +1,89 @@
+package teammates.test.cases.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.GroupReceiverListReader;
+import teammates.test.cases.BaseTestCase;
+
+public class GroupReceiverListReaderTest extends BaseTestCase {
+    
+    @Test
+    public void testReadNext() throws IOException {
+        
+        ______TS("typical case: addresses are read one at a time");
+        
+        GroupReceiverListReader reader = createReader("a@x.com,b@y.com,c@z.com", 0);
+        assertEquals("a@x.com", reader.readNext());
+        assertEquals(8, reader.getOffset());
+        assertEquals("b@y.com", reader.readNext());
+        assertEquals(16, reader.getOffset());
+        assertEquals("c@z.com", reader.readNext());
+        assertEquals(23, reader.getOffset());
+        assertNull(reader.readNext());
+        assertEquals(23, reader.getOffset());
+        reader.close();
+        
+        ______TS("whitespace around addresses is removed and empty entries are skipped");
+        
+        assertEquals(list("a@x.com", "b@y.com"), readAll(" a@x.com ,\n, b@y.com,\r\n", 0));
+        assertEquals(new ArrayList<String>(), readAll("", 0));
+        assertEquals(new ArrayList<String>(), readAll(" , ,", 0));
+        
+        ______TS("non-ASCII addresses are decoded correctly");
+        
+        assertEquals(list("\u00e9l\u00e8ve@x.com", "b@y.com"), readAll("\u00e9l\u00e8ve@x.com,b@y.com", 0));
+    }
+    
+    @Test
+    public void testResumeFromOffset() throws IOException {
+        String list = "a@x.com, b@y.com,,\u00e9l\u00e8ve@x.com ,d@w.com";
+        List<String> expected = readAll(list, 0);
+        
+        ______TS("resuming from the offset of every address gives the rest of the list");
+        
+        for (int i = 0; i <= expected.size(); i++) {
+            GroupReceiverListReader reader = createReader(list, 0);
+            for (int j = 0; j < i; j++) {
+                reader.readNext();
+            }
+            long offset = reader.getOffset();
+            reader.close();
+            
+            assertEquals(expected.subList(i, expected.size()), readAll(list, offset));
+        }
+    }
+    
+    private static List<String> list(String... items) {
+        List<String> list = new ArrayList<String>();
+        for (String item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+    
+    private static List<String> readAll(String list, long offset) throws IOException {
+        GroupReceiverListReader reader = createReader(list, offset);
+        List<String> addresses = new ArrayList<String>();
+        String address = reader.readNext();
+        while (address != null) {
+            addresses.add(address);
+            address = reader.readNext();
+        }
+        reader.close();
+        return addresses;
+    }
+    
+    private static GroupReceiverListReader createReader(String list, long offset) throws IOException {
+        InputStream in = new ByteArrayInputStream(list.getBytes(Const.SystemParams.ENCODING));
+        in.skip(offset);
+        return new GroupReceiverListReader(in, offset);
+    }
+    
+}
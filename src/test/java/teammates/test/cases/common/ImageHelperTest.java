@@ -0,0 +1,58 @@
+package teammates.test.cases.common;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.ImageHelper;
+import teammates.test.cases.BaseTestCase;
+import teammates.test.util.FileHelper;
+
+public class ImageHelperTest extends BaseTestCase {
+
+    private static final int THUMBNAIL_SIZE = Const.SystemParams.PROFILE_PICTURE_THUMBNAIL_SIZE;
+
+    @Test
+    public void testCreateThumbnail() throws Exception {
+
+        ______TS("typical case: picture is scaled down to the thumbnail size");
+
+        BufferedImage picture = readImage(FileHelper.readFileAsBytes("src/test/resources/images/profile_pic.png"));
+        BufferedImage thumbnail = readImage(ImageHelper.createThumbnail(
+                FileHelper.readFileAsBytes("src/test/resources/images/profile_pic.png")));
+
+        assertTrue(picture.getWidth() > THUMBNAIL_SIZE || picture.getHeight() > THUMBNAIL_SIZE);
+        assertEquals(THUMBNAIL_SIZE, Math.max(thumbnail.getWidth(), thumbnail.getHeight()));
+
+        ______TS("aspect ratio of the picture is kept");
+
+        picture = readImage(FileHelper.readFileAsBytes("src/test/resources/images/image_tall.jpg"));
+        thumbnail = readImage(ImageHelper.createThumbnail(
+                FileHelper.readFileAsBytes("src/test/resources/images/image_tall.jpg")));
+
+        assertEquals(THUMBNAIL_SIZE, thumbnail.getHeight());
+        assertEquals(Math.round((double) picture.getWidth() * THUMBNAIL_SIZE / picture.getHeight()),
+                     thumbnail.getWidth());
+
+        ______TS("failure case: not a picture");
+
+        try {
+            ImageHelper.createThumbnail(FileHelper.readFileAsBytes("src/test/resources/images/not_a_picture.txt"));
+            signalFailureToDetectException();
+        } catch (IOException e) {
+            assertEquals("Unable to create thumbnail: not a readable image", e.getMessage());
+        }
+    }
+
+    private static BufferedImage readImage(byte[] imageData) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageData));
+        assertNotNull(image);
+        return image;
+    }
+
+}
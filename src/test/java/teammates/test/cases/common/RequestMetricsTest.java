@@ -0,0 +1,129 @@
+package teammates.test.cases.common;
+
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActionMetrics;
+import teammates.common.util.ActionMetrics.CallMetrics;
+import teammates.common.util.RequestMetrics;
+import teammates.common.util.RequestMetrics.Call;
+import teammates.test.cases.BaseTestCase;
+
+public class RequestMetricsTest extends BaseTestCase {
+    
+    @BeforeMethod
+    public void setUp() {
+        RequestMetrics.clear();
+    }
+    
+    @AfterMethod
+    public void tearDown() {
+        RequestMetrics.clear();
+    }
+    
+    @Test
+    public void testCallCounts() {
+        
+        ______TS("calls outside of a request are not counted");
+        
+        RequestMetrics.recordCall(Call.DATASTORE_QUERY);
+        assertNull(RequestMetrics.getCallsOfCurrentRequest());
+        
+        ______TS("calls of a request are counted against it");
+        
+        RequestMetrics.startRequest();
+        RequestMetrics.recordCall(Call.DATASTORE_QUERY);
+        RequestMetrics.recordCall(Call.DATASTORE_QUERY);
+        RequestMetrics.recordCall(Call.SEARCH);
+        long[] calls = RequestMetrics.getCallsOfCurrentRequest();
+        assertEquals(2, calls[Call.DATASTORE_QUERY.ordinal()]);
+        assertEquals(1, calls[Call.SEARCH.ordinal()]);
+        assertEquals(0, calls[Call.DATASTORE_PUT.ordinal()]);
+        RequestMetrics.finishRequest("action", 10);
+        assertNull(RequestMetrics.getCallsOfCurrentRequest());
+        
+        RequestMetrics.startRequest();
+        RequestMetrics.recordCall(Call.DATASTORE_QUERY);
+        RequestMetrics.finishRequest("action", 30);
+        
+        ______TS("the calls are summed up for each action");
+        
+        List<ActionMetrics> actionMetrics = RequestMetrics.getActionMetrics();
+        assertEquals(1, actionMetrics.size());
+        ActionMetrics metrics = actionMetrics.get(0);
+        assertEquals("action", metrics.getActionName());
+        assertEquals(2, metrics.getNumberOfRequests());
+        assertEquals(40, metrics.getTotalLatency());
+        assertEquals(20, metrics.getAverageLatency());
+        assertEquals(30, metrics.getMaxLatency());
+        
+        assertEquals(Call.values().length, metrics.getCalls().size());
+        CallMetrics queries = metrics.getCalls().get(Call.DATASTORE_QUERY.ordinal());
+        assertEquals(Call.DATASTORE_QUERY.getDisplayName(), queries.getCallName());
+        assertEquals(3, queries.getTotalCalls());
+        assertEquals(2, queries.getMaxCallsPerRequest());
+        assertEquals(1.5, queries.getAverageCallsPerRequest(), 0);
+        assertEquals("1.5", queries.getAverageCallsPerRequestForDisplay());
+        CallMetrics searches = metrics.getCalls().get(Call.SEARCH.ordinal());
+        assertEquals(1, searches.getTotalCalls());
+        assertEquals(1, searches.getMaxCallsPerRequest());
+    }
+    
+    @Test
+    public void testLatencyPercentiles() {
+        
+        ______TS("percentiles are the upper bounds of their buckets");
+        
+        // 90 requests of 4 ms, 8 of 40 ms, 2 of 400 ms
+        recordRequests("action", 90, 4);
+        recordRequests("action", 8, 40);
+        recordRequests("action", 2, 400);
+        
+        ActionMetrics metrics = RequestMetrics.getActionMetrics().get(0);
+        assertEquals(100, metrics.getNumberOfRequests());
+        assertEquals(5, metrics.getLatencyP50());
+        assertEquals(50, metrics.getLatencyP95());
+        assertEquals(400, metrics.getLatencyP99());
+        assertEquals(400, metrics.getMaxLatency());
+        
+        ______TS("percentiles are capped by the max latency, even above the last bucket");
+        
+        recordRequests("slowAction", 1, 100000);
+        metrics = getMetrics("slowAction");
+        assertEquals(100000, metrics.getLatencyP50());
+        assertEquals(100000, metrics.getLatencyP99());
+        
+        recordRequests("fastAction", 3, 0);
+        metrics = getMetrics("fastAction");
+        assertEquals(0, metrics.getLatencyP50());
+        assertEquals(0, metrics.getMaxLatency());
+        
+        ______TS("actions are sorted by their total latency");
+        
+        List<ActionMetrics> actionMetrics = RequestMetrics.getActionMetrics();
+        assertEquals(3, actionMetrics.size());
+        assertEquals("slowAction", actionMetrics.get(0).getActionName());
+        assertEquals("action", actionMetrics.get(1).getActionName());
+        assertEquals("fastAction", actionMetrics.get(2).getActionName());
+    }
+    
+    private static void recordRequests(String actionName, int numberOfRequests, long timeTaken) {
+        for (int i = 0; i < numberOfRequests; i++) {
+            RequestMetrics.startRequest();
+            RequestMetrics.finishRequest(actionName, timeTaken);
+        }
+    }
+    
+    private static ActionMetrics getMetrics(String actionName) {
+        for (ActionMetrics metrics : RequestMetrics.getActionMetrics()) {
+            if (metrics.getActionName().equals(actionName)) {
+                return metrics;
+            }
+        }
+        return null;
+    }
+    
+}
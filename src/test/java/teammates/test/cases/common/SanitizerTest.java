@@ -2,6 +2,7 @@ package teammates.test.cases.common;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.testng.annotations.Test;
 
@@ -109,6 +110,63 @@ public class SanitizerTest extends BaseTestCase {
         assertEquals(sanitized, Sanitizer.sanitizeForHtml(sanitized));
     }
     
+    @Test
+    public void testSanitizeForHtmlAndSearch_randomStrings_sameAsReplacingOneCharacterAtATime() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            String str = generateStringOfFragments(random);
+            String sanitizedForHtml = Sanitizer.sanitizeForHtml(str);
+            assertEquals(str, sanitizeForHtmlByReplacingOneCharacterAtATime(str), sanitizedForHtml);
+            assertEquals(str, sanitizedForHtml, Sanitizer.sanitizeForHtml(sanitizedForHtml));
+            assertEquals(str, sanitizeForSearchByReplacingOneCharacterAtATime(str), Sanitizer.sanitizeForSearch(str));
+        }
+        
+        ______TS("strings that need no escaping");
+        
+        String plain = "Plain text, with (some) punctuation - and entities &amp; &lt;&#39;";
+        assertEquals(plain, Sanitizer.sanitizeForHtml(plain));
+        assertNull(Sanitizer.sanitizeForSearch(null));
+    }
+    
+    private static String generateStringOfFragments(Random random) {
+        String[] fragments = {"a", "Z", "9", " ", "\n", "é", "<", ">", "\"", "/", "'", "&", "#", "amp;", "lt;",
+                              "gt;", "quot;", "#x2f;", "#39;", "x2f", "amp", ";", "`", "!", "$", "%", "^", "[", "]",
+                              "{", "}", "|", "*", ".", "?", "=", ":", "\\"};
+        StringBuilder str = new StringBuilder();
+        int numberOfFragments = random.nextInt(20);
+        for (int i = 0; i < numberOfFragments; i++) {
+            str.append(fragments[random.nextInt(fragments.length)]);
+        }
+        return str.toString();
+    }
+    
+    /**
+     * The implementation of {@link Sanitizer#sanitizeForHtml(String)} before it was made single-pass.
+     */
+    private static String sanitizeForHtmlByReplacingOneCharacterAtATime(String str) {
+        return str.replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;")
+                .replace("/", "&#x2f;")
+                .replace("'", "&#39;")
+                .replaceAll("&(?!(amp;)|(lt;)|(gt;)|(quot;)|(#x2f;)|(#39;))", "&amp;");
+    }
+    
+    /**
+     * The implementation of {@link Sanitizer#sanitizeForSearch(String)} before it was made single-pass.
+     */
+    private static String sanitizeForSearchByReplacingOneCharacterAtATime(String str) {
+        return str
+                .replace("`", " ").replace("!", " ").replace("#", " ").replace("$", " ").replace("%", " ")
+                .replace("^", " ").replace("&", " ").replace("[", " ").replace("]", " ").replace("{", " ")
+                .replace("}", " ").replace("|", " ").replace(";", " ").replace("*", " ").replace(".", " ")
+                .replace("?", " ").replace("'", " ").replace("/", " ")
+                .replace("=", " ")
+                .replace(":", " ")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;");
+    }
+    
     @Test
     public void testSanitizeForRichText() {
         assertEquals(null, Sanitizer.sanitizeForRichText(null));
@@ -1,9 +1,15 @@
 package teammates.test.cases.common;
 
+import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.bind.DatatypeConverter;
+
 import org.testng.annotations.Test;
 
+import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.common.util.Sanitizer;
@@ -110,12 +116,71 @@ public class StringHelperTest extends BaseTestCase {
     }
 
     @Test
-    public void testKeyEncryption() {
+    public void testKeyEncryption() throws InterruptedException {
         String msg = "Test decryption";
         String decrptedMsg;
         
         decrptedMsg = StringHelper.decrypt(StringHelper.encrypt(msg));
         assertEquals(msg, decrptedMsg);
+        
+        ______TS("same encrypted value on every call and in every thread");
+        
+        final String encryptedMsg = StringHelper.encrypt(msg);
+        assertEquals(encryptedMsg, StringHelper.encrypt(msg));
+        final String[] encryptedInOtherThread = new String[1];
+        Thread otherThread = new Thread() {
+            @Override
+            public void run() {
+                encryptedInOtherThread[0] = StringHelper.encrypt("Test decryption");
+            }
+        };
+        otherThread.start();
+        otherThread.join();
+        assertEquals(encryptedMsg, encryptedInOtherThread[0]);
+        
+        ______TS("still decrypts after failing to decrypt an invalid message");
+        
+        try {
+            StringHelper.decrypt(encryptedMsg.substring(2));
+            signalFailureToDetectException();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof GeneralSecurityException);
+        }
+        assertEquals(msg, StringHelper.decrypt(encryptedMsg));
+    }
+    
+    @Test
+    public void testSignature() throws Exception {
+        String msg = "Test signature";
+        String signature = StringHelper.generateSignature(msg);
+        
+        assertEquals(signature, StringHelper.generateSignature(msg));
+        assertTrue(StringHelper.isCorrectSignature(msg, signature));
+        assertFalse(StringHelper.isCorrectSignature(msg + " ", signature));
+        assertFalse(StringHelper.isCorrectSignature(msg, StringHelper.generateSignature(msg + " ")));
+        assertFalse(StringHelper.isCorrectSignature(msg, ""));
+        assertFalse(StringHelper.isCorrectSignature(msg, null));
+        assertFalse(StringHelper.isCorrectSignature(null, signature));
+        
+        // the encryption key is not used as the signing key
+        Mac macWithEncryptionKey = Mac.getInstance("HmacSHA256");
+        macWithEncryptionKey.init(
+                new SecretKeySpec(DatatypeConverter.parseHexBinary(Config.ENCRYPTION_KEY), "HmacSHA256"));
+        String signatureWithEncryptionKey = DatatypeConverter.printHexBinary(
+                macWithEncryptionKey.doFinal(msg.getBytes(Const.SystemParams.ENCODING)));
+        assertFalse(StringHelper.isCorrectSignature(msg, signatureWithEncryptionKey));
+    }
+    
+    @Test
+    public void testGenerateDigest() throws Exception {
+        byte[] data = "Test digest".getBytes(Const.SystemParams.ENCODING);
+        String digest = StringHelper.generateDigest(data);
+        
+        assertEquals(64, digest.length());
+        assertEquals(digest, StringHelper.generateDigest("Test digest".getBytes(Const.SystemParams.ENCODING)));
+        assertFalse(digest.equals(StringHelper.generateDigest("Test digest ".getBytes(Const.SystemParams.ENCODING))));
+        assertEquals("E3B0C44298FC1C149AFBF4C8996FB92427AE41E4649B934CA495991B7852B855",
+                     StringHelper.generateDigest(new byte[0]));
     }
     
     @Test
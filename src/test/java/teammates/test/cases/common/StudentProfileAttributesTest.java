@@ -62,6 +62,7 @@ public class StudentProfileAttributesTest extends BaseTestCase {
                      + "\n  \"nationality\": \"nationality\",\n  \"gender\": \"female\","
                      + "\n  \"moreInfo\": \"moreInfo can have a lot more than this...\","
                      + "\n  \"pictureKey\": \"profile Pic Key\","
+                     + "\n  \"thumbnailKey\": \"\","
                      /*
                       *  Be careful:
                       *  This comparison will fail if the test is run without
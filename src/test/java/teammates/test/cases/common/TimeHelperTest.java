@@ -1,11 +1,16 @@
 package teammates.test.cases.common;
 
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.Random;
 import java.util.TimeZone;
 
 import org.testng.annotations.Test;
 
+import teammates.common.util.Const;
 import teammates.common.util.TimeHelper;
 import teammates.test.cases.BaseTestCase;
 
@@ -170,4 +175,40 @@ public class TimeHelperTest extends BaseTestCase {
         assertEquals("30 Dec 12:00 NOON", TimeHelper.formatDateTimeForInstructorHomePage(date));
     }
     
+    @Test
+    public void testFormat_sameAsSimpleDateFormat() {
+        String[] patterns = {"dd/MM/yyyy", "EEE, dd MMM yyyy, hh:mm a", "EEE, dd MMM yyyy, hh:mm a zzz",
+                             "d MMM h:mm a", "MM/dd/yyyy HH:mm:ss SSS", "dd-MM-yyyy HH:mm:ss", "yyyyMMddHHmmss"};
+        String[] timeZoneIds = {"UTC", "Asia/Singapore", "America/New_York", "Asia/Kolkata",
+                                TimeZone.getDefault().getID()};
+        Random random = new Random(42);
+        List<Date> dates = new ArrayList<Date>();
+        dates.add(new Date(0));
+        dates.add(Const.TIME_REPRESENTS_NEVER);
+        for (int i = 0; i < 200; i++) {
+            // from 1970 to 2100
+            dates.add(new Date((long) (random.nextDouble() * 4102444800000L)));
+        }
+        
+        for (String pattern : patterns) {
+            for (String timeZoneId : timeZoneIds) {
+                SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+                sdf.setTimeZone(TimeZone.getTimeZone(timeZoneId));
+                for (Date date : dates) {
+                    assertEquals(pattern + " " + timeZoneId + " " + date.getTime(),
+                                 sdf.format(date), TimeHelper.format(date, pattern, timeZoneId));
+                }
+            }
+            assertEquals(new SimpleDateFormat(pattern).format(dates.get(2)), TimeHelper.format(dates.get(2), pattern));
+        }
+        
+        ______TS("dates around 15 Oct 1582, the first day of the Gregorian calendar");
+        
+        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy, HH:mm:ss SSS");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        for (long time : new long[] {-12219292800000L, -12219292800001L}) {
+            assertEquals(sdf.format(new Date(time)), TimeHelper.format(new Date(time), sdf.toPattern(), "UTC"));
+        }
+    }
+    
 }
@@ -1,6 +1,8 @@
 package teammates.test.cases.logic;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -8,6 +10,7 @@ import org.testng.annotations.Test;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -22,6 +25,7 @@ import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.StudentsLogic;
 import teammates.storage.api.AccountsDb;
+import teammates.storage.api.CoursesDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 import teammates.test.util.Priority;
@@ -523,6 +527,44 @@ public class AccountsLogicTest extends BaseComponentTestCase {
         }
     }
 
+    @Test
+    public void testGetCourseInstitutes() throws Exception {
+        CoursesDb coursesDb = new CoursesDb();
+        String courseId = "idOfTypicalCourse1";
+        
+        ______TS("institute not stored yet: resolved from instructor accounts and stored");
+        
+        accountsLogic.updateCourseInstitute(courseId, null);
+        assertTrue(coursesDb.getCourseInstitutes(Arrays.asList(courseId)).isEmpty());
+        
+        Map<String, String> institutes =
+                accountsLogic.getCourseInstitutes(Arrays.asList(courseId, courseId, "non-existent-course"));
+        
+        assertEquals(1, institutes.size());
+        assertEquals("TEAMMATES Test Institute 1", institutes.get(courseId));
+        assertEquals("TEAMMATES Test Institute 1", coursesDb.getCourseInstitutes(Arrays.asList(courseId)).get(courseId));
+        assertEquals("TEAMMATES Test Institute 1", accountsLogic.getCourseInstitute(courseId));
+        
+        ______TS("stored institute is used");
+        
+        accountsLogic.updateCourseInstitute(courseId, "Stored Institute");
+        assertEquals("Stored Institute", accountsLogic.getCourseInstitutes(Arrays.asList(courseId)).get(courseId));
+        
+        ______TS("stored institute is reset when a registered instructor leaves the course");
+        
+        String role = Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER;
+        InstructorAttributes instructor = new InstructorAttributes("AccLogicT.instr", courseId, "Leaving Instructor",
+                                                                   "leaving@gmail.tmt", role,
+                                                                   InstructorAttributes.DEFAULT_DISPLAY_NAME,
+                                                                   new InstructorPrivileges(role));
+        instructorsLogic.createInstructor(instructor);
+        instructorsLogic.deleteInstructorCascade(courseId, instructor.email);
+        
+        assertTrue(coursesDb.getCourseInstitutes(Arrays.asList(courseId)).isEmpty());
+        assertEquals("TEAMMATES Test Institute 1",
+                     accountsLogic.getCourseInstitutes(Arrays.asList(courseId)).get(courseId));
+    }
+    
     @Test
     public void testDeleteAccountCascade() throws Exception {
         
@@ -0,0 +1,129 @@
+package teammates.test.cases.logic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.ActivityLogSearchKey;
+import teammates.common.util.ActivityLogLine;
+import teammates.common.util.Const;
+import teammates.logic.core.ActivityLogsLogic;
+import teammates.storage.api.ActivityLogsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class ActivityLogsLogicTest extends BaseComponentTestCase {
+    
+    private static final ActivityLogsLogic activityLogsLogic = ActivityLogsLogic.inst();
+    
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+    
+    @Test
+    public void testRecordAndStoreActivityLogs() throws Exception {
+        
+        ______TS("recorded logs are only searchable once they are stored");
+        
+        long startTime = System.currentTimeMillis();
+        activityLogsLogic.recordActivityLog(createLogMessage("instructorHomePage", "idOfActivityLogUser", 0));
+        activityLogsLogic.recordActivityLog(createLogMessage("adminActivityLogPage", "idOfActivityLogUser", 1));
+        
+        // the logs are added to the queue asynchronously
+        Thread.sleep(500);
+        List<ActivityLogLine> logs = getLogsOfUser(startTime);
+        assertTrue(logs.isEmpty());
+        
+        ______TS("the logs of the activity log page itself are not stored");
+        
+        assertEquals(1, activityLogsLogic.storeRecordedActivityLogs());
+        
+        logs = getLogsOfUser(startTime);
+        assertEquals(1, logs.size());
+        assertEquals("instructorHomePage", logs.get(0).getServletName());
+        assertEquals(Long.valueOf(100), logs.get(0).getTimeTaken());
+        assertTrue(logs.get(0).getTime() >= startTime);
+        
+        ______TS("stored logs are removed from the queue");
+        
+        assertEquals(0, activityLogsLogic.storeRecordedActivityLogs());
+        
+        ______TS("more logs than are stored in a batch");
+        
+        int numberOfLogs = ActivityLogsDb.ACTIVITY_LOGS_PER_BATCH + 10;
+        for (int i = 0; i < numberOfLogs; i++) {
+            activityLogsLogic.recordActivityLog(createLogMessage("studentHomePage", "idOfActivityLogUser", i));
+        }
+        Thread.sleep(500);
+        
+        assertEquals(numberOfLogs, activityLogsLogic.storeRecordedActivityLogs());
+        assertEquals(numberOfLogs + 1, getLogsOfUser(startTime).size());
+        
+        ______TS("logs are not left out for mentioning the activity log page elsewhere in the log");
+        
+        activityLogsLogic.recordActivityLog(createLogMessage("instructorHomePage", "idOfActivityLogUser",
+                                                             "Went to adminActivityLogPage", 0));
+        Thread.sleep(500);
+        
+        assertEquals(1, activityLogsLogic.storeRecordedActivityLogs());
+    }
+    
+    @Test
+    public void testDeleteActivityLogsBefore() throws Exception {
+        
+        ______TS("old logs are deleted in several batches");
+        
+        long oldTime = 1000000L;
+        int numberOfLogs = ActivityLogsDb.ACTIVITY_LOGS_PER_BATCH + 10;
+        Map<String, ActivityLogLine> logLinesById = new HashMap<String, ActivityLogLine>();
+        for (int i = 0; i < numberOfLogs; i++) {
+            logLinesById.put("expiredLog" + i, new ActivityLogLine(
+                    oldTime + i, createLogMessage("studentHomePage", "idOfExpiredLogUser", i)));
+        }
+        new ActivityLogsDb().putActivityLogs(logLinesById);
+        
+        assertEquals(numberOfLogs - 1, activityLogsLogic.deleteActivityLogsBefore(oldTime + numberOfLogs - 1));
+        assertEquals(1, activityLogsLogic.getActivityLogs(ActivityLogSearchKey.PERSON,
+                                                          Arrays.asList("idOfExpiredLogUser"),
+                                                          oldTime, oldTime + numberOfLogs).size());
+        
+        ______TS("only logs older than the retention period are purged");
+        
+        long now = System.currentTimeMillis();
+        long retentionMillis = Const.SystemParams.ACTIVITY_LOG_RETENTION_DAYS * 24L * 60 * 60 * 1000;
+        long expiredTime = now - retentionMillis - 60 * 1000;
+        long keptTime = now - retentionMillis + 60 * 60 * 1000;
+        logLinesById.clear();
+        logLinesById.put("expiredLog", new ActivityLogLine(
+                expiredTime, createLogMessage("studentHomePage", "idOfPurgedLogUser", 0)));
+        logLinesById.put("keptLog", new ActivityLogLine(
+                keptTime, createLogMessage("studentHomePage", "idOfPurgedLogUser", 1)));
+        new ActivityLogsDb().putActivityLogs(logLinesById);
+        
+        assertTrue(activityLogsLogic.purgeExpiredActivityLogs() >= 2);
+        List<ActivityLogLine> logs = activityLogsLogic.getActivityLogs(
+                ActivityLogSearchKey.PERSON, Arrays.asList("idOfPurgedLogUser"), expiredTime, keptTime);
+        assertEquals(1, logs.size());
+        assertEquals(keptTime, logs.get(0).getTime());
+    }
+    
+    private static List<ActivityLogLine> getLogsOfUser(long startTime) {
+        return activityLogsLogic.getActivityLogs(ActivityLogSearchKey.PERSON, Arrays.asList("idOfActivityLogUser"),
+                                                 startTime, System.currentTimeMillis());
+    }
+    
+    private static String createLogMessage(String servletName, String googleId, int index) {
+        return createLogMessage(servletName, googleId, "message " + index, index);
+    }
+    
+    private static String createLogMessage(String servletName, String googleId, String message, int index) {
+        return "TEAMMATESLOG|||" + servletName + "|||" + servletName + "|||true|||Instructor|||Name|||" + googleId
+               + "|||user@course.tmt|||" + message + "|||/page/" + servletName + "|||" + googleId + "%" + index
+               + "|||100";
+    }
+    
+}
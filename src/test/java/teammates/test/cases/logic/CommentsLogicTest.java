@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -10,6 +11,7 @@ import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.CommentAttributes;
 import teammates.common.datatransfer.CommentParticipantType;
+import teammates.common.datatransfer.CommentSendingState;
 import teammates.common.datatransfer.CommentStatus;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.InstructorAttributes;
@@ -413,6 +415,69 @@ public class CommentsLogicTest extends BaseComponentTestCase {
         verifyAbsentInDatastore(c);
     }
     
+    @Test
+    public void testClearPendingComments() throws Exception {
+        String courseId = "idOfTypicalCourse1";
+        
+        ______TS("comment visible only to its recipient");
+        
+        CommentAttributes personalComment = createPendingComment(courseId, "student1InCourse1@gmail.tmt",
+                                                                  CommentParticipantType.PERSON);
+        
+        commentsLogic.clearPendingComments(courseId);
+        
+        assertEquals(0, commentsLogic.getCommentsForSendingState(courseId, CommentSendingState.PENDING).size());
+        assertEquals(1, commentsLogic.getCommentsForSendingState(courseId, CommentSendingState.SENDING).size());
+        assertEquals(new HashSet<String>(Arrays.asList("student1InCourse1@gmail.tmt")),
+                     commentsLogic.drainRecipientEmailsForSendingComments(courseId));
+        
+        ______TS("already drained outbox is empty");
+        
+        assertTrue(commentsLogic.drainRecipientEmailsForSendingComments(courseId).isEmpty());
+        
+        ______TS("only newly cleared comments are added to the outbox");
+        
+        CommentAttributes teamComment = createPendingComment(courseId, "student2InCourse1@gmail.tmt",
+                                                             CommentParticipantType.PERSON,
+                                                             CommentParticipantType.TEAM);
+        
+        commentsLogic.clearPendingComments(courseId);
+        
+        assertEquals(2, commentsLogic.getCommentsForSendingState(courseId, CommentSendingState.SENDING).size());
+        assertEquals(new HashSet<String>(Arrays.asList("student1InCourse1@gmail.tmt", "student2InCourse1@gmail.tmt",
+                                                       "student3InCourse1@gmail.tmt", "student4InCourse1@gmail.tmt")),
+                     commentsLogic.drainRecipientEmailsForSendingComments(courseId));
+        
+        ______TS("nothing pending: outbox stays empty");
+        
+        commentsLogic.clearPendingComments(courseId);
+        assertTrue(commentsLogic.drainRecipientEmailsForSendingComments(courseId).isEmpty());
+        
+        ______TS("failure: non-existent course");
+        
+        try {
+            commentsLogic.clearPendingComments("no-such-course");
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            assertEquals("Trying to clear pending comments for a course that does not exist.", e.getMessage());
+        }
+        
+        commentsLogic.deleteComment(personalComment);
+        commentsLogic.deleteComment(teamComment);
+    }
+    
+    private CommentAttributes createPendingComment(String courseId, String recipientEmail,
+                                                   CommentParticipantType... showCommentTo) throws Exception {
+        CommentAttributes comment = new CommentAttributes(courseId, "instructor2@course1.tmt",
+                CommentParticipantType.PERSON, new HashSet<String>(Arrays.asList(recipientEmail)), new Date(),
+                new Text("Pending comment to " + recipientEmail));
+        comment.sendingState = CommentSendingState.PENDING;
+        comment.showCommentTo = new ArrayList<CommentParticipantType>(Arrays.asList(showCommentTo));
+        comment.showGiverNameTo = new ArrayList<CommentParticipantType>();
+        comment.showRecipientNameTo = new ArrayList<CommentParticipantType>(Arrays.asList(showCommentTo));
+        return commentsLogic.createComment(comment);
+    }
+    
     // TODO: add tests for those one level down api call if test coverage is considered
     
     private void verifyCommentsGiverNameVisible(List<CommentAttributes> comments) {
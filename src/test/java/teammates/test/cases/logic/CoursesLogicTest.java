@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,7 @@ import teammates.common.datatransfer.CourseSummaryBundle;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentListPageBundle;
 import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -58,6 +60,7 @@ public class CoursesLogicTest extends BaseComponentTestCase {
         testGetCourseSummaryWithoutStats();
         testGetCourseDetails();
         testGetTeamsForCourse();
+        testGetStudentListPage();
         testGetNumberOfSections();
         testGetNumberOfTeams();
         testGetTotalEnrolledInCourse();
@@ -470,6 +473,72 @@ public class CoursesLogicTest extends BaseComponentTestCase {
             assertEquals("Supplied parameter was null\n", e.getMessage());
         }
     }
+    
+    public void testGetStudentListPage() throws Exception {
+        
+        CourseAttributes course = dataBundle.courses.get("typicalCourse1");
+        
+        ______TS("first page");
+        
+        StudentListPageBundle page = coursesLogic.getStudentListPage(course.getId(), null, null, 0, 3);
+        
+        assertEquals(Arrays.asList("Section 1", "Section 2"),
+                     new ArrayList<String>(page.teamNamesInSections.keySet()));
+        assertEquals(Arrays.asList("Team 1.1</td></div>'\""), page.teamNamesInSections.get("Section 1"));
+        assertEquals(Arrays.asList("Team 1.2"), page.teamNamesInSections.get("Section 2"));
+        assertEquals(1, page.sections.size());
+        assertEquals("Section 1", page.sections.get(0).name);
+        assertEquals(3, page.sections.get(0).teams.get(0).students.size());
+        assertEquals(dataBundle.students.get("student1InCourse1").email,
+                     page.sections.get(0).teams.get(0).students.get(0).email);
+        assertEquals(5, page.numStudentsMatched);
+        assertEquals(3, page.getNextOffset());
+        assertTrue(page.hasNextPage());
+        
+        ______TS("last page continues from the offset of the previous page");
+        
+        page = coursesLogic.getStudentListPage(course.getId(), null, null, page.getNextOffset(), 3);
+        
+        assertEquals(2, page.teamNamesInSections.size());
+        assertEquals(2, page.sections.size());
+        assertEquals(dataBundle.students.get("student4InCourse1").email,
+                     page.sections.get(0).teams.get(0).students.get(0).email);
+        assertEquals(dataBundle.students.get("student5InCourse1").email,
+                     page.sections.get(1).teams.get(0).students.get(0).email);
+        assertEquals(2, page.numStudentsInPage);
+        assertFalse(page.hasNextPage());
+        
+        ______TS("filtered by section");
+        
+        page = coursesLogic.getStudentListPage(course.getId(), "Section 2", null, 0, 3);
+        
+        assertEquals(2, page.teamNamesInSections.size());
+        assertEquals(1, page.numStudentsMatched);
+        assertEquals("Section 2", page.sections.get(0).name);
+        assertFalse(page.hasNextPage());
+        
+        ______TS("filtered by search key, ignoring case");
+        
+        page = coursesLogic.getStudentListPage(course.getId(), null, " STUDENT3 ", 0, 3);
+        
+        assertEquals(1, page.numStudentsMatched);
+        assertEquals(dataBundle.students.get("student3InCourse1").email,
+                     page.sections.get(0).teams.get(0).students.get(0).email);
+        
+        page = coursesLogic.getStudentListPage(course.getId(), "Section 1", "team 1.2", 0, 3);
+        
+        assertEquals(0, page.numStudentsMatched);
+        assertTrue(page.sections.isEmpty());
+        
+        ______TS("non-existent course");
+        
+        try {
+            coursesLogic.getStudentListPage("non-existent-course", null, null, 0, 3);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            AssertHelper.assertContains("does not exist", e.getMessage());
+        }
+    }
  
     public void testGetNumberOfSections() throws Exception {
 
@@ -1,7 +1,9 @@
 package teammates.test.cases.logic;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.testng.annotations.AfterClass;
@@ -65,7 +67,7 @@ public class EmailGeneratorTest extends BaseComponentTestCase {
         
         ______TS("feedback session opening emails");
         
-        List<EmailWrapper> emails = new EmailGenerator().generateFeedbackSessionOpeningEmails(session);
+        List<EmailWrapper> emails = toList(new EmailGenerator().generateFeedbackSessionOpeningEmails(session));
         assertEquals(10, emails.size());
         
         String subject = String.format(EmailType.FEEDBACK_OPENING.getSubject(),
@@ -109,7 +111,7 @@ public class EmailGeneratorTest extends BaseComponentTestCase {
         
         ______TS("feedback session closing alerts");
         
-        emails = new EmailGenerator().generateFeedbackSessionClosingEmails(session);
+        emails = toList(new EmailGenerator().generateFeedbackSessionClosingEmails(session));
         assertEquals(8, emails.size());
         
         subject = String.format(EmailType.FEEDBACK_CLOSING.getSubject(),
@@ -137,7 +139,7 @@ public class EmailGeneratorTest extends BaseComponentTestCase {
         
         ______TS("feedback session published alerts");
         
-        emails = new EmailGenerator().generateFeedbackSessionPublishedEmails(session);
+        emails = toList(new EmailGenerator().generateFeedbackSessionPublishedEmails(session));
         assertEquals(10, emails.size());
         
         subject = String.format(EmailType.FEEDBACK_PUBLISHED.getSubject(),
@@ -159,7 +161,7 @@ public class EmailGeneratorTest extends BaseComponentTestCase {
         
         ______TS("feedback session unpublished alerts");
         
-        emails = new EmailGenerator().generateFeedbackSessionUnpublishedEmails(session);
+        emails = toList(new EmailGenerator().generateFeedbackSessionUnpublishedEmails(session));
         assertEquals(10, emails.size());
         
         subject = String.format(EmailType.FEEDBACK_UNPUBLISHED.getSubject(),
@@ -184,16 +186,16 @@ public class EmailGeneratorTest extends BaseComponentTestCase {
         FeedbackSessionAttributes privateSession =
                 fsLogic.getFeedbackSession("Private feedback session", "idOfTypicalCourse2");
         
-        emails = new EmailGenerator().generateFeedbackSessionOpeningEmails(privateSession);
+        emails = toList(new EmailGenerator().generateFeedbackSessionOpeningEmails(privateSession));
         assertTrue(emails.isEmpty());
         
-        emails = new EmailGenerator().generateFeedbackSessionClosingEmails(privateSession);
+        emails = toList(new EmailGenerator().generateFeedbackSessionClosingEmails(privateSession));
         assertTrue(emails.isEmpty());
         
-        emails = new EmailGenerator().generateFeedbackSessionPublishedEmails(privateSession);
+        emails = toList(new EmailGenerator().generateFeedbackSessionPublishedEmails(privateSession));
         assertTrue(emails.isEmpty());
         
-        emails = new EmailGenerator().generateFeedbackSessionUnpublishedEmails(privateSession);
+        emails = toList(new EmailGenerator().generateFeedbackSessionUnpublishedEmails(privateSession));
         assertTrue(emails.isEmpty());
         
     }
@@ -333,6 +335,14 @@ public class EmailGeneratorTest extends BaseComponentTestCase {
         assertEquals(content, email.getContent());
     }
     
+    private List<EmailWrapper> toList(Iterator<EmailWrapper> emails) {
+        List<EmailWrapper> emailList = new ArrayList<EmailWrapper>();
+        while (emails.hasNext()) {
+            emailList.add(emails.next());
+        }
+        return emailList;
+    }
+    
     private void verifyEmail(EmailWrapper email, String recipient, String subject, String emailContentFilePath)
             throws IOException {
         // check recipient
@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.mail.Message;
 import javax.mail.internet.InternetAddress;
@@ -12,21 +13,27 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.google.appengine.api.taskqueue.QueueConstants;
 import com.mailjet.client.MailjetRequest;
 import com.mailjet.client.resource.Email;
 import com.sendgrid.SendGrid;
 import com.sun.jersey.multipart.FormDataMultiPart;
 
+import teammates.common.util.Const.SystemParams;
 import teammates.common.util.EmailWrapper;
 import teammates.logic.core.EmailSender;
+import teammates.logic.core.EmailSenderService;
 import teammates.logic.core.JavamailService;
 import teammates.logic.core.MailgunService;
 import teammates.logic.core.MailjetService;
 import teammates.logic.core.SendgridService;
+import teammates.logic.core.TaskQueueMetrics;
+import teammates.logic.core.TaskQueuesLogic;
 import teammates.test.cases.BaseComponentTestCase;
 
 /**
  * SUT: {@link EmailSender}
+ *      {@link EmailSenderService}
  *      {@link JavamailService}
  *      {@link SendgridService}
  *      {@link MailgunService}
@@ -59,11 +66,84 @@ public class EmailSenderTest extends BaseComponentTestCase {
         return wrapper;
     }
     
+    private List<EmailWrapper> getTypicalEmailWrapperBatch() {
+        EmailWrapper first = getTypicalEmailWrapper();
+        first.setBcc(null);
+        
+        EmailWrapper second = getTypicalEmailWrapper();
+        second.setBcc(null);
+        second.setRecipient("another.recipient@email.com");
+        second.setContent("<p>This is another test content</p>");
+        
+        List<EmailWrapper> batch = new ArrayList<EmailWrapper>();
+        batch.add(first);
+        batch.add(second);
+        return batch;
+    }
+    
     @Test
     public void testNoExceptionThrownWhenNoMessagesToSend() {
         new EmailSender().sendEmails(new ArrayList<EmailWrapper>());
     }
     
+    private List<EmailWrapper> getEmailsToDistinctRecipients(String recipientPrefix, int numberOfEmails) {
+        List<EmailWrapper> messages = new ArrayList<EmailWrapper>();
+        for (int i = 0; i < numberOfEmails; i++) {
+            EmailWrapper message = getTypicalEmailWrapper();
+            message.setBcc(null);
+            message.setRecipient(recipientPrefix + i + "@email.com");
+            messages.add(message);
+        }
+        return messages;
+    }
+    
+    @Test
+    public void testSendEmailsFromIterator() {
+        List<EmailWrapper> messages = getEmailsToDistinctRecipients("recipient", EmailSender.EMAILS_PER_GROUP * 2 + 100);
+        TaskQueueMetrics metrics = TaskQueuesLogic.inst().getMetrics(SystemParams.SEND_EMAIL_TASK_QUEUE);
+        
+        ______TS("emails taken from an iterator are added as the same tasks as those in a list");
+        
+        long tasksAddedBefore = metrics.getNumberOfTasksAdded();
+        new EmailSender().sendEmails(messages);
+        long tasksAddedForList = metrics.getNumberOfTasksAdded() - tasksAddedBefore;
+        
+        tasksAddedBefore = metrics.getNumberOfTasksAdded();
+        new EmailSender().sendEmails(messages.iterator());
+        assertEquals(tasksAddedForList, metrics.getNumberOfTasksAdded() - tasksAddedBefore);
+        
+        ______TS("a group of emails failing to be added does not affect the groups after it");
+        
+        List<EmailWrapper> firstGroup = getEmailsToDistinctRecipients("first", EmailSender.EMAILS_PER_GROUP);
+        // the oversized email is sent in a task of its own, which exceeds the size limit of a task
+        List<EmailWrapper> failingGroup = getEmailsToDistinctRecipients("failing", EmailSender.EMAILS_PER_GROUP);
+        StringBuilder oversizedContent = new StringBuilder();
+        for (int i = 0; i < QueueConstants.maxTaskSizeBytes(); i++) {
+            oversizedContent.append('a');
+        }
+        failingGroup.get(0).setContent(oversizedContent.toString());
+        List<EmailWrapper> lastGroup = getEmailsToDistinctRecipients("last", 100);
+        
+        tasksAddedBefore = metrics.getNumberOfTasksAdded();
+        new EmailSender().sendEmails(firstGroup);
+        new EmailSender().sendEmails(lastGroup);
+        long tasksAddedForSucceedingGroups = metrics.getNumberOfTasksAdded() - tasksAddedBefore;
+        
+        List<EmailWrapper> allGroups = new ArrayList<EmailWrapper>();
+        allGroups.addAll(firstGroup);
+        allGroups.addAll(failingGroup);
+        allGroups.addAll(lastGroup);
+        tasksAddedBefore = metrics.getNumberOfTasksAdded();
+        new EmailSender().sendEmails(allGroups.iterator());
+        assertEquals(tasksAddedForSucceedingGroups, metrics.getNumberOfTasksAdded() - tasksAddedBefore);
+        
+        ______TS("no tasks are added when there are no emails in the iterator");
+        
+        tasksAddedBefore = metrics.getNumberOfTasksAdded();
+        new EmailSender().sendEmails(new ArrayList<EmailWrapper>().iterator());
+        assertEquals(tasksAddedBefore, metrics.getNumberOfTasksAdded());
+    }
+    
     @Test
     public void testConvertToMimeMessage() throws Exception {
         EmailWrapper wrapper = getTypicalEmailWrapper();
@@ -123,6 +203,143 @@ public class EmailSenderTest extends BaseComponentTestCase {
         assertEquals(wrapper.getContent(), email.get(Email.HTMLPART));
     }
     
+    @Test
+    public void testConvertBatchToSendgrid() {
+        List<EmailWrapper> batch = getTypicalEmailWrapperBatch();
+        SendGrid.Email email = new SendgridService().parseToBatchEmail(batch);
+        JSONObject smtpApi = new JSONObject(email.getSMTPAPI().jsonString());
+        
+        assertEquals(batch.get(0).getSenderEmail(), email.getFrom());
+        assertEquals(batch.get(0).getSenderName(), email.getFromName());
+        assertEquals(0, email.getTos().length);
+        JSONArray recipients = smtpApi.getJSONArray("to");
+        assertEquals(batch.get(0).getRecipient(), recipients.getString(0));
+        assertEquals(batch.get(1).getRecipient(), recipients.getString(1));
+        assertEquals(batch.get(0).getReplyTo(), email.getReplyTo());
+        assertEquals(batch.get(0).getSubject(), email.getSubject());
+        
+        ______TS("personalized contents are sent as substitutions");
+        
+        JSONArray htmlContents = smtpApi.getJSONObject("sub").getJSONArray(email.getHtml());
+        assertEquals(batch.get(0).getContent(), htmlContents.getString(0));
+        assertEquals(batch.get(1).getContent(), htmlContents.getString(1));
+        JSONArray textContents = smtpApi.getJSONObject("sub").getJSONArray(email.getText());
+        assertEquals("This is a test content", textContents.getString(0));
+        assertEquals("This is another test content", textContents.getString(1));
+        
+        ______TS("shared contents are sent without substitutions");
+        
+        batch.get(1).setContent(batch.get(0).getContent());
+        email = new SendgridService().parseToBatchEmail(batch);
+        assertEquals(batch.get(0).getContent(), email.getHtml());
+        assertFalse(new JSONObject(email.getSMTPAPI().jsonString()).has("sub"));
+    }
+    
+    @Test
+    public void testConvertBatchToMailgun() {
+        List<EmailWrapper> batch = getTypicalEmailWrapperBatch();
+        FormDataMultiPart formData = new MailgunService().parseToBatchEmail(batch);
+        
+        assertEquals(batch.get(0).getSenderName() + " <" + batch.get(0).getSenderEmail() + ">",
+                     formData.getField("from").getValue());
+        assertEquals(batch.get(0).getRecipient(), formData.getFields("to").get(0).getValue());
+        assertEquals(batch.get(1).getRecipient(), formData.getFields("to").get(1).getValue());
+        assertEquals(batch.get(0).getReplyTo(), formData.getField("h:Reply-To").getValue());
+        assertEquals(batch.get(0).getSubject(), formData.getField("subject").getValue());
+        
+        ______TS("personalized contents are sent as recipient variables");
+        
+        JSONObject recipientVariables = new JSONObject(formData.getField("recipient-variables").getValue());
+        assertEquals("%recipient.html%", formData.getField("html").getValue());
+        assertEquals(batch.get(0).getContent(),
+                     recipientVariables.getJSONObject(batch.get(0).getRecipient()).getString("html"));
+        assertEquals(batch.get(1).getContent(),
+                     recipientVariables.getJSONObject(batch.get(1).getRecipient()).getString("html"));
+        
+        ______TS("shared contents are sent without recipient variables");
+        
+        batch.get(1).setContent(batch.get(0).getContent());
+        formData = new MailgunService().parseToBatchEmail(batch);
+        recipientVariables = new JSONObject(formData.getField("recipient-variables").getValue());
+        assertEquals(batch.get(0).getContent(), formData.getField("html").getValue());
+        assertEquals(0, recipientVariables.getJSONObject(batch.get(0).getRecipient()).length());
+    }
+    
+    @Test
+    public void testGroupIntoBatches() {
+        List<EmailWrapper> wrappers = getTypicalEmailWrapperBatch();
+        
+        ______TS("emails with the same sender, reply-to address and subject are batched together");
+        
+        List<List<EmailWrapper>> batches = EmailSenderService.groupIntoBatches(wrappers, 1000);
+        assertEquals(1, batches.size());
+        assertEquals(wrappers, batches.get(0));
+        
+        ______TS("batches do not exceed the maximum batch size");
+        
+        batches = EmailSenderService.groupIntoBatches(wrappers, 1);
+        assertEquals(2, batches.size());
+        
+        ______TS("emails with different subjects are not batched together");
+        
+        wrappers.get(1).setSubject("Another subject");
+        batches = EmailSenderService.groupIntoBatches(wrappers, 1000);
+        assertEquals(2, batches.size());
+        
+        ______TS("emails with a bcc are not batched with other emails");
+        
+        wrappers = getTypicalEmailWrapperBatch();
+        wrappers.get(1).setBcc("bcc@email.com");
+        batches = EmailSenderService.groupIntoBatches(wrappers, 1000);
+        assertEquals(2, batches.size());
+        
+        ______TS("emails to the same recipient are not batched together");
+        
+        wrappers = getTypicalEmailWrapperBatch();
+        EmailWrapper duplicate = getTypicalEmailWrapper();
+        duplicate.setBcc(null);
+        duplicate.setRecipient(wrappers.get(0).getRecipient().toUpperCase());
+        duplicate.setContent("<p>This is the other copy for the same recipient</p>");
+        wrappers.add(duplicate);
+        batches = EmailSenderService.groupIntoBatches(wrappers, 1000);
+        assertEquals(2, batches.size());
+        assertEquals(wrappers.subList(0, 2), batches.get(0));
+        assertEquals(1, batches.get(1).size());
+        assertEquals(duplicate, batches.get(1).get(0));
+    }
+    
+    @Test
+    public void testConvertBatchToMailjet() {
+        List<EmailWrapper> batch = getTypicalEmailWrapperBatch();
+        MailjetRequest request = new MailjetService().parseToBatchEmail(batch);
+        JSONArray messages = new JSONObject(request.getBody()).getJSONArray("Messages");
+        
+        ______TS("personalized contents are sent as separate messages");
+        
+        assertEquals(2, messages.length());
+        for (int i = 0; i < batch.size(); i++) {
+            JSONObject email = messages.getJSONObject(i);
+            assertEquals(batch.get(i).getSenderEmail(), email.get(Email.FROMEMAIL));
+            assertEquals(batch.get(i).getRecipient(),
+                         ((JSONArray) email.get(Email.RECIPIENTS)).getJSONObject(0).get("Email"));
+            assertEquals(batch.get(i).getSubject(), email.get(Email.SUBJECT));
+            assertEquals(batch.get(i).getContent(), email.get(Email.HTMLPART));
+        }
+        
+        ______TS("shared contents are sent as one message with many recipients");
+        
+        batch.get(1).setContent(batch.get(0).getContent());
+        request = new MailjetService().parseToBatchEmail(batch);
+        messages = new JSONObject(request.getBody()).getJSONArray("Messages");
+        
+        assertEquals(1, messages.length());
+        JSONArray recipients = (JSONArray) messages.getJSONObject(0).get(Email.RECIPIENTS);
+        assertEquals(batch.get(0).getRecipient(), recipients.getJSONObject(0).get("Email"));
+        assertEquals(batch.get(1).getRecipient(), recipients.getJSONObject(1).get("Email"));
+        assertEquals(batch.get(0).getContent(), messages.getJSONObject(0).get(Email.HTMLPART));
+        assertEquals("This is a test content", messages.getJSONObject(0).get(Email.TEXTPART));
+    }
+    
     @AfterClass
     public static void classTearDown() {
         printTestClassFooter();
@@ -1,19 +1,27 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.UserType.Role;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackResponseCommentVisibilityChecker;
 import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.test.cases.BaseComponentTestCase;
@@ -286,6 +294,99 @@ public class FeedbackResponseCommentsLogicTest extends BaseComponentTestCase {
         
     }
 
+    @Test
+    public void testFeedbackResponseCommentVisibilityChecker() {
+        FeedbackQuestionAttributes question = new FeedbackQuestionAttributes();
+        question.setId("question-id");
+        question.giverType = FeedbackParticipantType.STUDENTS;
+        question.recipientType = FeedbackParticipantType.STUDENTS;
+        question.showResponsesTo = new ArrayList<FeedbackParticipantType>(
+                Arrays.asList(FeedbackParticipantType.RECEIVER, FeedbackParticipantType.INSTRUCTORS));
+        
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes();
+        response.giver = "giver@gmail.tmt";
+        response.recipient = "recipient@gmail.tmt";
+        
+        FeedbackResponseCommentAttributes comment = new FeedbackResponseCommentAttributes();
+        comment.giverEmail = "instructor@gmail.tmt";
+        comment.isVisibilityFollowingFeedbackQuestion = true;
+        
+        Set<String> recipientTeam = new HashSet<String>(Arrays.asList("recipient@gmail.tmt", "teammate@gmail.tmt"));
+        FeedbackResponseCommentVisibilityChecker instructorChecker =
+                new FeedbackResponseCommentVisibilityChecker("other.instructor@gmail.tmt", Role.INSTRUCTOR, null,
+                                                             new HashSet<String>());
+        FeedbackResponseCommentVisibilityChecker giverChecker =
+                new FeedbackResponseCommentVisibilityChecker("giver@gmail.tmt", Role.STUDENT, null,
+                                                             new HashSet<String>(Arrays.asList("giver@gmail.tmt")));
+        FeedbackResponseCommentVisibilityChecker recipientChecker =
+                new FeedbackResponseCommentVisibilityChecker("recipient@gmail.tmt", Role.STUDENT, null, recipientTeam);
+        FeedbackResponseCommentVisibilityChecker teammateChecker =
+                new FeedbackResponseCommentVisibilityChecker("teammate@gmail.tmt", Role.STUDENT, null, recipientTeam);
+        
+        ______TS("visibility following the question");
+        
+        assertTrue(instructorChecker.isVisible(response, question, comment));
+        assertTrue(giverChecker.isVisible(response, question, comment));
+        assertTrue(recipientChecker.isVisible(response, question, comment));
+        assertFalse(teammateChecker.isVisible(response, question, comment));
+        
+        ______TS("visibility of the comment itself");
+        
+        comment.isVisibilityFollowingFeedbackQuestion = false;
+        comment.showCommentTo = new ArrayList<FeedbackParticipantType>(
+                Arrays.asList(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS));
+        
+        assertFalse(instructorChecker.isVisible(response, question, comment));
+        assertFalse(giverChecker.isVisible(response, question, comment));
+        assertTrue(recipientChecker.isVisible(response, question, comment));
+        assertTrue(teammateChecker.isVisible(response, question, comment));
+        
+        ______TS("comment giver can always see the comment");
+        
+        comment.showCommentTo = new ArrayList<FeedbackParticipantType>();
+        
+        assertFalse(recipientChecker.isVisible(response, question, comment));
+        assertTrue(new FeedbackResponseCommentVisibilityChecker("instructor@gmail.tmt", Role.INSTRUCTOR, null,
+                                                                new HashSet<String>())
+                           .isVisible(response, question, comment));
+        
+        ______TS("visibility to each participant type");
+        
+        String[] userEmails = {"other.instructor@gmail.tmt", "giver@gmail.tmt", "recipient@gmail.tmt",
+                               "teammate@gmail.tmt", "other.student@gmail.tmt"};
+        Role[] roles = {Role.INSTRUCTOR, Role.STUDENT, Role.STUDENT, Role.STUDENT, Role.STUDENT};
+        List<Set<String>> teams = Arrays.asList(new HashSet<String>(),
+                                                new HashSet<String>(Arrays.asList("giver@gmail.tmt")),
+                                                recipientTeam, recipientTeam,
+                                                new HashSet<String>(Arrays.asList("other.student@gmail.tmt")));
+        
+        // expected visibility to each of the users above, in the same order
+        Map<FeedbackParticipantType, boolean[]> expectedVisibility =
+                new LinkedHashMap<FeedbackParticipantType, boolean[]>();
+        expectedVisibility.put(FeedbackParticipantType.GIVER, new boolean[] {false, true, false, false, false});
+        expectedVisibility.put(FeedbackParticipantType.RECEIVER, new boolean[] {false, false, true, false, false});
+        expectedVisibility.put(FeedbackParticipantType.OWN_TEAM_MEMBERS,
+                               new boolean[] {false, true, false, false, false});
+        expectedVisibility.put(FeedbackParticipantType.RECEIVER_TEAM_MEMBERS,
+                               new boolean[] {false, false, true, true, false});
+        expectedVisibility.put(FeedbackParticipantType.STUDENTS, new boolean[] {false, true, true, true, true});
+        expectedVisibility.put(FeedbackParticipantType.INSTRUCTORS, new boolean[] {true, false, false, false, false});
+        
+        for (Map.Entry<FeedbackParticipantType, boolean[]> entry : expectedVisibility.entrySet()) {
+            comment.showCommentTo = new ArrayList<FeedbackParticipantType>(Arrays.asList(entry.getKey()));
+            for (int i = 0; i < userEmails.length; i++) {
+                assertEquals(entry.getKey() + " to " + userEmails[i], entry.getValue()[i],
+                             frcLogic.isResponseCommentVisibleForUser(userEmails[i], roles[i], null, teams.get(i),
+                                                                      response, question, comment));
+            }
+        }
+        
+        ______TS("missing response or question");
+        
+        assertFalse(recipientChecker.isVisible(null, question, comment));
+        assertFalse(recipientChecker.isVisible(response, null, comment));
+    }
+    
     @Test
     public void testDeleteFeedbackResponseCommentFromCourse() {
         
@@ -90,7 +90,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         testIsFeedbackSessionCompletedByInstructor();
         testIsFeedbackSessionFullyCompletedByStudent();
                 
-        testSendReminderForFeedbackSession();
+        testSendReminderForFeedbackSessionShard();
         testSendReminderForFeedbackSessionParticularUsers();
         testDeleteFeedbackSessionsForCourse();
     }
@@ -2039,7 +2039,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         // this method is tested in FeedbackSessionEmailTaskQueueTest.java
     }
     
-    public void testSendReminderForFeedbackSession() throws Exception {
+    public void testSendReminderForFeedbackSessionShard() throws Exception {
         // private method. no need to check for authentication.
         Logic logic = new Logic();
         
@@ -2048,8 +2048,14 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         FeedbackSessionAttributes fs = dataBundle.feedbackSessions.get("session1InCourse1");
         String courseName = CoursesLogic.inst().getCourse(fs.getCourseId()).getName();
 
-        List<EmailWrapper> emailsSent =
-                fsLogic.sendReminderForFeedbackSession(fs.getCourseId(), fs.getFeedbackSessionName());
+        List<StudentAttributes> studentsInCourse = logic.getStudentsForCourse(fs.getCourseId());
+        String[] studentEmails = new String[studentsInCourse.size()];
+        for (int i = 0; i < studentEmails.length; i++) {
+            studentEmails[i] = studentsInCourse.get(i).email;
+        }
+        
+        List<EmailWrapper> emailsSent = fsLogic.sendReminderForFeedbackSessionShard(
+                fs.getCourseId(), fs.getFeedbackSessionName(), studentEmails, true);
         assertEquals(11, emailsSent.size());
 
         fs = fsLogic.getFeedbackSession(fs.getFeedbackSessionName(), fs.getCourseId());
@@ -2104,7 +2110,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         String nonExistentFsName = "non-ExIsTENT FsnaMe123";
         
         try {
-            fsLogic.sendReminderForFeedbackSession(fs.getCourseId(), nonExistentFsName);
+            fsLogic.sendReminderForFeedbackSessionShard(fs.getCourseId(), nonExistentFsName, studentEmails, true);
             signalFailureToDetectException();
         } catch (EntityDoesNotExistException edne) {
             assertEquals("Trying to remind a non-existent feedback session: "
@@ -0,0 +1,123 @@
+package teammates.test.cases.logic;
+
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Config;
+import teammates.common.util.Const;
+import teammates.common.util.Url;
+import teammates.logic.core.AccountsLogic;
+import teammates.logic.core.ProfilePicturesLogic;
+import teammates.logic.core.StudentsLogic;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class ProfilePicturesLogicTest extends BaseComponentTestCase {
+
+    private static final ProfilePicturesLogic profilePicturesLogic = ProfilePicturesLogic.inst();
+    private static DataBundle dataBundle = getTypicalDataBundle();
+
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @Test
+    public void testGetProfilePictureUrlsForStudents() throws Exception {
+
+        ______TS("typical case: students with and without pictures");
+
+        StudentAttributes studentWithPicture = dataBundle.students.get("student1InCourse1");
+        String pictureKey = dataBundle.accounts.get("student1InCourse1").studentProfile.pictureKey;
+        List<StudentAttributes> students = StudentsLogic.inst().getStudentsForCourse(studentWithPicture.course);
+
+        Map<String, String> pictureUrls = profilePicturesLogic.getProfilePictureUrlsForStudents(students);
+
+        assertEquals(students.size(), pictureUrls.size());
+        for (StudentAttributes student : students) {
+            if (student.email.equals(studentWithPicture.email)) {
+                continue;
+            }
+            assertEquals(Const.SystemParams.DEFAULT_PROFILE_PICTURE_PATH, pictureUrls.get(student.email));
+        }
+
+        Url pictureUrl = Config.getAppUrl(pictureUrls.get(studentWithPicture.email));
+        assertTrue(pictureUrl.toString().startsWith(Const.ActionURIs.PUBLIC_PROFILE_PICTURE + "?"));
+        assertEquals(pictureKey, getParam(pictureUrl, Const.ParamsNames.BLOB_KEY));
+        assertTrue(isValidSignature(pictureUrl));
+
+        ______TS("thumbnail is used where available");
+
+        AccountsLogic.inst().updateStudentProfilePicture(studentWithPicture.googleId, pictureKey, "thumbnail-key");
+
+        pictureUrls = profilePicturesLogic.getProfilePictureUrlsForStudents(students);
+        pictureUrl = Config.getAppUrl(pictureUrls.get(studentWithPicture.email));
+        assertEquals("thumbnail-key", getParam(pictureUrl, Const.ParamsNames.BLOB_KEY));
+        assertTrue(isValidSignature(pictureUrl));
+
+                ______TS("unregistered students are given the default picture");
+
+        StudentAttributes unregisteredStudent = dataBundle.students.get("student1InUnregisteredCourse");
+        List<StudentAttributes> unregisteredStudents = new ArrayList<StudentAttributes>();
+        unregisteredStudents.add(unregisteredStudent);
+
+        pictureUrls = profilePicturesLogic.getProfilePictureUrlsForStudents(unregisteredStudents);
+        assertEquals(Const.SystemParams.DEFAULT_PROFILE_PICTURE_PATH, pictureUrls.get(unregisteredStudent.email));
+
+        ______TS("no students");
+
+        assertTrue(profilePicturesLogic.getProfilePictureUrlsForStudents(new ArrayList<StudentAttributes>())
+                                       .isEmpty());
+    }
+
+    @Test
+    public void testIsValidProfilePictureSignature() throws Exception {
+        Url pictureUrl = Config.getAppUrl(profilePicturesLogic.getSignedProfilePictureUrl("some-picture-key"));
+        String pictureKey = getParam(pictureUrl, Const.ParamsNames.BLOB_KEY);
+        String expiry = getParam(pictureUrl, Const.ParamsNames.PROFILE_PICTURE_EXPIRY);
+        String signature = getParam(pictureUrl, Const.ParamsNames.PROFILE_PICTURE_SIGNATURE);
+
+        ______TS("typical case: URL is valid for at least the validity period");
+
+        assertTrue(profilePicturesLogic.isValidProfilePictureSignature(pictureKey, expiry, signature));
+        assertTrue(Long.parseLong(expiry)
+                   >= System.currentTimeMillis() + Const.SystemParams.PROFILE_PICTURE_URL_VALIDITY_MILLIS);
+
+        ______TS("URLs issued within the same validity period are the same");
+
+        assertEquals(pictureUrl.toString(), profilePicturesLogic.getSignedProfilePictureUrl("some-picture-key"));
+
+        ______TS("tampered picture key or expiry");
+
+        assertFalse(profilePicturesLogic.isValidProfilePictureSignature("other-picture-key", expiry, signature));
+        String laterExpiry = String.valueOf(Long.parseLong(expiry) + 1);
+        assertFalse(profilePicturesLogic.isValidProfilePictureSignature(pictureKey, laterExpiry, signature));
+
+        ______TS("expired, malformed or missing parameters");
+
+        assertFalse(profilePicturesLogic.isValidProfilePictureSignature(pictureKey, "0", signature));
+        assertFalse(profilePicturesLogic.isValidProfilePictureSignature(pictureKey, "abc", signature));
+        assertFalse(profilePicturesLogic.isValidProfilePictureSignature(null, expiry, signature));
+        assertFalse(profilePicturesLogic.isValidProfilePictureSignature(pictureKey, null, signature));
+        assertFalse(profilePicturesLogic.isValidProfilePictureSignature(pictureKey, expiry, null));
+    }
+
+    private boolean isValidSignature(Url pictureUrl) throws Exception {
+        return profilePicturesLogic.isValidProfilePictureSignature(
+                getParam(pictureUrl, Const.ParamsNames.BLOB_KEY),
+                getParam(pictureUrl, Const.ParamsNames.PROFILE_PICTURE_EXPIRY),
+                getParam(pictureUrl, Const.ParamsNames.PROFILE_PICTURE_SIGNATURE));
+    }
+
+    private static String getParam(Url url, String paramName) throws Exception {
+        return URLDecoder.decode(url.get(paramName), Const.SystemParams.ENCODING);
+    }
+
+}
@@ -0,0 +1,127 @@
+package teammates.test.cases.logic;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.logic.core.TaskQueueBatch;
+import teammates.logic.core.TaskQueueMetrics;
+import teammates.logic.core.TaskQueuesLogic;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.appengine.api.taskqueue.dev.QueueStateInfo;
+import com.google.appengine.api.taskqueue.dev.QueueStateInfo.TaskStateInfo;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+/**
+ * SUT: {@link TaskQueuesLogic}, {@link TaskQueueBatch}
+ */
+public class TaskQueuesLogicTest extends BaseComponentTestCase {
+    
+    private static final TaskQueuesLogic taskQueuesLogic = TaskQueuesLogic.inst();
+    
+    private static final String QUEUE_NAME = SystemParams.SEND_EMAIL_TASK_QUEUE;
+    private static final String WORKER_URL = Const.ActionURIs.SEND_EMAIL_WORKER;
+    
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+    }
+    
+    @Test
+    public void testTaskQueueBatch() {
+        
+        ______TS("tasks are added in groups of up to 100 per call, with spread out countdowns");
+        
+        TaskQueueMetrics metrics = taskQueuesLogic.getMetrics(QUEUE_NAME);
+        long addCallsBefore = metrics.getNumberOfAddCalls();
+        long tasksAddedBefore = metrics.getNumberOfTasksAdded();
+        int tasksInQueueBefore = getTasksInQueue().size();
+        
+        TaskQueueBatch batch = taskQueuesLogic.createTaskBatch(QUEUE_NAME, WORKER_URL, 1000);
+        for (int i = 0; i < 250; i++) {
+            batch.addTask(getParamMap(i));
+        }
+        
+        // only full groups are added before the batch is flushed
+        assertEquals(250, batch.getNumberOfTasks());
+        assertEquals(addCallsBefore + 2, metrics.getNumberOfAddCalls());
+        assertEquals(tasksAddedBefore + 200, metrics.getNumberOfTasksAdded());
+        
+        batch.flush();
+        
+        assertEquals(addCallsBefore + 3, metrics.getNumberOfAddCalls());
+        assertEquals(tasksAddedBefore + 250, metrics.getNumberOfTasksAdded());
+        assertEquals(100, metrics.getMaxBatchSize());
+        
+        List<TaskStateInfo> tasksInQueue = getTasksInQueue();
+        assertEquals(tasksInQueueBefore + 250, tasksInQueue.size());
+        
+        long minEta = Long.MAX_VALUE;
+        long maxEta = Long.MIN_VALUE;
+        for (TaskStateInfo task : tasksInQueue) {
+            minEta = Math.min(minEta, task.getEtaMillis());
+            maxEta = Math.max(maxEta, task.getEtaMillis());
+        }
+        assertTrue(maxEta - minEta >= 249 * 1000);
+        
+        assertEquals(250, batch.getNumberOfTasksAdded());
+        
+        ______TS("flushing an empty batch does not call the queue");
+        
+        batch.flush();
+        taskQueuesLogic.createTaskBatch(QUEUE_NAME, WORKER_URL, 0).flush();
+        
+        assertEquals(addCallsBefore + 3, metrics.getNumberOfAddCalls());
+        
+        ______TS("tasks which fail to be added are dropped from the batch instead of being added by a later flush");
+        
+        TaskQueueBatch failingBatch = taskQueuesLogic.createTaskBatch("non-existent-queue", WORKER_URL, 0);
+        failingBatch.addTask(getParamMap(0));
+        try {
+            failingBatch.flush();
+            signalFailureToDetectException();
+        } catch (RuntimeException e) {
+            ignoreExpectedException();
+        }
+        
+        // nothing is left to be added, so the queue is not called again
+        failingBatch.flush();
+        assertEquals(1, failingBatch.getNumberOfTasks());
+        assertEquals(0, failingBatch.getNumberOfTasksAdded());
+        
+        ______TS("single tasks are recorded in the metrics too");
+        
+        taskQueuesLogic.createAndAddTask(QUEUE_NAME, WORKER_URL, getParamMap(0));
+        
+        assertEquals(addCallsBefore + 4, metrics.getNumberOfAddCalls());
+        assertEquals(tasksAddedBefore + 251, metrics.getNumberOfTasksAdded());
+        assertTrue(metrics == taskQueuesLogic.getAllMetrics().get(QUEUE_NAME));
+        
+        ______TS("metrics are listed by queue name");
+        
+        List<TaskQueueMetrics> sortedMetrics = taskQueuesLogic.getAllMetricsSortedByQueueName();
+        assertTrue(sortedMetrics.contains(metrics));
+        for (int i = 1; i < sortedMetrics.size(); i++) {
+            assertTrue(sortedMetrics.get(i - 1).getQueueName().compareTo(sortedMetrics.get(i).getQueueName()) < 0);
+        }
+    }
+    
+    private static Map<String, String> getParamMap(int index) {
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, "receiver" + index + "@email.tmt");
+        return paramMap;
+    }
+    
+    private static List<TaskStateInfo> getTasksInQueue() {
+        QueueStateInfo queueState = LocalTaskQueueTestConfig.getLocalTaskQueue().getQueueStateInfo().get(QUEUE_NAME);
+        return queueState.getTaskInfo();
+    }
+    
+}
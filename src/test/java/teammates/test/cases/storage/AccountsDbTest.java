@@ -1,8 +1,10 @@
 package teammates.test.cases.storage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -58,6 +60,30 @@ public class AccountsDbTest extends BaseComponentTestCase {
         }
     }
     
+    @Test
+    public void testGetAccounts() throws Exception {
+        AccountAttributes a = createNewAccount();
+        
+        ______TS("typical success case: non-existent accounts are skipped");
+        
+        Map<String, AccountAttributes> retrieved = accountsDb.getAccounts(Arrays.asList(a.googleId, "non.existent"));
+        assertEquals(1, retrieved.size());
+        assertEquals(a.googleId, retrieved.get(a.googleId).googleId);
+        assertNull(retrieved.get(a.googleId).studentProfile);
+        
+        ______TS("no googleIds given");
+        
+        assertTrue(accountsDb.getAccounts(new ArrayList<String>()).isEmpty());
+        
+        ______TS("failure: null parameter");
+        try {
+            accountsDb.getAccounts(null);
+            signalFailureToDetectException(" - AssertionError");
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+    }
+    
     @Test
     public void testGetInstructorAccounts() throws Exception {
         int numOfInstructors = 3;
@@ -0,0 +1,206 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.ActivityLogSearchKey;
+import teammates.common.util.ActivityLogEntry;
+import teammates.common.util.ActivityLogLine;
+import teammates.common.util.Const;
+import teammates.storage.api.ActivityLogsDb;
+import teammates.test.cases.BaseComponentTestCase;
+import teammates.test.driver.AssertHelper;
+
+public class ActivityLogsDbTest extends BaseComponentTestCase {
+    
+    private static final ActivityLogsDb activityLogsDb = new ActivityLogsDb();
+    
+    private static final long MILLISECONDS_PER_HOUR = 60L * 60 * 1000;
+    
+    /** A time at the start of a day, far from the logs of the other tests */
+    private static final long BASE_TIME = 400000 * MILLISECONDS_PER_HOUR;
+    
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+        
+        Map<String, ActivityLogLine> logLinesById = new HashMap<String, ActivityLogLine>();
+        logLinesById.put("log1", createLogLine(BASE_TIME + 1000, "instructorHomePage", "Instructor", "idOfInstr1",
+                                               "instr1@course1.tmt", "Home page viewed"));
+        logLinesById.put("log2", createLogLine(BASE_TIME + 2 * MILLISECONDS_PER_HOUR, "studentHomePage", "Student",
+                                               "idOfStudent1", "student1@course1.tmt", "Home page viewed"));
+        logLinesById.put("log3", createLogLine(BASE_TIME + 25 * MILLISECONDS_PER_HOUR, "instructorCourseEditPage",
+                                               "Instructor(M)", "idOfInstr1", "instr1@course1.tmt",
+                                               Const.ACTION_RESULT_FAILURE + " : course not found"));
+        logLinesById.put("log4", createLogLine(BASE_TIME + 26 * MILLISECONDS_PER_HOUR, "instructorHomePage",
+                                               "Instructor", "idOfInstr2", "instr2@course1.tmt", "Home page viewed"));
+        activityLogsDb.putActivityLogs(logLinesById);
+    }
+    
+    @Test
+    public void testGetActivityLogs() {
+        
+        ______TS("by person: the Google ID or the email is matched ignoring case");
+        
+        List<ActivityLogLine> logs = activityLogsDb.getActivityLogs(ActivityLogSearchKey.PERSON,
+                Arrays.asList("IDofInstr1"), BASE_TIME, BASE_TIME + 48 * MILLISECONDS_PER_HOUR);
+        verifyLogTimes(logs, BASE_TIME + 25 * MILLISECONDS_PER_HOUR, BASE_TIME + 1000);
+        
+        logs = activityLogsDb.getActivityLogs(ActivityLogSearchKey.PERSON, Arrays.asList("student1@course1.tmt"),
+                                              BASE_TIME, BASE_TIME + 48 * MILLISECONDS_PER_HOUR);
+        verifyLogTimes(logs, BASE_TIME + 2 * MILLISECONDS_PER_HOUR);
+        
+        ______TS("by person: logs in the same day but outside the time period are left out");
+        
+        logs = activityLogsDb.getActivityLogs(ActivityLogSearchKey.PERSON, Arrays.asList("idOfInstr1"),
+                                              BASE_TIME + 2000, BASE_TIME + 48 * MILLISECONDS_PER_HOUR);
+        verifyLogTimes(logs, BASE_TIME + 25 * MILLISECONDS_PER_HOUR);
+        
+        ______TS("by servlet: several servlets, latest first");
+        
+        logs = activityLogsDb.getActivityLogs(ActivityLogSearchKey.SERVLET,
+                Arrays.asList("instructorhomepage", "studentHomePage"), BASE_TIME, BASE_TIME + 48 * MILLISECONDS_PER_HOUR);
+        verifyLogTimes(logs, BASE_TIME + 26 * MILLISECONDS_PER_HOUR, BASE_TIME + 2 * MILLISECONDS_PER_HOUR,
+                       BASE_TIME + 1000);
+        
+        ______TS("by role: more hours than can be looked up by a single query");
+        
+        logs = activityLogsDb.getActivityLogs(ActivityLogSearchKey.ROLE, Arrays.asList("instructor", "instructor(m)"),
+                                              BASE_TIME - 48 * MILLISECONDS_PER_HOUR,
+                                              BASE_TIME + 48 * MILLISECONDS_PER_HOUR);
+        verifyLogTimes(logs, BASE_TIME + 26 * MILLISECONDS_PER_HOUR, BASE_TIME + 25 * MILLISECONDS_PER_HOUR,
+                       BASE_TIME + 1000);
+        
+        ______TS("no matching logs");
+        
+        logs = activityLogsDb.getActivityLogs(ActivityLogSearchKey.ROLE, Arrays.asList("admin"),
+                                              BASE_TIME, BASE_TIME + 48 * MILLISECONDS_PER_HOUR);
+        assertTrue(logs.isEmpty());
+        
+        ______TS("the logs are read back as they were written");
+        
+        logs = activityLogsDb.getActivityLogs(ActivityLogSearchKey.SERVLET, Arrays.asList("instructorCourseEditPage"),
+                                              BASE_TIME, BASE_TIME + 48 * MILLISECONDS_PER_HOUR);
+        assertEquals(1, logs.size());
+        ActivityLogEntry log = new ActivityLogEntry(logs.get(0));
+        assertEquals("instructorCourseEditPage", log.getServletName());
+        assertEquals("Instructor(M)", log.getRole());
+        assertEquals("idOfInstr1", log.getGoogleId());
+        assertEquals("instr1@course1.tmt", log.getEmail());
+        assertEquals("/page/instructorCourseEditPage?user=idOfInstr1", log.getUrlToShow());
+        assertEquals("idOfInstr1%" + (BASE_TIME + 25 * MILLISECONDS_PER_HOUR), log.getId());
+        assertEquals(Long.valueOf(100), log.getTimeTaken());
+        assertEquals("<span class=\"text-danger\"><strong>" + Const.ACTION_RESULT_FAILURE + "</strong><br>"
+                     + " : course not found</span><br>", log.getMessageInfo());
+        
+        ______TS("null parameters");
+        
+        try {
+            activityLogsDb.getActivityLogs(null, Arrays.asList("admin"), BASE_TIME, BASE_TIME);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+        
+        try {
+            activityLogsDb.putActivityLogs(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+    
+    @Test
+    public void testGetActivityLogIteratorForPeriod() {
+        
+        ______TS("all logs in the time period, latest first");
+        
+        List<ActivityLogLine> logs = toList(activityLogsDb.getActivityLogIteratorForPeriod(
+                BASE_TIME + 1000, BASE_TIME + 25 * MILLISECONDS_PER_HOUR));
+        verifyLogTimes(logs, BASE_TIME + 25 * MILLISECONDS_PER_HOUR, BASE_TIME + 2 * MILLISECONDS_PER_HOUR,
+                       BASE_TIME + 1000);
+        
+        ______TS("more logs than are retrieved in a batch; writing a log again does not duplicate it");
+        
+        long startTime = BASE_TIME + 100 * MILLISECONDS_PER_HOUR;
+        int numberOfLogs = ActivityLogsDb.ACTIVITY_LOGS_PER_BATCH + 10;
+        Map<String, ActivityLogLine> logLinesById = new HashMap<String, ActivityLogLine>();
+        for (int i = 0; i < numberOfLogs; i++) {
+            logLinesById.put("batchLog" + i, createLogLine(startTime + i, "studentHomePage", "Student",
+                                                           "idOfStudent" + i, "student" + i + "@course1.tmt", "viewed"));
+        }
+        activityLogsDb.putActivityLogs(logLinesById);
+        activityLogsDb.putActivityLogs(logLinesById);
+        
+        logs = toList(activityLogsDb.getActivityLogIteratorForPeriod(startTime, startTime + numberOfLogs));
+        assertEquals(numberOfLogs, logs.size());
+        for (int i = 0; i < numberOfLogs; i++) {
+            assertEquals(startTime + numberOfLogs - 1 - i, logs.get(i).getTime());
+        }
+        
+        ______TS("no logs in the time period");
+        
+        assertFalse(activityLogsDb.getActivityLogIteratorForPeriod(BASE_TIME - 1000, BASE_TIME).hasNext());
+    }
+    
+    @Test
+    public void testDeleteActivityLogsBefore() {
+        
+        long oldTime = BASE_TIME - 1000 * MILLISECONDS_PER_HOUR;
+        Map<String, ActivityLogLine> logLinesById = new HashMap<String, ActivityLogLine>();
+        for (int i = 0; i < 5; i++) {
+            logLinesById.put("oldLog" + i, createLogLine(oldTime + i, "studentHomePage", "Student", "idOfStudent1",
+                                                         "student1@course1.tmt", "Home page viewed"));
+        }
+        activityLogsDb.putActivityLogs(logLinesById);
+        
+        ______TS("at most the given number of logs are deleted, the oldest first");
+        
+        assertEquals(2, activityLogsDb.deleteActivityLogsBefore(oldTime + 5, 2));
+        verifyLogTimes(toList(activityLogsDb.getActivityLogIteratorForPeriod(oldTime, oldTime + 5)),
+                       oldTime + 4, oldTime + 3, oldTime + 2);
+        
+        ______TS("logs from the given time on are kept");
+        
+        assertEquals(2, activityLogsDb.deleteActivityLogsBefore(oldTime + 4, 10));
+        verifyLogTimes(toList(activityLogsDb.getActivityLogIteratorForPeriod(oldTime, oldTime + 5)), oldTime + 4);
+        
+        ______TS("no logs old enough");
+        
+        assertEquals(0, activityLogsDb.deleteActivityLogsBefore(oldTime + 4, 10));
+        verifyLogTimes(toList(activityLogsDb.getActivityLogIteratorForPeriod(oldTime, oldTime + 5)), oldTime + 4);
+        
+        activityLogsDb.deleteActivityLogsBefore(oldTime + 5, 10);
+    }
+    
+    private static ActivityLogLine createLogLine(long time, String servletName, String role, String googleId,
+                                                 String email, String message) {
+        String logMessage = "TEAMMATESLOG|||" + servletName + "|||" + servletName + "|||true|||" + role + "|||Name|||"
+                            + googleId + "|||" + email + "|||" + message + "|||/page/" + servletName + "|||"
+                            + googleId + "%" + time + "|||100";
+        return new ActivityLogLine(time, logMessage);
+    }
+    
+    private static List<ActivityLogLine> toList(Iterator<ActivityLogLine> iterator) {
+        List<ActivityLogLine> list = new ArrayList<ActivityLogLine>();
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+    
+    private static void verifyLogTimes(List<ActivityLogLine> logs, long... expectedTimes) {
+        assertEquals(expectedTimes.length, logs.size());
+        for (int i = 0; i < expectedTimes.length; i++) {
+            assertEquals(expectedTimes[i], logs.get(i).getTime());
+        }
+    }
+    
+}
@@ -3,6 +3,7 @@ package teammates.test.cases.storage;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -228,6 +229,22 @@ public class BothQuestionsDbTest extends BaseComponentTestCase {
                      newDb.getFeedbackQuestionsForSession(expectedQuestions.get(0).feedbackSessionName,
                                                           expectedQuestions.get(0).courseId));
 
+        ______TS("get multiple questions by id");
+
+        List<String> questionIds = new ArrayList<String>();
+        for (FeedbackQuestionAttributes question : questions) {
+            questionIds.add(question.getId());
+        }
+        questionIds.add("non-existent id");
+
+        Map<String, FeedbackQuestionAttributes> questionsById = fqDb.getFeedbackQuestions(questionIds);
+
+        assertEquals(numToCreate, questionsById.size());
+        for (FeedbackQuestionAttributes question : questions) {
+            assertEquals(question.toString(), questionsById.get(question.getId()).toString());
+        }
+        assertTrue(fqDb.getFeedbackQuestions(new ArrayList<String>()).isEmpty());
+
         ______TS("null params");
 
         try {
@@ -0,0 +1,74 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Const;
+import teammates.storage.api.CommentNotificationOutboxDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class CommentNotificationOutboxDbTest extends BaseComponentTestCase {
+    
+    private static final String COURSE_ID = "CNOutboxDbT.course";
+    
+    private CommentNotificationOutboxDb outboxDb = new CommentNotificationOutboxDb();
+    
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+    
+    @Test
+    public void testAppendAndDrainRecipientEmails() {
+        
+        ______TS("empty outbox");
+        
+        assertTrue(outboxDb.getRecipientEmails(COURSE_ID).isEmpty());
+        assertTrue(outboxDb.drainRecipientEmails(COURSE_ID).isEmpty());
+        
+        ______TS("appending nothing does not create the outbox");
+        
+        outboxDb.appendRecipientEmails(COURSE_ID, new ArrayList<String>());
+        assertTrue(outboxDb.getRecipientEmails(COURSE_ID).isEmpty());
+        
+        ______TS("appended emails are deduplicated");
+        
+        outboxDb.appendRecipientEmails(COURSE_ID, Arrays.asList("s1@gmail.tmt", "s2@gmail.tmt"));
+        outboxDb.appendRecipientEmails(COURSE_ID, Arrays.asList("s2@gmail.tmt", "s3@gmail.tmt"));
+        outboxDb.appendRecipientEmails("CNOutboxDbT.otherCourse", Arrays.asList("s4@gmail.tmt"));
+        
+        assertEquals(new HashSet<String>(Arrays.asList("s1@gmail.tmt", "s2@gmail.tmt", "s3@gmail.tmt")),
+                     outboxDb.getRecipientEmails(COURSE_ID));
+        
+        ______TS("draining returns all emails and empties the outbox of the course only");
+        
+        assertEquals(new HashSet<String>(Arrays.asList("s1@gmail.tmt", "s2@gmail.tmt", "s3@gmail.tmt")),
+                     outboxDb.drainRecipientEmails(COURSE_ID));
+        assertTrue(outboxDb.getRecipientEmails(COURSE_ID).isEmpty());
+        assertTrue(outboxDb.drainRecipientEmails(COURSE_ID).isEmpty());
+        
+        assertEquals(new HashSet<String>(Arrays.asList("s4@gmail.tmt")),
+                     outboxDb.drainRecipientEmails("CNOutboxDbT.otherCourse"));
+        
+        ______TS("null parameters");
+        
+        try {
+            outboxDb.appendRecipientEmails(null, Arrays.asList("s1@gmail.tmt"));
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+        
+        try {
+            outboxDb.drainRecipientEmails(null);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+    }
+    
+}
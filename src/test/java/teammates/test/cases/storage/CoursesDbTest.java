@@ -1,5 +1,8 @@
 package teammates.test.cases.storage;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -117,6 +120,35 @@ public class CoursesDbTest extends BaseComponentTestCase {
         }
     }
     
+    @Test
+    public void testCourseInstitutes() throws Exception {
+        CourseAttributes c = createNewCourse();
+        
+        ______TS("institute not resolved yet");
+        
+        assertTrue(coursesDb.getCourseInstitutes(Arrays.asList(c.getId())).isEmpty());
+        
+        ______TS("typical case: institutes of existing courses are stored and retrieved together");
+        
+        coursesDb.updateCourseInstitute(c.getId(), "Test Institute");
+        coursesDb.updateCourseInstitute("non-existent-course", "Test Institute");
+        
+        Map<String, String> institutes =
+                coursesDb.getCourseInstitutes(Arrays.asList(c.getId(), "non-existent-course"));
+        assertEquals(1, institutes.size());
+        assertEquals("Test Institute", institutes.get(c.getId()));
+        
+        ______TS("stored institute does not change when the course is updated");
+        
+        coursesDb.updateCourse(c);
+        assertEquals("Test Institute", coursesDb.getCourseInstitutes(Arrays.asList(c.getId())).get(c.getId()));
+        
+        ______TS("institute is reset");
+        
+        coursesDb.updateCourseInstitute(c.getId(), null);
+        assertTrue(coursesDb.getCourseInstitutes(Arrays.asList(c.getId())).isEmpty());
+    }
+    
     @Test
     public void testUpdateCourse() throws Exception {
         
@@ -0,0 +1,72 @@
+package teammates.test.cases.storage;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.exception.EntityAlreadyExistsException;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.RequestMetrics;
+import teammates.common.util.RequestMetrics.Call;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.datastore.DatastoreCallCounter;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class DatastoreCallCounterTest extends BaseComponentTestCase {
+    
+    private CoursesDb coursesDb = new CoursesDb();
+    
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+        // the counter is only installed by the datastore when running on App Engine
+        DatastoreCallCounter.install();
+    }
+    
+    @AfterClass
+    public static void classTearDown() {
+        DatastoreCallCounter.uninstall();
+        printTestClassFooter();
+    }
+    
+    @Test
+    public void testCountingCalls()
+            throws EntityAlreadyExistsException, InvalidParametersException, EntityDoesNotExistException {
+        
+        ______TS("calls outside of a request are not counted");
+        
+        CourseAttributes course = new CourseAttributes("DCCT.tCC.course", "Counted Course", "UTC");
+        coursesDb.createEntity(course);
+        assertNull(RequestMetrics.getCallsOfCurrentRequest());
+        
+        ______TS("calls of a request are counted");
+        
+        RequestMetrics.startRequest();
+        long[] calls = RequestMetrics.getCallsOfCurrentRequest();
+        for (long count : calls) {
+            assertEquals(0, count);
+        }
+        
+        assertNotNull(coursesDb.getCourse(course.getId()));
+        calls = RequestMetrics.getCallsOfCurrentRequest();
+        assertTrue(calls[Call.DATASTORE_QUERY.ordinal()] + calls[Call.DATASTORE_GET.ordinal()] > 0);
+        assertEquals(0, calls[Call.DATASTORE_PUT.ordinal()]);
+        assertEquals(0, calls[Call.DATASTORE_DELETE.ordinal()]);
+        
+        course.setTimeZone("Asia/Singapore");
+        coursesDb.updateCourse(course);
+        calls = RequestMetrics.getCallsOfCurrentRequest();
+        assertTrue(calls[Call.DATASTORE_PUT.ordinal()] > 0);
+        
+        coursesDb.deleteCourse(course.getId());
+        calls = RequestMetrics.getCallsOfCurrentRequest();
+        assertTrue(calls[Call.DATASTORE_DELETE.ordinal()] > 0);
+        
+        RequestMetrics.finishRequest("DatastoreCallCounterTest", 0);
+        assertNull(RequestMetrics.getCallsOfCurrentRequest());
+        RequestMetrics.clear();
+    }
+    
+}
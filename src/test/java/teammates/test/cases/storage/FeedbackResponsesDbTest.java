@@ -1,7 +1,9 @@
 package teammates.test.cases.storage;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.testng.annotations.AfterClass;
@@ -205,6 +207,19 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         actual = frDb.getFeedbackResponse("non-existent id");
         
         assertNull(actual);
+        
+        ______TS("get multiple responses by id");
+        
+        FeedbackResponseAttributes first =
+                frDb.getFeedbackResponse(expected.feedbackQuestionId, expected.giver, expected.recipient);
+        FeedbackResponseAttributes second = getResponseAttributes("response2ForQ1S1C1");
+        second = frDb.getFeedbackResponse(second.feedbackQuestionId, second.giver, second.recipient);
+        Map<String, FeedbackResponseAttributes> responses =
+                frDb.getFeedbackResponses(Arrays.asList(first.getId(), second.getId(), "non-existent id"));
+        
+        assertEquals(2, responses.size());
+        assertEquals(first.toString(), responses.get(first.getId()).toString());
+        assertEquals(second.toString(), responses.get(second.getId()).toString());
     }
     
     @Test
@@ -15,6 +15,7 @@ import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionScheduleEvent;
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -265,6 +266,134 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         verifyPresentInDatastore(modifiedSession);
     }
     
+    @Test
+    public void testGetFeedbackSessionsScheduledAround() throws Exception {
+        
+        // times are relative to an hour boundary so that the hours the events fall in are known
+        long hourInMillis = 60L * 60 * 1000;
+        long now = System.currentTimeMillis() / hourInMillis * hourInMillis;
+        double timeZone = 8.0;
+        
+        FeedbackSessionAttributes fsa = getNewFeedbackSession();
+        fsa.setFeedbackSessionName("fsScheduleTest");
+        fsa.setCourseId("testCourseSchedule");
+        fsa.setTimeZone(timeZone);
+        fsa.setStartTime(getTimeInZone(now + 5 * hourInMillis, timeZone));
+        fsa.setEndTime(getTimeInZone(now + 72 * hourInMillis, timeZone));
+        fsa.setSessionVisibleFromTime(fsa.getStartTime());
+        fsa.setResultsVisibleFromTime(getTimeInZone(now + 100 * hourInMillis, timeZone));
+        fsa.setSentOpenEmail(false);
+        fsa.setSentPublishedEmail(false);
+        fsDb.createEntity(fsa);
+        
+        ______TS("events are found in the hour they are due in and in the hour after");
+        
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, now + 4 * hourInMillis));
+        assertTrue(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, now + 5 * hourInMillis));
+        assertTrue(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, now + 6 * hourInMillis + 1000));
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, now + 7 * hourInMillis));
+        assertTrue(isScheduledAround(fsa, FeedbackSessionScheduleEvent.CLOSING_SOON, now + 48 * hourInMillis));
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.CLOSING_SOON, now + 5 * hourInMillis));
+        assertTrue(isScheduledAround(fsa, FeedbackSessionScheduleEvent.PUBLISHED, now + 100 * hourInMillis));
+        
+        ______TS("opening and published events with emails unsent are found in any hour after they are due");
+        
+        // e.g. the emails failed to be queued in the hour the session opened in, and the job did not run for hours
+        assertFalse(isScheduledUpTo(fsa, FeedbackSessionScheduleEvent.OPENING, now + 4 * hourInMillis));
+        assertTrue(isScheduledUpTo(fsa, FeedbackSessionScheduleEvent.OPENING, now + 5 * hourInMillis));
+        assertTrue(isScheduledUpTo(fsa, FeedbackSessionScheduleEvent.OPENING, now + 10 * hourInMillis));
+        assertFalse(isScheduledUpTo(fsa, FeedbackSessionScheduleEvent.PUBLISHED, now + 99 * hourInMillis));
+        assertTrue(isScheduledUpTo(fsa, FeedbackSessionScheduleEvent.PUBLISHED, now + 1000 * hourInMillis));
+        
+        ______TS("opening and published events are no longer found once their emails are sent");
+        
+        fsa.setSentOpenEmail(true);
+        fsa.setSentPublishedEmail(true);
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isScheduledUpTo(fsa, FeedbackSessionScheduleEvent.OPENING, now + 10 * hourInMillis));
+        assertFalse(isScheduledUpTo(fsa, FeedbackSessionScheduleEvent.PUBLISHED, now + 1000 * hourInMillis));
+        
+        fsa.setSentOpenEmail(false);
+        fsa.setSentPublishedEmail(false);
+        fsDb.updateFeedbackSession(fsa);
+        
+        ______TS("events are rescheduled when the session is updated");
+        
+        fsa.setStartTime(getTimeInZone(now + 10 * hourInMillis, timeZone));
+        fsa.setSessionVisibleFromTime(fsa.getStartTime());
+        fsa.setResultsVisibleFromTime(Const.TIME_REPRESENTS_LATER);
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, now + 5 * hourInMillis));
+        assertTrue(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, now + 10 * hourInMillis));
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.PUBLISHED, now + 100 * hourInMillis));
+        
+        ______TS("events with emails already sent or disabled are not scheduled");
+        
+        fsa.setSentOpenEmail(true);
+        fsa.setClosingEmailEnabled(false);
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, now + 10 * hourInMillis));
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.CLOSING_SOON, now + 48 * hourInMillis));
+        
+        ______TS("events due in the past are scheduled in the current hour if the emails are still needed");
+        
+        fsa.setStartTime(getTimeInZone(now - 30 * hourInMillis, timeZone));
+        fsa.setSessionVisibleFromTime(fsa.getStartTime());
+        fsa.setSentOpenEmail(false);
+        fsDb.updateFeedbackSession(fsa);
+        
+        long currentTime = System.currentTimeMillis();
+        assertTrue(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, currentTime));
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, now - 30 * hourInMillis));
+        
+        ______TS("private sessions are not scheduled");
+        
+        fsa.setFeedbackSessionType(FeedbackSessionType.PRIVATE);
+        fsDb.updateFeedbackSession(fsa);
+        
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, currentTime));
+        
+        ______TS("deleted sessions are not scheduled");
+        
+        fsa.setFeedbackSessionType(FeedbackSessionType.STANDARD);
+        fsDb.updateFeedbackSession(fsa);
+        assertTrue(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, currentTime));
+        
+        fsDb.deleteEntity(fsa);
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, currentTime));
+        
+        fsDb.createEntity(fsa);
+        assertTrue(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, currentTime));
+        
+        fsDb.deleteFeedbackSessionsForCourse(fsa.getCourseId());
+        assertFalse(isScheduledAround(fsa, FeedbackSessionScheduleEvent.OPENING, currentTime));
+    }
+    
+    private boolean isScheduledAround(FeedbackSessionAttributes fsa, FeedbackSessionScheduleEvent event, long time) {
+        for (FeedbackSessionAttributes scheduled : fsDb.getFeedbackSessionsScheduledAround(event, new Date(time))) {
+            if (scheduled.getIdentificationString().equals(fsa.getIdentificationString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean isScheduledUpTo(FeedbackSessionAttributes fsa, FeedbackSessionScheduleEvent event, long time) {
+        for (FeedbackSessionAttributes scheduled : fsDb.getFeedbackSessionsScheduledUpTo(event, new Date(time))) {
+            if (scheduled.getIdentificationString().equals(fsa.getIdentificationString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Date getTimeInZone(long utcMillis, double timeZone) {
+        return new Date(utcMillis + (long) (timeZone * 60 * 60 * 1000));
+    }
+    
     private FeedbackSessionAttributes getNewFeedbackSession() {
         FeedbackSessionAttributes fsa = new FeedbackSessionAttributes();
         fsa.setFeedbackSessionType(FeedbackSessionType.STANDARD);
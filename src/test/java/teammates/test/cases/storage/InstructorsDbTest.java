@@ -1,7 +1,9 @@
 package teammates.test.cases.storage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.testng.annotations.AfterClass;
@@ -140,6 +142,64 @@ public class InstructorsDbTest extends BaseComponentTestCase {
         }
     }
     
+    @Test
+    public void testGetInstructorsForEmails() {
+        
+        InstructorAttributes i1 = dataBundle.instructors.get("instructor1OfCourse1");
+        InstructorAttributes i2 = dataBundle.instructors.get("instructor2OfCourse1");
+        
+        ______TS("Success: get instructors, skipping non-existent ones");
+        
+        Map<String, InstructorAttributes> retrieved =
+                instructorsDb.getInstructorsForEmails(i1.courseId, Arrays.asList(i1.email, i2.email, "non.existent"));
+        assertEquals(2, retrieved.size());
+        assertEquals(i1.googleId, retrieved.get(i1.email).googleId);
+        assertEquals(i2.googleId, retrieved.get(i2.email).googleId);
+        
+        ______TS("Success: no emails given");
+        
+        assertTrue(instructorsDb.getInstructorsForEmails(i1.courseId, new ArrayList<String>()).isEmpty());
+        
+        ______TS("Failure: null parameters");
+        
+        try {
+            instructorsDb.getInstructorsForEmails(null, Arrays.asList(i1.email));
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+    }
+    
+    @Test
+    public void testGetInstructorsForIds() {
+        
+        InstructorAttributes i1 = dataBundle.instructors.get("instructor1OfCourse1");
+        InstructorAttributes i3 = dataBundle.instructors.get("instructor3OfCourse2");
+        String id1 = InstructorAttributes.makeId(i1.email, i1.courseId);
+        String id3 = InstructorAttributes.makeId(i3.email, i3.courseId);
+        
+        ______TS("Success: get instructors of different courses, skipping non-existent ones");
+        
+        Map<String, InstructorAttributes> retrieved = instructorsDb.getInstructorsForIds(
+                Arrays.asList(id1, id3, InstructorAttributes.makeId(i1.email, i3.courseId)));
+        assertEquals(2, retrieved.size());
+        assertEquals(i1.googleId, retrieved.get(id1).googleId);
+        assertEquals(i3.googleId, retrieved.get(id3).googleId);
+        
+        ______TS("Success: no IDs given");
+        
+        assertTrue(instructorsDb.getInstructorsForIds(new ArrayList<String>()).isEmpty());
+        
+        ______TS("Failure: null parameters");
+        
+        try {
+            instructorsDb.getInstructorsForIds(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+    }
+    
     @Test
     public void testGetInstructorForGoogleId() {
         
@@ -300,6 +360,82 @@ public class InstructorsDbTest extends BaseComponentTestCase {
         }
     }
     
+    @Test
+    public void testGetInstructorsForCourses() {
+        
+        ______TS("Success: same instructors as getting them course by course");
+        
+        List<String> courseIds = Arrays.asList("idOfTypicalCourse1", "idOfTypicalCourse2", "non-exist-course",
+                                               "idOfTypicalCourse1");
+        Map<String, List<InstructorAttributes>> retrieved = instructorsDb.getInstructorsForCourses(courseIds);
+        
+        assertEquals(3, retrieved.size());
+        assertEquals(5, retrieved.get("idOfTypicalCourse1").size());
+        assertEquals(0, retrieved.get("non-exist-course").size());
+        for (String courseId : courseIds) {
+            assertEquals(getGoogleIds(instructorsDb.getInstructorsForCourse(courseId)),
+                         getGoogleIds(retrieved.get(courseId)));
+        }
+        
+        ______TS("Success: no courses");
+        
+        assertTrue(instructorsDb.getInstructorsForCourses(new ArrayList<String>()).isEmpty());
+        
+        ______TS("Failure: null parameters");
+        
+        try {
+            instructorsDb.getInstructorsForCourses(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+    }
+    
+    @Test
+    public void testGetInstructorsForEmailsInAllCourses() {
+        
+        ______TS("Success: same instructors as getting them email by email");
+        
+        List<String> emails = Arrays.asList("instructor1@course1.tmt", "instructor3@course2.tmt", "non-exist-email");
+        Map<String, List<InstructorAttributes>> retrieved = instructorsDb.getInstructorsForEmails(emails);
+        
+        assertEquals(3, retrieved.size());
+        assertEquals("idOfTypicalCourse2", retrieved.get("instructor3@course2.tmt").get(0).courseId);
+        assertEquals(0, retrieved.get("non-exist-email").size());
+        for (String email : emails) {
+            List<String> expectedCourseIds = new ArrayList<String>();
+            for (InstructorAttributes instructor : instructorsDb.getInstructorsForEmail(email)) {
+                expectedCourseIds.add(instructor.courseId);
+            }
+            List<String> actualCourseIds = new ArrayList<String>();
+            for (InstructorAttributes instructor : retrieved.get(email)) {
+                actualCourseIds.add(instructor.courseId);
+            }
+            assertEquals(expectedCourseIds, actualCourseIds);
+        }
+        
+        ______TS("Success: no emails");
+        
+        assertTrue(instructorsDb.getInstructorsForEmails(new ArrayList<String>()).isEmpty());
+        
+        ______TS("Failure: null parameters");
+        
+        try {
+            instructorsDb.getInstructorsForEmails(null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getMessage());
+        }
+    }
+    
+    private static List<String> getGoogleIds(List<InstructorAttributes> instructors) {
+        List<String> googleIds = new ArrayList<String>();
+        for (InstructorAttributes instructor : instructors) {
+            googleIds.add(instructor.googleId);
+        }
+        return googleIds;
+    }
+    
     @Test
     public void testUpdateInstructorByGoogleId() throws Exception {
         
@@ -1,6 +1,10 @@
 package teammates.test.cases.storage;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -13,11 +17,13 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
+import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.storage.api.AccountsDb;
 import teammates.storage.api.EntitiesDb;
 import teammates.storage.api.ProfilesDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
+import teammates.test.util.FileHelper;
 
 public class ProfilesDbTest extends BaseComponentTestCase {
     
@@ -39,6 +45,24 @@ public class ProfilesDbTest extends BaseComponentTestCase {
         assertNull(profilesDb.getStudentProfile("non-eXisTent"));
     }
     
+    @Test
+    public void testGetStudentProfiles() throws Exception {
+        AccountAttributes a = createNewAccount();
+        AccountAttributes otherAccount = createNewAccount("valid.other.googleId");
+        
+        ______TS("success case: profiles are retrieved together, non-existent profiles are skipped");
+        
+        Map<String, StudentProfileAttributes> profiles =
+                profilesDb.getStudentProfiles(Arrays.asList(a.googleId, "non-eXisTent", otherAccount.googleId));
+        
+        assertEquals(new HashSet<String>(Arrays.asList(a.googleId, otherAccount.googleId)), profiles.keySet());
+        assertEquals(a.googleId, profiles.get(a.googleId).googleId);
+        
+        ______TS("no googleIds given");
+        
+        assertTrue(profilesDb.getStudentProfiles(new ArrayList<String>()).isEmpty());
+    }
+    
     @Test
     public void testUpdateStudentProfile() throws Exception {
         AccountAttributes a = createNewAccount();
@@ -153,6 +177,7 @@ public class ProfilesDbTest extends BaseComponentTestCase {
         // success test cases
         testUpdateProfilePictureSuccessInitiallyEmpty(a);
         testUpdateProfilePictureSuccessSamePictureKey(a);
+        testUpdateProfilePictureSuccessWithThumbnail(a);
     }
 
     private void testUpdateProfilePictureWithNullParameters()
@@ -227,10 +252,49 @@ public class ProfilesDbTest extends BaseComponentTestCase {
         profilesDb.updateStudentProfilePicture(a.googleId, a.studentProfile.pictureKey);
     }
     
+    private void testUpdateProfilePictureSuccessWithThumbnail(AccountAttributes a) throws Exception {
+        ______TS("update picture key with thumbnail - replaced picture is deleted");
+        
+        String oldPictureKey = a.studentProfile.pictureKey;
+        byte[] picture = FileHelper.readFileAsBytes("src/test/resources/images/profile_pic.png");
+        String pictureKey = GoogleCloudStorageHelper.writeImageDataToGcs(a.googleId, picture);
+        String thumbnailKey = GoogleCloudStorageHelper.writeThumbnailOfImageToGcs(a.googleId, picture);
+        profilesDb.updateStudentProfilePicture(a.googleId, pictureKey, thumbnailKey);
+        
+        StudentProfileAttributes updatedProfile = profilesDb.getStudentProfile(a.googleId);
+        assertEquals(pictureKey, updatedProfile.pictureKey);
+        assertEquals(thumbnailKey, updatedProfile.thumbnailKey);
+        assertFalse(doesFileExistInGcs(new BlobKey(oldPictureKey)));
+        
+        ______TS("update picture key - same key without thumbnail; thumbnail is kept");
+        
+        profilesDb.updateStudentProfilePicture(a.googleId, pictureKey);
+        
+        updatedProfile = profilesDb.getStudentProfile(a.googleId);
+        assertEquals(thumbnailKey, updatedProfile.thumbnailKey);
+        assertTrue(doesFileExistInGcs(new BlobKey(thumbnailKey)));
+        
+        ______TS("update picture key - new key without thumbnail; outdated thumbnail is deleted");
+        
+        String newPictureKey = uploadDefaultPictureForProfile(a.googleId);
+        profilesDb.updateStudentProfilePicture(a.googleId, newPictureKey);
+        
+        updatedProfile = profilesDb.getStudentProfile(a.googleId);
+        assertEquals(newPictureKey, updatedProfile.pictureKey);
+        assertEquals("", updatedProfile.thumbnailKey);
+        assertFalse(doesFileExistInGcs(new BlobKey(pictureKey)));
+        assertFalse(doesFileExistInGcs(new BlobKey(thumbnailKey)));
+        
+        a.studentProfile.pictureKey = newPictureKey;
+    }
+    
     @Test
     public void testDeleteProfilePicture() throws Exception {
         AccountAttributes a = createNewAccount();
         a.studentProfile.pictureKey = uploadDefaultPictureForProfile(a.googleId);
+        byte[] picture = FileHelper.readFileAsBytes("src/test/resources/images/profile_pic.png");
+        a.studentProfile.thumbnailKey = GoogleCloudStorageHelper.writeThumbnailOfImageToGcs(a.googleId, picture);
+        profilesDb.updateStudentProfilePicture(a.googleId, a.studentProfile.pictureKey, a.studentProfile.thumbnailKey);
         testDeletePictureSuccess(a);
         testDeleteProfilePictureForProfileWithNoPicture(a);
     }
@@ -248,8 +312,10 @@ public class ProfilesDbTest extends BaseComponentTestCase {
         profilesDb.deleteStudentProfilePicture(a.googleId);
         StudentProfileAttributes updatedProfile = profilesDb.getStudentProfile(a.studentProfile.googleId);
         
-        assertFalse(doesFileExistInGcs(new BlobKey(updatedProfile.pictureKey)));
+        assertFalse(doesFileExistInGcs(new BlobKey(a.studentProfile.pictureKey)));
+        assertFalse(doesFileExistInGcs(new BlobKey(a.studentProfile.thumbnailKey)));
         assertEquals("", updatedProfile.pictureKey);
+        assertEquals("", updatedProfile.thumbnailKey);
     }
     
     
@@ -264,8 +330,12 @@ public class ProfilesDbTest extends BaseComponentTestCase {
     }
 
     private AccountAttributes createNewAccount() throws Exception {
+        return createNewAccount("valid.googleId");
+    }
+    
+    private AccountAttributes createNewAccount(String googleId) throws Exception {
         AccountAttributes a = new AccountAttributes();
-        a.googleId = "valid.googleId";
+        a.googleId = googleId;
         a.name = "Valid Fresh Account";
         a.isInstructor = false;
         a.email = "valid@email.com";
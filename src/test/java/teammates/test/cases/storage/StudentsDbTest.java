@@ -3,6 +3,14 @@ package teammates.test.cases.storage;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -219,6 +227,125 @@ public class StudentsDbTest extends BaseComponentTestCase {
         studentsDb.deleteStudent(s2.course, s2.email);
     }
     
+    @Test
+    public void testGetStudentsForEmails() throws InvalidParametersException {
+        
+        StudentAttributes s1 = createNewStudent("get.students.1@email.com");
+        StudentAttributes s2 = createNewStudent("get.students.2@email.com");
+        
+        ______TS("typical success case: non-existent students are skipped");
+        
+        Map<String, StudentAttributes> retrieved = studentsDb.getStudentsForEmails(
+                s1.course, Arrays.asList(s1.email, s2.email, "non-existent@email.com"));
+        assertEquals(2, retrieved.size());
+        assertTrue(retrieved.get(s1.email).isEnrollInfoSameAs(s1));
+        assertTrue(retrieved.get(s2.email).isEnrollInfoSameAs(s2));
+        
+        ______TS("old student entity without a CourseStudent copy");
+        
+        StudentAttributes oldStudent = createOldStudentAttributes("getStudentsForEmails");
+        assertFalse("New student entity should not be created", isNewStudentExists(oldStudent));
+        retrieved = studentsDb.getStudentsForEmails(oldStudent.course, Arrays.asList(oldStudent.email));
+        assertEquals(1, retrieved.size());
+        assertTrue(retrieved.get(oldStudent.email).isEnrollInfoSameAs(oldStudent));
+        
+        ______TS("no emails given");
+        
+        assertTrue(studentsDb.getStudentsForEmails(s1.course, new ArrayList<String>()).isEmpty());
+        
+        ______TS("null params case");
+        try {
+            studentsDb.getStudentsForEmails(null, Arrays.asList(s1.email));
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+        
+        studentsDb.deleteStudent(s1.course, s1.email);
+        studentsDb.deleteStudent(s2.course, s2.email);
+        studentsDb.deleteStudent(oldStudent.course, oldStudent.email);
+    }
+    
+    @Test
+    public void testGetStudentIteratorForCourse() throws Exception {
+        
+        String courseId = "valid-course-iterator";
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (int i = 1; i <= 3; i++) {
+            StudentAttributes s = new StudentAttributes("validSectionName", "validTeamName", "valid student " + i,
+                                                        "iterator.student" + i + "@email.com", "", courseId);
+            studentsDb.createEntity(s);
+            students.add(s);
+        }
+        StudentAttributes oldStudent = createOldStudentAttributes("iterateStudents");
+        StudentAttributes copiedOldStudent = createOldStudentAttributes("iterateCopiedStudents");
+        copyOldStudentEntityToCourseStudent(copiedOldStudent.email, copiedOldStudent.course);
+        
+        ______TS("typical success case: all students are returned once, across several batches");
+        
+        Iterator<StudentAttributes> iterator = studentsDb.getStudentIteratorForCourse(courseId, 2);
+        List<String> emails = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            emails.add(iterator.next().email);
+        }
+        assertEquals(3, emails.size());
+        assertEquals(new HashSet<String>(Arrays.asList(students.get(0).email, students.get(1).email,
+                                                       students.get(2).email)),
+                     new HashSet<String>(emails));
+        
+        ______TS("students are in the same order on every iteration");
+        
+        List<String> emailsOfSecondIteration = new ArrayList<String>();
+        iterator = studentsDb.getStudentIteratorForCourse(courseId, 1);
+        while (iterator.hasNext()) {
+            emailsOfSecondIteration.add(iterator.next().email);
+        }
+        assertEquals(emails, emailsOfSecondIteration);
+        
+        try {
+            iterator.next();
+            signalFailureToDetectException();
+        } catch (NoSuchElementException e) {
+            ignoreExpectedException();
+        }
+        
+        ______TS("old student entities are returned, but not twice if they have a CourseStudent copy");
+        
+        iterator = studentsDb.getStudentIteratorForCourse(oldStudent.course, 1);
+        assertTrue(iterator.next().isEnrollInfoSameAs(oldStudent));
+        assertFalse(iterator.hasNext());
+        
+        iterator = studentsDb.getStudentIteratorForCourse(copiedOldStudent.course, 1);
+        assertTrue(iterator.next().isEnrollInfoSameAs(copiedOldStudent));
+        assertFalse(iterator.hasNext());
+        
+        ______TS("course without students");
+        
+        assertFalse(studentsDb.getStudentIteratorForCourse("non-existent-course").hasNext());
+        
+        ______TS("invalid params case");
+        
+        try {
+            studentsDb.getStudentIteratorForCourse(null);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            assertEquals(Const.StatusCodes.DBLEVEL_NULL_INPUT, ae.getMessage());
+        }
+        
+        try {
+            studentsDb.getStudentIteratorForCourse(courseId, 0);
+            signalFailureToDetectException();
+        } catch (AssertionError ae) {
+            ignoreExpectedException();
+        }
+        
+        for (StudentAttributes s : students) {
+            studentsDb.deleteStudent(s.course, s.email);
+        }
+        studentsDb.deleteStudent(oldStudent.course, oldStudent.email);
+        studentsDb.deleteStudent(copiedOldStudent.course, copiedOldStudent.email);
+    }
+    
     @Test
     public void testUpdateStudentWithoutDocument() throws InvalidParametersException, EntityDoesNotExistException {
         
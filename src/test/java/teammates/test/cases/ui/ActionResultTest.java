@@ -1,11 +1,14 @@
 package teammates.test.cases.ui;
 
+import java.io.PrintWriter;
+
 import org.testng.annotations.Test;
 
 import teammates.common.util.Const;
 import teammates.test.cases.BaseTestCase;
 import teammates.ui.controller.ActionResult;
 import teammates.ui.controller.FileDownloadResult;
+import teammates.ui.controller.FileDownloadResult.FileContentWriter;
 import teammates.ui.controller.ShowPageResult;
 
 public class ActionResultTest extends BaseTestCase {
@@ -26,6 +29,21 @@ public class ActionResultTest extends BaseTestCase {
                      download.getContentDispositionHeader());
     }
     
+    @Test
+    public void testFileDownloadResult_contentWrittenWhileSent_hasSameContent() {
+        FileDownloadResult download = new FileDownloadResult("/page/instructorCourseStudentListDownload",
+                                                            null, null, "Normal name", new FileContentWriter() {
+            @Override
+            public void write(PrintWriter writer) {
+                writer.append("abc").append(',');
+                writer.append("abc");
+            }
+        });
+        assertEquals("abc,abc", download.getFileContent());
+        assertEquals("attachment; filename=\"Normal name.csv\";filename*= UTF-8''Normal+name.csv",
+                     download.getContentDispositionHeader());
+    }
+    
     @Test
     public void testFileDownloadResult_fileNameWithUnicodeCharacters_hasCorrectContentDesposition() {
         FileDownloadResult download = new FileDownloadResult("/page/instructorFeedbackResultsDownload",
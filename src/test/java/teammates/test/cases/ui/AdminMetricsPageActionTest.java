@@ -0,0 +1,81 @@
+package teammates.test.cases.ui;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.ActionMetrics;
+import teammates.common.util.Const;
+import teammates.common.util.RequestMetrics;
+import teammates.logic.core.TaskQueueMetrics;
+import teammates.logic.core.TaskQueuesLogic;
+import teammates.ui.controller.Action;
+import teammates.ui.controller.ActionFactory;
+import teammates.ui.controller.AdminMetricsPageData;
+import teammates.ui.controller.AjaxResult;
+import teammates.ui.controller.ShowPageResult;
+
+public class AdminMetricsPageActionTest extends BaseActionTest {
+    
+    @BeforeClass
+    public static void classSetUp() {
+        printTestClassHeader();
+        uri = Const.ActionURIs.ADMIN_METRICS_PAGE;
+    }
+    
+    @Test
+    public void testExecuteAndPostProcess() {
+        RequestMetrics.clear();
+        RequestMetrics.startRequest();
+        RequestMetrics.recordCall(RequestMetrics.Call.DATASTORE_QUERY);
+        RequestMetrics.finishRequest("instructorHomePage", 120);
+        TaskQueueMetrics sendEmailQueueMetrics =
+                TaskQueuesLogic.inst().getMetrics(Const.SystemParams.SEND_EMAIL_TASK_QUEUE);
+        
+        gaeSimulation.loginAsAdmin("admin.user");
+        
+        ______TS("page load");
+        
+        Action a = getAction();
+        ShowPageResult pageResult = getShowPageResult(a);
+        assertEquals(Const.ViewURIs.ADMIN_METRICS, pageResult.destination);
+        assertEquals("", pageResult.getStatusMessage());
+        
+        AdminMetricsPageData pageData = (AdminMetricsPageData) pageResult.data;
+        assertEquals(1, pageData.getActionMetrics().size());
+        ActionMetrics metrics = pageData.getActionMetrics().get(0);
+        assertEquals("instructorHomePage", metrics.getActionName());
+        assertEquals(1, metrics.getNumberOfRequests());
+        assertEquals(1, metrics.getCalls().get(RequestMetrics.Call.DATASTORE_QUERY.ordinal()).getTotalCalls());
+        assertEquals(RequestMetrics.getCollectedSince(), pageData.getCollectedSince());
+        assertTrue(pageData.getTaskQueueMetrics().contains(sendEmailQueueMetrics));
+        
+        ______TS("export");
+        
+        a = getAction(Const.ParamsNames.ADMIN_METRICS_EXPORT, "true");
+        AjaxResult ajaxResult = getAjaxResult(a);
+        pageData = (AdminMetricsPageData) ajaxResult.data;
+        assertEquals("instructorHomePage", pageData.getActionMetrics().get(0).getActionName());
+        assertTrue(pageData.getTaskQueueMetrics().contains(sendEmailQueueMetrics));
+        
+        RequestMetrics.clear();
+    }
+    
+    @Test
+    public void testActionNameForMetrics() {
+        
+        ______TS("requests are recorded under the name of the action mapped to the URI");
+        
+        assertEquals("adminMetricsPage", ActionFactory.getActionName(gaeSimulation.createWebRequest(uri)));
+        assertEquals("adminMetricsPage",
+                     ActionFactory.getActionName(gaeSimulation.createWebRequest(uri + ";jsessionid=123")));
+        
+        ______TS("requests for URIs without an action have no action name");
+        
+        assertNull(ActionFactory.getActionName(gaeSimulation.createWebRequest("/page/nonExistentPage123")));
+    }
+    
+    private Action getAction(String... params) {
+        return gaeSimulation.getActionObject(uri, params);
+    }
+    
+}
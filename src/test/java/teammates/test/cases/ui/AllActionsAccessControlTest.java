@@ -141,6 +141,12 @@ public class AllActionsAccessControlTest extends BaseActionTest {
         verifyOnlyAdminsCanAccess(submissionParams);
     }
     
+    @Test
+    public void testAdminMetricsPage() {
+        uri = Const.ActionURIs.ADMIN_METRICS_PAGE;
+        verifyOnlyAdminsCanAccess(submissionParams);
+    }
+    
     @Test
     public void testInstructorFeedbackStatsPage() {
         uri = Const.ActionURIs.INSTRUCTOR_FEEDBACK_STATS_PAGE;
@@ -424,6 +430,18 @@ public class AllActionsAccessControlTest extends BaseActionTest {
         verifyOnlyInstructorsOfTheSameCourseCanAccess(submissionParams);
     }
     
+    @Test
+    public void testInstructorCourseStudentPictureManifest() {
+        uri = Const.ActionURIs.INSTRUCTOR_COURSE_STUDENT_PICTURE_MANIFEST;
+        CourseAttributes course = dataBundle.courses.get("typicalCourse1");
+        
+        String[] submissionParams = new String[]{
+                Const.ParamsNames.COURSE_ID, course.getId()
+        };
+        
+        verifyOnlyInstructorsOfTheSameCourseCanAccess(submissionParams);
+    }
+    
     @Test
     public void testInstructorFeedbackAdd() {
         uri = Const.ActionURIs.INSTRUCTOR_FEEDBACK_ADD;
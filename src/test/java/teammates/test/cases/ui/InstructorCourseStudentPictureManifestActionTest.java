@@ -0,0 +1,82 @@
+package teammates.test.cases.ui;
+
+import java.util.Map;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.ui.controller.AjaxResult;
+import teammates.ui.controller.InstructorCourseStudentPictureManifestAction;
+import teammates.ui.controller.InstructorCourseStudentPictureManifestAjaxPageData;
+
+public class InstructorCourseStudentPictureManifestActionTest extends BaseActionTest {
+    
+    private final DataBundle dataBundle = getTypicalDataBundle();
+    
+    @BeforeClass
+    public static void classSetUp() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+        uri = Const.ActionURIs.INSTRUCTOR_COURSE_STUDENT_PICTURE_MANIFEST;
+    }
+    
+    @Test
+    public void testExecuteAndPostProcess() {
+        InstructorAttributes instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        StudentAttributes studentWithPicture = dataBundle.students.get("student1InCourse1");
+        StudentAttributes studentWithoutPicture = dataBundle.students.get("student5InCourse1");
+        gaeSimulation.loginAsInstructor(instructor.googleId);
+        
+        ______TS("Not enough parameters");
+        
+        verifyAssumptionFailure();
+        
+        ______TS("Typical case: whole course");
+        
+        String[] submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, instructor.courseId
+        };
+        InstructorCourseStudentPictureManifestAjaxPageData data = getPageData(submissionParams);
+        Map<String, String> pictureUrls = data.getPictureUrls();
+        
+        assertEquals(instructor.courseId, data.getCourseId());
+        assertEquals(5, pictureUrls.size());
+        assertTrue(pictureUrls.get(studentWithPicture.email)
+                              .startsWith(Const.ActionURIs.PUBLIC_PROFILE_PICTURE + "?"));
+        assertEquals(Const.SystemParams.DEFAULT_PROFILE_PICTURE_PATH, pictureUrls.get(studentWithoutPicture.email));
+        
+        ______TS("Typical case: one section");
+        
+        submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, instructor.courseId,
+                Const.ParamsNames.SECTION_NAME, studentWithoutPicture.section
+        };
+        pictureUrls = getPageData(submissionParams).getPictureUrls();
+        
+        assertEquals(1, pictureUrls.size());
+        assertEquals(Const.SystemParams.DEFAULT_PROFILE_PICTURE_PATH, pictureUrls.get(studentWithoutPicture.email));
+        
+        ______TS("Instructor without the privilege to view students in a section");
+        
+        InstructorAttributes helper = dataBundle.instructors.get("helperOfCourse1");
+        gaeSimulation.loginAsInstructor(helper.googleId);
+        submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, helper.courseId
+        };
+        
+        assertTrue(getPageData(submissionParams).getPictureUrls().isEmpty());
+    }
+    
+    private InstructorCourseStudentPictureManifestAjaxPageData getPageData(String... params) {
+        InstructorCourseStudentPictureManifestAction action =
+                (InstructorCourseStudentPictureManifestAction) gaeSimulation.getActionObject(uri, params);
+        AjaxResult result = getAjaxResult(action);
+        assertFalse(result.isError);
+        return (InstructorCourseStudentPictureManifestAjaxPageData) result.data;
+    }
+    
+}
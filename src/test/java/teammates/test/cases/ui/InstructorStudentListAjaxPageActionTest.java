@@ -51,6 +51,47 @@ public class InstructorStudentListAjaxPageActionTest extends BaseActionTest {
         assertTrue(data.isHasSection());
         assertEquals(1, data.getCourseIndex());
         assertEquals(instructor.courseId, data.getCourseId());
+        assertTrue(data.isFirstPage());
+        assertFalse(data.isFiltered());
+        assertFalse(data.isHasNextPage());
+        assertEquals(5, data.getNumStudentsMatched());
+        assertEquals(2, data.getTeamNamesInSections().size());
+        
+        ______TS("filtered by section, starting from an offset");
+        
+        submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, instructor.courseId,
+                Const.ParamsNames.COURSE_INDEX, "1",
+                Const.ParamsNames.SECTION_NAME, "Section 1",
+                Const.ParamsNames.STUDENT_LIST_OFFSET, "2"
+        };
+        
+        action = getAction(submissionParams);
+        result = (ShowPageResult) action.executeAndPostProcess();
+        data = (InstructorStudentListAjaxPageData) result.data;
+        assertTrue(data.isFiltered());
+        assertFalse(data.isFirstPage());
+        assertEquals(2, data.getFirstStudentIndex());
+        assertEquals(4, data.getNumStudentsMatched());
+        assertEquals(1, data.getSections().size());
+        assertEquals(0, data.getSections().get(0).getSectionIndex());
+        assertEquals(2, data.getSections().get(0).getTeams().get(0).getStudents().size());
+        
+        ______TS("sections and teams are indexed among all those of the course");
+        
+        submissionParams = new String[] {
+                Const.ParamsNames.COURSE_ID, instructor.courseId,
+                Const.ParamsNames.COURSE_INDEX, "1",
+                Const.ParamsNames.SEARCH_KEY, "student5"
+        };
+        
+        action = getAction(submissionParams);
+        result = (ShowPageResult) action.executeAndPostProcess();
+        data = (InstructorStudentListAjaxPageData) result.data;
+        assertEquals(1, data.getNumStudentsMatched());
+        assertEquals(1, data.getSections().size());
+        assertEquals(1, data.getSections().get(0).getSectionIndex());
+        assertEquals(1, data.getSections().get(0).getTeams().get(0).getTeamIndex());
     }
 
     private InstructorStudentListAjaxPageAction getAction(String... params) {
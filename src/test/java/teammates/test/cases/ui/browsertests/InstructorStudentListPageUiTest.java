@@ -11,7 +11,6 @@ import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.util.AppUrl;
 import teammates.common.util.Const;
-import teammates.common.util.StringHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.test.driver.BackDoor;
@@ -164,12 +163,8 @@ public class InstructorStudentListPageUiTest extends BaseUiTestCase {
 
         StudentAttributes student2 = testData.students.get("Student3Course3");
         viewPage.clickShowPhoto(student2.course, student2.name);
-        String photoUrl = createUrl(Const.ActionURIs.STUDENT_PROFILE_PICTURE)
-                                        .withStudentEmail(StringHelper.encrypt(student2.email))
-                                        .withCourseId(StringHelper.encrypt(student2.course))
-                                        .withUserId(instructorId)
-                                        .toAbsoluteString();
-        viewPage.verifyProfilePhoto(student2.course, student2.name, photoUrl);
+        viewPage.verifySignedProfilePhoto(student2.course, student2.name,
+                                          createUrl(Const.ActionURIs.PUBLIC_PROFILE_PICTURE).toAbsoluteString());
         viewPage.verifyHtmlMainContent("/instructorStudentListPageWithPicture.html");
     }
 
@@ -1,8 +1,7 @@
 package teammates.test.cases.ui.pagedata;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.testng.annotations.Test;
@@ -10,6 +9,7 @@ import org.testng.annotations.Test;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentListPageBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.util.Const;
 import teammates.common.util.Sanitizer;
@@ -34,12 +34,17 @@ public class InstructorStudentListAjaxPageDataTest extends BaseTestCase {
     @Test
     public void allTests() {
         InstructorStudentListAjaxPageData islapd = initializeData();
+        assertTrue(islapd.isHasSection());
+        assertTrue(islapd.isFirstPage());
+        assertFalse(islapd.isFiltered());
+        assertFalse(islapd.isHasNextPage());
         for (StudentListSectionData section : islapd.getSections()) {
             testSectionContent(section);
         }
     }
 
     private void testSectionContent(StudentListSectionData section) {
+        assertEquals(0, section.getSectionIndex());
         assertEquals(Sanitizer.sanitizeForHtml(sampleSection.name), section.getSectionName());
         assertEquals(sectionPrivileges.get(sampleSection.name)
                                       .get(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS)
@@ -59,6 +64,7 @@ public class InstructorStudentListAjaxPageDataTest extends BaseTestCase {
     }
 
     private void testTeamContent(StudentListTeamData team) {
+        assertEquals(0, team.getTeamIndex());
         assertEquals(sampleTeam.name, team.getTeamName());
         for (StudentListStudentData student : team.getStudents()) {
             testStudentContent(student);
@@ -100,8 +106,11 @@ public class InstructorStudentListAjaxPageDataTest extends BaseTestCase {
         sampleSection.teams.add(sampleTeam);
         sampleSection.name = "<valid section name>";
         
-        List<SectionDetailsBundle> sections = new ArrayList<SectionDetailsBundle>();
-        sections.add(sampleSection);
+        StudentListPageBundle page = new StudentListPageBundle();
+        page.sections.add(sampleSection);
+        page.teamNamesInSections.put(sampleSection.name, Arrays.asList(sampleTeam.name));
+        page.numStudentsInPage = 1;
+        page.numStudentsMatched = 1;
 
         sectionPrivileges = new HashMap<String, Map<String, Boolean>>();
         Map<String, Boolean> sectionPrivilege = new HashMap<String, Boolean>();
@@ -113,8 +122,8 @@ public class InstructorStudentListAjaxPageDataTest extends BaseTestCase {
         Map<String, String> emailPhotoUrlMapping = new HashMap<String, String>();
         emailPhotoUrlMapping.put(sampleStudent.email, photoUrl);
         
-        return new InstructorStudentListAjaxPageData(acct, "valid course id", 1, true, sections,
-                                                     sectionPrivileges, emailPhotoUrlMapping);
+        return new InstructorStudentListAjaxPageData(acct, "valid course id", 1, page,
+                                                     sectionPrivileges, emailPhotoUrlMapping, null, null);
     }
 
     private String getCourseStudentDetailsLink(String course, String email, String googleId) {
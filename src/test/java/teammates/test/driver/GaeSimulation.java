@@ -162,7 +162,12 @@ public class GaeSimulation {
         }
     }
 
-    private HttpServletRequest createWebRequest(String uri, String... parameters) {
+    /**
+     * @param parameters Parameters that appear in a HttpServletRequest
+     * received by the app.
+     * @return an {@link HttpServletRequest} for the {@code uri} with the parameters given.
+     */
+    public HttpServletRequest createWebRequest(String uri, String... parameters) {
         
         WebRequest request = new PostMethodWebRequest("http://localhost:8888" + uri);
         
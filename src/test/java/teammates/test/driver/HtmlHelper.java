@@ -404,6 +404,15 @@ public final class HtmlHelper {
                                   + "\\?" + Const.ParamsNames.BLOB_KEY + "=" + REGEX_BLOB_KEY,
                                   Const.ActionURIs.STUDENT_PROFILE_PICTURE
                                   + "\\?" + Const.ParamsNames.BLOB_KEY + "=\\${blobkey}")
+                      // signed profile picture link
+                      .replaceAll(Const.ActionURIs.PUBLIC_PROFILE_PICTURE
+                                  + "\\?" + Const.ParamsNames.BLOB_KEY + "=" + REGEX_BLOB_KEY
+                                  + "\\&amp;" + Const.ParamsNames.PROFILE_PICTURE_EXPIRY + "=[0-9]+"
+                                  + "\\&amp;" + Const.ParamsNames.PROFILE_PICTURE_SIGNATURE + "=[0-9A-F]+",
+                                  Const.ActionURIs.PUBLIC_PROFILE_PICTURE
+                                  + "\\?" + Const.ParamsNames.BLOB_KEY + "=\\${blobkey}"
+                                  + "\\&amp;" + Const.ParamsNames.PROFILE_PICTURE_EXPIRY + "=\\${expiry}"
+                                  + "\\&amp;" + Const.ParamsNames.PROFILE_PICTURE_SIGNATURE + "=\\${signature}")
                       .replaceAll("( type=\"hidden\"|"
                                   + " name=\"" + Const.ParamsNames.BLOB_KEY + "\"|"
                                   + " id=\"blobKey\"|"
@@ -1,6 +1,7 @@
 package teammates.test.pageobjects;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -98,10 +99,24 @@ public class InstructorStudentListPage extends AppPage {
     }
 
     public void verifyProfilePhoto(String courseId, String studentName, String profilePhotoSrc) {
+        assertEquals(profilePhotoSrc, getProfilePhotoSrcAfterClick(courseId, studentName));
+    }
+
+    /**
+     * Verifies that the profile photo of the student is served through a signed URL.
+     * The signature and expiry of the URL are not predictable, hence only the URL up to the parameters is checked.
+     */
+    public void verifySignedProfilePhoto(String courseId, String studentName, String profilePhotoUrlPrefix) {
+        String profilePhotoSrc = getProfilePhotoSrcAfterClick(courseId, studentName);
+        assertTrue(profilePhotoSrc.startsWith(profilePhotoUrlPrefix + "?"));
+        assertTrue(profilePhotoSrc.contains(Const.ParamsNames.PROFILE_PICTURE_SIGNATURE + "="));
+    }
+
+    private String getProfilePhotoSrcAfterClick(String courseId, String studentName) {
         String rowId = getStudentRowId(courseId, studentName);
-        assertEquals(profilePhotoSrc, browser.driver.findElement(By.id("studentphoto-c" + rowId))
-                                                    .findElement(By.tagName("img"))
-                                                    .getAttribute("src"));
+        String profilePhotoSrc = browser.driver.findElement(By.id("studentphoto-c" + rowId))
+                                               .findElement(By.tagName("img"))
+                                               .getAttribute("src");
         WebElement photo = browser.driver.findElement(By.id("studentphoto-c" + rowId))
                                          .findElement(By.cssSelector(".profile-pic-icon-click > img"));
         Actions action = new Actions(browser.driver);
@@ -109,6 +124,7 @@ public class InstructorStudentListPage extends AppPage {
         assertEquals(profilePhotoSrc, browser.driver.findElement(By.id("studentphoto-c" + rowId))
                                                     .findElement(By.cssSelector(".popover-content > .profile-pic"))
                                                     .getAttribute("src"));
+        return profilePhotoSrc;
     }
 
     private int getCourseNumber(String courseId) {